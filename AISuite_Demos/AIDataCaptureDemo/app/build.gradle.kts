@@ -124,6 +124,8 @@ dependencies {
     //Below dependency is to get product Recognition model for AI Suite SDK
     implementation(libs.product.and.shelf.recognizer) { artifact { type = "aar" } }
 
+    testImplementation(libs.junit)
+    testImplementation(libs.kotlinx.coroutines.test)
     androidTestImplementation(platform(libs.androidx.compose.bom))
     debugImplementation(libs.androidx.ui.tooling)
     debugImplementation(libs.androidx.ui.test.manifest)
@@ -0,0 +1,144 @@
+package com.zebra.aidatacapturedemo.model
+
+import android.content.Context
+import android.graphics.Bitmap
+import android.graphics.Rect
+import android.util.Base64
+import android.util.Xml
+import com.google.gson.Gson
+import com.zebra.aidatacapturedemo.data.ResultData
+import java.io.File
+import java.io.FileOutputStream
+import java.util.Locale
+
+/**
+ * CaptureSessionJournalBenchmark compares the startup cost of the capture session journal with
+ * the SharedPreferences storage it replaces. It needs a device, so it lives with the instrumented
+ * sources; not a test — call it from an instrumented test or the debugger, e.g.
+ *
+ *   Log.d(TAG, CaptureSessionJournalBenchmark.compareStartup(targetContext))
+ *
+ * Both stores are filled with the same sessions: a JPEG at the quality the app saves (10) and a
+ * few dozen results. Measured per store:
+ * - open: making the stored sessions available. For SharedPreferences this is the first read,
+ *   which waits until the whole XML file, Base64 images included, has been parsed. For the
+ *   journal it is opening it, which reads the record headers only.
+ * - first session: loading one session's results and image bytes after opening.
+ *
+ * SharedPreferences keeps every file it has opened in memory for the life of the process, so each
+ * run writes its XML file under a new name to measure a cold load.
+ */
+object CaptureSessionJournalBenchmark {
+
+    fun compareStartup(context: Context, sessions: Int = 50, runs: Int = 5): String {
+        val gson = Gson()
+        val image = sampleImage()
+        val ocrResults = List(30) { ResultData(Rect(it, it, it + 120, it + 40), "TEXT-$it") }
+        val barcodeResults = List(10) { ResultData(Rect(it, it, it + 200, it + 80), "0123456789$it") }
+        val base64 = Base64.encodeToString(image, Base64.DEFAULT)
+        val legacyJson = gson.toJson(
+            linkedMapOf(
+                "ocrResults" to ocrResults,
+                "barcodeResults" to barcodeResults,
+                "captureTime" to "2025-01-01 12:00:00",
+                "captureImage" to base64
+            )
+        )
+        val results = gson.toJson(mapOf("ocrResults" to ocrResults, "barcodeResults" to barcodeResults))
+            .toByteArray(Charsets.UTF_8)
+
+        val prefsOpen = DoubleArray(runs)
+        val prefsFirst = DoubleArray(runs)
+        val journalOpen = DoubleArray(runs)
+        val journalFirst = DoubleArray(runs)
+        var prefsBytes = 0L
+        var journalBytes = 0L
+
+        for (run in 0 until runs) {
+            val name = "capture_session_benchmark_${System.nanoTime()}"
+            val prefsFile = File(context.dataDir, "shared_prefs/$name.xml")
+            writePrefsXml(prefsFile, sessions, legacyJson)
+            prefsBytes = prefsFile.length()
+            var start = System.nanoTime()
+            val prefs = context.getSharedPreferences(name, Context.MODE_PRIVATE)
+            val json = prefs.getString("1", null)
+            prefsOpen[run] = millisSince(start)
+            start = System.nanoTime()
+            val session = gson.fromJson(json, Map::class.java)
+            Base64.decode(session["captureImage"] as String, Base64.DEFAULT)
+            prefsFirst[run] = millisSince(start)
+            context.deleteSharedPreferences(name)
+
+            val dir = File(context.cacheDir, name)
+            CaptureSessionJournal(dir).apply {
+                for (id in 1..sessions) put(id.toString(), "2025-01-01 12:00:00", image, results)
+            }
+            journalBytes = dir.listFiles()?.sumOf { it.length() } ?: 0L
+            start = System.nanoTime()
+            val journal = CaptureSessionJournal(dir)
+            journal.size
+            journalOpen[run] = millisSince(start)
+            start = System.nanoTime()
+            journal.readResults("1")
+            journal.entry("1")?.imageFile?.readBytes()
+            journalFirst[run] = millisSince(start)
+            dir.deleteRecursively()
+        }
+
+        val builder = StringBuilder()
+        builder.append(String.format(Locale.US, "%d sessions, %d-byte JPEG, median of %d runs%n", sessions, image.size, runs))
+        builder.append(String.format(Locale.US, "%-18s %10s %14s %10s%n", "store", "open(ms)", "session(ms)", "bytes"))
+        builder.append(
+            String.format(
+                Locale.US, "%-18s %10.2f %14.2f %10d%n", "shared-prefs",
+                median(prefsOpen), median(prefsFirst), prefsBytes
+            )
+        )
+        builder.append(
+            String.format(
+                Locale.US, "%-18s %10.2f %14.2f %10d%n", "session-journal",
+                median(journalOpen), median(journalFirst), journalBytes
+            )
+        )
+        return builder.toString()
+    }
+
+    /** Writes the XML file SharedPreferences would write for [sessions] copies of [json]. */
+    private fun writePrefsXml(file: File, sessions: Int, json: String) {
+        file.parentFile?.mkdirs()
+        FileOutputStream(file).use { out ->
+            val serializer = Xml.newSerializer()
+            serializer.setOutput(out, "utf-8")
+            serializer.startDocument(null, true)
+            serializer.startTag(null, "map")
+            for (id in 1..sessions) {
+                serializer.startTag(null, "string")
+                serializer.attribute(null, "name", id.toString())
+                serializer.text(json)
+                serializer.endTag(null, "string")
+            }
+            serializer.endTag(null, "map")
+            serializer.endDocument()
+        }
+    }
+
+    /** A camera-sized frame with some detail, compressed the way capture sessions are saved. */
+    private fun sampleImage(): ByteArray {
+        val width = 1280
+        val height = 960
+        val pixels = IntArray(width * height) { i ->
+            val x = i % width
+            val y = i / width
+            0xFF000000.toInt() or ((x * 7 xor y * 3) and 0xFF shl 16) or ((x + y) and 0xFF shl 8) or (x * y and 0xFF)
+        }
+        val bitmap = Bitmap.createBitmap(pixels, width, height, Bitmap.Config.ARGB_8888)
+        val out = java.io.ByteArrayOutputStream()
+        bitmap.compress(Bitmap.CompressFormat.JPEG, 10, out)
+        bitmap.recycle()
+        return out.toByteArray()
+    }
+
+    private fun millisSince(start: Long) = (System.nanoTime() - start) / 1_000_000.0
+
+    private fun median(values: DoubleArray) = values.sorted()[values.size / 2]
+}
@@ -62,6 +62,11 @@ class MainActivity : ComponentActivity() {
         }
     }
 
+    override fun onStop() {
+        super.onStop()
+        FileUtils.flushSettings()
+    }
+
     override fun onDestroy() {
         super.onDestroy()
         FeedbackUtils.deinitialize()
@@ -155,7 +155,7 @@ data class OcrBarcodeCaptureSessionData(
     var ocrResults: List<ResultData> = listOf(),
     var barcodeResults: List<ResultData> = listOf(),
     var captureTime: String = "",
-    var captureImage: String = ""
+    var captureImageFile: String = ""
 )
 
 /**
@@ -185,6 +185,7 @@ data class AIDataCaptureDemoUiState(
     var cameraError: String? = null,
     var isProductEnrollmentCompleted: Boolean = false,
     var currentBitmap: Bitmap = Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888),
+    var currentBitmapRotation: Int = 0,
     var captureBitmap: Bitmap? = null,
     var bboxes: Array<BBox?> = arrayOf(),
     var moduleResults: ModuleData = ModuleData(mutableListOf(), mutableListOf(), mutableListOf()),
@@ -0,0 +1,150 @@
+package com.zebra.aidatacapturedemo.model
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runInterruptible
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * BatchEnrollmentPipeline generates descriptors for a batch of items with bounded parallelism.
+ * At most [parallelism] descriptors are generated at once. Progress is reported after every item,
+ * and cancelling the calling coroutine interrupts the in-flight generations. Nothing is written
+ * while the batch runs; [run] returns every generated descriptor in input order so the caller
+ * can commit them to storage in one pass and rebuild its index once.
+ *
+ * Items can also be streamed in as a [Flow], in which case descriptors are generated as items
+ * arrive instead of after the whole batch has been loaded.
+ *
+ * The pipeline has no Android or SDK dependencies. [generateDescriptor] is the only hook, so it
+ * can be driven by a stub generator on a plain JVM.
+ *
+ * @param parallelism - Maximum number of concurrent [generateDescriptor] calls
+ * @param generateDescriptor - Blocking descriptor generator; null or an exception marks the item as failed
+ */
+class BatchEnrollmentPipeline<T, D : Any>(
+    private val parallelism: Int = DEFAULT_PARALLELISM,
+    private val generateDescriptor: (T) -> D?
+) {
+
+    init {
+        require(parallelism > 0) { "parallelism must be positive: $parallelism" }
+    }
+
+    /**
+     * Progress snapshot. [completed] counts both enrolled and failed items.
+     */
+    data class Progress(val completed: Int, val failed: Int, val total: Int)
+
+    /**
+     * Descriptors that were generated, paired with their item, in input order.
+     */
+    class Result<T, D>(val descriptors: List<Pair<T, D>>, val failed: Int)
+
+    /**
+     * Generates descriptors for all [items]. Suspends until every item has been processed;
+     * throws [CancellationException] if the calling coroutine is cancelled.
+     *
+     * @param onProgress - Called from worker threads after each item completes
+     */
+    suspend fun run(
+        items: List<T>,
+        onProgress: (Progress) -> Unit = {}
+    ): Result<T, D> {
+        val descriptors = arrayOfNulls<Any>(items.size)
+        val completed = AtomicInteger()
+        val failed = AtomicInteger()
+        val permits = Semaphore(parallelism)
+
+        coroutineScope {
+            items.forEachIndexed { index, item ->
+                launch(Dispatchers.IO) {
+                    permits.withPermit {
+                        val descriptor = generate(item)
+                        if (descriptor == null) failed.incrementAndGet()
+                        descriptors[index] = descriptor
+                        onProgress(Progress(completed.incrementAndGet(), failed.get(), items.size))
+                    }
+                }
+            }
+        }
+
+        val enrolled = ArrayList<Pair<T, D>>(items.size - failed.get())
+        items.forEachIndexed { index, item ->
+            @Suppress("UNCHECKED_CAST")
+            (descriptors[index] as D?)?.let { enrolled += item to it }
+        }
+        return Result(enrolled, failed.get())
+    }
+
+    /**
+     * Generates descriptors for [items] as they are emitted, e.g. crops from a
+     * [ProductCropLoader]. Collection is suspended while [parallelism] generations are in
+     * flight, so a slow generator applies backpressure to the producer. For a flow,
+     * [Progress.total] is the number of items received so far.
+     *
+     * @param onProgress - Called from worker threads after each item completes
+     * @param onItemDone - Called once per item after its generation finished, failed or was
+     *   cancelled, so the caller can release resources such as the crop bitmap
+     */
+    suspend fun run(
+        items: Flow<T>,
+        onProgress: (Progress) -> Unit = {},
+        onItemDone: (T) -> Unit = {}
+    ): Result<T, D> {
+        val slots = ArrayList<Pair<T, D>?>()
+        val received = AtomicInteger()
+        val completed = AtomicInteger()
+        val failed = AtomicInteger()
+        val permits = Semaphore(parallelism)
+
+        coroutineScope {
+            items.collect { item ->
+                val index = received.getAndIncrement()
+                synchronized(slots) { slots += null }
+                try {
+                    permits.acquire()
+                } catch (e: CancellationException) {
+                    onItemDone(item)
+                    throw e
+                }
+                launch(Dispatchers.IO) {
+                    try {
+                        val descriptor = generate(item)
+                        if (descriptor == null) {
+                            failed.incrementAndGet()
+                        } else {
+                            synchronized(slots) { slots[index] = item to descriptor }
+                        }
+                        onProgress(Progress(completed.incrementAndGet(), failed.get(), received.get()))
+                    } finally {
+                        permits.release()
+                    }
+                }.invokeOnCompletion {
+                    // Also runs if the batch is cancelled before this item's job started.
+                    onItemDone(item)
+                }
+            }
+        }
+
+        return Result(slots.filterNotNull(), failed.get())
+    }
+
+    /** Runs [generateDescriptor]; null or an exception means the item failed. */
+    private suspend fun generate(item: T): D? =
+        try {
+            runInterruptible { generateDescriptor(item) }
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            null
+        }
+
+    companion object {
+        const val DEFAULT_PARALLELISM = 4
+    }
+}
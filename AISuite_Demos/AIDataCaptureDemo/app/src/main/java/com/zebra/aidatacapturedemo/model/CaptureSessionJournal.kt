@@ -0,0 +1,368 @@
+package com.zebra.aidatacapturedemo.model
+
+import java.io.BufferedInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.EOFException
+import java.io.File
+import java.io.FileInputStream
+import java.io.FileOutputStream
+import java.io.FilterInputStream
+import java.io.IOException
+import java.io.InputStream
+import java.io.RandomAccessFile
+import java.util.zip.CRC32
+
+/**
+ * CaptureSessionJournal keeps captured OCR/barcode sessions on disk, one directory per journal.
+ *
+ * - Each session's image is a separate file, written once and never re-encoded.
+ * - Session results are appended to a journal file as a checksummed record. Saving a session
+ *   appends one record, instead of rewriting everything saved so far.
+ * - Opening the journal reads only the record headers (id, capture time, image file, where the
+ *   results are) into a small in-memory index and skips over the results. [readResults] reads
+ *   and validates one record when it is needed.
+ * - Retention: once more than [maxSessions] sessions or [maxImageBytes] of images are kept, the
+ *   oldest sessions are removed. Removed and replaced records are dropped from the journal by
+ *   rewriting it once they outnumber the live ones.
+ *
+ * A record that cannot be read, e.g. one cut short by a crash, is discarded together with anything
+ * after it the next time the journal is opened. The journal has no Android dependencies; all
+ * methods are thread-safe.
+ *
+ * @param dir - Directory holding the journal and the image files; created if missing
+ * @param maxSessions - Number of sessions kept before the oldest are removed
+ * @param maxImageBytes - Total image size kept before the oldest sessions are removed
+ */
+class CaptureSessionJournal(
+    val dir: File,
+    private val maxSessions: Int = DEFAULT_MAX_SESSIONS,
+    private val maxImageBytes: Long = DEFAULT_MAX_IMAGE_BYTES
+) {
+
+    /**
+     * Index entry of a saved session.
+     *
+     * @param imageFile - The session image, or null if it was saved without one
+     */
+    class Entry internal constructor(
+        val id: String,
+        val captureTime: String,
+        val imageFile: File?,
+        internal val imageBytes: Long,
+        internal val recordOffset: Long,
+        internal val recordLength: Int
+    )
+
+    private val journalFile = File(dir, JOURNAL_FILE)
+    private val index = LinkedHashMap<String, Entry>()
+    private var journalLength = 0L
+    private var deadRecords = 0
+    private var imageBytes = 0L
+    private var nextImage = 0L
+
+    /** Bytes of a torn or corrupt journal tail that were discarded when the journal was opened. */
+    var discardedBytes = 0L
+        private set
+
+    init {
+        require(maxSessions > 0) { "maxSessions must be positive: $maxSessions" }
+        dir.mkdirs()
+        load()
+    }
+
+    /** Ids of the saved sessions, oldest first. */
+    val ids: List<String>
+        get() = synchronized(this) { index.keys.toList() }
+
+    val size: Int
+        get() = synchronized(this) { index.size }
+
+    fun entry(id: String): Entry? = synchronized(this) { index[id] }
+
+    /**
+     * Saves a session, replacing any session saved with the same [id], and applies the retention
+     * limits. [image] is stored as-is (e.g. JPEG bytes); [results] is an opaque payload returned
+     * by [readResults].
+     */
+    fun put(id: String, captureTime: String, image: ByteArray?, results: ByteArray): Unit = synchronized(this) {
+        var imageName = ""
+        if (image != null) {
+            imageName = "$IMAGE_PREFIX${nextImage++}$IMAGE_SUFFIX"
+            // Synced before the record is appended, so a record never refers to a torn image.
+            FileOutputStream(File(dir, imageName)).use {
+                it.write(image)
+                it.fd.sync()
+            }
+        }
+        val record = encodeRecord(TYPE_PUT, id, captureTime, imageName, image?.size?.toLong() ?: 0L, results)
+        val offset = append(record)
+        index.remove(id)?.let { drop(it) }
+        val entry = Entry(
+            id, captureTime, if (imageName.isEmpty()) null else File(dir, imageName),
+            image?.size?.toLong() ?: 0L, offset, record.size
+        )
+        index[id] = entry
+        imageBytes += entry.imageBytes
+        applyRetention()
+        compactIfNeeded()
+    }
+
+    /**
+     * Results payload saved with session [id], or null if there is no such session or its record
+     * fails validation.
+     */
+    fun readResults(id: String): ByteArray? = synchronized(this) {
+        val entry = index[id] ?: return null
+        val record = ByteArray(entry.recordLength)
+        try {
+            RandomAccessFile(journalFile, "r").use { file ->
+                file.seek(entry.recordOffset)
+                file.readFully(record)
+            }
+        } catch (e: IOException) {
+            return null
+        }
+        return decodeResults(record)
+    }
+
+    fun remove(id: String): Unit = synchronized(this) {
+        val entry = index.remove(id) ?: return
+        appendRemove(id)
+        drop(entry)
+        compactIfNeeded()
+    }
+
+    /** Removes every session, its image and the journal. */
+    fun clear(): Unit = synchronized(this) {
+        delete(dir)
+        index.clear()
+        journalLength = 0L
+        deadRecords = 0
+        imageBytes = 0L
+    }
+
+    /**
+     * Reads the record headers into [index], skipping the results, and trims the journal at the
+     * first record that cannot be read, e.g. one torn by a crash or with a malformed string.
+     */
+    private fun load() {
+        if (!journalFile.exists()) return
+        val fileLength = journalFile.length()
+        var validLength = 0L
+        CountingInputStream(BufferedInputStream(FileInputStream(journalFile))).use { counting ->
+            val input = DataInputStream(counting)
+            while (true) {
+                val start = counting.count
+                try {
+                    if (input.readInt() != RECORD_MAGIC) break
+                    val type = input.readUnsignedByte()
+                    if (type != TYPE_PUT && type != TYPE_REMOVE) break
+                    val id = input.readUTF()
+                    val captureTime = input.readUTF()
+                    val imageName = input.readUTF()
+                    val imageSize = input.readLong()
+                    val resultsLength = input.readInt()
+                    val end = counting.count + resultsLength + CRC_SIZE
+                    if (resultsLength < 0 || end > fileLength) break
+                    skipFully(input, resultsLength + CRC_SIZE)
+
+                    index.remove(id)?.let { previous ->
+                        imageBytes -= previous.imageBytes
+                        deadRecords++
+                    }
+                    if (type == TYPE_PUT) {
+                        val imageFile = if (imageName.isEmpty()) null else File(dir, imageName)
+                        index[id] = Entry(id, captureTime, imageFile, imageSize, start, (end - start).toInt())
+                        imageBytes += imageSize
+                        imageName.removePrefix(IMAGE_PREFIX).removeSuffix(IMAGE_SUFFIX).toLongOrNull()?.let {
+                            nextImage = maxOf(nextImage, it + 1)
+                        }
+                    } else {
+                        deadRecords++
+                    }
+                    validLength = end
+                } catch (e: IOException) {
+                    // Includes EOFException and UTFDataFormatException.
+                    break
+                }
+            }
+        }
+        journalLength = validLength
+        if (validLength < fileLength) {
+            discardedBytes = fileLength - validLength
+            RandomAccessFile(journalFile, "rw").use { it.setLength(validLength) }
+        }
+        compactIfNeeded()
+    }
+
+    private fun append(record: ByteArray): Long {
+        val offset = journalLength
+        FileOutputStream(journalFile, true).use { out ->
+            out.write(record)
+            out.fd.sync()
+        }
+        journalLength += record.size
+        return offset
+    }
+
+    /** Appends a REMOVE record, which is itself dead as soon as it is written. */
+    private fun appendRemove(id: String) {
+        append(encodeRecord(TYPE_REMOVE, id, "", "", 0L, ByteArray(0)))
+        deadRecords++
+    }
+
+    /** Forgets the image of an entry that was replaced or removed. */
+    private fun drop(entry: Entry) {
+        entry.imageFile?.delete()
+        imageBytes -= entry.imageBytes
+        deadRecords++
+    }
+
+    private fun applyRetention() {
+        while (index.size > 1 && (index.size > maxSessions || imageBytes > maxImageBytes)) {
+            val oldest = index.values.first()
+            index.remove(oldest.id)
+            appendRemove(oldest.id)
+            drop(oldest)
+        }
+    }
+
+    /**
+     * Rewrites the journal with only the live records once dead ones outnumber them, and deletes
+     * image files that no live session refers to (left behind by a crash during [put]).
+     */
+    private fun compactIfNeeded() {
+        if (deadRecords < COMPACT_MIN_DEAD_RECORDS || deadRecords <= index.size) return
+        val compacted = ByteArrayOutputStream()
+        val moved = ArrayList<Entry>(index.size)
+        RandomAccessFile(journalFile, "r").use { file ->
+            for (entry in index.values) {
+                val record = ByteArray(entry.recordLength)
+                file.seek(entry.recordOffset)
+                file.readFully(record)
+                moved += Entry(
+                    entry.id, entry.captureTime, entry.imageFile, entry.imageBytes,
+                    compacted.size().toLong(), entry.recordLength
+                )
+                compacted.write(record)
+            }
+        }
+        SettingsStore.writeAtomically(journalFile, compacted.toByteArray())
+        index.clear()
+        moved.forEach { index[it.id] = it }
+        journalLength = compacted.size().toLong()
+        deadRecords = 0
+
+        val liveImages = index.values.mapNotNullTo(HashSet()) { it.imageFile?.name }
+        dir.listFiles()?.forEach { file ->
+            if (file.name.startsWith(IMAGE_PREFIX) && file.name !in liveImages) file.delete()
+        }
+    }
+
+    /** Counts bytes read so record offsets can be tracked through a buffered stream. */
+    private class CountingInputStream(input: InputStream) : FilterInputStream(input) {
+        var count = 0L
+            private set
+
+        override fun read(): Int {
+            val b = super.read()
+            if (b >= 0) count++
+            return b
+        }
+
+        override fun read(b: ByteArray, off: Int, len: Int): Int {
+            val n = super.read(b, off, len)
+            if (n > 0) count += n
+            return n
+        }
+
+        override fun skip(n: Long): Long {
+            val skipped = super.skip(n)
+            count += skipped
+            return skipped
+        }
+    }
+
+    companion object {
+        const val DEFAULT_MAX_SESSIONS = 100
+        const val DEFAULT_MAX_IMAGE_BYTES = 64L * 1024 * 1024
+        const val JOURNAL_FILE = "sessions.journal"
+
+        /** Deletes the journal and images in [dir] without opening it; does nothing if [dir] does not exist. */
+        fun delete(dir: File) {
+            if (!dir.isDirectory) return
+            dir.listFiles()?.forEach { it.delete() }
+        }
+
+        private const val IMAGE_PREFIX = "image_"
+        private const val IMAGE_SUFFIX = ".jpg"
+        private const val COMPACT_MIN_DEAD_RECORDS = 32
+
+        private const val RECORD_MAGIC = 0x5A534A31 // "ZSJ1"
+        private const val TYPE_PUT = 1
+        private const val TYPE_REMOVE = 2
+        private const val CRC_SIZE = 4
+
+        /**
+         * Record layout, big-endian:
+         * magic (4) | type (1) | id | capture time | image file name (modified UTF-8 each) |
+         * image size (8) | results length (4) | results | CRC32 of everything before it (4)
+         */
+        private fun encodeRecord(
+            type: Int, id: String, captureTime: String, imageName: String, imageSize: Long, results: ByteArray
+        ): ByteArray {
+            val bytes = ByteArrayOutputStream(results.size + 64)
+            DataOutputStream(bytes).use { out ->
+                out.writeInt(RECORD_MAGIC)
+                out.writeByte(type)
+                out.writeUTF(id)
+                out.writeUTF(captureTime)
+                out.writeUTF(imageName)
+                out.writeLong(imageSize)
+                out.writeInt(results.size)
+                out.write(results)
+                val crc = CRC32()
+                crc.update(bytes.toByteArray())
+                out.writeInt(crc.value.toInt())
+            }
+            return bytes.toByteArray()
+        }
+
+        /** Results of a complete PUT record, or null if its checksum does not match. */
+        private fun decodeResults(record: ByteArray): ByteArray? {
+            val body = record.size - CRC_SIZE
+            if (body < 0) return null
+            val crc = CRC32()
+            crc.update(record, 0, body)
+            val stored = ((record[body].toInt() and 0xFF) shl 24) or
+                    ((record[body + 1].toInt() and 0xFF) shl 16) or
+                    ((record[body + 2].toInt() and 0xFF) shl 8) or
+                    (record[body + 3].toInt() and 0xFF)
+            if (stored != crc.value.toInt()) return null
+            val input = DataInputStream(record.inputStream())
+            return try {
+                if (input.readInt() != RECORD_MAGIC || input.readUnsignedByte() != TYPE_PUT) return null
+                input.readUTF()
+                input.readUTF()
+                input.readUTF()
+                input.readLong()
+                val results = ByteArray(input.readInt())
+                input.readFully(results)
+                results
+            } catch (e: IOException) {
+                null
+            }
+        }
+
+        private fun skipFully(input: DataInputStream, count: Int) {
+            var remaining = count
+            while (remaining > 0) {
+                val skipped = input.skipBytes(remaining)
+                if (skipped <= 0) throw EOFException()
+                remaining -= skipped
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.zebra.aidatacapturedemo.model
+
+import com.google.gson.Gson
+import com.zebra.aidatacapturedemo.data.ResultData
+
+/** Payload of a capture session journal record. */
+internal class CaptureSessionResults(
+    val ocrResults: List<ResultData> = listOf(),
+    val barcodeResults: List<ResultData> = listOf()
+)
+
+/**
+ * CaptureSessionMigration copies capture sessions saved by earlier versions into a
+ * [CaptureSessionJournal]. Those versions kept each session in SharedPreferences as Gson JSON,
+ * keyed by its numeric id, with the image as a Base64 JPEG; the JPEG bytes are stored as they are.
+ * Reading the prefs file is left to the caller, so this has no Android dependencies.
+ */
+internal object CaptureSessionMigration {
+
+    /**
+     * Puts every session of [sessions] (id to JSON) into [journal], lowest id first, and returns
+     * the ids of the sessions that could not be read.
+     *
+     * @param decodeBase64 - Decodes the Base64 image of a session
+     */
+    fun migrate(
+        sessions: Map<String, *>,
+        journal: CaptureSessionJournal,
+        gson: Gson,
+        decodeBase64: (String) -> ByteArray
+    ): List<String> {
+        val dropped = mutableListOf<String>()
+        for ((sessionID, json) in sessions.entries.sortedBy { it.key.toIntOrNull() ?: Int.MAX_VALUE }) {
+            try {
+                val legacy = gson.fromJson(json as String, LegacyCaptureSession::class.java)
+                val image = legacy.captureImage.takeIf { it.isNotEmpty() }?.let(decodeBase64)
+                val results = CaptureSessionResults(legacy.ocrResults, legacy.barcodeResults)
+                journal.put(sessionID, legacy.captureTime, image, gson.toJson(results).toByteArray(Charsets.UTF_8))
+            } catch (e: Exception) {
+                dropped += sessionID
+            }
+        }
+        return dropped
+    }
+
+    /** Capture session as earlier versions stored it in SharedPreferences. */
+    private class LegacyCaptureSession(
+        val ocrResults: List<ResultData> = listOf(),
+        val barcodeResults: List<ResultData> = listOf(),
+        val captureTime: String = "",
+        val captureImage: String = ""
+    )
+}
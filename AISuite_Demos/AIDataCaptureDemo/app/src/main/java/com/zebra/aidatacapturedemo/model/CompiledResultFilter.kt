@@ -0,0 +1,205 @@
+package com.zebra.aidatacapturedemo.model
+
+import com.zebra.aidatacapturedemo.data.AdvancedFilterOption
+import com.zebra.aidatacapturedemo.data.BarcodeFilterData
+import com.zebra.aidatacapturedemo.data.CharacterMatchData
+import com.zebra.aidatacapturedemo.data.CharacterMatchFilterOption
+import com.zebra.aidatacapturedemo.data.CharacterTypeFilterOption
+import com.zebra.aidatacapturedemo.data.OcrFilterData
+import com.zebra.aidatacapturedemo.data.OcrRegularFilterOption
+import com.zebra.aidatacapturedemo.data.ResultData
+import java.util.regex.Pattern
+
+/**
+ * CompiledResultFilter is the immutable, precompiled form of an OCR or Barcode filter setting.
+ * Regexes are compiled once, term lists are folded into a [MultiPatternMatcher], and the
+ * CHARACTER_TYPE, CHARACTER_MATCH and STRING_LENGTH conditions are evaluated together per
+ * result, cheapest first, stopping at the first one that fails.
+ *
+ * Matching is equivalent to the original per-frame evaluation in [FilterUtils]:
+ * - UNFILTERED keeps results whose text is a single line, like "(.*?)".
+ * - REGEX keeps results matched by any valid default/additional pattern; none valid keeps nothing.
+ * - ADVANCED (and Barcode) keeps results that satisfy every selected condition. A blank or
+ *   empty term list for CHARACTER_MATCH keeps nothing.
+ * - CHARACTER_TYPE is not a barcode condition; a barcode filter that selects it keeps nothing
+ *   rather than failing on every frame.
+ * - The character type options select the same classes as the RegexConstant patterns, checked
+ *   with a single char scan.
+ */
+class CompiledResultFilter private constructor(
+    private val mode: Mode,
+    private val patterns: Array<Pattern> = emptyArray(),
+    private val lengthRange: IntRange? = null,
+    private val allowedCharClasses: Int = 0,
+    private val requireNonEmpty: Boolean = false,
+    private val matchType: CharacterMatchFilterOption? = null,
+    private val matcher: MultiPatternMatcher? = null
+) {
+
+    private enum class Mode { SINGLE_LINE, REGEX, CONDITIONS, REJECT_ALL }
+
+    /** True if a result with this [text] passes the filter. */
+    fun matches(text: String): Boolean = when (mode) {
+        Mode.SINGLE_LINE -> isSingleLine(text)
+        Mode.REGEX -> patterns.any { it.matcher(text).matches() }
+        Mode.CONDITIONS -> matchesConditions(text)
+        Mode.REJECT_ALL -> false
+    }
+
+    /** Returns new ResultData copies of the results that pass the filter. */
+    fun filter(results: List<ResultData>): List<ResultData> {
+        val filtered = mutableListOf<ResultData>()
+        for (d in results) {
+            if (matches(d.text)) {
+                filtered += ResultData(boundingBox = d.boundingBox, text = d.text)
+            }
+        }
+        return filtered
+    }
+
+    private fun matchesConditions(text: String): Boolean {
+        if (lengthRange != null && text.length !in lengthRange) return false
+        if (allowedCharClasses != 0 && !hasOnlyCharClasses(text)) return false
+        return when (matchType) {
+            CharacterMatchFilterOption.STARTS_WITH -> matcher!!.startsWithAny(text)
+            CharacterMatchFilterOption.CONTAINS -> matcher!!.containsAny(text)
+            CharacterMatchFilterOption.EXACT_MATCH -> matcher!!.equalsAny(text)
+            null -> true
+        }
+    }
+
+    private fun hasOnlyCharClasses(text: String): Boolean {
+        if (requireNonEmpty && text.isEmpty()) return false
+        for (c in text) {
+            if ((charClassOf(c) and allowedCharClasses) == 0) return false
+        }
+        return true
+    }
+
+    companion object {
+        private const val LETTER = 1
+        private const val DIGIT = 2
+        private const val SPECIAL = 4 // anything that is not an ASCII letter, digit or space
+
+        private val REJECT_ALL = CompiledResultFilter(Mode.REJECT_ALL)
+
+        fun forOcr(filterData: OcrFilterData): CompiledResultFilter =
+            when (filterData.selectedRegularFilterOption) {
+                OcrRegularFilterOption.UNFILTERED -> CompiledResultFilter(Mode.SINGLE_LINE)
+                OcrRegularFilterOption.REGEX -> compileRegex(filterData)
+                OcrRegularFilterOption.ADVANCED -> compileConditions(
+                    filterData.selectedAdvancedFilterOptionList,
+                    filterData.selectedCharacterTypeFilterOptionList,
+                    filterData.selectedCharacterMatchFilterData,
+                    filterData.selectedStringLengthRange,
+                    supportsCharacterType = true
+                )
+            }
+
+        fun forBarcode(filterData: BarcodeFilterData): CompiledResultFilter =
+            compileConditions(
+                filterData.selectedAdvancedFilterOptionList,
+                emptyList(),
+                filterData.selectedCharacterMatchFilterData,
+                filterData.selectedStringLengthRange,
+                supportsCharacterType = false
+            )
+
+        private fun compileRegex(filterData: OcrFilterData): CompiledResultFilter {
+            val regexData = filterData.selectedRegexFilterData
+            val patterns = mutableListOf<Pattern>()
+            if (regexData.regexDefaultString.isNotBlank()) {
+                FilterUtils.validateRegexSyntax(regexData.regexDefaultString)?.let { patterns += it }
+                regexData.regexAdditionalStringList.forEach { additional ->
+                    if (additional.isNotBlank()) {
+                        FilterUtils.validateRegexSyntax(additional)?.let { patterns += it }
+                    }
+                }
+            }
+            if (patterns.isEmpty()) return REJECT_ALL
+            return CompiledResultFilter(Mode.REGEX, patterns = patterns.toTypedArray())
+        }
+
+        private fun compileConditions(
+            options: List<AdvancedFilterOption>,
+            characterTypes: List<CharacterTypeFilterOption>,
+            characterMatch: CharacterMatchData,
+            lengthRange: ClosedFloatingPointRange<Float>,
+            supportsCharacterType: Boolean
+        ): CompiledResultFilter {
+            if (!supportsCharacterType && AdvancedFilterOption.CHARACTER_TYPE in options) {
+                return REJECT_ALL
+            }
+
+            var allowed = 0
+            var nonEmpty = false
+            if (AdvancedFilterOption.CHARACTER_TYPE in options && characterTypes.isNotEmpty() &&
+                CharacterTypeFilterOption.SELECT_ALL !in characterTypes
+            ) {
+                val alpha = CharacterTypeFilterOption.ALPHA in characterTypes
+                val numeric = CharacterTypeFilterOption.NUMERIC in characterTypes
+                val special = CharacterTypeFilterOption.INCLUDE_SPECIAL_CHARACTERS in characterTypes
+                // Same precedence as the original RegexConstant selection.
+                if (characterTypes.size == 1) {
+                    when {
+                        alpha -> { allowed = LETTER; nonEmpty = true }
+                        numeric -> { allowed = DIGIT; nonEmpty = false }
+                        special -> { allowed = SPECIAL; nonEmpty = true }
+                    }
+                } else {
+                    nonEmpty = true
+                    allowed = when {
+                        alpha && numeric -> LETTER or DIGIT
+                        alpha && special -> LETTER or SPECIAL
+                        else -> DIGIT or SPECIAL
+                    }
+                }
+            }
+
+            var matchType: CharacterMatchFilterOption? = null
+            var matcher: MultiPatternMatcher? = null
+            if (AdvancedFilterOption.CHARACTER_MATCH in options) {
+                val terms = when (characterMatch.type) {
+                    CharacterMatchFilterOption.STARTS_WITH -> characterMatch.startsWithStringList
+                    CharacterMatchFilterOption.CONTAINS -> characterMatch.containsStringList
+                    CharacterMatchFilterOption.EXACT_MATCH -> characterMatch.exactMatchStringList
+                }
+                if (terms.isEmpty() || terms.any { it.isBlank() }) return REJECT_ALL
+                matchType = characterMatch.type
+                matcher = MultiPatternMatcher(terms)
+            }
+
+            val length = if (AdvancedFilterOption.STRING_LENGTH in options) {
+                lengthRange.start.toInt()..lengthRange.endInclusive.toInt()
+            } else {
+                null
+            }
+
+            return CompiledResultFilter(
+                Mode.CONDITIONS,
+                lengthRange = length,
+                allowedCharClasses = allowed,
+                requireNonEmpty = nonEmpty,
+                matchType = matchType,
+                matcher = matcher
+            )
+        }
+
+        private fun charClassOf(c: Char): Int = when (c) {
+            in 'A'..'Z', in 'a'..'z' -> LETTER
+            in '0'..'9' -> DIGIT
+            ' ' -> 0
+            else -> SPECIAL
+        }
+
+        // "." does not match line terminators, so "(.*?)" only matches single-line text.
+        private fun isSingleLine(text: String): Boolean {
+            for (c in text) {
+                if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                    return false
+                }
+            }
+            return true
+        }
+    }
+}
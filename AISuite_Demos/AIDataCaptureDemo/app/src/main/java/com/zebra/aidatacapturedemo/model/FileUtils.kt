@@ -13,10 +13,7 @@ import android.provider.MediaStore
 import android.util.Log
 import androidx.annotation.RequiresApi
 import androidx.core.net.toUri
-import androidx.documentfile.provider.DocumentFile
-import com.google.gson.Gson
 import com.google.gson.GsonBuilder
-import com.zebra.ai.vision.detector.BBox
 import com.zebra.aidatacapturedemo.data.AIDataCaptureDemoUiState
 import com.zebra.aidatacapturedemo.data.BarcodeFilterData
 import com.zebra.aidatacapturedemo.data.BarcodeSettings
@@ -24,19 +21,16 @@ import com.zebra.aidatacapturedemo.data.FilterType
 import com.zebra.aidatacapturedemo.data.OcrBarcodeCaptureSessionData
 import com.zebra.aidatacapturedemo.data.OcrBarcodeFindSettings
 import com.zebra.aidatacapturedemo.data.OcrFilterData
-import com.zebra.aidatacapturedemo.data.ProductData
 import com.zebra.aidatacapturedemo.data.ProductRecognitionSettings
 import com.zebra.aidatacapturedemo.data.RetailShelfSettings
 import com.zebra.aidatacapturedemo.data.TextOcrSettings
 import com.zebra.aidatacapturedemo.data.UsecaseState
 import java.io.File
 import java.io.FileOutputStream
-import java.io.FileWriter
 import java.io.OutputStream
 import java.nio.file.Paths
 import java.time.LocalDateTime
 import java.time.format.DateTimeFormatter
-import java.util.ArrayDeque
 
 
 /**
@@ -60,6 +54,14 @@ class FileUtils(cacheDir: String, context : Context) {
         settingsFiles.put(UsecaseState.Product.value, productRecogntionSettingsFile)
         settingsFiles.put(FilterType.OCR_FILTER.value, ocrFilterDataFile)
         settingsFiles.put(FilterType.BARCODE_FILTER.value, barcodeFilterDataFile)
+        // FileUtils is re-created with the activity; keep the store and its pending writes.
+        val storeFile = File(mCacheDir, SETTINGS_STORE_FILE)
+        if (settingsStore?.file != storeFile) {
+            settingsStore?.close()
+            settingsStore = SettingsStore(storeFile, onWriteFailed = { e ->
+                Log.e(TAG, "Failed to write ${storeFile.name}", e)
+            })
+        }
     }
 
     companion object {
@@ -68,6 +70,7 @@ class FileUtils(cacheDir: String, context : Context) {
         lateinit var mContext : Context
         lateinit var mSavedTimeStamp : String
         var databaseFile: String = "products.db"
+        private const val SETTINGS_STORE_FILE = "settings.bin"
         private val gson = GsonBuilder()
             .registerTypeAdapter(ClosedFloatingPointRange::class.java, CustomClosedFloatingPointRangeAdapter())
             .create()
@@ -80,166 +83,101 @@ class FileUtils(cacheDir: String, context : Context) {
         private lateinit var ocrFilterDataFile: File
         private lateinit var barcodeFilterDataFile: File
 
+        // Per-setting JSON files written by earlier versions; only read to migrate them.
         var settingsFiles : MutableMap<String, File> = mutableMapOf()
 
-        fun loadBarcodeSettings(): BarcodeSettings {
+        @Volatile
+        private var settingsStore: SettingsStore? = null
 
-            return if (settingsFiles.getValue(UsecaseState.Barcode.value).exists()) {
-                try {
-                    val json = settingsFiles.getValue(UsecaseState.Barcode.value).readText()
-                    gson.fromJson(json, BarcodeSettings::class.java) ?: BarcodeSettings()
-                } catch (_: Exception) {
-                    BarcodeSettings()
-                }
-            } else {
-                BarcodeSettings()
-            }
-        }
+        private const val CAPTURE_SESSION_DIR = "capture_sessions"
+        private const val CAPTURE_SESSION_PREFS = "OcrBarcodeCaptureSessions"
 
-        fun saveBarcodeSettings(settings: BarcodeSettings) {
-            try {
-                FileWriter(settingsFiles.getValue(UsecaseState.Barcode.value)).use { writer ->
-                    gson.toJson(settings, writer)
-                }
-            } catch (e: Exception) {
-                e.printStackTrace()
-            }
-        }
-        fun loadOCRSettings(): TextOcrSettings {
-            return if (settingsFiles.getValue(UsecaseState.OCR.value).exists()) {
-                try {
-                    val json = settingsFiles.getValue(UsecaseState.OCR.value).readText()
-                    gson.fromJson(json, TextOcrSettings::class.java) ?: TextOcrSettings()
-                } catch (_: Exception) {
-                    TextOcrSettings()
-                }
-            } else {
-                TextOcrSettings()
-            }
-        }
+        @Volatile
+        private var captureSessions: CaptureSessionJournal? = null
 
-        fun saveOCRSettings(settings: TextOcrSettings) {
-            try {
-                FileWriter(settingsFiles.getValue(UsecaseState.OCR.value)).use { writer ->
-                    gson.toJson(settings, writer)
-                }
-            } catch (e: Exception) {
-                e.printStackTrace()
-            }
-        }
+        fun loadBarcodeSettings(): BarcodeSettings =
+            loadSettings(UsecaseState.Barcode.value, SettingsCodecs.BARCODE, BarcodeSettings::class.java) { BarcodeSettings() }
 
-        fun loadOCRBarcodeFindSettings(): OcrBarcodeFindSettings {
-            return if (settingsFiles.getValue(UsecaseState.OCRBarcodeFind.value).exists()) {
-                try {
-                    val json = settingsFiles.getValue(UsecaseState.OCRBarcodeFind.value).readText()
-                    gson.fromJson(json, OcrBarcodeFindSettings::class.java) ?: OcrBarcodeFindSettings()
-                } catch (_: Exception) {
-                    OcrBarcodeFindSettings()
-                }
-            } else {
-                OcrBarcodeFindSettings()
-            }
-        }
+        fun saveBarcodeSettings(settings: BarcodeSettings) =
+            saveSettings(UsecaseState.Barcode.value, SettingsCodecs.BARCODE, settings)
 
-        fun saveOCRBarcodeFindSettings(settings: OcrBarcodeFindSettings) {
-            try {
-                FileWriter(settingsFiles.getValue(UsecaseState.OCRBarcodeFind.value)).use { writer ->
-                    gson.toJson(settings, writer)
-                }
-            } catch (e: Exception) {
-                e.printStackTrace()
-            }
-        }
+        fun loadOCRSettings(): TextOcrSettings =
+            loadSettings(UsecaseState.OCR.value, SettingsCodecs.OCR, TextOcrSettings::class.java) { TextOcrSettings() }
 
-        fun loadRetailShelfSettings(): RetailShelfSettings {
-            return if (settingsFiles.getValue(UsecaseState.Retail.value).exists()) {
-                try {
-                    val json = settingsFiles.getValue(UsecaseState.Retail.value).readText()
-                    gson.fromJson(json, RetailShelfSettings::class.java) ?: RetailShelfSettings()
-                } catch (_: Exception) {
-                    RetailShelfSettings()
-                }
-            } else {
-                RetailShelfSettings()
-            }
-        }
+        fun saveOCRSettings(settings: TextOcrSettings) =
+            saveSettings(UsecaseState.OCR.value, SettingsCodecs.OCR, settings)
 
-        fun saveRetailShelfSettings(settings: RetailShelfSettings) {
-            try {
-                FileWriter(settingsFiles.getValue(UsecaseState.Retail.value)).use { writer ->
-                    gson.toJson(settings, writer)
-                }
-            } catch (e: Exception) {
-                e.printStackTrace()
-            }
-        }
+        fun loadOCRBarcodeFindSettings(): OcrBarcodeFindSettings =
+            loadSettings(UsecaseState.OCRBarcodeFind.value, SettingsCodecs.OCR_BARCODE_FIND, OcrBarcodeFindSettings::class.java) { OcrBarcodeFindSettings() }
 
-        fun loadProductRecognitionSettings(): ProductRecognitionSettings {
-            return if (settingsFiles.getValue(UsecaseState.Product.value).exists()) {
-                try {
-                    val json = settingsFiles.getValue(UsecaseState.Product.value).readText()
-                    gson.fromJson(json, ProductRecognitionSettings::class.java) ?: ProductRecognitionSettings()
-                } catch (_: Exception) {
-                    ProductRecognitionSettings()
-                }
-            } else {
-                ProductRecognitionSettings()
-            }
-        }
+        fun saveOCRBarcodeFindSettings(settings: OcrBarcodeFindSettings) =
+            saveSettings(UsecaseState.OCRBarcodeFind.value, SettingsCodecs.OCR_BARCODE_FIND, settings)
 
-        fun saveOcrFilterData(ocrFilterData: OcrFilterData) {
-            try {
-                FileWriter(settingsFiles.getValue(FilterType.OCR_FILTER.value)).use { writer ->
-                    gson.toJson(ocrFilterData, writer)
-                }
-            } catch (e: Exception) {
-                e.printStackTrace()
-            }
+        fun loadRetailShelfSettings(): RetailShelfSettings =
+            loadSettings(UsecaseState.Retail.value, SettingsCodecs.RETAIL_SHELF, RetailShelfSettings::class.java) { RetailShelfSettings() }
+
+        fun saveRetailShelfSettings(settings: RetailShelfSettings) =
+            saveSettings(UsecaseState.Retail.value, SettingsCodecs.RETAIL_SHELF, settings)
+
+        fun loadProductRecognitionSettings(): ProductRecognitionSettings =
+            loadSettings(UsecaseState.Product.value, SettingsCodecs.PRODUCT_RECOGNITION, ProductRecognitionSettings::class.java) { ProductRecognitionSettings() }
+
+        fun saveProductRecognitionSettings(settings: ProductRecognitionSettings) =
+            saveSettings(UsecaseState.Product.value, SettingsCodecs.PRODUCT_RECOGNITION, settings)
+
+        fun loadOcrFilterData(): OcrFilterData =
+            loadSettings(FilterType.OCR_FILTER.value, SettingsCodecs.OCR_FILTER, OcrFilterData::class.java) { OcrFilterData() }
+
+        fun saveOcrFilterData(ocrFilterData: OcrFilterData) =
+            saveSettings(FilterType.OCR_FILTER.value, SettingsCodecs.OCR_FILTER, ocrFilterData)
+
+        fun loadBarcodeFilterData(): BarcodeFilterData =
+            loadSettings(FilterType.BARCODE_FILTER.value, SettingsCodecs.BARCODE_FILTER, BarcodeFilterData::class.java) { BarcodeFilterData() }
+
+        fun saveBarcodeFilterData(barcodeFilterData: BarcodeFilterData) =
+            saveSettings(FilterType.BARCODE_FILTER.value, SettingsCodecs.BARCODE_FILTER, barcodeFilterData)
+
+        /**
+         * Writes pending settings changes now instead of after the coalescing delay,
+         * e.g. when the app goes to the background.
+         */
+        fun flushSettings() {
+            settingsStore?.flush()
         }
 
-        fun loadOcrFilterData(): OcrFilterData {
-            return if (settingsFiles.getValue(FilterType.OCR_FILTER.value).exists()) {
-                try {
-                    val json = settingsFiles.getValue(FilterType.OCR_FILTER.value).readText()
-                    gson.fromJson(json, OcrFilterData::class.java) ?: OcrFilterData()
-                } catch (_: Exception) {
-                    OcrFilterData()
-                }
-            } else {
-                OcrFilterData()
-            }
+        /**
+         * Reads a setting from the [SettingsStore]. Settings saved by older versions of the
+         * app as separate JSON files are read with Gson the first time and moved into the store;
+         * the JSON file is deleted once the store has been written.
+         */
+        private fun <T : Any> loadSettings(
+            key: String,
+            codec: SettingsStore.Codec<T>,
+            type: Class<T>,
+            default: () -> T
+        ): T {
+            val store = settingsStore ?: return default()
+            store.get(key, codec)?.let { return it }
+            val legacyFile = settingsFiles[key]?.takeIf { it.exists() } ?: return default()
+            val legacy = loadLegacySettings(legacyFile, type) ?: return default()
+            store.put(key, codec, legacy)
+            store.flush { legacyFile.delete() }
+            return legacy
         }
 
-        fun saveBarcodeFilterData(barcodeFilterData: BarcodeFilterData) {
+        private fun <T : Any> saveSettings(key: String, codec: SettingsStore.Codec<T>, value: T) {
             try {
-                FileWriter(settingsFiles.getValue(FilterType.BARCODE_FILTER.value)).use { writer ->
-                    gson.toJson(barcodeFilterData, writer)
-                }
+                settingsStore?.put(key, codec, value)
             } catch (e: Exception) {
                 e.printStackTrace()
             }
         }
 
-        fun loadBarcodeFilterData(): BarcodeFilterData {
-            return if (settingsFiles.getValue(FilterType.BARCODE_FILTER.value).exists()) {
-                try {
-                    val json = settingsFiles.getValue(FilterType.BARCODE_FILTER.value).readText()
-                    gson.fromJson(json, BarcodeFilterData::class.java) ?: BarcodeFilterData()
-                } catch (_: Exception) {
-                    BarcodeFilterData()
-                }
-            } else {
-                BarcodeFilterData()
-            }
-        }
-
-        fun saveProductRecognitionSettings(settings: ProductRecognitionSettings) {
-            try {
-                FileWriter(settingsFiles.getValue(UsecaseState.Product.value)).use { writer ->
-                    gson.toJson(settings, writer)
-                }
-            } catch (e: Exception) {
-                e.printStackTrace()
+        private fun <T : Any> loadLegacySettings(file: File, type: Class<T>): T? {
+            return try {
+                gson.fromJson(file.readText(), type)
+            } catch (_: Exception) {
+                null
             }
         }
 
@@ -337,47 +275,6 @@ class FileUtils(cacheDir: String, context : Context) {
             saveFile(productDBFile.toUri(), fileUri)
         }
 
-        /**
-         * This function is used to reads product crops in Downloads folder
-         */
-        fun readProductCrops(uri: Uri) : List<ProductData>{
-
-            // Creates a remembered mutable state list to store paths of images.
-            val rootDirectoryFile = DocumentFile.fromTreeUri(mContext, uri)
-            val directories = ArrayDeque(listOf(rootDirectoryFile))
-            val imageFileUris = mutableListOf<Uri>()
-            val listOfProductData = mutableListOf<ProductData>()
-
-            // Loop through all of the subdirectories, starting with the root
-            while (directories.isNotEmpty()) {
-                val currentDirectory = directories.removeFirst()
-
-                // List all of the files in the current directory
-                val files = currentDirectory?.listFiles()
-                if (files != null) {
-                    for (file in files) {
-                        if (file.isDirectory) {
-                            // Add subdirectories to the list to search through
-                            directories.add(file)
-                        } else if (file.type?.startsWith("image/") == true) {
-                            // Add Uri of the image file to the list
-                            imageFileUris += file.uri
-                            mContext.contentResolver.openInputStream(file.uri).use { input ->
-                                if(input != null) {
-                                    val bitmap = BitmapFactory.decodeStream(input)
-                                    file.parentFile?.name?.let {
-                                        listOfProductData += ProductData( it, BBox(), bitmap)
-                                    }
-                                    input.close()
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-            return listOfProductData
-        }
-
         /**
          * This function is used to write and save the file
          */
@@ -394,46 +291,99 @@ class FileUtils(cacheDir: String, context : Context) {
             }
         }
 
-        fun saveOcrBarcodeCaptureSessionDataToPrefs(context: Context, sessionID: String, uiState: AIDataCaptureDemoUiState) {
-            Log.d(TAG, "saveOcrBarcodeCaptureSessionDataToPrefs: $sessionID")
-            val sessionData = OcrBarcodeCaptureSessionData(
-                ocrResults = uiState.ocrResults,
-                barcodeResults = uiState.barcodeResults,
-                captureTime = getTimeStamp(),
-                captureImage = uiState.captureBitmap?.let { bitmap ->
-                    Log.d(TAG, "captureBitmap width: ${bitmap.width}")
-                    Log.d(TAG, "captureBitmap height: ${bitmap.height}")
-                    val outputStream = java.io.ByteArrayOutputStream()
-                    Log.d(TAG, "outputStream size: ${outputStream.size()}")
-                    bitmap.compress(Bitmap.CompressFormat.JPEG, 10, outputStream)
-                    android.util.Base64.encodeToString(outputStream.toByteArray(), android.util.Base64.DEFAULT)
-                } ?: ""
+        /**
+         * Saves the captured results and image of an OCR/barcode capture session in the capture
+         * session journal. The image is stored as its own JPEG file.
+         */
+        fun saveOcrBarcodeCaptureSession(context: Context, sessionID: String, uiState: AIDataCaptureDemoUiState) {
+            Log.d(TAG, "saveOcrBarcodeCaptureSession: $sessionID")
+            val image = uiState.captureBitmap?.let { bitmap ->
+                Log.d(TAG, "captureBitmap width: ${bitmap.width}")
+                Log.d(TAG, "captureBitmap height: ${bitmap.height}")
+                val outputStream = java.io.ByteArrayOutputStream()
+                bitmap.compress(Bitmap.CompressFormat.JPEG, 10, outputStream)
+                outputStream.toByteArray()
+            }
+            val results = CaptureSessionResults(uiState.ocrResults, uiState.barcodeResults)
+            captureSessionJournal(context).put(
+                sessionID, getTimeStamp(), image, gson.toJson(results).toByteArray(Charsets.UTF_8)
             )
-            val prefs = context.getSharedPreferences("OcrBarcodeCaptureSessions", Context.MODE_PRIVATE)
-            val editor = prefs.edit()
-            val gson = Gson()
-            val json = gson.toJson(sessionData)
-            editor.putString(sessionID, json)
-            editor.apply()
         }
 
-        fun loadOcrBarcodeCaptureSessionDataFromPrefs(context: Context, sessionID: String): OcrBarcodeCaptureSessionData? {
-            val prefs = context.getSharedPreferences("OcrBarcodeCaptureSessions", Context.MODE_PRIVATE)
-            val json = prefs.getString(sessionID, null)
-            return if (json != null) {
-                try {
-                    Gson().fromJson(json, OcrBarcodeCaptureSessionData::class.java)
-                } catch (e: Exception) {
-                    null
-                }
-            } else {
+        /**
+         * Results of a saved capture session, read from the journal on demand. The image is not
+         * decoded; use [loadOcrBarcodeCaptureSessionImage] for it.
+         */
+        fun loadOcrBarcodeCaptureSession(context: Context, sessionID: String): OcrBarcodeCaptureSessionData? {
+            val journal = captureSessionJournal(context)
+            val entry = journal.entry(sessionID) ?: return null
+            val results = journal.readResults(sessionID) ?: return null
+            return try {
+                val data = gson.fromJson(String(results, Charsets.UTF_8), CaptureSessionResults::class.java)
+                OcrBarcodeCaptureSessionData(
+                    ocrResults = data.ocrResults,
+                    barcodeResults = data.barcodeResults,
+                    captureTime = entry.captureTime,
+                    captureImageFile = entry.imageFile?.path ?: ""
+                )
+            } catch (e: Exception) {
                 null
             }
         }
 
-        fun clearOcrBarcodeCaptureSessionPrefs(context: Context) {
-            val prefs = context.getSharedPreferences("OcrBarcodeCaptureSessions", Context.MODE_PRIVATE)
-            prefs.edit().clear().apply()
+        fun loadOcrBarcodeCaptureSessionImage(context: Context, sessionID: String): Bitmap? {
+            val imageFile = captureSessionJournal(context).entry(sessionID)?.imageFile ?: return null
+            return BitmapFactory.decodeFile(imageFile.path)
+        }
+
+        /**
+         * Removes every saved capture session. A journal that is not open yet is deleted without
+         * opening it, and sessions still in the old prefs file are dropped instead of migrated.
+         */
+        fun clearOcrBarcodeCaptureSessions(context: Context) {
+            synchronized(this) {
+                captureSessions?.let {
+                    it.clear()
+                    return
+                }
+                CaptureSessionJournal.delete(File(context.filesDir, CAPTURE_SESSION_DIR))
+                if (File(context.dataDir, "shared_prefs/$CAPTURE_SESSION_PREFS.xml").exists()) {
+                    context.deleteSharedPreferences(CAPTURE_SESSION_PREFS)
+                }
+            }
+        }
+
+        /**
+         * Opens the capture session journal on first use, so app startup does not pay for it, and
+         * moves sessions saved by earlier versions out of SharedPreferences.
+         */
+        private fun captureSessionJournal(context: Context): CaptureSessionJournal {
+            captureSessions?.let { return it }
+            synchronized(this) {
+                captureSessions?.let { return it }
+                val journal = CaptureSessionJournal(File(context.filesDir, CAPTURE_SESSION_DIR))
+                migrateCaptureSessionPrefs(context, journal)
+                captureSessions = journal
+                return journal
+            }
+        }
+
+        /**
+         * Earlier versions kept each session in SharedPreferences as Gson JSON with the image as a
+         * Base64 JPEG. The prefs file is only opened if it exists, since opening it parses all of
+         * it; the JPEG bytes are copied to the journal as they are, then the prefs file is deleted.
+         */
+        private fun migrateCaptureSessionPrefs(context: Context, journal: CaptureSessionJournal) {
+            val prefsFile = File(context.dataDir, "shared_prefs/$CAPTURE_SESSION_PREFS.xml")
+            if (!prefsFile.exists()) return
+            val prefs = context.getSharedPreferences(CAPTURE_SESSION_PREFS, Context.MODE_PRIVATE)
+            val sessions = prefs.all
+            val dropped = CaptureSessionMigration.migrate(sessions, journal, gson) {
+                android.util.Base64.decode(it, android.util.Base64.DEFAULT)
+            }
+            dropped.forEach { Log.e(TAG, "Dropping unreadable capture session $it") }
+            Log.d(TAG, "Migrated ${sessions.size - dropped.size} capture sessions from SharedPreferences")
+            context.deleteSharedPreferences(CAPTURE_SESSION_PREFS)
         }
     }
 }
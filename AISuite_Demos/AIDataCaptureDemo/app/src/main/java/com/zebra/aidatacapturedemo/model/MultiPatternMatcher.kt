@@ -0,0 +1,146 @@
+package com.zebra.aidatacapturedemo.model
+
+/**
+ * MultiPatternMatcher is a case-insensitive Aho-Corasick automaton over a fixed set of terms.
+ * It answers "starts with any", "contains any" and "equals any" in a single pass over the text,
+ * however many terms are configured, instead of one startsWith/contains/equals call per term.
+ *
+ * Case folding follows String.regionMatches(ignoreCase = true): two chars match when their
+ * upper-then-lower case forms are equal, so results are identical to the per-term loops.
+ *
+ * The automaton is immutable after construction and safe to share between threads.
+ */
+class MultiPatternMatcher(patterns: Collection<String>) {
+
+    // Folded chars that occur in the patterns get a dense column index; anything else can
+    // never advance the trie.
+    private val asciiColumn = IntArray(ASCII_SIZE) { NO_COLUMN }
+    private val otherColumn = HashMap<Char, Int>()
+    private val columns: Int
+
+    // Row-major [state * columns + column] tables. trie holds only pattern edges (NO_STATE
+    // where there is none), automaton is the full transition function with failure links
+    // folded in.
+    private val trie: IntArray
+    private val automaton: IntArray
+    private val terminal: BooleanArray
+    private val output: BooleanArray
+
+    init {
+        var nextColumn = 0
+        var maxStates = 1
+        for (pattern in patterns) {
+            maxStates += pattern.length
+            for (c in pattern) {
+                val f = fold(c)
+                if (f.code < ASCII_SIZE) {
+                    if (asciiColumn[f.code] == NO_COLUMN) asciiColumn[f.code] = nextColumn++
+                } else if (!otherColumn.containsKey(f)) {
+                    otherColumn[f] = nextColumn++
+                }
+            }
+        }
+        columns = maxOf(nextColumn, 1)
+
+        val trieTable = IntArray(maxStates * columns) { NO_STATE }
+        val isTerminal = BooleanArray(maxStates)
+        var states = 1
+        for (pattern in patterns) {
+            var state = ROOT
+            for (c in pattern) {
+                val edge = state * columns + column(fold(c))
+                if (trieTable[edge] == NO_STATE) trieTable[edge] = states++
+                state = trieTable[edge]
+            }
+            isTerminal[state] = true
+        }
+
+        // Breadth-first failure links; a state's failure target is always shallower, so its
+        // automaton row is complete by the time it is needed.
+        val automatonTable = IntArray(states * columns)
+        val hasOutput = isTerminal.copyOf(states)
+        val failure = IntArray(states)
+        val queue = IntArray(states)
+        var head = 0
+        var tail = 0
+        for (a in 0 until columns) {
+            val child = trieTable[a]
+            if (child == NO_STATE) {
+                automatonTable[a] = ROOT
+            } else {
+                automatonTable[a] = child
+                queue[tail++] = child
+            }
+        }
+        while (head < tail) {
+            val state = queue[head++]
+            hasOutput[state] = hasOutput[state] || hasOutput[failure[state]]
+            for (a in 0 until columns) {
+                val child = trieTable[state * columns + a]
+                val fallback = automatonTable[failure[state] * columns + a]
+                if (child == NO_STATE) {
+                    automatonTable[state * columns + a] = fallback
+                } else {
+                    automatonTable[state * columns + a] = child
+                    failure[child] = fallback
+                    queue[tail++] = child
+                }
+            }
+        }
+
+        trie = trieTable
+        automaton = automatonTable
+        terminal = isTerminal
+        output = hasOutput
+    }
+
+    /** True if [text] starts with any of the patterns. */
+    fun startsWithAny(text: String): Boolean {
+        var state = ROOT
+        if (terminal[state]) return true
+        for (c in text) {
+            val a = column(fold(c))
+            if (a == NO_COLUMN) return false
+            state = trie[state * columns + a]
+            if (state == NO_STATE) return false
+            if (terminal[state]) return true
+        }
+        return false
+    }
+
+    /** True if [text] contains any of the patterns. */
+    fun containsAny(text: String): Boolean {
+        var state = ROOT
+        if (output[state]) return true
+        for (c in text) {
+            val a = column(fold(c))
+            state = if (a == NO_COLUMN) ROOT else automaton[state * columns + a]
+            if (output[state]) return true
+        }
+        return false
+    }
+
+    /** True if [text] equals any of the patterns. */
+    fun equalsAny(text: String): Boolean {
+        var state = ROOT
+        for (c in text) {
+            val a = column(fold(c))
+            if (a == NO_COLUMN) return false
+            state = trie[state * columns + a]
+            if (state == NO_STATE) return false
+        }
+        return terminal[state]
+    }
+
+    private fun column(folded: Char): Int =
+        if (folded.code < ASCII_SIZE) asciiColumn[folded.code] else otherColumn[folded] ?: NO_COLUMN
+
+    private companion object {
+        const val ASCII_SIZE = 128
+        const val ROOT = 0
+        const val NO_STATE = -1
+        const val NO_COLUMN = -1
+
+        fun fold(c: Char): Char = c.uppercaseChar().lowercaseChar()
+    }
+}
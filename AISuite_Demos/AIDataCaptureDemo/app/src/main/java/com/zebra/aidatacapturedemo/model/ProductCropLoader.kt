@@ -0,0 +1,207 @@
+package com.zebra.aidatacapturedemo.model
+
+import android.content.Context
+import android.graphics.Bitmap
+import android.graphics.BitmapFactory
+import android.net.Uri
+import android.os.Debug
+import android.util.Log
+import androidx.documentfile.provider.DocumentFile
+import com.zebra.ai.vision.detector.BBox
+import com.zebra.aidatacapturedemo.data.ProductData
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.SendChannel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runInterruptible
+import kotlinx.coroutines.sync.Semaphore
+import java.util.ArrayDeque
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * ProductCropLoader streams product crops from a document tree (one sub-folder per SKU, named
+ * after it) without holding the whole catalog in memory.
+ *
+ * - The tree is walked lazily, breadth-first, as crops are consumed.
+ * - Each image is decoded at reduced size: its bounds are read first (inJustDecodeBounds) and the
+ *   largest power-of-two inSampleSize is chosen that keeps the shorter side at or above
+ *   [targetSize]. The FeatureExtractor rescales crops to its own input size anyway, so the full
+ *   resolution is never needed.
+ * - Up to [decodeParallelism] images are decoded ahead on Dispatchers.IO, and at most [prefetch]
+ *   decoded crops wait for the consumer, so memory is bounded by roughly
+ *   (decodeParallelism + prefetch + crops held by the consumer) downsampled bitmaps.
+ *
+ * The consumer hands each crop back through [release] once it is done with it, which recycles
+ * the bitmap and keeps [metrics] accurate.
+ *
+ * @param context - Used to resolve the tree and open image streams
+ * @param targetSize - Minimum length in pixels of the shorter side after downsampling
+ * @param decodeParallelism - Maximum number of images decoded at once
+ * @param prefetch - Maximum number of decoded crops waiting for the consumer
+ */
+class ProductCropLoader(
+    private val context: Context,
+    private val targetSize: Int = DEFAULT_TARGET_SIZE,
+    private val decodeParallelism: Int = DEFAULT_DECODE_PARALLELISM,
+    private val prefetch: Int = DEFAULT_PREFETCH
+) {
+
+    init {
+        require(targetSize > 0) { "targetSize must be positive: $targetSize" }
+        require(decodeParallelism > 0) { "decodeParallelism must be positive: $decodeParallelism" }
+        require(prefetch >= 0) { "prefetch must not be negative: $prefetch" }
+    }
+
+    /**
+     * Snapshot of the loader counters. Bitmap bytes are Bitmap.allocationByteCount of crops that
+     * have been decoded but not yet released; the native heap peak is sampled after each decode.
+     */
+    data class Metrics(
+        val imagesFound: Int,
+        val decoded: Int,
+        val failed: Int,
+        val bitmapBytesInFlight: Long,
+        val peakBitmapBytesInFlight: Long,
+        val peakNativeHeapBytes: Long
+    )
+
+    private val TAG = "ProductCropLoader"
+
+    private val imagesFound = AtomicInteger()
+    private val decoded = AtomicInteger()
+    private val failed = AtomicInteger()
+    private val bytesInFlight = AtomicLong()
+    private val peakBytesInFlight = AtomicLong()
+    private val peakNativeHeap = AtomicLong()
+
+    val metrics: Metrics
+        get() = Metrics(
+            imagesFound.get(), decoded.get(), failed.get(),
+            bytesInFlight.get(), peakBytesInFlight.get(), peakNativeHeap.get()
+        )
+
+    /**
+     * Emits a [ProductData] per readable image under [treeUri], labelled with its parent folder
+     * name, in decode-completion order. Images that cannot be opened or decoded are counted in
+     * [Metrics.failed] and skipped. Collection is cancellable; in-flight decodes are interrupted
+     * and crops decoded but not yet emitted are recycled.
+     */
+    fun crops(treeUri: Uri): Flow<ProductData> = flow {
+        coroutineScope {
+            // Decoded crops waiting for the consumer. A crop that is never delivered, because
+            // collection stopped while it was buffered or being sent, is recycled.
+            val ready = Channel<ProductData>(prefetch, onUndeliveredElement = { release(it) })
+            launch(Dispatchers.IO) {
+                decodeInto(treeUri, ready)
+                ready.close()
+            }
+            try {
+                for (crop in ready) emit(crop)
+            } finally {
+                ready.cancel()
+            }
+        }
+    }
+
+    private suspend fun decodeInto(treeUri: Uri, ready: SendChannel<ProductData>) = coroutineScope {
+        val permits = Semaphore(decodeParallelism)
+        for (file in imageFiles(treeUri)) {
+            val label = file.parentFile?.name ?: continue
+            imagesFound.incrementAndGet()
+            // Waiting here also pauses the walk while the consumer is behind.
+            permits.acquire()
+            launch {
+                try {
+                    val bitmap = decodeOrNull(file.uri)
+                    if (bitmap == null) {
+                        failed.incrementAndGet()
+                    } else {
+                        decoded.incrementAndGet()
+                        track(bitmap)
+                        ready.send(ProductData(label, BBox(), bitmap))
+                    }
+                } finally {
+                    permits.release()
+                }
+            }
+        }
+    }
+
+    /** Recycles a crop emitted by [crops] once the consumer no longer needs it. */
+    fun release(crop: ProductData) {
+        val bitmap = crop.crop
+        if (!bitmap.isRecycled) {
+            bytesInFlight.addAndGet(-bitmap.allocationByteCount.toLong())
+            bitmap.recycle()
+        }
+    }
+
+    private fun track(bitmap: Bitmap) {
+        val inFlight = bytesInFlight.addAndGet(bitmap.allocationByteCount.toLong())
+        peakBytesInFlight.accumulateAndGet(inFlight) { a, b -> maxOf(a, b) }
+        peakNativeHeap.accumulateAndGet(Debug.getNativeHeapAllocatedSize()) { a, b -> maxOf(a, b) }
+    }
+
+    /** Image documents under [treeUri], listed one folder at a time as the sequence is iterated. */
+    private fun imageFiles(treeUri: Uri): Sequence<DocumentFile> = sequence {
+        val root = DocumentFile.fromTreeUri(context, treeUri) ?: return@sequence
+        val directories = ArrayDeque<DocumentFile>()
+        directories.add(root)
+        while (directories.isNotEmpty()) {
+            for (file in directories.removeFirst().listFiles()) {
+                if (file.isDirectory) {
+                    directories.add(file)
+                } else if (file.type?.startsWith("image/") == true) {
+                    yield(file)
+                }
+            }
+        }
+    }
+
+    /** Decodes [uri]; null if it cannot be opened or is not a readable image. */
+    private suspend fun decodeOrNull(uri: Uri): Bitmap? =
+        try {
+            runInterruptible { decode(uri) }
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            Log.w(TAG, "Cannot decode $uri", e)
+            null
+        }
+
+    private fun decode(uri: Uri): Bitmap? {
+        val resolver = context.contentResolver
+        val bounds = BitmapFactory.Options().apply { inJustDecodeBounds = true }
+        // decodeStream returns null when only reading bounds; the size is left in the options.
+        val header = resolver.openInputStream(uri) ?: return null
+        header.use { BitmapFactory.decodeStream(it, null, bounds) }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) return null
+
+        val options = BitmapFactory.Options().apply {
+            inSampleSize = sampleSizeFor(bounds.outWidth, bounds.outHeight, targetSize)
+        }
+        return resolver.openInputStream(uri)?.use { BitmapFactory.decodeStream(it, null, options) }
+    }
+
+    companion object {
+        const val DEFAULT_TARGET_SIZE = 512
+        const val DEFAULT_DECODE_PARALLELISM = 2
+        const val DEFAULT_PREFETCH = 4
+
+        /**
+         * Largest power of two that keeps min(width, height) / sampleSize >= [targetSize];
+         * 1 for images that are already small.
+         */
+        fun sampleSizeFor(width: Int, height: Int, targetSize: Int): Int {
+            val shorter = minOf(width, height)
+            var sampleSize = 1
+            while (shorter / (sampleSize * 2) >= targetSize) sampleSize *= 2
+            return sampleSize
+        }
+    }
+}
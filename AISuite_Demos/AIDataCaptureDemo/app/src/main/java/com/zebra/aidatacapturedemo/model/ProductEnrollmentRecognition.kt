@@ -4,6 +4,7 @@ package com.zebra.aidatacapturedemo.model
 
 import android.graphics.Bitmap
 import android.graphics.Matrix
+import android.net.Uri
 import android.util.Log
 import androidx.camera.core.ImageAnalysis
 import androidx.camera.core.ImageProxy
@@ -23,6 +24,7 @@ import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.Job
 import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.isActive
 import kotlinx.coroutines.launch
 import java.io.IOException
 import java.nio.file.Paths
@@ -63,6 +65,7 @@ class ProductEnrollmentRecognition(
     private val executorService: ExecutorService = Executors.newFixedThreadPool(4)
     private val scope = CoroutineScope(Dispatchers.IO + job)
     private var isAnalyzing = true
+    private var enrollmentJob: Job? = null
 
     /**
      * ProductEnrollmentRecognition workflow takes the input image and runs it through the
@@ -131,6 +134,7 @@ class ProductEnrollmentRecognition(
      * feature extractor, feature storage and recognizer.
      */
     fun deinitialize() {
+        cancelEnrollment()
         localizer?.dispose()
         localizer = null
         recognizer?.dispose()
@@ -351,28 +355,121 @@ class ProductEnrollmentRecognition(
 
     /**
      * This function is used to enroll the products, using their product decriptors
-     * into the database. We need to extract the features from the product detection
-     * bounding boxes and add them to the feature storage.
-     * We then reinitialize the product recognition to include the new products.
+     * into the database. Descriptors for the product crops are generated in parallel
+     * (bounded by the extractor thread pool) through a [BatchEnrollmentPipeline], then
+     * added to the feature storage in one pass once all of them are ready.
+     * We then reinitialize the product recognition once to include the new products.
+     * A cancelled enrollment ([cancelEnrollment]) leaves the database untouched.
+     * @param onProgress - Optional callback invoked from worker threads as products complete
      */
-    fun enrollProductIndex(productDataList: List<ProductData>) {
+    fun enrollProductIndex(
+        productDataList: List<ProductData>,
+        onProgress: ((BatchEnrollmentPipeline.Progress) -> Unit)? = null
+    ) {
         Log.i(TAG, "enrollProducts")
         if (productDataList.size == 0) {
             return
         }
         Log.i(TAG, "Num Products - ${productDataList.size}")
-        scope.launch {
-            for (product in productDataList) {
-                if (product.text.isNotEmpty()) {
-                    val arrayOfDescriptor =
-                        extractor?.generateSingleDescriptor(product.crop, executorService)?.get()
-                    featureStorage!!.addDescriptors(product.text, arrayOfDescriptor, true)
+        val products = productDataList.filter { it.text.isNotEmpty() }
+
+        enrollmentJob?.cancel()
+        enrollmentJob = scope.launch {
+            val timeSource = TimeSource.Monotonic
+            val mark = timeSource.markNow()
+            val step = maxOf(1, products.size / 10)
+            val result = newEnrollmentPipeline().run(products) { progress ->
+                if (progress.completed % step == 0 || progress.completed == progress.total) {
+                    Log.d(TAG, "Enrollment progress ${progress.completed}/${progress.total}, failed ${progress.failed}")
+                }
+                onProgress?.invoke(progress)
+            }
+            Log.i(TAG, "Descriptors - ${result.descriptors.size}, failed - ${result.failed}, took ${timeSource.markNow() - mark}")
+            if (!isActive) return@launch
+
+            commitEnrollment(result.descriptors.size) { storage ->
+                for ((product, descriptor) in result.descriptors) {
+                    storage.addDescriptors(product.text, descriptor, true)
                 }
             }
-            initProductRecognition(isEnrollmentRequested = true)
         }
     }
 
+    /**
+     * This function is used to enroll product crops stored on disk, one folder per SKU named
+     * after it, e.g. a tree picked with ACTION_OPEN_DOCUMENT_TREE. Crops are streamed from the
+     * [loader] at reduced size and their descriptors generated as they arrive; each crop is
+     * recycled as soon as its descriptor is ready, so the catalog is never held in memory.
+     * Descriptors are added to the feature storage in one pass at the end, as in
+     * [enrollProductIndex], and a cancelled enrollment leaves the database untouched.
+     * @param onProgress - Optional callback invoked from worker threads as crops complete;
+     *   the total is the number of crops received so far
+     */
+    fun enrollProductCrops(
+        loader: ProductCropLoader,
+        treeUri: Uri,
+        onProgress: ((BatchEnrollmentPipeline.Progress) -> Unit)? = null
+    ) {
+        Log.i(TAG, "enrollProductCrops")
+        enrollmentJob?.cancel()
+        enrollmentJob = scope.launch {
+            val timeSource = TimeSource.Monotonic
+            val mark = timeSource.markNow()
+            val result = newEnrollmentPipeline().run(
+                loader.crops(treeUri),
+                onProgress = { progress ->
+                    if (progress.completed % CROP_PROGRESS_LOG_STEP == 0) {
+                        Log.d(TAG, "Enrollment progress ${progress.completed}, failed ${progress.failed}")
+                    }
+                    onProgress?.invoke(progress)
+                },
+                onItemDone = loader::release
+            )
+            val metrics = loader.metrics
+            Log.i(TAG, "Descriptors - ${result.descriptors.size}, failed - ${result.failed}, took ${timeSource.markNow() - mark}")
+            Log.i(TAG, "Crops - found ${metrics.imagesFound}, decode failed ${metrics.failed}, " +
+                    "peak bitmaps ${metrics.peakBitmapBytesInFlight / 1024} KB, " +
+                    "peak native heap ${metrics.peakNativeHeapBytes / 1024} KB")
+            if (!isActive) return@launch
+
+            // The crops are recycled by now; only their labels are used.
+            commitEnrollment(result.descriptors.size) { storage ->
+                for ((product, descriptor) in result.descriptors) {
+                    storage.addDescriptors(product.text, descriptor, true)
+                }
+            }
+        }
+    }
+
+    private fun newEnrollmentPipeline() =
+        BatchEnrollmentPipeline(ENROLLMENT_PARALLELISM) { product: ProductData ->
+            extractor?.generateSingleDescriptor(product.crop, executorService)?.get()
+        }
+
+    /**
+     * Adds the generated descriptors to the feature storage through [addAll], then reinitializes
+     * product recognition once. Reports the enrollment as finished if there is nothing to add.
+     */
+    private fun commitEnrollment(descriptorCount: Int, addAll: (FeatureStorage) -> Unit) {
+        val storage = featureStorage
+        if (storage == null || descriptorCount == 0) {
+            Log.e(TAG, "Nothing to enroll")
+            updateProductEnrollmentState(state = true)
+            return
+        }
+        addAll(storage)
+        initProductRecognition(isEnrollmentRequested = true)
+    }
+
+    /**
+     * Cancels an enrollment started by [enrollProductIndex] or [enrollProductCrops]. Nothing is written to the
+     * database unless all descriptors were already generated.
+     */
+    fun cancelEnrollment() {
+        enrollmentJob?.cancel()
+        enrollmentJob = null
+    }
+
     /**
      * This function is used to execute the retail shelf localization.
      * Localizer generates boundingboxes for the shelf, shelf labels, peg labels,
@@ -510,4 +607,10 @@ class ProductEnrollmentRecognition(
     fun startPreviewAnalysis() {
         mIsStopPreviewAnalysisRequested = false
     }
+
+    companion object {
+        // Matches the executorService pool size the extractor runs on.
+        private const val ENROLLMENT_PARALLELISM = 4
+        private const val CROP_PROGRESS_LOG_STEP = 50
+    }
 }
@@ -0,0 +1,300 @@
+package com.zebra.aidatacapturedemo.model
+
+import com.zebra.aidatacapturedemo.data.AdvancedFilterOption
+import com.zebra.aidatacapturedemo.data.AdvancedOCRSetting
+import com.zebra.aidatacapturedemo.data.BarcodeFilterData
+import com.zebra.aidatacapturedemo.data.BarcodeSettings
+import com.zebra.aidatacapturedemo.data.BarcodeSymbology
+import com.zebra.aidatacapturedemo.data.CharacterMatchData
+import com.zebra.aidatacapturedemo.data.CharacterTypeFilterOption
+import com.zebra.aidatacapturedemo.data.CommonSettings
+import com.zebra.aidatacapturedemo.data.DefaultValues
+import com.zebra.aidatacapturedemo.data.FeedbackSettings
+import com.zebra.aidatacapturedemo.data.OcrBarcodeFindSettings
+import com.zebra.aidatacapturedemo.data.OcrFilterData
+import com.zebra.aidatacapturedemo.data.ProductRecognitionSettings
+import com.zebra.aidatacapturedemo.data.RegexData
+import com.zebra.aidatacapturedemo.data.RetailShelfSettings
+import com.zebra.aidatacapturedemo.data.TextOcrSettings
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import kotlin.reflect.KMutableProperty1
+
+/**
+ * SettingsCodecs holds the [SettingsStore.Codec] for each settings type.
+ *
+ * Encoding rules, so that old files keep loading as the settings classes grow:
+ * - Boolean and String fields are listed in append-only property tables and written with their
+ *   count. Booleans are packed into bits. A file with fewer entries than the table leaves the
+ *   newer fields at their defaults; entries beyond the table are skipped.
+ * - Enums are written by ordinal. Add new constants at the end; an unknown ordinal reads as the
+ *   default value.
+ * - Any other layout change bumps the codec's schema version and handles the old one in read().
+ */
+object SettingsCodecs {
+
+    val BARCODE = object : SettingsStore.Codec<BarcodeSettings> {
+        override val schemaVersion = 1
+
+        override fun write(out: DataOutputStream, value: BarcodeSettings) {
+            out.writeCommon(value.commonSettings)
+            out.writeFlags(value.barcodeSymbology, SYMBOLOGY_FLAGS)
+        }
+
+        override fun read(input: DataInputStream, schemaVersion: Int) = BarcodeSettings(
+            commonSettings = input.readCommon(),
+            barcodeSymbology = input.readFlags(BarcodeSymbology(), SYMBOLOGY_FLAGS)
+        )
+    }
+
+    val OCR = object : SettingsStore.Codec<TextOcrSettings> {
+        override val schemaVersion = 1
+
+        override fun write(out: DataOutputStream, value: TextOcrSettings) {
+            out.writeCommon(value.commonSettings)
+            out.writeFlags(value.advancedOCRSetting, ADVANCED_OCR_FLAGS)
+            out.writeStrings(value.advancedOCRSetting, ADVANCED_OCR_STRINGS)
+        }
+
+        override fun read(input: DataInputStream, schemaVersion: Int): TextOcrSettings {
+            val common = input.readCommon()
+            val advanced = input.readFlags(AdvancedOCRSetting(), ADVANCED_OCR_FLAGS)
+            input.readStrings(advanced, ADVANCED_OCR_STRINGS)
+            return TextOcrSettings(common, advanced)
+        }
+    }
+
+    val OCR_BARCODE_FIND = object : SettingsStore.Codec<OcrBarcodeFindSettings> {
+        override val schemaVersion = 1
+
+        override fun write(out: DataOutputStream, value: OcrBarcodeFindSettings) {
+            out.writeCommon(value.commonSettings)
+            out.writeFlags(value.barcodeSymbology, SYMBOLOGY_FLAGS)
+            out.writeFlags(value.feedbackSettings, FEEDBACK_FLAGS)
+        }
+
+        override fun read(input: DataInputStream, schemaVersion: Int) = OcrBarcodeFindSettings(
+            commonSettings = input.readCommon(),
+            barcodeSymbology = input.readFlags(BarcodeSymbology(), SYMBOLOGY_FLAGS),
+            feedbackSettings = input.readFlags(FeedbackSettings(), FEEDBACK_FLAGS)
+        )
+    }
+
+    val RETAIL_SHELF = object : SettingsStore.Codec<RetailShelfSettings> {
+        override val schemaVersion = 1
+
+        override fun write(out: DataOutputStream, value: RetailShelfSettings) {
+            out.writeCommon(value.commonSettings)
+            out.writeFloat(value.similarityThreshold)
+        }
+
+        override fun read(input: DataInputStream, schemaVersion: Int) =
+            RetailShelfSettings(input.readCommon(), input.readFloat())
+    }
+
+    val PRODUCT_RECOGNITION = object : SettingsStore.Codec<ProductRecognitionSettings> {
+        override val schemaVersion = 1
+
+        override fun write(out: DataOutputStream, value: ProductRecognitionSettings) {
+            out.writeCommon(value.commonSettings)
+            out.writeFloat(value.similarityThreshold)
+        }
+
+        override fun read(input: DataInputStream, schemaVersion: Int) =
+            ProductRecognitionSettings(input.readCommon(), input.readFloat())
+    }
+
+    val OCR_FILTER = object : SettingsStore.Codec<OcrFilterData> {
+        override val schemaVersion = 1
+
+        override fun write(out: DataOutputStream, value: OcrFilterData) {
+            out.writeEnum(value.selectedRegularFilterOption)
+            out.writeEnumList(value.selectedAdvancedFilterOptionList)
+            out.writeEnum(value.selectedRegexFilterData.detectionLevel)
+            out.writeStringList(value.selectedRegexFilterData.regexAdditionalStringList)
+            out.writeUTF(value.selectedRegexFilterData.regexDefaultString)
+            out.writeEnumList(value.selectedCharacterTypeFilterOptionList)
+            out.writeCharacterMatch(value.selectedCharacterMatchFilterData)
+            out.writeRange(value.selectedStringLengthRange)
+        }
+
+        override fun read(input: DataInputStream, schemaVersion: Int) = OcrFilterData(
+            selectedRegularFilterOption = input.readEnum(DefaultValues.OCR_REGULAR_FILTER_OPTION),
+            selectedAdvancedFilterOptionList = input.readEnumList<AdvancedFilterOption>(),
+            selectedRegexFilterData = RegexData(
+                detectionLevel = input.readEnum(DefaultValues.OCR_DETECTION_LEVEL),
+                regexAdditionalStringList = input.readStringList(),
+                regexDefaultString = input.readUTF()
+            ),
+            selectedCharacterTypeFilterOptionList = input.readEnumList<CharacterTypeFilterOption>(),
+            selectedCharacterMatchFilterData = input.readCharacterMatch(),
+            selectedStringLengthRange = input.readRange()
+        )
+    }
+
+    val BARCODE_FILTER = object : SettingsStore.Codec<BarcodeFilterData> {
+        override val schemaVersion = 1
+
+        override fun write(out: DataOutputStream, value: BarcodeFilterData) {
+            out.writeEnumList(value.selectedAdvancedFilterOptionList)
+            out.writeCharacterMatch(value.selectedCharacterMatchFilterData)
+            out.writeRange(value.selectedStringLengthRange)
+        }
+
+        override fun read(input: DataInputStream, schemaVersion: Int) = BarcodeFilterData(
+            selectedAdvancedFilterOptionList = input.readEnumList<AdvancedFilterOption>(),
+            selectedCharacterMatchFilterData = input.readCharacterMatch(),
+            selectedStringLengthRange = input.readRange()
+        )
+    }
+
+    // Append-only: a property's position is its bit index in stored files.
+    private val SYMBOLOGY_FLAGS: List<KMutableProperty1<BarcodeSymbology, Boolean>> = listOf(
+        BarcodeSymbology::australian_postal, BarcodeSymbology::aztec,
+        BarcodeSymbology::canadian_postal, BarcodeSymbology::chinese_2of5,
+        BarcodeSymbology::codabar, BarcodeSymbology::code11,
+        BarcodeSymbology::code39, BarcodeSymbology::code93,
+        BarcodeSymbology::code128, BarcodeSymbology::composite_ab,
+        BarcodeSymbology::composite_c, BarcodeSymbology::d2of5,
+        BarcodeSymbology::datamatrix, BarcodeSymbology::dotcode,
+        BarcodeSymbology::dutch_postal, BarcodeSymbology::ean_8,
+        BarcodeSymbology::ean_13, BarcodeSymbology::finnish_postal_4s,
+        BarcodeSymbology::grid_matrix, BarcodeSymbology::gs1_databar,
+        BarcodeSymbology::gs1_databar_expanded, BarcodeSymbology::gs1_databar_lim,
+        BarcodeSymbology::gs1_datamatrix, BarcodeSymbology::gs1_qrcode,
+        BarcodeSymbology::hanxin, BarcodeSymbology::i2of5,
+        BarcodeSymbology::japanese_postal, BarcodeSymbology::korean_3of5,
+        BarcodeSymbology::mailmark, BarcodeSymbology::matrix_2of5,
+        BarcodeSymbology::maxicode, BarcodeSymbology::micropdf,
+        BarcodeSymbology::microqr, BarcodeSymbology::msi,
+        BarcodeSymbology::pdf417, BarcodeSymbology::qrcode,
+        BarcodeSymbology::tlc39, BarcodeSymbology::trioptic39,
+        BarcodeSymbology::uk_postal, BarcodeSymbology::upc_a,
+        BarcodeSymbology::upce0, BarcodeSymbology::upce1,
+        BarcodeSymbology::usplanet, BarcodeSymbology::uspostnet,
+        BarcodeSymbology::us4state, BarcodeSymbology::us4state_fics
+    )
+
+    private val FEEDBACK_FLAGS: List<KMutableProperty1<FeedbackSettings, Boolean>> = listOf(
+        FeedbackSettings::audioBeep, FeedbackSettings::vibration,
+        FeedbackSettings::showDetectedBarcode
+    )
+
+    private val ADVANCED_OCR_FLAGS: List<KMutableProperty1<AdvancedOCRSetting, Boolean>> = listOf(
+        AdvancedOCRSetting::enableTiling, AdvancedOCRSetting::enableGrouping
+    )
+
+    private val ADVANCED_OCR_STRINGS: List<KMutableProperty1<AdvancedOCRSetting, String>> = listOf(
+        AdvancedOCRSetting::heatmapThreshold, AdvancedOCRSetting::boxThreshold,
+        AdvancedOCRSetting::minBoxArea, AdvancedOCRSetting::minBoxSize,
+        AdvancedOCRSetting::unclipRatio, AdvancedOCRSetting::minRatioForRotation,
+        AdvancedOCRSetting::maxWordCombinations, AdvancedOCRSetting::totalProbabilityThreshold,
+        AdvancedOCRSetting::topkIgnoreCutoff, AdvancedOCRSetting::topCorrelationThreshold,
+        AdvancedOCRSetting::mergePointsCutoff, AdvancedOCRSetting::splitMarginFactor,
+        AdvancedOCRSetting::aspectRatioLowerThreshold, AdvancedOCRSetting::aspectRatioUpperThreshold,
+        AdvancedOCRSetting::topKMergedPredictions, AdvancedOCRSetting::widthDistanceRatio,
+        AdvancedOCRSetting::heightDistanceRatio, AdvancedOCRSetting::centerDistanceRatio,
+        AdvancedOCRSetting::paragraphHeightDistance, AdvancedOCRSetting::paragraphHeightRatioThreshold
+    )
+
+    private fun DataOutputStream.writeCommon(value: CommonSettings) {
+        writeInt(value.processorSelectedIndex)
+        writeInt(value.resolutionSelectedIndex)
+        writeInt(value.inputSizeSelected)
+    }
+
+    private fun DataInputStream.readCommon() = CommonSettings(readInt(), readInt(), readInt())
+
+    private fun <T> DataOutputStream.writeFlags(value: T, flags: List<KMutableProperty1<T, Boolean>>) {
+        writeShort(flags.size)
+        var bits = 0
+        for (i in flags.indices) {
+            if (flags[i].get(value)) bits = bits or (1 shl (i % 8))
+            if (i % 8 == 7 || i == flags.size - 1) {
+                writeByte(bits)
+                bits = 0
+            }
+        }
+    }
+
+    private fun <T> DataInputStream.readFlags(target: T, flags: List<KMutableProperty1<T, Boolean>>): T {
+        val count = readUnsignedShort()
+        var bits = 0
+        for (i in 0 until count) {
+            if (i % 8 == 0) bits = readUnsignedByte()
+            if (i < flags.size) flags[i].set(target, (bits and (1 shl (i % 8))) != 0)
+        }
+        return target
+    }
+
+    private fun <T> DataOutputStream.writeStrings(value: T, fields: List<KMutableProperty1<T, String>>) {
+        writeShort(fields.size)
+        for (field in fields) writeUTF(field.get(value))
+    }
+
+    private fun <T> DataInputStream.readStrings(target: T, fields: List<KMutableProperty1<T, String>>): T {
+        val count = readUnsignedShort()
+        for (i in 0 until count) {
+            val value = readUTF()
+            if (i < fields.size) fields[i].set(target, value)
+        }
+        return target
+    }
+
+    private fun DataOutputStream.writeEnum(value: Enum<*>) {
+        writeByte(value.ordinal)
+    }
+
+    private inline fun <reified E : Enum<E>> DataInputStream.readEnum(default: E): E =
+        enumValues<E>().getOrNull(readUnsignedByte()) ?: default
+
+    private fun DataOutputStream.writeEnumList(values: List<Enum<*>>) {
+        writeShort(values.size)
+        for (value in values) writeByte(value.ordinal)
+    }
+
+    private inline fun <reified E : Enum<E>> DataInputStream.readEnumList(): MutableList<E> {
+        val constants = enumValues<E>()
+        val count = readUnsignedShort()
+        val values = ArrayList<E>(count)
+        repeat(count) { constants.getOrNull(readUnsignedByte())?.let { values += it } }
+        return values
+    }
+
+    private fun DataOutputStream.writeStringList(values: List<String>) {
+        writeShort(values.size)
+        for (value in values) writeUTF(value)
+    }
+
+    private fun DataInputStream.readStringList(): MutableList<String> {
+        val count = readUnsignedShort()
+        val values = ArrayList<String>(count)
+        repeat(count) { values += readUTF() }
+        return values
+    }
+
+    private fun DataOutputStream.writeCharacterMatch(value: CharacterMatchData) {
+        writeEnum(value.type)
+        writeEnum(value.detectionLevel)
+        writeStringList(value.startsWithStringList)
+        writeStringList(value.containsStringList)
+        writeStringList(value.exactMatchStringList)
+    }
+
+    private fun DataInputStream.readCharacterMatch() = CharacterMatchData(
+        type = readEnum(DefaultValues.CHARACTER_MATCH_FILTER_OPTION),
+        detectionLevel = readEnum(DefaultValues.OCR_DETECTION_LEVEL),
+        startsWithStringList = readStringList(),
+        containsStringList = readStringList(),
+        exactMatchStringList = readStringList()
+    )
+
+    // Ranges read back by Gson hold Doubles despite the declared Float type, so go through
+    // Number rather than letting the compiler cast the bounds to Float.
+    private fun DataOutputStream.writeRange(value: ClosedFloatingPointRange<*>) {
+        writeFloat((value.start as Number).toFloat())
+        writeFloat((value.endInclusive as Number).toFloat())
+    }
+
+    private fun DataInputStream.readRange(): ClosedFloatingPointRange<Float> = readFloat()..readFloat()
+}
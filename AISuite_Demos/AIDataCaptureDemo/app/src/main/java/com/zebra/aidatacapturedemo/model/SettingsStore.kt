@@ -0,0 +1,244 @@
+package com.zebra.aidatacapturedemo.model
+
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.util.TreeMap
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.zip.CRC32
+
+/**
+ * SettingsStore keeps every usecase and filter setting in one small binary file.
+ *
+ * - Each setting is a section: a key, the schema version of the [Codec] that wrote it and a
+ *   compact binary payload. [put] encodes only the changed section; other sections are kept as
+ *   already encoded bytes and are never re-serialised.
+ * - Writes are coalesced: [put] only marks the store dirty and schedules one write after
+ *   [writeDelayMs], so a burst of changes costs a single write, off the caller's thread.
+ * - A write goes to a temporary file that is synced and then atomically renamed over the store,
+ *   so a crash leaves either the old or the new file, never a partial one. The file ends with a
+ *   CRC32, and a file that fails validation on load is ignored as a whole
+ *   ([recoveredFromCorruption]), so callers fall back to defaults instead of half-read values.
+ *
+ * The store has no Android dependencies.
+ *
+ * @param file - Store location; a sibling file with a ".tmp" suffix is used while writing
+ * @param writeDelayMs - How long [put] waits before writing, to coalesce bursts of changes
+ * @param onWriteFailed - Called on the writer thread when a write fails; the changes stay pending
+ *   and are retried by the next [put] or [flush]
+ */
+class SettingsStore(
+    val file: File,
+    private val writeDelayMs: Long = DEFAULT_WRITE_DELAY_MS,
+    private val onWriteFailed: (IOException) -> Unit = { it.printStackTrace() }
+) {
+
+    /** An encoded setting: the schema version it was written with and its payload. */
+    class Section(val schemaVersion: Int, val payload: ByteArray)
+
+    /**
+     * Binary encoding of one settings type. Bump [schemaVersion] when the layout changes; [read]
+     * receives the version the payload was written with, which is never newer than its own.
+     */
+    interface Codec<T : Any> {
+        val schemaVersion: Int
+
+        fun write(out: DataOutputStream, value: T)
+
+        /** Returns null if the payload cannot be used, so the caller falls back to defaults. */
+        fun read(input: DataInputStream, schemaVersion: Int): T?
+    }
+
+    private val lock = Any()
+    private val sections = TreeMap<String, Section>()
+    private var dirty = false
+    private var writeScheduled = false
+    private val writeCount = AtomicInteger()
+    private val writer = Executors.newSingleThreadScheduledExecutor { runnable ->
+        Thread(runnable, "settings-writer").apply { isDaemon = true }
+    }
+
+    /** True if the store file existed but was truncated or corrupt when it was loaded. */
+    val recoveredFromCorruption: Boolean
+
+    /** Number of times the file has been written, for checking that writes coalesce. */
+    val writes: Int
+        get() = writeCount.get()
+
+    init {
+        File(file.path + TMP_SUFFIX).delete()
+        var corrupt = false
+        if (file.exists()) {
+            val loaded = try {
+                decode(file.readBytes())
+            } catch (e: IOException) {
+                null
+            }
+            if (loaded == null) corrupt = true else sections.putAll(loaded)
+        }
+        recoveredFromCorruption = corrupt
+    }
+
+    /** Decoded setting for [key], or null if it is absent, from a newer schema or unreadable. */
+    fun <T : Any> get(key: String, codec: Codec<T>): T? {
+        val section = synchronized(lock) { sections[key] } ?: return null
+        if (section.schemaVersion > codec.schemaVersion) return null
+        return try {
+            DataInputStream(ByteArrayInputStream(section.payload)).use {
+                codec.read(it, section.schemaVersion)
+            }
+        } catch (e: Exception) {
+            null
+        }
+    }
+
+    /**
+     * Encodes [value] now, so later changes to a mutable settings object are not picked up, and
+     * schedules a write. Storing a value identical to the stored one does nothing.
+     */
+    fun <T : Any> put(key: String, codec: Codec<T>, value: T) {
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).use { codec.write(it, value) }
+        val section = Section(codec.schemaVersion, bytes.toByteArray())
+        synchronized(lock) {
+            val current = sections[key]
+            if (current != null && current.schemaVersion == section.schemaVersion &&
+                current.payload.contentEquals(section.payload)
+            ) {
+                return
+            }
+            sections[key] = section
+            dirty = true
+            if (!writeScheduled) {
+                writeScheduled = true
+                writer.schedule(Runnable { writeIfDirty() }, writeDelayMs, TimeUnit.MILLISECONDS)
+            }
+        }
+    }
+
+    /** Writes pending changes now; the returned future completes once they are on disk. */
+    fun flush(): Future<*> = writer.submit(Runnable { writeIfDirty() })
+
+    /**
+     * Writes pending changes now and then runs [onWritten] on the writer thread, but only if
+     * everything put so far is on disk; it is not run if the write fails.
+     */
+    fun flush(onWritten: () -> Unit): Future<*> = writer.submit(Runnable {
+        if (writeIfDirty()) onWritten()
+    })
+
+    /** Writes pending changes and stops the writer thread. */
+    fun close() {
+        flush().get()
+        writer.shutdown()
+    }
+
+    /** Returns false if the write failed, true if the file is up to date. */
+    private fun writeIfDirty(): Boolean {
+        val snapshot: Map<String, Section>
+        synchronized(lock) {
+            writeScheduled = false
+            if (!dirty) return true
+            dirty = false
+            snapshot = TreeMap(sections)
+        }
+        return try {
+            writeAtomically(file, encode(snapshot))
+            writeCount.incrementAndGet()
+            true
+        } catch (e: IOException) {
+            // Keep the changes pending so the next put or flush retries them.
+            synchronized(lock) { dirty = true }
+            onWriteFailed(e)
+            false
+        }
+    }
+
+    companion object {
+        const val DEFAULT_WRITE_DELAY_MS = 250L
+        const val TMP_SUFFIX = ".tmp"
+
+        private const val MAGIC = 0x5A534554 // "ZSET"
+        private const val FORMAT_VERSION = 1
+
+        /**
+         * File layout, big-endian:
+         * magic (4) | format version (1) | section count (4) |
+         * per section: key (modified UTF-8) | schema version (4) | length (4) | payload |
+         * CRC32 of everything before it (4)
+         */
+        fun encode(sections: Map<String, Section>): ByteArray {
+            val bytes = ByteArrayOutputStream()
+            DataOutputStream(bytes).use { out ->
+                out.writeInt(MAGIC)
+                out.writeByte(FORMAT_VERSION)
+                out.writeInt(sections.size)
+                for ((key, section) in sections) {
+                    out.writeUTF(key)
+                    out.writeInt(section.schemaVersion)
+                    out.writeInt(section.payload.size)
+                    out.write(section.payload)
+                }
+                val crc = CRC32()
+                crc.update(bytes.toByteArray())
+                out.writeInt(crc.value.toInt())
+            }
+            return bytes.toByteArray()
+        }
+
+        /** Sections stored in [bytes], or null if they are truncated, corrupt or from a newer format. */
+        fun decode(bytes: ByteArray): Map<String, Section>? {
+            if (bytes.size < HEADER_SIZE + CRC_SIZE) return null
+            val body = bytes.size - CRC_SIZE
+            val crc = CRC32()
+            crc.update(bytes, 0, body)
+            val input = DataInputStream(ByteArrayInputStream(bytes))
+            return try {
+                if (input.readInt() != MAGIC) return null
+                if (input.readUnsignedByte() != FORMAT_VERSION) return null
+                val count = input.readInt()
+                if (count < 0) return null
+                val sections = TreeMap<String, Section>()
+                repeat(count) {
+                    val key = input.readUTF()
+                    val schemaVersion = input.readInt()
+                    val length = input.readInt()
+                    if (length < 0 || length > input.available()) return null
+                    val payload = ByteArray(length)
+                    input.readFully(payload)
+                    sections[key] = Section(schemaVersion, payload)
+                }
+                if (input.available() != CRC_SIZE) return null
+                if (input.readInt() != crc.value.toInt()) return null
+                sections
+            } catch (e: IOException) {
+                null
+            }
+        }
+
+        /** Writes [bytes] to a synced temporary file, then renames it over [file]. */
+        fun writeAtomically(file: File, bytes: ByteArray) {
+            val tmp = File(file.path + TMP_SUFFIX)
+            FileOutputStream(tmp).use { out ->
+                out.write(bytes)
+                out.fd.sync()
+            }
+            Files.move(
+                tmp.toPath(), file.toPath(),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING
+            )
+        }
+
+        private const val HEADER_SIZE = 4 + 1 + 4
+        private const val CRC_SIZE = 4
+    }
+}
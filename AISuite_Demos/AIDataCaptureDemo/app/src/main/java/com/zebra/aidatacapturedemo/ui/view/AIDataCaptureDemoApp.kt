@@ -290,7 +290,6 @@ fun AIDataCaptureDemoApp(
     val uiState by viewModel.uiState.collectAsState()
     val context = LocalContext.current
     viewModel.restoreDefaultSettings()
-    viewModel.clearOcrBarcodeCaptureSession()
     viewModel.updateAppBarTitle(stringResource(id = R.string.app_name))
 
     val scope = rememberCoroutineScope()
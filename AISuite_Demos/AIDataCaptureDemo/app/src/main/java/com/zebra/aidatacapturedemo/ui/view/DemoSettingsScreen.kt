@@ -402,6 +402,13 @@ fun AddIndividualSettings(item: ExpandableSettingsItem, viewModel: AIDataCapture
         ) {
             AddImportDatabaseOptions(viewModel)
         }
+    } else if (item.title.equals(stringResource(R.string.enroll_product_crops))) {
+        Column(
+            verticalArrangement = Arrangement.spacedBy(0.dp, Alignment.Top),
+            horizontalAlignment = Alignment.CenterHorizontally,
+        ) {
+            AddEnrollProductCropsOptions(viewModel)
+        }
     } else if (item.title.equals(stringResource(R.string.export_database))) {
         Column(
             verticalArrangement = Arrangement.spacedBy(0.dp, Alignment.Top),
@@ -43,7 +43,7 @@ import androidx.navigation.NavController
 import coil.compose.rememberAsyncImagePainter
 import com.zebra.aidatacapturedemo.R
 import com.zebra.aidatacapturedemo.data.AIDataCaptureDemoUiState
-import com.zebra.aidatacapturedemo.model.FileUtils.Companion.saveOcrBarcodeCaptureSessionDataToPrefs
+import com.zebra.aidatacapturedemo.model.FileUtils.Companion.saveOcrBarcodeCaptureSession
 import com.zebra.aidatacapturedemo.viewmodel.AIDataCaptureDemoViewModel
 import kotlin.math.min
 
@@ -69,7 +69,7 @@ fun OCRBarcodeResultCapturedScreen(
         if ((uiState.ocrResults.size > 0) || (uiState.barcodeResults.size > 0)) {
             viewModel.updateOcrBarcodeCaptureSessionIndex(uiState.ocrBarcodeCaptureSessionCount)
             kotlinx.coroutines.withContext(kotlinx.coroutines.Dispatchers.IO) {
-                saveOcrBarcodeCaptureSessionDataToPrefs(
+                saveOcrBarcodeCaptureSession(
                     context,
                     uiState.ocrBarcodeCaptureSessionCount.toString(),
                     uiState
@@ -43,7 +43,7 @@ import androidx.navigation.NavHostController
 import com.zebra.aidatacapturedemo.R
 import com.zebra.aidatacapturedemo.data.AIDataCaptureDemoUiState
 import com.zebra.aidatacapturedemo.data.ResultData
-import com.zebra.aidatacapturedemo.model.FileUtils.Companion.loadOcrBarcodeCaptureSessionDataFromPrefs
+import com.zebra.aidatacapturedemo.model.FileUtils.Companion.loadOcrBarcodeCaptureSession
 import com.zebra.aidatacapturedemo.ui.view.Variables.mainPrimary
 import com.zebra.aidatacapturedemo.viewmodel.AIDataCaptureDemoViewModel
 
@@ -253,7 +253,7 @@ fun Bottom(viewModel : AIDataCaptureDemoViewModel, navController: NavHostControl
     }
 }
 private fun loadSessionResults(context: Context, uiState: AIDataCaptureDemoUiState): List<ResultRowData> {
-    val sessionJson = loadOcrBarcodeCaptureSessionDataFromPrefs(context, uiState.ocrBarcodeCaptureSessionIndex.toString())
+    val sessionJson = loadOcrBarcodeCaptureSession(context, uiState.ocrBarcodeCaptureSessionIndex.toString())
     val ocrList = if (!sessionJson?.ocrResults.isNullOrEmpty()) {
         sessionJson.ocrResults.filter { it.text.isNotEmpty() }.map {
             ResultRowData(it.text, it.boundingBox, isBarcode = false)
@@ -41,6 +41,7 @@ import com.zebra.aidatacapturedemo.viewmodel.AIDataCaptureDemoViewModel
 @Composable
 fun ExpandableSettingsItemsList.AddProductEnrollmentSettings() {
     itemsTitle.add(ExpandableSettingsItem(stringResource(R.string.import_database)))
+    itemsTitle.add(ExpandableSettingsItem(stringResource(R.string.enroll_product_crops)))
     itemsTitle.add(ExpandableSettingsItem(stringResource(R.string.export_database)))
     itemsTitle.add(ExpandableSettingsItem(stringResource((R.string.clear_active_database))))
     itemsTitle.add(ExpandableSettingsItem(stringResource((R.string.similarity_threshold))))
@@ -90,6 +91,43 @@ fun AddImportDatabaseOptions(viewModel: AIDataCaptureDemoViewModel) {
         }))
 }
 
+@Composable
+fun AddEnrollProductCropsOptions(viewModel: AIDataCaptureDemoViewModel) {
+    val cropsLauncher =
+        rememberLauncherForActivityResult(ActivityResultContracts.OpenDocumentTree()) { uri: Uri? ->
+            if (uri != null) {
+                viewModel.enrollProductCrops(uri)
+                viewModel.toast("Enrolling product crops into Active Database")
+            }
+        }
+
+    Column(
+        modifier = Modifier
+            .fillMaxWidth()
+            .wrapContentHeight()
+            .background(color = Variables.mainInverse)
+    ) {
+        Row(
+            modifier = Modifier.padding(start = 12.dp, top = 16.dp, end = 12.dp, bottom = 16.dp)
+        ) {
+            Text(
+                text = stringResource(R.string.enroll_crops_description),
+                style = TextStyle(
+                    fontSize = 14.sp,
+                    lineHeight = 18.sp,
+                    fontFamily = FontFamily(Font(R.font.ibm_plex_sans)),
+                    fontWeight = FontWeight(400),
+                    color = Variables.mainDefault,
+                )
+            )
+        }
+    }
+
+        ButtonOption(ButtonData(R.string.enroll_product_crops, mainPrimary, 1.0F, true, onButtonClick = {
+            cropsLauncher.launch(null)
+        }))
+}
+
 @Composable
 fun AddExportDatabaseOptions(viewModel: AIDataCaptureDemoViewModel) {
     Column(
@@ -40,7 +40,7 @@ import androidx.navigation.NavHostController
 import coil.compose.rememberAsyncImagePainter
 import com.zebra.aidatacapturedemo.R
 import com.zebra.aidatacapturedemo.data.AIDataCaptureDemoUiState
-import com.zebra.aidatacapturedemo.model.FileUtils.Companion.loadOcrBarcodeCaptureSessionDataFromPrefs
+import com.zebra.aidatacapturedemo.model.FileUtils.Companion.loadOcrBarcodeCaptureSessionImage
 import com.zebra.aidatacapturedemo.viewmodel.AIDataCaptureDemoViewModel
 import kotlin.math.min
 
@@ -67,16 +67,10 @@ fun SingleResultScreen(
         viewModel.handleBackButton(navController)
     }
     viewModel.updateAppBarTitle(stringResource(R.string.back_to_all_results))
-    val sessionData = loadOcrBarcodeCaptureSessionDataFromPrefs(
+    val capturedBitmap = loadOcrBarcodeCaptureSessionImage(
         context,
         uiState.ocrBarcodeCaptureSessionIndex.toString()
     )
-    val capturedBitmap = sessionData?.captureImage?.let { base64String ->
-        if (base64String.isNotEmpty()) {
-            val bytes = android.util.Base64.decode(base64String, android.util.Base64.DEFAULT)
-            android.graphics.BitmapFactory.decodeByteArray(bytes, 0, bytes.size)
-        } else null
-    }
     if (capturedBitmap == null) {
         Column(
             modifier = Modifier.fillMaxSize(),
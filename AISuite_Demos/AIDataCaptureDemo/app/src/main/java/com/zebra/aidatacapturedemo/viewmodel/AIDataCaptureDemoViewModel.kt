@@ -37,6 +37,7 @@ import androidx.lifecycle.Lifecycle
 import androidx.lifecycle.LifecycleOwner
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.ViewModelProvider
+import androidx.lifecycle.viewModelScope
 import androidx.lifecycle.viewmodel.initializer
 import androidx.lifecycle.viewmodel.viewModelFactory
 import androidx.navigation.NavController
@@ -62,10 +63,11 @@ import com.zebra.aidatacapturedemo.data.TextOcrSettings
 import com.zebra.aidatacapturedemo.data.UsecaseState
 import com.zebra.aidatacapturedemo.model.BarcodeAnalyzer
 import com.zebra.aidatacapturedemo.model.FileUtils
-import com.zebra.aidatacapturedemo.model.FileUtils.Companion.clearOcrBarcodeCaptureSessionPrefs
+import com.zebra.aidatacapturedemo.model.FileUtils.Companion.clearOcrBarcodeCaptureSessions
 import com.zebra.aidatacapturedemo.model.FileUtils.Companion.databaseFile
 import com.zebra.aidatacapturedemo.model.FileUtils.Companion.mCacheDir
 import com.zebra.aidatacapturedemo.model.GenericEntityTrackerAnalyzer
+import com.zebra.aidatacapturedemo.model.ProductCropLoader
 import com.zebra.aidatacapturedemo.model.ProductEnrollmentRecognition
 import com.zebra.aidatacapturedemo.model.RetailShelfAnalyzer
 import com.zebra.aidatacapturedemo.model.TextOCRAnalyzer
@@ -144,6 +146,10 @@ class AIDataCaptureDemoViewModel(
         val sdkVersion = AIVisionSDK.getInstance(context).sdkVersion
         Log.i(TAG, "AI Vision SDK Version = $sdkVersion")
 
+        // Capture sessions only live for one run of the app; drop those of the previous run.
+        viewModelScope.launch(Dispatchers.IO) {
+            clearOcrBarcodeCaptureSessions(context)
+        }
     }
 
     /**
@@ -1299,25 +1305,15 @@ class AIDataCaptureDemoViewModel(
         }
     }
     /**
-     * Update the current bitmap used for processing by the models
+     * Update the current bitmap used for processing by the models. The bitmap is kept as it came
+     * from the camera and the rotation is stored next to it, rather than allocating a rotated
+     * copy; pass both to ImageData.fromBitmap(bitmap, rotation) so the SDK applies it.
      */
     fun updateBitmap(bitmap: Bitmap, rotation: Int) {
-        val matrix: Matrix = Matrix()
-        matrix.postRotate(rotation.toFloat())
-        val rotatedBitmap =
-            Bitmap.createBitmap(
-                bitmap,
-                0,
-                0,
-                bitmap.width,
-                bitmap.height,
-                matrix,
-                true
-            )
-
         _uiState.update { currentState ->
             currentState.copy(
-                currentBitmap = rotatedBitmap
+                currentBitmap = bitmap,
+                currentBitmapRotation = rotation
             )
         }
     }
@@ -1719,6 +1715,15 @@ class AIDataCaptureDemoViewModel(
         productEnrollmentRecognition?.enrollProductIndex(uiState.value.productResults)
     }
 
+    /**
+     * This function is used to add product crops stored on disk, one folder per SKU,
+     * into the existing product database. Crops are streamed and downsampled while they
+     * are enrolled, so large catalogs do not need to fit in memory.
+     */
+    fun enrollProductCrops(treeUri: Uri) {
+        productEnrollmentRecognition?.enrollProductCrops(ProductCropLoader(context), treeUri)
+    }
+
     fun updateBarcodeModelDemoReady(isReady: Boolean) {
         _uiState.update { currentState ->
             currentState.copy(
@@ -1865,6 +1870,7 @@ class AIDataCaptureDemoViewModel(
                 // clear all the previous results
                 updateProductRecognitionResult(results = null)
                 updateRetailShelfDetectionResult(results = null)
+                productEnrollmentRecognition?.cancelEnrollment()
                 updateProductEnrollmentState(state = false)
                 startPreviewAnalysis()
                 startProcessing()
@@ -2003,7 +2009,7 @@ class AIDataCaptureDemoViewModel(
     fun clearOcrBarcodeCaptureSession(){
         updateOcrBarcodeCaptureSessionIndex(0)
         updateOcrBarcodeCaptureSessionCount(0)
-        clearOcrBarcodeCaptureSessionPrefs(context)
+        clearOcrBarcodeCaptureSessions(context)
     }
 
     fun updateOcrFilterData(ocrFilterData: OcrFilterData) {
@@ -0,0 +1,158 @@
+package com.zebra.aidatacapturedemo.model
+
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.cancelAndJoin
+import kotlinx.coroutines.flow.asFlow
+import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runInterruptible
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Local unit tests for [BatchEnrollmentPipeline], driven by stub descriptor generators.
+ */
+class BatchEnrollmentPipelineTest {
+
+    private val items = (0 until 24).toList()
+
+    @Test
+    fun run_keepsInputOrderAndSkipsFailures() = runTest {
+        // Later items finish first, so completion order is the reverse of input order.
+        val pipeline = BatchEnrollmentPipeline<Int, String>(parallelism = 4) { item ->
+            Thread.sleep((items.size - item).toLong())
+            when {
+                item % 5 == 0 -> null
+                item % 7 == 0 -> throw IllegalStateException("extractor failed for $item")
+                else -> "d$item"
+            }
+        }
+
+        val result = pipeline.run(items)
+
+        val expected = items.filter { it % 5 != 0 && it % 7 != 0 }
+        assertEquals(expected, result.descriptors.map { it.first })
+        assertEquals(expected.map { "d$it" }, result.descriptors.map { it.second })
+        assertEquals(items.size - expected.size, result.failed)
+    }
+
+    @Test
+    fun run_neverExceedsParallelism() = runTest {
+        val inFlight = AtomicInteger()
+        val peak = AtomicInteger()
+        val pipeline = BatchEnrollmentPipeline<Int, Int>(parallelism = 3) { item ->
+            peak.accumulateAndGet(inFlight.incrementAndGet(), ::maxOf)
+            Thread.sleep(5)
+            inFlight.decrementAndGet()
+            item
+        }
+
+        val progress = Collections.synchronizedList(ArrayList<BatchEnrollmentPipeline.Progress>())
+        val result = pipeline.run(items) { progress += it }
+
+        assertEquals(items.size, result.descriptors.size)
+        assertTrue("peak ${peak.get()}", peak.get() in 1..3)
+        assertEquals((1..items.size).toList(), progress.map { it.completed }.sorted())
+        assertTrue(progress.all { it.total == items.size && it.failed == 0 })
+    }
+
+    @Test
+    fun run_flowKeepsOrderBoundsParallelismAndReleasesEveryItem() = runTest {
+        val inFlight = AtomicInteger()
+        val peak = AtomicInteger()
+        val pipeline = BatchEnrollmentPipeline<Int, Int>(parallelism = 2) { item ->
+            peak.accumulateAndGet(inFlight.incrementAndGet(), ::maxOf)
+            Thread.sleep((items.size - item).toLong() % 4)
+            inFlight.decrementAndGet()
+            if (item % 3 == 0) null else item * 10
+        }
+
+        val released = Collections.synchronizedList(ArrayList<Int>())
+        val result = pipeline.run(items.asFlow(), onItemDone = { released += it })
+
+        val expected = items.filter { it % 3 != 0 }
+        assertEquals(expected, result.descriptors.map { it.first })
+        assertEquals(expected.map { it * 10 }, result.descriptors.map { it.second })
+        assertEquals(items.size - expected.size, result.failed)
+        assertEquals(items, released.sorted())
+        assertTrue("peak ${peak.get()}", peak.get() in 1..2)
+    }
+
+    @Test
+    fun cancellation_interruptsInFlightItemsAndSkipsTheCommit() = runTest {
+        val blocked = CountDownLatch(2)
+        val interrupted = AtomicInteger()
+        val generated = AtomicInteger()
+        val pipeline = BatchEnrollmentPipeline<Int, Int>(parallelism = 2) { item ->
+            blocked.countDown()
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30))
+            } catch (e: InterruptedException) {
+                interrupted.incrementAndGet()
+                throw e
+            }
+            generated.incrementAndGet()
+            item
+        }
+
+        val storage = mutableListOf<Pair<Int, Int>>()
+        val job = launch(Dispatchers.Default) {
+            val result = pipeline.run(items)
+            storage += result.descriptors
+        }
+        assertTrue(runInterruptible(Dispatchers.IO) { blocked.await(10, TimeUnit.SECONDS) })
+        job.cancelAndJoin()
+
+        // An item queued behind the blocked ones may start while the scope is being cancelled;
+        // it is interrupted as well.
+        assertTrue("interrupted ${interrupted.get()}", interrupted.get() >= 2)
+        assertEquals(0, generated.get())
+        assertTrue(storage.isEmpty())
+    }
+
+    @Test
+    fun flowCancellation_releasesEveryReceivedItem() = runTest {
+        val blocked = CountDownLatch(2)
+        val pipeline = BatchEnrollmentPipeline<Int, Int>(parallelism = 2) { item ->
+            blocked.countDown()
+            Thread.sleep(TimeUnit.SECONDS.toMillis(30))
+            item
+        }
+
+        val emitted = Collections.synchronizedList(ArrayList<Int>())
+        val released = Collections.synchronizedList(ArrayList<Int>())
+        val job = launch(Dispatchers.Default) {
+            pipeline.run(items.asFlow().onEach { emitted += it }, onItemDone = { released += it })
+        }
+        assertTrue(runInterruptible(Dispatchers.IO) { blocked.await(10, TimeUnit.SECONDS) })
+        job.cancelAndJoin()
+
+        assertTrue(emitted.size >= 2)
+        assertEquals(emitted.sorted(), released.sorted())
+    }
+
+    @Test
+    fun run_deliversAllDescriptorsForOneCommit() = runTest {
+        val storage = mutableListOf<Pair<Int, Int>>()
+        var commits = 0
+        val pipeline = BatchEnrollmentPipeline<Int, Int>(parallelism = 4) { it * 2 }
+
+        val result = pipeline.run(items) {
+            synchronized(storage) { assertFalse(commits > 0 || storage.isNotEmpty()) }
+        }
+        synchronized(storage) {
+            commits++
+            storage += result.descriptors
+        }
+
+        assertEquals(1, commits)
+        assertEquals(items.map { it to it * 2 }, storage)
+    }
+}
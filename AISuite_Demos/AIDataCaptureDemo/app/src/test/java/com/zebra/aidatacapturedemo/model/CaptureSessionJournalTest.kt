@@ -0,0 +1,165 @@
+package com.zebra.aidatacapturedemo.model
+
+import com.google.gson.Gson
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.io.File
+import java.io.RandomAccessFile
+import java.nio.file.Files
+import java.util.Base64
+
+/**
+ * Local unit tests for [CaptureSessionJournal] and [CaptureSessionMigration]: reopening, recovery
+ * from a torn or malformed journal tail, retention and moving sessions out of the old prefs.
+ */
+class CaptureSessionJournalTest {
+
+    private val root = Files.createTempDirectory("capture-sessions").toFile()
+    private val dir = File(root, "journal")
+    private val journalFile = File(dir, CaptureSessionJournal.JOURNAL_FILE)
+
+    @After
+    fun tearDown() {
+        root.deleteRecursively()
+    }
+
+    @Test
+    fun putSessions_areReadBackAfterReopening() {
+        CaptureSessionJournal(dir).apply {
+            put("1", "t1", image(1), results(1))
+            put("2", "t2", null, results(2))
+            put("3", "t3", image(3), results(3))
+            put("2", "t2b", image(22), results(22))
+            remove("3")
+        }
+
+        val journal = CaptureSessionJournal(dir)
+        assertEquals(listOf("1", "2"), journal.ids)
+        assertEquals(0L, journal.discardedBytes)
+        assertEquals("t2b", journal.entry("2")?.captureTime)
+        assertArrayEquals(results(1), journal.readResults("1"))
+        assertArrayEquals(results(22), journal.readResults("2"))
+        assertArrayEquals(image(22), journal.entry("2")?.imageFile?.readBytes())
+        assertNull(journal.entry("3"))
+        assertNull(journal.readResults("3"))
+        // Images of replaced and removed sessions are deleted.
+        assertEquals(2, dir.listFiles { f -> f.name.startsWith("image_") }?.size)
+    }
+
+    @Test
+    fun tornTail_isDiscardedAtEveryLength() {
+        CaptureSessionJournal(dir).put("1", "t1", image(1), results(1))
+        val committed = journalFile.length()
+        CaptureSessionJournal(dir).put("2", "t2", image(2), results(2))
+        val full = journalFile.readBytes()
+
+        for (length in committed until full.size) {
+            journalFile.writeBytes(full.copyOf(length.toInt()))
+            val journal = CaptureSessionJournal(dir)
+            assertEquals("$length bytes", listOf("1"), journal.ids)
+            assertEquals(length - committed, journal.discardedBytes)
+            assertEquals(committed, journalFile.length())
+            assertArrayEquals(results(1), journal.readResults("1"))
+        }
+    }
+
+    @Test
+    fun malformedRecord_truncatesThereAndKeepsAppending() {
+        CaptureSessionJournal(dir).put("1", "t1", null, results(1))
+        val committed = journalFile.length()
+        CaptureSessionJournal(dir).put("2", "t2", null, results(2))
+        // Make the id of the second record an invalid modified UTF-8 sequence.
+        RandomAccessFile(journalFile, "rw").use {
+            it.seek(committed + 4 + 1 + 2)
+            it.write(0xFF)
+        }
+
+        val journal = CaptureSessionJournal(dir)
+        assertEquals(listOf("1"), journal.ids)
+        assertEquals(committed, journalFile.length())
+        journal.put("3", "t3", null, results(3))
+
+        val reopened = CaptureSessionJournal(dir)
+        assertEquals(listOf("1", "3"), reopened.ids)
+        assertArrayEquals(results(3), reopened.readResults("3"))
+    }
+
+    @Test
+    fun corruptResults_failValidationOnRead() {
+        CaptureSessionJournal(dir).put("1", "t1", null, results(1))
+        val bytes = journalFile.readBytes()
+        bytes[bytes.size - 6] = (bytes[bytes.size - 6].toInt() xor 1).toByte()
+        journalFile.writeBytes(bytes)
+
+        val journal = CaptureSessionJournal(dir)
+        assertEquals(listOf("1"), journal.ids)
+        assertNull(journal.readResults("1"))
+    }
+
+    @Test
+    fun retention_removesOldestSessionsAndCompacts() {
+        val journal = CaptureSessionJournal(dir, maxSessions = 5)
+        for (id in 1..100) journal.put(id.toString(), "t$id", image(id), results(id))
+
+        assertEquals((96..100).map { it.toString() }, journal.ids)
+        assertEquals(5, dir.listFiles { f -> f.name.startsWith("image_") }?.size)
+        val reopened = CaptureSessionJournal(dir, maxSessions = 5)
+        assertEquals(journal.ids, reopened.ids)
+        assertArrayEquals(results(100), reopened.readResults("100"))
+    }
+
+    @Test
+    fun clear_removesEverythingAndDeleteIgnoresAMissingDirectory() {
+        CaptureSessionJournal(dir).apply {
+            put("1", "t1", image(1), results(1))
+            clear()
+            assertEquals(0, size)
+        }
+        assertEquals(0, dir.listFiles()?.size)
+        assertEquals(0, CaptureSessionJournal(dir).size)
+
+        val missing = File(root, "missing")
+        CaptureSessionJournal.delete(missing)
+        assertFalse(missing.exists())
+    }
+
+    @Test
+    fun migration_copiesReadableSessionsInIdOrder() {
+        val gson = Gson()
+        fun legacy(time: String, image: ByteArray?) = gson.toJson(
+            mapOf(
+                "ocrResults" to emptyList<Any>(),
+                "barcodeResults" to emptyList<Any>(),
+                "captureTime" to time,
+                "captureImage" to (image?.let { Base64.getEncoder().encodeToString(it) } ?: "")
+            )
+        )
+        val prefs = linkedMapOf<String, Any?>(
+            "10" to legacy("t10", image(10)),
+            "2" to legacy("t2", null),
+            "3" to "{not json",
+            "1" to legacy("t1", image(1))
+        )
+
+        val journal = CaptureSessionJournal(dir)
+        val dropped = CaptureSessionMigration.migrate(prefs, journal, gson) { Base64.getDecoder().decode(it) }
+
+        assertEquals(listOf("3"), dropped)
+        assertEquals(listOf("1", "2", "10"), journal.ids)
+        assertArrayEquals(image(10), journal.entry("10")?.imageFile?.readBytes())
+        assertNull(journal.entry("2")?.imageFile)
+        assertEquals("t1", journal.entry("1")?.captureTime)
+        val results = String(journal.readResults("1")!!, Charsets.UTF_8)
+        assertTrue(results, results.contains("\"ocrResults\":[]"))
+        assertEquals(listOf("1", "2", "10"), CaptureSessionJournal(dir).ids)
+    }
+
+    private fun image(seed: Int) = ByteArray(256 + seed) { (it * 31 + seed).toByte() }
+
+    private fun results(seed: Int) = "{\"session\":$seed}".toByteArray(Charsets.UTF_8)
+}
@@ -0,0 +1,262 @@
+package com.zebra.aidatacapturedemo.model
+
+import com.zebra.aidatacapturedemo.data.AdvancedFilterOption
+import com.zebra.aidatacapturedemo.data.BarcodeFilterData
+import com.zebra.aidatacapturedemo.data.CharacterMatchData
+import com.zebra.aidatacapturedemo.data.CharacterMatchFilterOption
+import com.zebra.aidatacapturedemo.data.CharacterTypeFilterOption
+import com.zebra.aidatacapturedemo.data.OcrFilterData
+import com.zebra.aidatacapturedemo.data.OcrRegularFilterOption
+import com.zebra.aidatacapturedemo.data.RegexData
+import com.zebra.aidatacapturedemo.ui.view.RegexConstant
+import java.util.Locale
+import java.util.regex.Pattern
+import kotlin.random.Random
+
+/**
+ * CompiledResultFilterBenchmark compares the per-frame filter evaluation FilterUtils used to do
+ * ([LegacyFilter]) with a [CompiledResultFilter] built once, over a frame of generated OCR words.
+ * Not a unit test — run main() from the IDE or with
+ * `java -cp <test classes> ...CompiledResultFilterBenchmark`, or call
+ *
+ *   print(CompiledResultFilterBenchmark.report(CompiledResultFilterBenchmark.run(words = 10_000)))
+ *
+ * Equivalence of the two paths is covered by CompiledResultFilterTest.
+ */
+object CompiledResultFilterBenchmark {
+
+    enum class Case { STARTS_WITH, CONTAINS, EXACT_MATCH, REGEX }
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        print(report(run()))
+    }
+
+    /**
+     * One line of the report; [terms] counts character match terms, or patterns for REGEX. Times
+     * are per frame of [words] results in microseconds.
+     */
+    data class Row(
+        val case: Case,
+        val words: Int,
+        val terms: Int,
+        val kept: Int,
+        val legacyMeanMicros: Double,
+        val legacyP50Micros: Double,
+        val compiledMeanMicros: Double,
+        val compiledP50Micros: Double
+    )
+
+    fun run(
+        words: Int = 10_000,
+        terms: Int = 50,
+        iterations: Int = 50,
+        seed: Long = 7L
+    ): List<Row> {
+        val random = Random(seed)
+        val texts = List(words) { word(random) }
+
+        return Case.entries.map { case ->
+            val data = filterData(case, texts, terms, random)
+            val filter = CompiledResultFilter.forOcr(data)
+
+            val kept = texts.count { filter.matches(it) }
+            check(kept == LegacyFilter.ocrFilter(data, texts).size) { "$case: paths disagree" }
+
+            val legacy = time(iterations) { LegacyFilter.ocrFilter(data, texts) }
+            val compiled = time(iterations) { texts.count { filter.matches(it) } }
+            val termCount = if (case == Case.REGEX) {
+                1 + data.selectedRegexFilterData.regexAdditionalStringList.size
+            } else {
+                terms
+            }
+            Row(
+                case, words, termCount, kept,
+                legacyMeanMicros = legacy.average(),
+                legacyP50Micros = legacy[legacy.size / 2],
+                compiledMeanMicros = compiled.average(),
+                compiledP50Micros = compiled[compiled.size / 2]
+            )
+        }
+    }
+
+    /** Formats rows as a fixed-width table. */
+    fun report(rows: List<Row>): String {
+        val builder = StringBuilder()
+        builder.append(
+            String.format(
+                Locale.US, "%-12s %7s %6s %7s %12s %12s %12s %12s%n",
+                "case", "words", "terms", "kept", "legacy(us)", "legacy p50", "compiled(us)", "compiled p50"
+            )
+        )
+        for (row in rows) {
+            builder.append(
+                String.format(
+                    Locale.US, "%-12s %7d %6d %7d %12.1f %12.1f %12.1f %12.1f%n",
+                    row.case, row.words, row.terms, row.kept,
+                    row.legacyMeanMicros, row.legacyP50Micros, row.compiledMeanMicros, row.compiledP50Micros
+                )
+            )
+        }
+        return builder.toString()
+    }
+
+    /**
+     * OCR settings for [case]. The character match terms are lowercased prefixes, infixes or
+     * whole words of [texts], so part of the frame is kept and matching ignores case.
+     */
+    private fun filterData(case: Case, texts: List<String>, terms: Int, random: Random): OcrFilterData {
+        if (case == Case.REGEX) {
+            return OcrFilterData(
+                selectedRegularFilterOption = OcrRegularFilterOption.REGEX,
+                selectedRegexFilterData = RegexData(
+                    regexDefaultString = "[A-Z]{3}-\\d{4}",
+                    regexAdditionalStringList = mutableListOf("LOT\\d+", "\\d{6,}", "[a-z]+-[a-z]+")
+                )
+            )
+        }
+        val termList = List(terms) {
+            val text = texts[random.nextInt(texts.size)]
+            val term = when (case) {
+                Case.STARTS_WITH -> text.take(3)
+                Case.CONTAINS -> text.substring(1, minOf(text.length, 4))
+                else -> text
+            }
+            term.lowercase()
+        }
+        val type = when (case) {
+            Case.STARTS_WITH -> CharacterMatchFilterOption.STARTS_WITH
+            Case.CONTAINS -> CharacterMatchFilterOption.CONTAINS
+            else -> CharacterMatchFilterOption.EXACT_MATCH
+        }
+        return OcrFilterData(
+            selectedRegularFilterOption = OcrRegularFilterOption.ADVANCED,
+            selectedAdvancedFilterOptionList = mutableListOf(AdvancedFilterOption.CHARACTER_MATCH),
+            selectedCharacterMatchFilterData = CharacterMatchData(
+                type = type,
+                startsWithStringList = termList,
+                containsStringList = termList,
+                exactMatchStringList = termList
+            )
+        )
+    }
+
+    /** Shelf-label-like words: SKU codes, lot numbers, plain numbers and lowercase words. */
+    private fun word(random: Random): String = when (random.nextInt(4)) {
+        0 -> letters(random, 3, 'A') + "-" + digits(random, 4)
+        1 -> "LOT" + digits(random, 2 + random.nextInt(5))
+        2 -> digits(random, 4 + random.nextInt(6))
+        else -> letters(random, 3 + random.nextInt(6), 'a')
+    }
+
+    private fun letters(random: Random, count: Int, base: Char) =
+        String(CharArray(count) { base + random.nextInt(26) })
+
+    private fun digits(random: Random, count: Int) =
+        String(CharArray(count) { '0' + random.nextInt(10) })
+
+    /** Warms up once, then returns sorted per-iteration times in µs. */
+    private inline fun time(iterations: Int, block: () -> Unit): DoubleArray {
+        block()
+        val samples = DoubleArray(iterations)
+        for (i in 0 until iterations) {
+            val start = System.nanoTime()
+            block()
+            samples[i] = (System.nanoTime() - start) / 1_000.0
+        }
+        samples.sort()
+        return samples
+    }
+
+    /**
+     * The original FilterUtils conditions, evaluated from the settings on every frame. Also the
+     * reference of CompiledResultFilterTest.
+     */
+    internal object LegacyFilter {
+
+        /** Filters one frame the way FilterUtils did: regexes compiled once per frame. */
+        fun ocrFilter(data: OcrFilterData, texts: List<String>): List<String> {
+            if (data.selectedRegularFilterOption != OcrRegularFilterOption.REGEX) {
+                return texts.filter { ocrMatches(data, it) }
+            }
+            val patterns = regexPatterns(data.selectedRegexFilterData)
+            return texts.filter { text -> patterns.any { it.matcher(text).matches() } }
+        }
+
+        fun ocrMatches(data: OcrFilterData, text: String): Boolean =
+            when (data.selectedRegularFilterOption) {
+                OcrRegularFilterOption.UNFILTERED -> "(.*?)".toRegex().matches(text)
+                OcrRegularFilterOption.REGEX ->
+                    regexPatterns(data.selectedRegexFilterData).any { it.matcher(text).matches() }
+                OcrRegularFilterOption.ADVANCED -> data.selectedAdvancedFilterOptionList.all { option ->
+                    when (option) {
+                        AdvancedFilterOption.CHARACTER_TYPE ->
+                            characterTypeMatches(data.selectedCharacterTypeFilterOptionList, text)
+                        AdvancedFilterOption.CHARACTER_MATCH ->
+                            characterMatchMatches(data.selectedCharacterMatchFilterData, text)
+                        AdvancedFilterOption.STRING_LENGTH ->
+                            text.length in data.selectedStringLengthRange.start.toInt()..data.selectedStringLengthRange.endInclusive.toInt()
+                    }
+                }
+            }
+
+        fun barcodeMatches(data: BarcodeFilterData, text: String): Boolean =
+            data.selectedAdvancedFilterOptionList.all { option ->
+                when (option) {
+                    AdvancedFilterOption.CHARACTER_MATCH ->
+                        characterMatchMatches(data.selectedCharacterMatchFilterData, text)
+                    AdvancedFilterOption.STRING_LENGTH ->
+                        text.length in data.selectedStringLengthRange.start.toInt()..data.selectedStringLengthRange.endInclusive.toInt()
+                    else -> error("Unhandled barcode filter received = $option")
+                }
+            }
+
+        private fun regexPatterns(regexData: RegexData): List<Pattern> {
+            val patterns = mutableListOf<Pattern>()
+            if (regexData.regexDefaultString.isNotBlank()) {
+                FilterUtils.validateRegexSyntax(regexData.regexDefaultString)?.let { patterns += it }
+                regexData.regexAdditionalStringList.forEach {
+                    if (it.isNotBlank()) FilterUtils.validateRegexSyntax(it)?.let { p -> patterns += p }
+                }
+            }
+            return patterns
+        }
+
+        private fun characterTypeMatches(types: List<CharacterTypeFilterOption>, text: String): Boolean {
+            if (types.isEmpty() || CharacterTypeFilterOption.SELECT_ALL in types) return true
+            val alpha = CharacterTypeFilterOption.ALPHA in types
+            val numeric = CharacterTypeFilterOption.NUMERIC in types
+            val special = CharacterTypeFilterOption.INCLUDE_SPECIAL_CHARACTERS in types
+            val regex = if (types.size == 1) {
+                when {
+                    alpha -> RegexConstant.ALPHA_ONLY
+                    numeric -> RegexConstant.NUMERIC_ONLY
+                    else -> RegexConstant.SPECIAL_CHARACTERS_ONLY
+                }
+            } else {
+                when {
+                    alpha && numeric -> RegexConstant.ALPHA_AND_NUMERIC_ONLY
+                    alpha && special -> RegexConstant.ALPHA_AND_SPECIAL_CHARACTERS_ONLY
+                    else -> RegexConstant.NUMERIC_AND_SPECIAL_CHARACTERS_ONLY
+                }
+            }
+            return regex.matches(text)
+        }
+
+        private fun characterMatchMatches(match: CharacterMatchData, text: String): Boolean {
+            val terms = when (match.type) {
+                CharacterMatchFilterOption.STARTS_WITH -> match.startsWithStringList
+                CharacterMatchFilterOption.CONTAINS -> match.containsStringList
+                CharacterMatchFilterOption.EXACT_MATCH -> match.exactMatchStringList
+            }
+            if (!terms.all { it.isNotBlank() }) return false
+            return terms.any { term ->
+                when (match.type) {
+                    CharacterMatchFilterOption.STARTS_WITH -> text.startsWith(term, ignoreCase = true)
+                    CharacterMatchFilterOption.CONTAINS -> text.contains(term, ignoreCase = true)
+                    CharacterMatchFilterOption.EXACT_MATCH -> text.equals(term, ignoreCase = true)
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.zebra.aidatacapturedemo.model
+
+import com.zebra.aidatacapturedemo.data.AdvancedFilterOption
+import com.zebra.aidatacapturedemo.data.BarcodeFilterData
+import com.zebra.aidatacapturedemo.data.CharacterMatchData
+import com.zebra.aidatacapturedemo.data.CharacterMatchFilterOption
+import com.zebra.aidatacapturedemo.data.CharacterTypeFilterOption
+import com.zebra.aidatacapturedemo.data.OcrFilterData
+import com.zebra.aidatacapturedemo.data.OcrRegularFilterOption
+import com.zebra.aidatacapturedemo.data.RegexData
+import com.zebra.aidatacapturedemo.model.CompiledResultFilterBenchmark.LegacyFilter
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Test
+
+/**
+ * Local unit tests checking that [CompiledResultFilter] keeps exactly the results the original
+ * per-frame FilterUtils evaluation kept. [LegacyFilter], shared with CompiledResultFilterBenchmark,
+ * is that evaluation, reduced to a single text but with the same conditions and the same
+ * RegexConstant patterns.
+ */
+class CompiledResultFilterTest {
+
+    private val texts = listOf(
+        "", " ", "A", "abc", "ABC", "Abc123", "123", "0", "12 34", "#\$%", "a-b", "1-2",
+        "abc def", "line\nbreak", "ÄÖÜ", "straße", "STRASSE", "İstanbul", "x".repeat(20),
+        "prefix-42", "PREFIX", "suffix", "middlePreFixend", "ab", "abcdefghijklmno"
+    )
+
+    private val termLists = listOf(
+        emptyList(), listOf(" "), listOf("ab"), listOf("AB", "123"), listOf("pre", "fix", "suffix"),
+        listOf("ä", "STRASSE"), listOf("abc", "")
+    )
+
+    private val characterTypeSelections = listOf(
+        emptyList(),
+        listOf(CharacterTypeFilterOption.SELECT_ALL),
+        listOf(CharacterTypeFilterOption.ALPHA),
+        listOf(CharacterTypeFilterOption.NUMERIC),
+        listOf(CharacterTypeFilterOption.INCLUDE_SPECIAL_CHARACTERS),
+        listOf(CharacterTypeFilterOption.ALPHA, CharacterTypeFilterOption.NUMERIC),
+        listOf(CharacterTypeFilterOption.ALPHA, CharacterTypeFilterOption.INCLUDE_SPECIAL_CHARACTERS),
+        listOf(CharacterTypeFilterOption.NUMERIC, CharacterTypeFilterOption.INCLUDE_SPECIAL_CHARACTERS),
+        listOf(
+            CharacterTypeFilterOption.ALPHA,
+            CharacterTypeFilterOption.NUMERIC,
+            CharacterTypeFilterOption.INCLUDE_SPECIAL_CHARACTERS
+        )
+    )
+
+    private val optionSubsets: List<List<AdvancedFilterOption>> =
+        (0 until (1 shl AdvancedFilterOption.entries.size)).map { mask ->
+            AdvancedFilterOption.entries.filterIndexed { i, _ -> mask and (1 shl i) != 0 }
+        }
+
+    @Test
+    fun ocrUnfiltered_matchesLegacy() {
+        assertOcrEquivalent(OcrFilterData(selectedRegularFilterOption = OcrRegularFilterOption.UNFILTERED))
+    }
+
+    @Test
+    fun ocrRegex_matchesLegacy() {
+        val regexes = listOf(
+            RegexData(regexDefaultString = ""),
+            RegexData(regexDefaultString = "[0-9]+"),
+            RegexData(regexDefaultString = "\\\\d+", regexAdditionalStringList = mutableListOf("[a-z]+", " ")),
+            RegexData(regexDefaultString = "(unclosed", regexAdditionalStringList = mutableListOf("A.*")),
+            RegexData(regexDefaultString = "(unclosed"),
+            RegexData(regexDefaultString = " ", regexAdditionalStringList = mutableListOf("[0-9]+"))
+        )
+        for (regex in regexes) {
+            assertOcrEquivalent(
+                OcrFilterData(
+                    selectedRegularFilterOption = OcrRegularFilterOption.REGEX,
+                    selectedRegexFilterData = regex
+                )
+            )
+        }
+    }
+
+    @Test
+    fun ocrAdvanced_matchesLegacyForEveryCombination() {
+        for (options in optionSubsets) {
+            for (types in characterTypeSelections) {
+                for (match in characterMatches()) {
+                    assertOcrEquivalent(
+                        OcrFilterData(
+                            selectedRegularFilterOption = OcrRegularFilterOption.ADVANCED,
+                            selectedAdvancedFilterOptionList = options.toMutableList(),
+                            selectedCharacterTypeFilterOptionList = types.toMutableList(),
+                            selectedCharacterMatchFilterData = match,
+                            selectedStringLengthRange = 2f..6f
+                        )
+                    )
+                }
+            }
+        }
+    }
+
+    @Test
+    fun barcode_matchesLegacyWithoutCharacterType() {
+        for (options in optionSubsets.filter { AdvancedFilterOption.CHARACTER_TYPE !in it }) {
+            for (match in characterMatches()) {
+                val data = BarcodeFilterData(
+                    selectedAdvancedFilterOptionList = options.toMutableList(),
+                    selectedCharacterMatchFilterData = match,
+                    selectedStringLengthRange = 3f..15f
+                )
+                val filter = CompiledResultFilter.forBarcode(data)
+                for (text in texts) {
+                    assertEquals("$data / \"$text\"", LegacyFilter.barcodeMatches(data, text), filter.matches(text))
+                }
+            }
+        }
+    }
+
+    @Test
+    fun barcodeCharacterType_keepsNothing() {
+        val filter = CompiledResultFilter.forBarcode(
+            BarcodeFilterData(
+                selectedAdvancedFilterOptionList = mutableListOf(
+                    AdvancedFilterOption.STRING_LENGTH,
+                    AdvancedFilterOption.CHARACTER_TYPE
+                )
+            )
+        )
+        for (text in texts) {
+            assertFalse(text, filter.matches(text))
+        }
+    }
+
+    private fun characterMatches(): List<CharacterMatchData> =
+        CharacterMatchFilterOption.entries.flatMap { type ->
+            termLists.map { terms ->
+                CharacterMatchData(
+                    type = type,
+                    startsWithStringList = terms,
+                    containsStringList = terms,
+                    exactMatchStringList = terms
+                )
+            }
+        }
+
+    private fun assertOcrEquivalent(data: OcrFilterData) {
+        val filter = CompiledResultFilter.forOcr(data)
+        for (text in texts) {
+            assertEquals("$data / \"$text\"", LegacyFilter.ocrMatches(data, text), filter.matches(text))
+        }
+    }
+}
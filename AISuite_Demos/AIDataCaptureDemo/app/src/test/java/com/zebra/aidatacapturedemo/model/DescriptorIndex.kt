@@ -0,0 +1,224 @@
+package com.zebra.aidatacapturedemo.model
+
+import java.util.concurrent.locks.ReentrantReadWriteLock
+import kotlin.concurrent.read
+import kotlin.concurrent.write
+import kotlin.math.sqrt
+
+/**
+ * DescriptorIndex is a nearest-neighbour index over product feature descriptors, e.g. the
+ * 768-dimensional vectors produced by the FeatureExtractor. Similarity is cosine similarity;
+ * descriptors are L2-normalised on insert and query, so a search ranks by dot product.
+ *
+ * Implementations:
+ * - [BruteForceDescriptorIndex] scans every descriptor; exact, latency grows linearly with size.
+ * - [HnswDescriptorIndex] is an approximate HNSW graph; sub-linear latency at a tunable recall.
+ *
+ * Searches may run concurrently; [add] is serialised against searches.
+ *
+ * Recognizer.SettingsDb searches inside the SDK and its descriptors are opaque to the app, so the
+ * index cannot be put behind the recognizer lookup. It is kept with the tests as the evaluation
+ * harness for an app-side catalog search, checked against brute force by DescriptorIndexTest.
+ */
+interface DescriptorIndex {
+
+    /** Result of a search: the descriptor id, the label it was enrolled with and its cosine similarity. */
+    data class Neighbor(val id: Int, val label: String, val similarity: Float)
+
+    val dimensions: Int
+
+    /** Number of descriptors in the index. */
+    val size: Int
+
+    /**
+     * Adds a descriptor for [label]. A label may be enrolled with several descriptors.
+     * @return the id of the new descriptor
+     */
+    fun add(label: String, descriptor: FloatArray): Int
+
+    /** Returns up to [k] nearest descriptors to [query], most similar first. */
+    fun search(query: FloatArray, k: Int): List<Neighbor>
+
+    companion object {
+        /** Returns a normalised copy of [vector]; a zero vector is returned as zeros. */
+        fun normalized(vector: FloatArray): FloatArray {
+            var norm = 0.0
+            for (v in vector) norm += v * v
+            val out = vector.copyOf()
+            if (norm > 0.0) {
+                val scale = (1.0 / sqrt(norm)).toFloat()
+                for (i in out.indices) out[i] *= scale
+            }
+            return out
+        }
+    }
+}
+
+/**
+ * Exact [DescriptorIndex]: every search computes the similarity against all descriptors.
+ * Used as the recall baseline for [HnswDescriptorIndex] and for small catalogs.
+ */
+class BruteForceDescriptorIndex(override val dimensions: Int) : DescriptorIndex {
+
+    private val lock = ReentrantReadWriteLock()
+    private val store = DescriptorStore(dimensions)
+
+    override val size: Int
+        get() = lock.read { store.size }
+
+    override fun add(label: String, descriptor: FloatArray): Int {
+        val normalized = store.checkedNormalized(descriptor)
+        return lock.write { store.add(label, normalized) }
+    }
+
+    override fun search(query: FloatArray, k: Int): List<DescriptorIndex.Neighbor> {
+        val q = store.checkedNormalized(query)
+        if (k <= 0) return emptyList()
+        return lock.read {
+            // Min-heap of the best k so far; the weakest is on top and is evicted first.
+            val top = NodeHeap(k + 1, minOnTop = true)
+            for (id in 0 until store.size) {
+                val similarity = store.dot(q, id)
+                if (top.size < k) {
+                    top.push(id, similarity)
+                } else if (similarity > top.peekKey()) {
+                    top.pop()
+                    top.push(id, similarity)
+                }
+            }
+            store.toNeighbors(top)
+        }
+    }
+}
+
+/**
+ * Append-only storage shared by the index implementations: normalised descriptors packed into
+ * one FloatArray, plus their labels. Not thread-safe; the owning index provides locking.
+ */
+internal class DescriptorStore(private val dimensions: Int) {
+
+    private var vectors = FloatArray(dimensions * INITIAL_CAPACITY)
+    private val labels = ArrayList<String>(INITIAL_CAPACITY)
+
+    val size: Int
+        get() = labels.size
+
+    /** Validates the dimension count and returns a normalised copy. */
+    fun checkedNormalized(descriptor: FloatArray): FloatArray {
+        require(descriptor.size == dimensions) {
+            "Expected $dimensions dimensions, got ${descriptor.size}"
+        }
+        return DescriptorIndex.normalized(descriptor)
+    }
+
+    /** Appends an already normalised descriptor and returns its id. */
+    fun add(label: String, normalized: FloatArray): Int {
+        val id = labels.size
+        if ((id + 1) * dimensions > vectors.size) vectors = vectors.copyOf(vectors.size * 2)
+        System.arraycopy(normalized, 0, vectors, id * dimensions, dimensions)
+        labels += label
+        return id
+    }
+
+    fun label(id: Int): String = labels[id]
+
+    /** Dot product of a normalised [query] with descriptor [id]. */
+    fun dot(query: FloatArray, id: Int): Float {
+        val base = id * dimensions
+        val v = vectors
+        var sum = 0f
+        for (i in 0 until dimensions) sum += query[i] * v[base + i]
+        return sum
+    }
+
+    /** Dot product of descriptors [a] and [b]. */
+    fun dot(a: Int, b: Int): Float {
+        val baseA = a * dimensions
+        val baseB = b * dimensions
+        val v = vectors
+        var sum = 0f
+        for (i in 0 until dimensions) sum += v[baseA + i] * v[baseB + i]
+        return sum
+    }
+
+    /** Empties a heap keyed by similarity into neighbours, most similar first. */
+    fun toNeighbors(heap: NodeHeap): List<DescriptorIndex.Neighbor> {
+        val n = heap.size
+        val result = arrayOfNulls<DescriptorIndex.Neighbor>(n)
+        for (i in 0 until n) {
+            val similarity = heap.peekKey()
+            val id = heap.pop()
+            // A min-heap pops the least similar first, so fill from the back.
+            val slot = if (heap.minOnTop) n - 1 - i else i
+            result[slot] = DescriptorIndex.Neighbor(id, labels[id], similarity)
+        }
+        return result.map { it!! }
+    }
+
+    private companion object {
+        const val INITIAL_CAPACITY = 256
+    }
+}
+
+/**
+ * Binary heap of (node id, float key) pairs on primitive arrays, used for candidate and result
+ * lists during search. [minOnTop] selects a min-heap, otherwise a max-heap. Grows on demand.
+ */
+internal class NodeHeap(initialCapacity: Int, val minOnTop: Boolean) {
+
+    private var ids = IntArray(maxOf(initialCapacity, 1))
+    private var keys = FloatArray(maxOf(initialCapacity, 1))
+
+    var size = 0
+        private set
+
+    fun isEmpty() = size == 0
+
+    fun clear() {
+        size = 0
+    }
+
+    fun peekId(): Int = ids[0]
+
+    fun peekKey(): Float = keys[0]
+
+    fun push(id: Int, key: Float) {
+        if (size == ids.size) {
+            ids = ids.copyOf(size * 2)
+            keys = keys.copyOf(size * 2)
+        }
+        var i = size++
+        while (i > 0) {
+            val parent = (i - 1) / 2
+            if (!before(key, keys[parent])) break
+            ids[i] = ids[parent]
+            keys[i] = keys[parent]
+            i = parent
+        }
+        ids[i] = id
+        keys[i] = key
+    }
+
+    /** Removes the top entry and returns its id. */
+    fun pop(): Int {
+        val top = ids[0]
+        size--
+        val lastId = ids[size]
+        val lastKey = keys[size]
+        var i = 0
+        while (true) {
+            var child = 2 * i + 1
+            if (child >= size) break
+            if (child + 1 < size && before(keys[child + 1], keys[child])) child++
+            if (!before(keys[child], lastKey)) break
+            ids[i] = ids[child]
+            keys[i] = keys[child]
+            i = child
+        }
+        ids[i] = lastId
+        keys[i] = lastKey
+        return top
+    }
+
+    private fun before(a: Float, b: Float) = if (minOnTop) a < b else a > b
+}
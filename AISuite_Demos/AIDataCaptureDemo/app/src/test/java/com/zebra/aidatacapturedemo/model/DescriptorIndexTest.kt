@@ -0,0 +1,117 @@
+package com.zebra.aidatacapturedemo.model
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.math.cos
+import kotlin.math.ln
+import kotlin.math.sqrt
+import kotlin.random.Random
+
+/**
+ * Local unit tests for [BruteForceDescriptorIndex] and [HnswDescriptorIndex]. HNSW recall@k is
+ * measured against the brute-force result for the same queries.
+ */
+class DescriptorIndexTest {
+
+    @Test
+    fun bruteForce_returnsMostSimilarFirst() {
+        val index = BruteForceDescriptorIndex(dimensions = 2)
+        index.add("east", floatArrayOf(1f, 0f))
+        index.add("north", floatArrayOf(0f, 3f))
+        index.add("north-east", floatArrayOf(2f, 2f))
+        index.add("west", floatArrayOf(-1f, 0f))
+
+        val neighbors = index.search(floatArrayOf(1f, 0.1f), k = 3)
+
+        assertEquals(listOf("east", "north-east", "north"), neighbors.map { it.label })
+        assertEquals(1f, neighbors[0].similarity, 0.01f)
+        assertTrue(index.search(floatArrayOf(1f, 0f), k = 0).isEmpty())
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun add_rejectsWrongDimensions() {
+        HnswDescriptorIndex(dimensions = 4).add("sku", FloatArray(3))
+    }
+
+    @Test
+    fun hnsw_defaultsReachFullRecallOnClusteredDescriptors() {
+        val random = Random(11)
+        val centres = Array(64) { gaussian(random, DIMENSIONS) }
+        val recall = recallAtK(HnswDescriptorIndex(DIMENSIONS), size = 3_000) {
+            val centre = centres[random.nextInt(centres.size)]
+            FloatArray(DIMENSIONS) { centre[it] + 0.5f * random.nextGaussian().toFloat() }
+        }
+        assertTrue("recall $recall", recall >= 0.99)
+    }
+
+    @Test
+    fun hnsw_defaultsReachHighRecallOnLowDimensionalRandomData() {
+        val random = Random(12)
+        val recall = recallAtK(HnswDescriptorIndex(dimensions = 16), size = 3_000) {
+            gaussian(random, 16)
+        }
+        assertTrue("recall $recall", recall >= 0.95)
+    }
+
+    @Test
+    fun hnsw_recallGrowsWithEfSearchAndIsExactWhenItCoversTheCatalog() {
+        val size = 1_000
+        val recalls = listOf(16, 64, size).map { ef ->
+            val random = Random(13)
+            recallAtK(HnswDescriptorIndex(DIMENSIONS, efSearch = ef), size) { gaussian(random, DIMENSIONS) }
+        }
+        assertTrue("recalls $recalls", recalls[0] <= recalls[1] && recalls[1] <= recalls[2])
+        assertEquals(1.0, recalls[2], 0.0)
+    }
+
+    @Test
+    fun hnsw_sameSeedBuildsTheSameIndex() {
+        val random = Random(14)
+        val vectors = List(500) { gaussian(random, DIMENSIONS) }
+        val a = HnswDescriptorIndex(DIMENSIONS, efSearch = 8)
+        val b = HnswDescriptorIndex(DIMENSIONS, efSearch = 8)
+        vectors.forEachIndexed { i, v ->
+            a.add("sku-$i", v)
+            b.add("sku-$i", v)
+        }
+        for (q in vectors.take(20)) {
+            assertEquals(a.search(q, K), b.search(q, K))
+        }
+    }
+
+    /**
+     * Fills [hnsw] and a brute-force index with [size] vectors from [next], then returns the
+     * fraction of the exact top [K] found by [hnsw] over [QUERIES] fresh queries.
+     */
+    private fun recallAtK(hnsw: HnswDescriptorIndex, size: Int, next: () -> FloatArray): Double {
+        val exact = BruteForceDescriptorIndex(hnsw.dimensions)
+        for (i in 0 until size) {
+            val descriptor = next()
+            exact.add("sku-$i", descriptor)
+            hnsw.add("sku-$i", descriptor)
+        }
+        var hits = 0
+        repeat(QUERIES) {
+            val query = next()
+            val truth = exact.search(query, K).map { it.id }.toSet()
+            hits += hnsw.search(query, K).count { it.id in truth }
+        }
+        return hits.toDouble() / (QUERIES * K)
+    }
+
+    private fun gaussian(random: Random, dimensions: Int) =
+        FloatArray(dimensions) { random.nextGaussian().toFloat() }
+
+    private fun Random.nextGaussian(): Double {
+        val u1 = 1.0 - nextDouble()
+        val u2 = nextDouble()
+        return sqrt(-2.0 * ln(u1)) * cos(2.0 * Math.PI * u2)
+    }
+
+    private companion object {
+        const val DIMENSIONS = 64
+        const val K = 10
+        const val QUERIES = 100
+    }
+}
@@ -0,0 +1,164 @@
+package com.zebra.aidatacapturedemo.model
+
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import com.zebra.aidatacapturedemo.data.AdvancedFilterOption
+import com.zebra.aidatacapturedemo.data.BarcodeFilterData
+import com.zebra.aidatacapturedemo.data.BarcodeSettings
+import com.zebra.aidatacapturedemo.data.CharacterMatchData
+import com.zebra.aidatacapturedemo.data.CharacterMatchFilterOption
+import com.zebra.aidatacapturedemo.data.OcrBarcodeFindSettings
+import com.zebra.aidatacapturedemo.data.OcrFilterData
+import com.zebra.aidatacapturedemo.data.OcrRegularFilterOption
+import com.zebra.aidatacapturedemo.data.ProductRecognitionSettings
+import com.zebra.aidatacapturedemo.data.RetailShelfSettings
+import com.zebra.aidatacapturedemo.data.TextOcrSettings
+import java.io.File
+import java.nio.file.Files
+import java.util.Locale
+
+/**
+ * SettingsStoreBenchmark compares the load time of [SettingsStore] with the per-file Gson path it
+ * replaces. Not a unit test — run main() from the IDE or with
+ * `java -cp <test classes> ...SettingsStoreBenchmark`, or call
+ *
+ *   println(SettingsStoreBenchmark.benchmarkLoad(dir))
+ *
+ * Crash consistency of the store is covered by SettingsStoreTest.
+ */
+object SettingsStoreBenchmark {
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val dir = Files.createTempDirectory("settings-bench").toFile()
+        print(benchmarkLoad(dir))
+        dir.deleteRecursively()
+    }
+
+    /**
+     * Writes the same settings both ways into [dir], then times loading all of them: Gson reading
+     * one JSON file per setting, and [SettingsStore] opening its single file and decoding every
+     * section. Returns a small table with mean and median load times and the bytes on disk.
+     */
+    fun benchmarkLoad(dir: File, iterations: Int = 200): String {
+        dir.mkdirs()
+        val gson = GsonBuilder()
+            .registerTypeAdapter(ClosedFloatingPointRange::class.java, CustomClosedFloatingPointRangeAdapter())
+            .create()
+        val settings = sample(variant = 1)
+
+        val jsonFiles = settings.map { (key, value) ->
+            val json = File(dir, "bench_$key.json")
+            json.writeText(gson.toJson(value))
+            Triple(json, key, value.javaClass)
+        }
+        val storeFile = File(dir, "bench_settings.bin")
+        storeFile.delete()
+        SettingsStore(storeFile).apply {
+            putAll(this, settings)
+            close()
+        }
+
+        val gsonMicros = time(iterations) {
+            for ((json, _, type) in jsonFiles) loadJson(gson, json, type)
+        }
+        val storeMicros = time(iterations) {
+            val store = SettingsStore(storeFile)
+            for ((key, _) in settings) store.get(key, codecFor(key))
+        }
+
+        val builder = StringBuilder()
+        builder.append(String.format(Locale.US, "%-14s %10s %10s %8s%n", "path", "mean(us)", "p50(us)", "bytes"))
+        builder.append(
+            String.format(
+                Locale.US, "%-14s %10.1f %10.1f %8d%n", "gson-per-file",
+                gsonMicros.average(), gsonMicros[gsonMicros.size / 2], jsonFiles.sumOf { it.first.length() }
+            )
+        )
+        builder.append(
+            String.format(
+                Locale.US, "%-14s %10.1f %10.1f %8d%n", "settings-store",
+                storeMicros.average(), storeMicros[storeMicros.size / 2], storeFile.length()
+            )
+        )
+        jsonFiles.forEach { it.first.delete() }
+        storeFile.delete()
+        return builder.toString()
+    }
+
+    private fun loadJson(gson: Gson, file: File, type: Class<*>): Any? = gson.fromJson(file.readText(), type)
+
+    /** Warms up once, then returns sorted per-iteration times in µs. */
+    private inline fun time(iterations: Int, block: () -> Unit): DoubleArray {
+        block()
+        val samples = DoubleArray(iterations)
+        for (i in 0 until iterations) {
+            val start = System.nanoTime()
+            block()
+            samples[i] = (System.nanoTime() - start) / 1_000.0
+        }
+        samples.sort()
+        return samples
+    }
+
+    /**
+     * One value per setting kept in the store; [variant] 1 differs from 0 in every setting.
+     * Also used as the fixture of SettingsStoreTest.
+     */
+    internal fun sample(variant: Int): Map<String, Any> {
+        val changed = variant == 1
+        return linkedMapOf<String, Any>(
+            KEY_BARCODE to BarcodeSettings().apply {
+                commonSettings.inputSizeSelected = if (changed) 1600 else 1280
+                barcodeSymbology.dotcode = changed
+            },
+            KEY_OCR to TextOcrSettings().apply {
+                advancedOCRSetting.enableTiling = changed
+                advancedOCRSetting.boxThreshold = if (changed) "0.7" else "0.85"
+            },
+            KEY_OCR_BARCODE_FIND to OcrBarcodeFindSettings().apply {
+                feedbackSettings.vibration = !changed
+            },
+            KEY_RETAIL to RetailShelfSettings(similarityThreshold = if (changed) 65f else 80f),
+            KEY_PRODUCT to ProductRecognitionSettings(similarityThreshold = if (changed) 70f else 80f),
+            KEY_OCR_FILTER to OcrFilterData(
+                selectedRegularFilterOption = if (changed) OcrRegularFilterOption.ADVANCED else OcrRegularFilterOption.UNFILTERED,
+                selectedAdvancedFilterOptionList = mutableListOf(AdvancedFilterOption.CHARACTER_MATCH),
+                selectedCharacterMatchFilterData = CharacterMatchData(
+                    type = CharacterMatchFilterOption.CONTAINS,
+                    containsStringList = if (changed) List(40) { "SKU-${1000 + it}" } else listOf("LOT")
+                ),
+                selectedStringLengthRange = (if (changed) 4f else 2f)..20f
+            ),
+            KEY_BARCODE_FILTER to BarcodeFilterData(
+                selectedAdvancedFilterOptionList = mutableListOf(AdvancedFilterOption.STRING_LENGTH),
+                selectedStringLengthRange = 2f..(if (changed) 30f else 15f)
+            )
+        )
+    }
+
+    internal fun putAll(store: SettingsStore, settings: Map<String, Any>) {
+        for ((key, value) in settings) put(store, key, value)
+    }
+
+    private fun put(store: SettingsStore, key: String, value: Any) = store.put(key, codecFor(key), value)
+
+    @Suppress("UNCHECKED_CAST")
+    internal fun codecFor(key: String): SettingsStore.Codec<Any> = when (key) {
+        KEY_BARCODE -> SettingsCodecs.BARCODE
+        KEY_OCR -> SettingsCodecs.OCR
+        KEY_OCR_BARCODE_FIND -> SettingsCodecs.OCR_BARCODE_FIND
+        KEY_RETAIL -> SettingsCodecs.RETAIL_SHELF
+        KEY_PRODUCT -> SettingsCodecs.PRODUCT_RECOGNITION
+        KEY_OCR_FILTER -> SettingsCodecs.OCR_FILTER
+        else -> SettingsCodecs.BARCODE_FILTER
+    } as SettingsStore.Codec<Any>
+
+    internal const val KEY_BARCODE = "Barcode"
+    private const val KEY_OCR = "OCR"
+    private const val KEY_OCR_BARCODE_FIND = "OCRBarcodeFind"
+    private const val KEY_RETAIL = "Retail"
+    private const val KEY_PRODUCT = "Product"
+    private const val KEY_OCR_FILTER = "OcrFilter"
+    private const val KEY_BARCODE_FILTER = "BarcodeFilter"
+}
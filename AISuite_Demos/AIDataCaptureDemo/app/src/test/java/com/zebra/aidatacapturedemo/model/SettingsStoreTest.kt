@@ -0,0 +1,155 @@
+package com.zebra.aidatacapturedemo.model
+
+import com.zebra.aidatacapturedemo.data.BarcodeSettings
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.io.File
+import java.io.IOException
+import java.nio.file.Files
+import java.util.Collections
+import java.util.concurrent.TimeUnit
+
+/**
+ * Local unit tests for [SettingsStore]: round trips, coalesced writes and recovery from writes
+ * interrupted at every byte of the new file.
+ */
+class SettingsStoreTest {
+
+    private val dir = Files.createTempDirectory("settings-store").toFile()
+    private val file = File(dir, "settings.bin")
+    private val tmp = File(file.path + SettingsStore.TMP_SUFFIX)
+
+    @After
+    fun tearDown() {
+        dir.deleteRecursively()
+    }
+
+    @Test
+    fun everySetting_roundTripsThroughTheFile() {
+        SettingsStore(file).apply {
+            SettingsStoreBenchmark.putAll(this, sample(variant = 1))
+            close()
+        }
+        val store = SettingsStore(file)
+        assertFalse(store.recoveredFromCorruption)
+        assertSettings(sample(variant = 1), store)
+    }
+
+    @Test
+    fun burstOfPuts_isWrittenOnce() {
+        val store = SettingsStore(file, writeDelayMs = TimeUnit.HOURS.toMillis(1))
+        repeat(50) {
+            store.put(BARCODE, SettingsCodecs.BARCODE, BarcodeSettings().apply {
+                commonSettings.inputSizeSelected = 640 + it
+            })
+        }
+        store.close()
+        assertEquals(1, store.writes)
+        assertEquals(689, SettingsStore(file).get(BARCODE, SettingsCodecs.BARCODE)?.commonSettings?.inputSizeSelected)
+    }
+
+    @Test
+    fun interruptedRename_keepsCommittedSettingsAndRemovesTemporaryFile() {
+        val committed = commit(sample(variant = 0))
+        val next = encoded(sample(variant = 1))
+        for (length in 0..next.size) {
+            // The app died after writing [length] bytes of the temporary file, before the rename.
+            tmp.writeBytes(next.copyOf(length))
+            val store = SettingsStore(file)
+            assertFalse("$length bytes", store.recoveredFromCorruption)
+            assertSettings(sample(variant = 0), store)
+            assertFalse("$length bytes", tmp.exists())
+            assertArrayEquals(committed, file.readBytes())
+        }
+    }
+
+    @Test
+    fun truncatedFile_isRejectedAsAWhole() {
+        val next = encoded(sample(variant = 1))
+        for (length in 0 until next.size) {
+            file.writeBytes(next.copyOf(length))
+            val store = SettingsStore(file)
+            assertTrue("$length/${next.size} bytes", store.recoveredFromCorruption)
+            for (key in sample(variant = 1).keys) {
+                assertNull("$key at $length/${next.size} bytes", store.get(key, SettingsStoreBenchmark.codecFor(key)))
+            }
+        }
+    }
+
+    @Test
+    fun badCrc_isRejectedAsAWhole() {
+        val next = encoded(sample(variant = 1))
+        for (offset in next.indices) {
+            val corrupted = next.copyOf()
+            corrupted[offset] = (corrupted[offset].toInt() xor 0x5A).toByte()
+            assertNull("offset $offset", SettingsStore.decode(corrupted))
+        }
+        // Only the stored checksum is wrong; every section is still well formed.
+        val badCrc = next.copyOf()
+        badCrc[badCrc.size - 1] = (badCrc[badCrc.size - 1].toInt() xor 1).toByte()
+        file.writeBytes(badCrc)
+        val store = SettingsStore(file)
+        assertTrue(store.recoveredFromCorruption)
+        assertNull(store.get(BARCODE, SettingsCodecs.BARCODE))
+    }
+
+    @Test
+    fun failedWrite_isReportedAndRetried() {
+        val failures = Collections.synchronizedList(ArrayList<IOException>())
+        // A non-empty directory in place of the store file makes the rename fail.
+        file.mkdirs()
+        File(file, "blocker").writeText("")
+        val store = SettingsStore(file, writeDelayMs = TimeUnit.HOURS.toMillis(1), onWriteFailed = { failures += it })
+        val settings = BarcodeSettings().apply { commonSettings.inputSizeSelected = 1600 }
+        store.put(BARCODE, SettingsCodecs.BARCODE, settings)
+
+        var written = false
+        store.flush { written = true }.get()
+        assertEquals(1, failures.size)
+        assertFalse(written)
+        assertEquals(0, store.writes)
+
+        file.deleteRecursively()
+        store.flush { written = true }.get()
+        assertTrue(written)
+        assertEquals(1, store.writes)
+        assertEquals(settings, SettingsStore(file).get(BARCODE, SettingsCodecs.BARCODE))
+        store.close()
+    }
+
+    private fun sample(variant: Int) = SettingsStoreBenchmark.sample(variant)
+
+    /** Writes [settings] through a store and returns the committed file content. */
+    private fun commit(settings: Map<String, Any>): ByteArray {
+        SettingsStore(file).apply {
+            SettingsStoreBenchmark.putAll(this, settings)
+            close()
+        }
+        return file.readBytes()
+    }
+
+    /** The file content a store holding [settings] would write. */
+    private fun encoded(settings: Map<String, Any>): ByteArray {
+        val scratch = File(dir, "scratch.bin")
+        SettingsStore(scratch).apply {
+            SettingsStoreBenchmark.putAll(this, settings)
+            close()
+        }
+        return scratch.readBytes().also { scratch.delete() }
+    }
+
+    private fun assertSettings(expected: Map<String, Any>, store: SettingsStore) {
+        for ((key, value) in expected) {
+            assertEquals(key, value, store.get(key, SettingsStoreBenchmark.codecFor(key)))
+        }
+    }
+
+    private companion object {
+        const val BARCODE = SettingsStoreBenchmark.KEY_BARCODE
+    }
+}
@@ -71,6 +71,14 @@ data class ReportStatus(
     val onContinue: (() -> Unit)? = null,
 )
 
+/**************************************************************************************************/
+// A bitmap to be shown turned clockwise by rotationDegrees; the UI rotates while drawing so no
+// rotated copy of the full-resolution capture is made just for display.
+data class RotatedBitmap(
+    val bitmap: Bitmap,
+    val rotationDegrees: Int = 0,
+)
+
 /**************************************************************************************************/
 class AppViewModel(private val application: Application) : AndroidViewModel(application) {
 
@@ -81,7 +89,7 @@ class AppViewModel(private val application: Application) : AndroidViewModel(appl
     private var _imageProcessor: ImageProcessor
     private val _reportStatus = MutableStateFlow<ReportStatus?>(null)
     private val _borderState = MutableStateFlow(BorderState.IDLE)
-    private val _resultingImage = MutableStateFlow<Bitmap?>(null)
+    private val _resultingImage = MutableStateFlow<RotatedBitmap?>(null)
     private val _isProcessing = MutableStateFlow(false)
     private val _countDownTimer = MutableStateFlow(0)
     private val _torchEnabled = MutableStateFlow(false)
@@ -100,7 +108,7 @@ class AppViewModel(private val application: Application) : AndroidViewModel(appl
     val licenseValid: StateFlow<Boolean> = _licenseValid.asStateFlow()
     val reportStatus: StateFlow<ReportStatus?> = _reportStatus.asStateFlow()
     val borderState: StateFlow<BorderState> = _borderState.asStateFlow()
-    val resultingImage: StateFlow<Bitmap?> = _resultingImage.asStateFlow()
+    val resultingImage: StateFlow<RotatedBitmap?> = _resultingImage.asStateFlow()
     val countDownTimer: StateFlow<Int> = _countDownTimer.asStateFlow()
     val torchEnabled: StateFlow<Boolean> = _torchEnabled.asStateFlow()
     val zoomState: StateFlow<Float> = _zoomState.asStateFlow()
@@ -185,8 +193,10 @@ class AppViewModel(private val application: Application) : AndroidViewModel(appl
         _isProcessing.value = true
         val deviceRotation = _rotation.value
         val imageRotation = imageProxy.imageInfo.rotationDegrees + deviceRotation
+        // The only pixel rotation: the processor needs the image the way the device is held.
+        // Display turns it back while drawing instead of keeping a second rotated copy.
         val inputImage = imageProxy.toBitmap().rotate(imageRotation)
-        _resultingImage.value = inputImage.rotate(-deviceRotation)
+        _resultingImage.value = RotatedBitmap(inputImage, -deviceRotation)
         imageProxy.close()
 
         viewModelScope.launch {
@@ -227,7 +237,7 @@ class AppViewModel(private val application: Application) : AndroidViewModel(appl
                     // Populate Issues
                     imageAttributes?.let {
                         _outputImage = it.resultingBitmap
-                        _resultingImage.value = _outputImage?.rotate(-deviceRotation)
+                        _resultingImage.value = _outputImage?.let { RotatedBitmap(it, -deviceRotation) }
                         if (!it.quality) issuesList.add(application.getString(R.string.error_blurred))
                         if (!it.packageVisible) issuesList.add(application.getString(R.string.error_no_parcel))
                         if (!it.surroundingsVisible) issuesList.add(application.getString(R.string.error_no_environment))
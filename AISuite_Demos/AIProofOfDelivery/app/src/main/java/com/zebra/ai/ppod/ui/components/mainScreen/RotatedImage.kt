@@ -0,0 +1,44 @@
+package com.zebra.ai.ppod.ui.components.mainScreen
+
+import android.graphics.Bitmap
+import androidx.compose.foundation.Canvas
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.remember
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.graphics.asImageBitmap
+import androidx.compose.ui.graphics.drawscope.rotate
+import androidx.compose.ui.unit.IntOffset
+import androidx.compose.ui.unit.IntSize
+import kotlin.math.min
+import kotlin.math.roundToInt
+
+/**
+ * Draws bitmap turned clockwise by rotationDegrees (a multiple of 90) and scaled to fit, like
+ * Image with ContentScale.Fit on a rotated copy, but rotating the canvas instead of the pixels.
+ */
+@Composable
+fun RotatedImage(
+    bitmap: Bitmap,
+    rotationDegrees: Int,
+    modifier: Modifier = Modifier
+) {
+    val image = remember(bitmap) { bitmap.asImageBitmap() }
+    Canvas(modifier = modifier) {
+        val quarterTurn = rotationDegrees % 180 != 0
+        val rotatedWidth = if (quarterTurn) image.height else image.width
+        val rotatedHeight = if (quarterTurn) image.width else image.height
+        val scale = min(size.width / rotatedWidth, size.height / rotatedHeight)
+        val dstWidth = (image.width * scale).roundToInt()
+        val dstHeight = (image.height * scale).roundToInt()
+        rotate(degrees = rotationDegrees.toFloat(), pivot = center) {
+            drawImage(
+                image = image,
+                dstOffset = IntOffset(
+                    ((size.width - dstWidth) / 2f).roundToInt(),
+                    ((size.height - dstHeight) / 2f).roundToInt()
+                ),
+                dstSize = IntSize(dstWidth, dstHeight)
+            )
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.zebra.ai.ppod.ui.screens
 
-import android.graphics.Bitmap
 import androidx.camera.core.CameraControl
 import androidx.camera.core.ImageCapture
 import androidx.camera.core.ImageCaptureException
@@ -37,8 +36,6 @@ import androidx.compose.ui.Modifier
 import androidx.compose.ui.draw.clip
 import androidx.compose.ui.graphics.Brush
 import androidx.compose.ui.graphics.Color
-import androidx.compose.ui.graphics.asImageBitmap
-import androidx.compose.ui.layout.ContentScale
 import androidx.compose.ui.platform.LocalContext
 import androidx.compose.ui.res.painterResource
 import androidx.compose.ui.res.stringResource
@@ -58,9 +55,11 @@ import com.zebra.ai.ppod.ui.components.mainScreen.CountDownTimer
 import com.zebra.ai.ppod.ui.components.mainScreen.CrossHair
 import com.zebra.ai.ppod.ui.components.mainScreen.Report
 import com.zebra.ai.ppod.ui.components.mainScreen.ReportType
+import com.zebra.ai.ppod.ui.components.mainScreen.RotatedImage
 import com.zebra.ai.ppod.ui.components.settingsScreen.ZPreferenceScreen
 import com.zebra.ai.ppod.viewmodels.AppViewModel
 import com.zebra.ai.ppod.viewmodels.ReportStatus
+import com.zebra.ai.ppod.viewmodels.RotatedBitmap
 import kotlinx.coroutines.delay
 
 @Composable
@@ -70,7 +69,7 @@ fun MainScreen(appViewModel: AppViewModel) {
     val countdownTimer: Int by appViewModel.countDownTimer.collectAsStateWithLifecycle()
     val results: ReportStatus? by appViewModel.reportStatus.collectAsStateWithLifecycle()
     val borderState: BorderState by appViewModel.borderState.collectAsStateWithLifecycle()
-    val resultingImage: Bitmap? by appViewModel.resultingImage.collectAsStateWithLifecycle()
+    val resultingImage: RotatedBitmap? by appViewModel.resultingImage.collectAsStateWithLifecycle()
     val torchEnabled: Boolean by appViewModel.torchEnabled.collectAsStateWithLifecycle()
     val zoomState: Float by appViewModel.zoomState.collectAsStateWithLifecycle()
     val licenseValid: Boolean by appViewModel.licenseValid.collectAsStateWithLifecycle()
@@ -137,11 +136,10 @@ fun MainScreen(appViewModel: AppViewModel) {
 
             // Captured Image
             resultingImage?.let {
-                Image(
+                RotatedImage(
                     modifier = Modifier.fillMaxSize(),
-                    bitmap = it.asImageBitmap(),
-                    contentDescription = "result bitmap",
-                    contentScale = ContentScale.Fit
+                    bitmap = it.bitmap,
+                    rotationDegrees = it.rotationDegrees
                 )
             }
 
@@ -90,6 +90,10 @@ android {
     composeOptions {
         kotlinCompilerExtensionVersion = libs.versions.composeCompiler.get()
     }
+    testOptions {
+        // Local unit tests use JUnit 5 (libs.junit is junit-jupiter)
+        unitTests.all { it.useJUnitPlatform() }
+    }
 }
 
 dependencies {
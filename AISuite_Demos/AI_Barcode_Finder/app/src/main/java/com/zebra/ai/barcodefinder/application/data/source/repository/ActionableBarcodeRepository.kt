@@ -10,19 +10,21 @@ import androidx.compose.ui.graphics.Color
 import com.zebra.ai.barcodefinder.R
 import com.zebra.ai.barcodefinder.application.domain.enums.ActionState
 import com.zebra.ai.barcodefinder.application.domain.enums.ActionType
+import com.zebra.ai.barcodefinder.application.data.source.storage.ActionableBarcodeImporter
 import com.zebra.ai.barcodefinder.application.data.source.storage.ActionableBarcodeJsonStorage
 import com.zebra.ai.barcodefinder.application.domain.model.ActionableBarcode
-import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
-import kotlinx.coroutines.flow.asStateFlow
 import kotlinx.coroutines.sync.Mutex
 import kotlinx.coroutines.sync.withLock
+import java.io.Reader
+import java.util.concurrent.atomic.AtomicLong
 
 /**
  * Repository for managing actionable barcodes and their states in the app.
  *
  * Responsibilities:
- * - Maintains lists and maps of actionable barcodes for tracking and configuration.
+ * - Maintains hash-indexed lists of actionable barcodes for tracking and configuration, with
+ *   O(1) lookup by barcode data (see IndexedBarcodeList).
  * - Handles completed actions and provides observable state for UI updates.
  * - Manages barcode icons and background colors for UI overlays.
  * - Loads and saves barcode configurations to JSON for persistence.
@@ -55,21 +57,25 @@ class ActionableBarcodeRepository private constructor(context: Context) {
 
     private val mutex = Mutex()
 
-    // Maps and lists for tracking actionable barcodes and their configuration states
-    private val _actionableBarcodeMapForTracking = mutableMapOf<String, ActionableBarcode>()
-    private val _configuredActionableBarcodeMap = mutableMapOf<String, ActionableBarcode>()
-    private val _configuredActionableBarcodeList = mutableListOf<ActionableBarcode>()
+    // Applied configuration, looked up for every decoded barcode. Replaced as a whole when a
+    // configuration is applied, so readers never see it half-updated.
+    @Volatile
+    private var _actionableBarcodeMapForTracking: Map<String, ActionableBarcode> = emptyMap()
 
-    // List and observable state for completed actions
-    private val _actionCompletedBarcodeList = mutableListOf<ActionableBarcode>()
-    private val _actionCompletedBarcodes = MutableStateFlow<List<ActionableBarcode>>(emptyList())
-    val actionCompletedBarcodes: StateFlow<List<ActionableBarcode>> =
-        _actionCompletedBarcodes.asStateFlow()
+    // Configuration being edited, indexed by barcode data
+    private val _configuredActionableBarcodes = IndexedBarcodeList<ActionableBarcode>({ it.barcodeData })
 
+    // Completed actions, most recent first, indexed by barcode data
+    private val _actionCompletedBarcodeList = IndexedBarcodeList<ActionableBarcode>({ it.barcodeData })
+    val actionCompletedBarcodes: StateFlow<List<ActionableBarcode>> = _actionCompletedBarcodeList.items
+
+    // Bumped after every change to the completed list, including changes to the state or user
+    // data of a barcode already in it, which leave the list snapshot as it was
+    private val _actionCompletedVersion = AtomicLong()
 
     // Observable state for configured barcodes
-    val liveConfiguredActionableBarcodes: MutableStateFlow<List<ActionableBarcode>> =
-        MutableStateFlow(emptyList())
+    val liveConfiguredActionableBarcodes: StateFlow<List<ActionableBarcode>> =
+        _configuredActionableBarcodes.items
     private val actionTypeIcons = mutableMapOf<ActionType, Bitmap>()
 
     private val actionableBarcodeJsonStorage = ActionableBarcodeJsonStorage(context)
@@ -81,27 +87,15 @@ class ActionableBarcodeRepository private constructor(context: Context) {
         initializeIcons(context)
         // Initialize barcodeMap and configuredBarcodeMap from JSON configurations
         val configurations = actionableBarcodeJsonStorage.loadBarcodes()
-        _actionableBarcodeMapForTracking.clear()
-        _configuredActionableBarcodeMap.clear()
-
+        val trackingMap = HashMap<String, ActionableBarcode>(configurations.size * 4 / 3 + 1)
         configurations.forEach { actionableBarcode ->
-            val barcode = ActionableBarcode(
-                barcodeData = actionableBarcode.barcodeData,
-                productName = actionableBarcode.productName,
-                actionType = actionableBarcode.actionType,
-                actionState = ActionState.STATE_ACTION_NOT_COMPLETED,
-                quantityValue = actionableBarcode.quantity
-            )
-            // Set actionStateIcons for each barcode
-            barcode.setActionStateIcons(
-                getActionStateIconsWithDefaults(
-                    barcode.actionState,
-                    barcode.actionType,
-                )
-            )
-            _actionableBarcodeMapForTracking[barcode.barcodeData] = barcode
+            val barcode = newConfiguredBarcode(actionableBarcode)
+            trackingMap[barcode.barcodeData] = barcode
         }
-        loadConfiguredActionableBarcodes()
+        _actionableBarcodeMapForTracking = trackingMap
+        // The configuration list gets its own instances, so edits do not reach the tracking map
+        // until they are applied.
+        _configuredActionableBarcodes.replaceAll(configurations.map { newConfiguredBarcode(it) })
     }
 
     /**
@@ -111,6 +105,15 @@ class ActionableBarcodeRepository private constructor(context: Context) {
         return _actionableBarcodeMapForTracking[barcodeData] ?: getActionableForData(barcodeData)
     }
 
+    /**
+     * Returns the applied configuration, keyed by barcode data. The map is immutable and is
+     * replaced as a whole when a configuration is applied, so its identity changes exactly when
+     * tracking lookups may return different barcodes.
+     */
+    fun getTrackingSnapshot(): Map<String, ActionableBarcode> {
+        return _actionableBarcodeMapForTracking
+    }
+
     /**
      * Adds a barcode to the completed actions list and updates observable state.
      * Optionally attaches user data to the barcode.
@@ -121,19 +124,31 @@ class ActionableBarcodeRepository private constructor(context: Context) {
 
         userData?.forEach { (key, value) -> barcode.setUserData(key, value.toString()) }
 
-        // Remove if already exists and add to front
-        _actionCompletedBarcodeList.removeAll { it.barcodeData == barcode.barcodeData }
-        _actionCompletedBarcodeList.add(0, barcode)
+        // Replaces any earlier entry for the same barcode and moves it to the front
+        _actionCompletedBarcodeList.addFirst(barcode)
+        _actionCompletedVersion.incrementAndGet()
+    }
 
-        _actionCompletedBarcodes.value = _actionCompletedBarcodeList.toList()
+    /**
+     * Returns a number that changes whenever the completed barcodes or their states change. Read
+     * it before the data derived from it, so that a change made meanwhile is seen on the next read.
+     */
+    fun getActionCompletedVersion(): Long {
+        return _actionCompletedVersion.get()
     }
 
     /**
-     * Returns a copy of the completed barcodes list.
+     * Returns an immutable snapshot of the completed barcodes list, most recent first.
      */
     fun getActionCompletedBarcodes(): List<ActionableBarcode> {
-        Log.d(TAG , "GET: Called from thread " + Thread.currentThread().name)
-        return _actionCompletedBarcodeList.toList()
+        return _actionCompletedBarcodeList.items.value
+    }
+
+    /**
+     * Returns true if an action has been completed for the given barcode data.
+     */
+    fun isActionCompleted(barcodeData: String): Boolean {
+        return barcodeData in _actionCompletedBarcodeList
     }
 
     /**
@@ -141,11 +156,11 @@ class ActionableBarcodeRepository private constructor(context: Context) {
      */
     suspend fun clearActionCompletedBarcodes() {
         mutex.withLock {
-            _actionCompletedBarcodeList.forEach { barcode ->
+            _actionCompletedBarcodeList.items.value.forEach { barcode ->
                 barcode.actionState = ActionState.STATE_ACTION_NOT_COMPLETED
             }
             _actionCompletedBarcodeList.clear()
-            _actionCompletedBarcodes.value = emptyList()
+            _actionCompletedVersion.incrementAndGet()
         }
     }
 
@@ -154,53 +169,48 @@ class ActionableBarcodeRepository private constructor(context: Context) {
      */
     fun loadConfiguredActionableBarcodes() {
         val configurations = actionableBarcodeJsonStorage.loadBarcodes()
-        _configuredActionableBarcodeList.clear()
-        _configuredActionableBarcodeMap.clear()
-        configurations.forEach { actionableBarcode ->
-            val barcode = ActionableBarcode(
-                barcodeData = actionableBarcode.barcodeData,
-                productName = actionableBarcode.productName,
-                actionType = actionableBarcode.actionType,
-                actionState = ActionState.STATE_ACTION_NOT_COMPLETED,
-                quantityValue = actionableBarcode.quantity
-            )
-            // Set actionStateIcons for each barcode
-            barcode.setActionStateIcons(
-                getActionStateIconsWithDefaults(
-                    barcode.actionState,
-                    barcode.actionType,
-                )
-            )
-            _configuredActionableBarcodeList.add(barcode)
-            _configuredActionableBarcodeMap[barcode.barcodeData] = barcode
-        }
+        _configuredActionableBarcodes.replaceAll(configurations.map { newConfiguredBarcode(it) })
+    }
 
-        liveConfiguredActionableBarcodes.value = _configuredActionableBarcodeList.toList()
+    /**
+     * Creates a not-yet-completed copy of a stored configuration entry, with its state icons set.
+     */
+    private fun newConfiguredBarcode(actionableBarcode: ActionableBarcode): ActionableBarcode {
+        val barcode = ActionableBarcode(
+            barcodeData = actionableBarcode.barcodeData,
+            productName = actionableBarcode.productName,
+            actionType = actionableBarcode.actionType,
+            actionState = ActionState.STATE_ACTION_NOT_COMPLETED,
+            quantityValue = actionableBarcode.quantity
+        )
+        // Set actionStateIcons for each barcode
+        barcode.setActionStateIcons(
+            getActionStateIconsWithDefaults(
+                barcode.actionState,
+                barcode.actionType,
+            )
+        )
+        return barcode
     }
 
     /**
      * Removes a barcode from the configuration list and updates observable state.
      */
     fun removeActionableBarcodeFromConfigList(actionableBarcode: ActionableBarcode) {
-        _configuredActionableBarcodeMap.remove(actionableBarcode.barcodeData)
-        _configuredActionableBarcodeList.removeAll { it.barcodeData == actionableBarcode.barcodeData }
-
-        liveConfiguredActionableBarcodes.value = _configuredActionableBarcodeList.toList()
+        _configuredActionableBarcodes.remove(actionableBarcode.barcodeData)
     }
 
     /**
      * Returns the current live list of configured actionable barcodes.
      */
     fun getLiveConfiguredBarcodes(): StateFlow<List<ActionableBarcode>> {
-        return liveConfiguredActionableBarcodes.asStateFlow()
+        return liveConfiguredActionableBarcodes
     }
 
     /**
      * Updates a barcode in the configuration list and updates observable state.
      */
     fun updateActionableBarcodeInConfigList(actionableBarcode: ActionableBarcode) {
-        _configuredActionableBarcodeList.removeAll { it.barcodeData == actionableBarcode.barcodeData }
-
         // Ideally, we should update the existing barcode in place.
         val newBarcode = ActionableBarcode(
             barcodeData = actionableBarcode.barcodeData,
@@ -216,20 +226,15 @@ class ActionableBarcodeRepository private constructor(context: Context) {
             )
         )
 
-        _configuredActionableBarcodeList.add(0, newBarcode)
-        _configuredActionableBarcodeMap[newBarcode.barcodeData] = newBarcode
-
-        liveConfiguredActionableBarcodes.value = _configuredActionableBarcodeList.toList()
+        // Replaces the entry with the same barcode data and moves it to the front
+        _configuredActionableBarcodes.addFirst(newBarcode)
     }
 
     /**
      * Clears all configured actionable barcodes and updates observable state.
      */
     fun clearAllConfiguredActionableBarcodes() {
-        _configuredActionableBarcodeMap.clear()
-        _configuredActionableBarcodeList.clear()
-
-        liveConfiguredActionableBarcodes.value = emptyList()
+        _configuredActionableBarcodes.clear()
     }
 
     /**
@@ -238,10 +243,41 @@ class ActionableBarcodeRepository private constructor(context: Context) {
     suspend fun applyConfigurations() {
         mutex.withLock {
             _actionCompletedBarcodeList.clear()
-            _actionCompletedBarcodes.value = emptyList()
-            _actionableBarcodeMapForTracking.clear()
-            _actionableBarcodeMapForTracking.putAll(_configuredActionableBarcodeMap)
-            actionableBarcodeJsonStorage.saveBarcodes(_configuredActionableBarcodeList)
+            _actionCompletedVersion.incrementAndGet()
+            val configured = _configuredActionableBarcodes.items.value
+            _actionableBarcodeMapForTracking =
+                configured.associateByTo(HashMap(configured.size * 4 / 3 + 1)) { it.barcodeData }
+            actionableBarcodeJsonStorage.saveBarcodes(configured)
+        }
+    }
+
+    /**
+     * Imports a CSV or JSON recall/pick list into the configuration list and persists the result
+     * with a single write. Rows are parsed and validated as they stream in; if the input turns out
+     * to be malformed, nothing is changed and the exception is rethrown.
+     *
+     * Imported entries are added after the existing ones. Like manual edits, they are tracked
+     * once the configuration is applied.
+     */
+    suspend fun importActionableBarcodes(
+        reader: Reader,
+        format: ActionableBarcodeImporter.Format,
+        duplicatePolicy: ActionableBarcodeImporter.DuplicatePolicy = ActionableBarcodeImporter.DuplicatePolicy.SKIP
+    ): ActionableBarcodeImporter.Report {
+        mutex.withLock {
+            val imported = ArrayList<ActionableBarcode>()
+            val importer = ActionableBarcodeImporter({ it in _configuredActionableBarcodes }, duplicatePolicy)
+            val report = importer.import(reader, format) { barcode ->
+                barcode.setActionStateIcons(getActionStateIconsWithDefaults(barcode.actionState, barcode.actionType))
+                imported += barcode
+            }
+            if (imported.isNotEmpty()) {
+                _configuredActionableBarcodes.replaceAll(_configuredActionableBarcodes.items.value + imported)
+                actionableBarcodeJsonStorage.saveBarcodes(_configuredActionableBarcodes.items.value)
+            }
+            Log.d(TAG, "Imported ${report.imported} of ${report.rowsRead} rows (${report.rejected} rejected) " +
+                    "at ${report.rowsPerSecond.toInt()} rows/s")
+            return report
         }
     }
 
@@ -249,7 +285,7 @@ class ActionableBarcodeRepository private constructor(context: Context) {
      * Returns a barcode from the live configured list by barcode data, or null if not found.
      */
     fun getLiveConfiguredActionableBarcodeFromConfigList(barcodeData: String): ActionableBarcode? {
-        return liveConfiguredActionableBarcodes.value.find { it.barcodeData == barcodeData }
+        return _configuredActionableBarcodes[barcodeData]
     }
 
 
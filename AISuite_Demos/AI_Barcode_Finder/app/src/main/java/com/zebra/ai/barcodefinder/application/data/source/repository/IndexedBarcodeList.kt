@@ -0,0 +1,230 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+
+package com.zebra.ai.barcodefinder.application.data.source.repository
+
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Ordered, hash-indexed list of values keyed by their barcode data, built for recall lists of
+ * 100k entries.
+ *
+ * Responsibilities:
+ * - O(1) lookup by key, lock-free, so the camera pipeline can query it on every frame.
+ * - Adding a value at the front or back, replacing the value with the same key, or removing one
+ *   copies a single chunk of at most [chunkSize] entries, instead of the whole list.
+ * - Publishes an immutable snapshot to [items] after every change. Snapshots share their
+ *   unchanged chunks with the previous one, so a change costs O(chunkSize + size / chunkSize)
+ *   rather than a full list copy. [batch] coalesces many changes into one emission.
+ *
+ * Usage:
+ * - Mutations are serialized internally and may be called from any thread.
+ * - Values are treated as immutable while in the list; only their key is read.
+ */
+class IndexedBarcodeList<V : Any>(
+    private val keyOf: (V) -> String,
+    private val chunkSize: Int = DEFAULT_CHUNK_SIZE
+) {
+
+    init {
+        require(chunkSize > 0) { "chunkSize must be positive: $chunkSize" }
+    }
+
+    /** A run of consecutive entries. [items] is replaced, never modified, once published. */
+    private class Chunk(var items: Array<Any?>)
+
+    private val lock = Any()
+    private val values = ConcurrentHashMap<String, V>()
+    private val chunkOf = HashMap<String, Chunk>()
+    private val chunks = ArrayList<Chunk>()
+    private var batchDepth = 0
+    private var changed = false
+
+    private val _items = MutableStateFlow<List<V>>(emptyList())
+
+    /** Current contents, in list order; each emission is an immutable snapshot. */
+    val items: StateFlow<List<V>> = _items.asStateFlow()
+
+    val size: Int
+        get() = values.size
+
+    /** Returns the value with the given key, or null if not present. */
+    operator fun get(key: String): V? = values[key]
+
+    operator fun contains(key: String): Boolean = values.containsKey(key)
+
+    /** Number of chunks the entries are split into, for tests. */
+    internal val chunkCount: Int
+        get() = synchronized(lock) { chunks.size }
+
+    /** Adds [value] at the front, removing any value with the same key first. */
+    fun addFirst(value: V) = mutate {
+        removeLocked(keyOf(value))
+        insertLocked(value, atFront = true)
+    }
+
+    /** Adds [value] at the back, removing any value with the same key first. */
+    fun addLast(value: V) = mutate {
+        removeLocked(keyOf(value))
+        insertLocked(value, atFront = false)
+    }
+
+    /** Removes and returns the value with the given key, or null if not present. */
+    fun remove(key: String): V? {
+        var removed: V? = null
+        mutate { removed = removeLocked(key) }
+        return removed
+    }
+
+    /**
+     * Replaces the contents with [newValues], in order. When a key repeats, the later value wins
+     * and takes the later position, as if each value had been added with [addLast].
+     */
+    fun replaceAll(newValues: Iterable<V>) = mutate {
+        val ordered = LinkedHashMap<String, V>()
+        for (value in newValues) {
+            val key = keyOf(value)
+            ordered.remove(key)
+            ordered[key] = value
+        }
+        clearLocked()
+        values.putAll(ordered)
+        rebuildChunksLocked(ordered.values)
+    }
+
+    fun clear() = mutate { clearLocked() }
+
+    /** Applies several changes with a single emission to [items]. */
+    fun batch(block: IndexedBarcodeList<V>.() -> Unit) = mutate { block() }
+
+    private inline fun mutate(block: () -> Unit) {
+        synchronized(lock) {
+            batchDepth++
+            try {
+                block()
+            } finally {
+                batchDepth--
+            }
+            if (batchDepth == 0 && changed) {
+                changed = false
+                _items.value = snapshotLocked()
+            }
+        }
+    }
+
+    private fun insertLocked(value: V, atFront: Boolean) {
+        val key = keyOf(value)
+        val edge = if (atFront) chunks.firstOrNull() else chunks.lastOrNull()
+        val chunk = if (edge == null || edge.items.size >= chunkSize) {
+            Chunk(arrayOf<Any?>(value)).also { if (atFront) chunks.add(0, it) else chunks.add(it) }
+        } else {
+            val old = edge.items
+            val grown = arrayOfNulls<Any?>(old.size + 1)
+            if (atFront) {
+                grown[0] = value
+                System.arraycopy(old, 0, grown, 1, old.size)
+            } else {
+                System.arraycopy(old, 0, grown, 0, old.size)
+                grown[old.size] = value
+            }
+            edge.items = grown
+            edge
+        }
+        chunkOf[key] = chunk
+        values[key] = value
+        changed = true
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun removeLocked(key: String): V? {
+        val chunk = chunkOf.remove(key) ?: return null
+        val removed = values.remove(key)
+        val old = chunk.items
+        val index = old.indexOfFirst { keyOf(it as V) == key }
+        if (old.size == 1) {
+            chunks.remove(chunk)
+        } else {
+            val shrunk = arrayOfNulls<Any?>(old.size - 1)
+            System.arraycopy(old, 0, shrunk, 0, index)
+            System.arraycopy(old, index + 1, shrunk, index, old.size - index - 1)
+            chunk.items = shrunk
+            // Removals leave chunks partly empty; repack once lookups by position would suffer.
+            if (chunks.size > 2 * (values.size / chunkSize) + MIN_CHUNKS_BEFORE_REPACK) {
+                rebuildChunksLocked(chunks.flatMap { it.items.asList() } as List<V>)
+            }
+        }
+        changed = true
+        return removed
+    }
+
+    private fun clearLocked() {
+        if (values.isEmpty()) return
+        values.clear()
+        chunkOf.clear()
+        chunks.clear()
+        changed = true
+    }
+
+    private fun rebuildChunksLocked(ordered: Collection<V>) {
+        chunks.clear()
+        chunkOf.clear()
+        val iterator = ordered.iterator()
+        var remaining = ordered.size
+        while (remaining > 0) {
+            val count = minOf(chunkSize, remaining)
+            val chunk = Chunk(arrayOfNulls(count))
+            for (i in 0 until count) {
+                val value = iterator.next()
+                chunk.items[i] = value
+                chunkOf[keyOf(value)] = chunk
+            }
+            chunks.add(chunk)
+            remaining -= count
+        }
+        changed = true
+    }
+
+    private fun snapshotLocked(): List<V> {
+        if (chunks.isEmpty()) return emptyList()
+        val arrays = arrayOfNulls<Array<Any?>>(chunks.size)
+        val starts = IntArray(chunks.size)
+        var total = 0
+        for (i in chunks.indices) {
+            arrays[i] = chunks[i].items
+            starts[i] = total
+            total += chunks[i].items.size
+        }
+        @Suppress("UNCHECKED_CAST")
+        return Snapshot(arrays as Array<Array<Any?>>, starts, total)
+    }
+
+    /** Immutable view over the chunk arrays captured at one point in time. */
+    private class Snapshot<V>(
+        private val chunks: Array<Array<Any?>>,
+        private val starts: IntArray,
+        override val size: Int
+    ) : AbstractList<V>(), RandomAccess {
+
+        @Suppress("UNCHECKED_CAST")
+        override fun get(index: Int): V {
+            if (index < 0 || index >= size) throw IndexOutOfBoundsException("index: $index, size: $size")
+            var chunk = starts.binarySearch(index)
+            if (chunk < 0) chunk = -chunk - 2
+            return chunks[chunk][index - starts[chunk]] as V
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        override fun iterator(): Iterator<V> = kotlin.sequences.iterator {
+            for (chunk in chunks) {
+                for (item in chunk) yield(item as V)
+            }
+        }
+    }
+
+    companion object {
+        const val DEFAULT_CHUNK_SIZE = 256
+        private const val MIN_CHUNKS_BEFORE_REPACK = 8
+    }
+}
@@ -0,0 +1,402 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+
+package com.zebra.ai.barcodefinder.application.data.source.storage
+
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.zebra.ai.barcodefinder.application.domain.enums.ActionState
+import com.zebra.ai.barcodefinder.application.domain.enums.ActionType
+import com.zebra.ai.barcodefinder.application.domain.model.ActionableBarcode
+import java.io.BufferedReader
+import java.io.IOException
+import java.io.Reader
+import java.util.Locale
+
+/**
+ * Streaming parser and validator for bulk imports of actionable barcodes (recall and pick lists).
+ *
+ * Responsibilities:
+ * - Reads CSV (with a header row) or a JSON array of objects one row at a time, so files of
+ *   100k+ rows are never held in memory as text or as a parsed tree.
+ * - Validates each row: barcode data against its symbology (check digits, length and character
+ *   set), the action type, and the quantity.
+ * - Dedupes rows against existing entries ([isExisting]) and against earlier rows of the file.
+ * - Hands every accepted row to a sink as soon as it is parsed, and returns a [Report].
+ *
+ * Columns / keys (case-insensitive, first match wins):
+ * - barcode, barcodeData, barcode_data (required)
+ * - action, actionType, action_type (required): recall, confirm_pickup, quantity_pickup,
+ *   no_action, or the ActionType name
+ * - product, productName, product_name
+ * - quantity, quantityValue, quantity_value: 0..[maxQuantity], at least 1 for quantity_pickup
+ * - symbology: e.g. EAN-13, UPC-A, Code128, QR; if empty, only generic checks apply
+ *
+ * Usage:
+ * - Malformed input (bad header, broken quoting, invalid JSON) throws and nothing should be
+ *   committed; invalid rows are counted in the report and skipped.
+ *
+ * @param isExisting Returns true if a barcode is already configured
+ * @param duplicatePolicy What to do with rows whose barcode is already configured
+ * @param maxQuantity Largest accepted quantity
+ */
+class ActionableBarcodeImporter(
+    private val isExisting: (String) -> Boolean,
+    private val duplicatePolicy: DuplicatePolicy = DuplicatePolicy.SKIP,
+    private val maxQuantity: Int = DEFAULT_MAX_QUANTITY
+) {
+
+    enum class Format {
+        CSV,
+        JSON;
+
+        companion object {
+            /** Picks the format from a MIME type or file name; CSV unless it looks like JSON. */
+            fun detect(mimeType: String?, fileName: String?): Format {
+                val isJson = mimeType?.contains("json", ignoreCase = true) == true ||
+                        fileName?.endsWith(".json", ignoreCase = true) == true
+                return if (isJson) JSON else CSV
+            }
+        }
+    }
+
+    enum class DuplicatePolicy {
+        /** Keep the configured entry and skip the row. */
+        SKIP,
+
+        /** Replace the configured entry with the row. */
+        REPLACE
+    }
+
+    /** A row that was not imported. [row] is 1-based, counting data rows only. */
+    data class Rejection(val row: Int, val barcodeData: String, val reason: String)
+
+    /**
+     * Outcome of an import. Only the first [MAX_REPORTED_REJECTIONS] rejections are kept.
+     */
+    data class Report(
+        val rowsRead: Int,
+        val imported: Int,
+        val replaced: Int,
+        val skippedExisting: Int,
+        val duplicatesInFile: Int,
+        val rejected: Int,
+        val rejections: List<Rejection>,
+        val elapsedNanos: Long
+    ) {
+        val rowsPerSecond: Double
+            get() = if (elapsedNanos > 0) rowsRead * 1e9 / elapsedNanos else 0.0
+    }
+
+    /** Symbologies whose data can be validated; [aliases] are normalised (upper case, no separators). */
+    enum class Symbology(vararg val aliases: String) {
+        EAN13("EAN13", "JAN13", "GTIN13"),
+        EAN8("EAN8", "GTIN8"),
+        UPCA("UPCA", "GTIN12"),
+        UPCE("UPCE"),
+        ITF14("ITF14", "GTIN14"),
+        INTERLEAVED2OF5("I2OF5", "ITF", "INTERLEAVED2OF5"),
+        CODE39("CODE39"),
+        CODE128("CODE128", "GS1128"),
+        QRCODE("QR", "QRCODE"),
+        DATAMATRIX("DATAMATRIX", "GS1DATAMATRIX"),
+        PDF417("PDF417");
+
+        /** Returns null if [data] is valid for this symbology, else the reason it is not. */
+        fun validate(data: String): String? = when (this) {
+            EAN13 -> gtin(data, 13)
+            EAN8 -> gtin(data, 8)
+            UPCA -> gtin(data, 12)
+            ITF14 -> gtin(data, 14)
+            UPCE -> if (data.length == 8 && data.all { it in '0'..'9' } && data[0] in '0'..'1') {
+                null
+            } else {
+                "UPC-E needs 8 digits starting with 0 or 1"
+            }
+            INTERLEAVED2OF5 -> if (data.isNotEmpty() && data.length % 2 == 0 && data.all { it in '0'..'9' }) {
+                null
+            } else {
+                "Interleaved 2 of 5 needs an even number of digits"
+            }
+            CODE39 -> if (data.all { it in CODE39_CHARS }) null else "invalid Code 39 character"
+            CODE128 -> if (data.all { it.code in 0..127 }) null else "Code 128 only encodes ASCII"
+            QRCODE, DATAMATRIX, PDF417 -> null
+        }
+
+        companion object {
+            private const val CODE39_CHARS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ-. \$/+%"
+            private val byAlias: Map<String, Symbology> =
+                entries.flatMap { symbology -> symbology.aliases.map { it to symbology } }.toMap()
+
+            /** Looks up a symbology by name, ignoring case, spaces, '-' and '_'. */
+            fun fromName(name: String): Symbology? =
+                byAlias[name.uppercase(Locale.ROOT).filter { it != '-' && it != '_' && it != ' ' }]
+
+            /** GTIN family: fixed length, digits only, mod-10 check digit. */
+            private fun gtin(data: String, length: Int): String? {
+                if (data.length != length || !data.all { it in '0'..'9' }) return "needs $length digits"
+                var sum = 0
+                for (i in 0 until length - 1) {
+                    val digit = data[length - 2 - i] - '0'
+                    sum += if (i % 2 == 0) digit * 3 else digit
+                }
+                return if ((10 - sum % 10) % 10 == data[length - 1] - '0') null else "wrong check digit"
+            }
+        }
+    }
+
+    /** Raw field values of one row, before validation. */
+    private class Row(
+        val barcodeData: String?,
+        val action: String?,
+        val productName: String?,
+        val quantity: String?,
+        val symbology: String?
+    )
+
+    private var rowsRead = 0
+    private var imported = 0
+    private var replaced = 0
+    private var skippedExisting = 0
+    private var duplicatesInFile = 0
+    private var rejected = 0
+    private val rejections = ArrayList<Rejection>()
+    private val seen = HashSet<String>()
+
+    /**
+     * Reads all rows from [reader] and passes each accepted one to [sink] as a not-yet-completed
+     * [ActionableBarcode]. An importer instance is meant for a single import.
+     *
+     * @throws IOException on malformed input; rows already passed to [sink] should be discarded
+     */
+    fun import(reader: Reader, format: Format, sink: (ActionableBarcode) -> Unit): Report {
+        val start = System.nanoTime()
+        when (format) {
+            Format.CSV -> readCsv(reader, sink)
+            Format.JSON -> readJson(reader, sink)
+        }
+        return Report(
+            rowsRead, imported, replaced, skippedExisting, duplicatesInFile, rejected,
+            rejections.toList(), System.nanoTime() - start
+        )
+    }
+
+    private fun accept(row: Row, sink: (ActionableBarcode) -> Unit) {
+        rowsRead++
+        val barcodeData = row.barcodeData?.trim().orEmpty()
+        val barcode = validate(row, barcodeData) ?: return
+        if (!seen.add(barcodeData)) {
+            duplicatesInFile++
+            return
+        }
+        if (isExisting(barcodeData)) {
+            if (duplicatePolicy == DuplicatePolicy.SKIP) {
+                skippedExisting++
+                return
+            }
+            replaced++
+        }
+        imported++
+        sink(barcode)
+    }
+
+    /** Returns the row as a barcode, or null after recording why it was rejected. */
+    private fun validate(row: Row, barcodeData: String): ActionableBarcode? {
+        fun reject(reason: String): ActionableBarcode? {
+            rejected++
+            if (rejections.size < MAX_REPORTED_REJECTIONS) rejections += Rejection(rowsRead, barcodeData, reason)
+            return null
+        }
+
+        if (barcodeData.isEmpty()) return reject("missing barcode")
+        if (barcodeData.length > MAX_BARCODE_LENGTH) return reject("barcode longer than $MAX_BARCODE_LENGTH")
+        if (barcodeData.any { it.isISOControl() }) return reject("control character in barcode")
+
+        val symbologyName = row.symbology?.trim().orEmpty()
+        if (symbologyName.isNotEmpty()) {
+            val symbology = Symbology.fromName(symbologyName) ?: return reject("unknown symbology '$symbologyName'")
+            symbology.validate(barcodeData)?.let { return reject("${symbology.name}: $it") }
+        }
+
+        val actionType = parseAction(row.action?.trim().orEmpty())
+            ?: return reject("unknown action '${row.action.orEmpty()}'")
+
+        val quantityText = row.quantity?.trim().orEmpty()
+        val quantity = if (quantityText.isEmpty()) 0 else quantityText.toIntOrNull()
+            ?: return reject("quantity '$quantityText' is not a whole number")
+        if (quantity < 0 || quantity > maxQuantity) return reject("quantity $quantity outside 0..$maxQuantity")
+        if (actionType == ActionType.TYPE_QUANTITY_PICKUP && quantity == 0) {
+            return reject("quantity pickup needs a quantity")
+        }
+
+        return ActionableBarcode(
+            barcodeData = barcodeData,
+            productName = row.productName?.trim().orEmpty(),
+            actionType = actionType,
+            actionState = ActionState.STATE_ACTION_NOT_COMPLETED,
+            quantityValue = quantity
+        )
+    }
+
+    private fun readCsv(reader: Reader, sink: (ActionableBarcode) -> Unit) {
+        val csv = CsvReader(if (reader is BufferedReader) reader else BufferedReader(reader, BUFFER_SIZE))
+        val header = csv.readRecord() ?: return
+        if (header.isNotEmpty()) header[0] = header[0].removePrefix("\uFEFF")
+        val columns = header.map { it.trim().lowercase(Locale.ROOT) }
+        fun column(names: List<String>) = columns.indexOfFirst { it in names }
+
+        val barcodeColumn = column(BARCODE_KEYS)
+        val actionColumn = column(ACTION_KEYS)
+        if (barcodeColumn < 0 || actionColumn < 0) {
+            throw IOException("CSV header needs barcode and action columns, found: ${header.joinToString()}")
+        }
+        val productColumn = column(PRODUCT_KEYS)
+        val quantityColumn = column(QUANTITY_KEYS)
+        val symbologyColumn = column(SYMBOLOGY_KEYS)
+
+        while (true) {
+            val record = csv.readRecord() ?: break
+            if (record.size == 1 && record[0].isBlank()) continue
+            accept(
+                Row(
+                    record.getOrNull(barcodeColumn),
+                    record.getOrNull(actionColumn),
+                    record.getOrNull(productColumn),
+                    record.getOrNull(quantityColumn),
+                    record.getOrNull(symbologyColumn)
+                ),
+                sink
+            )
+        }
+    }
+
+    private fun readJson(reader: Reader, sink: (ActionableBarcode) -> Unit) {
+        val json = JsonReader(reader)
+        json.beginArray()
+        while (json.hasNext()) {
+            var barcodeData: String? = null
+            var action: String? = null
+            var productName: String? = null
+            var quantity: String? = null
+            var symbology: String? = null
+            json.beginObject()
+            while (json.hasNext()) {
+                val key = json.nextName().lowercase(Locale.ROOT)
+                if (json.peek() == JsonToken.NULL) {
+                    json.nextNull()
+                    continue
+                }
+                // The value is read even when an earlier alias already set the field, so the
+                // reader stays in step; the first alias wins.
+                when (key) {
+                    in BARCODE_KEYS -> json.nextString().let { if (barcodeData == null) barcodeData = it }
+                    in ACTION_KEYS -> json.nextString().let { if (action == null) action = it }
+                    in PRODUCT_KEYS -> json.nextString().let { if (productName == null) productName = it }
+                    in QUANTITY_KEYS -> json.nextString().let { if (quantity == null) quantity = it }
+                    in SYMBOLOGY_KEYS -> json.nextString().let { if (symbology == null) symbology = it }
+                    else -> json.skipValue()
+                }
+            }
+            json.endObject()
+            accept(Row(barcodeData, action, productName, quantity, symbology), sink)
+        }
+        json.endArray()
+    }
+
+    /**
+     * Minimal RFC 4180 reader: comma separated, fields optionally quoted with "" as an escaped
+     * quote; quoted fields may span lines. Returns one record at a time.
+     */
+    private class CsvReader(private val reader: BufferedReader) {
+        private val field = StringBuilder()
+        private var line = 0
+
+        fun readRecord(): MutableList<String>? {
+            var c = reader.read()
+            if (c < 0) return null
+            line++
+            val record = ArrayList<String>(8)
+            field.setLength(0)
+            var quoted = false
+            var atFieldStart = true
+            while (true) {
+                if (quoted) {
+                    when {
+                        c < 0 -> throw IOException("unterminated quoted field starting before line $line")
+                        c == '"'.code -> {
+                            val next = reader.read()
+                            if (next == '"'.code) {
+                                field.append('"')
+                            } else {
+                                quoted = false
+                                c = next
+                                continue
+                            }
+                        }
+                        else -> {
+                            if (c == '\n'.code) line++
+                            field.append(c.toChar())
+                        }
+                    }
+                } else {
+                    when (c) {
+                        -1, '\n'.code -> {
+                            record += field.toString()
+                            return record
+                        }
+                        '\r'.code -> {
+                            // Line end on CRLF; a lone CR is kept as data.
+                            reader.mark(1)
+                            if (reader.read() == '\n'.code) {
+                                record += field.toString()
+                                return record
+                            }
+                            reader.reset()
+                            field.append('\r')
+                        }
+                        ','.code -> {
+                            record += field.toString()
+                            field.setLength(0)
+                            atFieldStart = true
+                            c = reader.read()
+                            continue
+                        }
+                        '"'.code -> if (atFieldStart && field.isEmpty()) {
+                            quoted = true
+                        } else {
+                            throw IOException("unexpected quote on line $line")
+                        }
+                        else -> field.append(c.toChar())
+                    }
+                    atFieldStart = false
+                }
+                c = reader.read()
+            }
+        }
+    }
+
+    companion object {
+        const val DEFAULT_MAX_QUANTITY = 99_999
+        const val MAX_REPORTED_REJECTIONS = 100
+        private const val MAX_BARCODE_LENGTH = 4_096
+        private const val BUFFER_SIZE = 64 * 1024
+
+        private val BARCODE_KEYS = listOf("barcode", "barcodedata", "barcode_data")
+        private val ACTION_KEYS = listOf("action", "actiontype", "action_type")
+        private val PRODUCT_KEYS = listOf("product", "productname", "product_name")
+        private val QUANTITY_KEYS = listOf("quantity", "quantityvalue", "quantity_value")
+        private val SYMBOLOGY_KEYS = listOf("symbology")
+
+        private val ACTIONS: Map<String, ActionType> = mapOf(
+            "recall" to ActionType.TYPE_RECALL,
+            "confirm_pickup" to ActionType.TYPE_CONFIRM_PICKUP,
+            "quantity_pickup" to ActionType.TYPE_QUANTITY_PICKUP,
+            "no_action" to ActionType.TYPE_NO_ACTION
+        )
+
+        /** Accepts the short action names or the user-facing ActionType names. */
+        private fun parseAction(value: String): ActionType? {
+            val name = value.lowercase(Locale.ROOT).replace('-', '_').replace(' ', '_')
+            return ACTIONS[name] ?: ACTIONS[name.removePrefix("type_")]
+        }
+    }
+}
@@ -2,14 +2,18 @@ package com.zebra.ai.barcodefinder.application.data.source.storage
 
 import android.content.Context
 import com.google.gson.Gson
-import com.google.gson.reflect.TypeToken
 import com.zebra.ai.barcodefinder.application.domain.model.ActionableBarcode
 import java.io.File
 
 /**
  * Storage manager for barcode configurations.
+ *
+ * Saves append the changed entries to a write-ahead log next to the JSON file (see
+ * JsonWalStorage), so editing or importing a few entries of a large list does not rewrite it,
+ * and a power loss during a save cannot corrupt the stored configuration.
  */
-class ActionableBarcodeJsonStorage(context: Context) : JsonStorage<List<ActionableBarcode>>(Gson()) {
+class ActionableBarcodeJsonStorage(context: Context) :
+    JsonWalStorage<ActionableBarcode>(Gson(), ActionableBarcode::class.java) {
 
     private val barcodesFile: File = File(
         context.getExternalFilesDir(null),
@@ -18,21 +22,35 @@ class ActionableBarcodeJsonStorage(context: Context) : JsonStorage<List<Actionab
 
     override fun getFile(): File = barcodesFile
 
+    override fun keyOf(item: ActionableBarcode): String = item.barcodeData
+
+    /**
+     * Hashes the configured fields instead of the JSON, so a save only serializes changed entries.
+     */
+    override fun fingerprintOf(item: ActionableBarcode): Long {
+        var hash = fnv1a(item.barcodeData)
+        hash = fnv1a(item.productName, hash)
+        hash = fnv1a(item.actionType.ordinal.toLong(), hash)
+        hash = fnv1a(item.actionState.ordinal.toLong(), hash)
+        hash = fnv1a(item.quantity.toLong(), hash)
+        return fnv1a(if (item.isConfirmed) 1L else 0L, hash)
+    }
+
     /**
      * Loads the list of barcodes.
      *
      * @return A list of ActionableBarcode, or an empty list if not found.
      */
     fun loadBarcodes(): List<ActionableBarcode> {
-        return loadData(object : TypeToken<List<ActionableBarcode>>() {}) ?: emptyList()
+        return loadItems()
     }
 
     /**
-     * Saves the list of barcodes.
+     * Saves the list of barcodes, writing only what changed since the last load or save.
      *
      * @param barcodes The list of barcodes to save.
      */
     fun saveBarcodes(barcodes: List<ActionableBarcode>) {
-        saveData(barcodes)
+        saveItems(barcodes)
     }
 }
\ No newline at end of file
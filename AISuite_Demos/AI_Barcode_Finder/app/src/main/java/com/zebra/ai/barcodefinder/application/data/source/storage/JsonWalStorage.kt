@@ -0,0 +1,488 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+
+package com.zebra.ai.barcodefinder.application.data.source.storage
+
+import com.google.gson.Gson
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.EOFException
+import java.io.File
+import java.io.FileInputStream
+import java.io.FileOutputStream
+import java.io.IOException
+import java.io.InputStreamReader
+import java.io.OutputStreamWriter
+import java.io.RandomAccessFile
+import java.lang.reflect.Type
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.util.zip.CRC32
+import java.util.zip.CheckedInputStream
+import java.util.zip.CheckedOutputStream
+
+/**
+ * A generic class for JSON file storage of an ordered list of keyed items, where each save
+ * appends only the changes to a write-ahead log instead of rewriting the whole document.
+ *
+ * Files:
+ * - Snapshot ([getFile]): {"generation": n, "items": [...]}, replaced atomically (write to a
+ *   temporary file, fsync, rename). A plain JSON array, as written by [JsonStorage], is read as
+ *   generation 0.
+ * - Log ([getWalFile]): a header naming the snapshot it applies to (generation, length and
+ *   CRC32), followed by one frame per save. A frame holds that save's put/update/remove records
+ *   and its own CRC32, and is fsynced before the save returns.
+ *
+ * Recovery:
+ * - On load, frames are replayed on top of the snapshot up to the first torn or corrupt frame,
+ *   which is cut off, so a power loss loses at most the save in progress and never leaves a
+ *   half-applied one. A log written for another snapshot is ignored.
+ * - Once the log outgrows the snapshot (and [minCompactionBytes]), the next save writes a new
+ *   snapshot and then a new, empty log. A crash between the two leaves a log whose header no
+ *   longer matches, so it is discarded rather than applied twice.
+ *
+ * Usage:
+ * - Subclasses provide the snapshot file and the key of an item; keys must be unique in a list.
+ * - Call [loadItems] before [saveItems]; [saveItems] writes the difference from the last
+ *   loaded or saved list. Items are compared by [fingerprintOf], taken when they are saved, so
+ *   mutable items may be changed in place between saves.
+ * - Errors are logged and leave the last good state on disk, as with [JsonStorage].
+ *
+ * @param T The type of the stored items.
+ */
+abstract class JsonWalStorage<T : Any>(
+    private val gson: Gson,
+    private val itemType: Type,
+    private val minCompactionBytes: Long = DEFAULT_MIN_COMPACTION_BYTES
+) {
+
+    /**
+     * Provides the snapshot file. Subclasses must implement this to specify the file location.
+     */
+    abstract fun getFile(): File
+
+    /**
+     * Returns the unique key of an item.
+     */
+    protected abstract fun keyOf(item: T): String
+
+    /**
+     * Returns a 64-bit hash of everything about an item that is stored. The default hashes its
+     * JSON; subclasses can hash the stored fields directly to avoid serializing unchanged items.
+     */
+    protected open fun fingerprintOf(item: T): Long = fnv1a(gson.toJson(item, itemType))
+
+    /** 64-bit FNV-1a of [value], continuing from [hash]; for use in [fingerprintOf]. */
+    protected fun fnv1a(value: String, hash: Long = FNV_OFFSET): Long {
+        var result = hash
+        for (c in value) {
+            result = (result xor c.code.toLong()) * FNV_PRIME
+        }
+        return result
+    }
+
+    /** Mixes [value] into [hash] the same way; for use in [fingerprintOf]. */
+    protected fun fnv1a(value: Long, hash: Long): Long = (hash xor value) * FNV_PRIME
+
+    /**
+     * Provides the log file; by default next to the snapshot, with a .wal extension.
+     */
+    open fun getWalFile(): File {
+        val file = getFile()
+        return File(file.parentFile, file.nameWithoutExtension + WAL_EXTENSION)
+    }
+
+    /** One change within a frame. [item] is null for removals. */
+    private class Record<T>(val op: Int, val key: String, val item: T?)
+
+    private val lock = Any()
+    private var loaded = false
+    private var generation = 0L
+    private var snapshotLength = 0L
+    private var snapshotCrc = 0
+    private var snapshotBytes = 0L
+    private var walBytes = 0L
+    private var walMatchesSnapshot = false
+
+    // Keys and fingerprints of the list as it is on disk, in order
+    private var persistedKeys: List<String> = emptyList()
+    private var persistedHashes: Map<String, Long> = emptyMap()
+
+    /**
+     * Loads the items: the snapshot with the log replayed on top of it.
+     *
+     * @return The stored items in order, or an empty list if nothing is stored.
+     */
+    fun loadItems(): List<T> = synchronized(lock) {
+        try {
+            loadLocked()
+        } catch (e: Exception) {
+            e.printStackTrace()
+            loaded = false
+            emptyList()
+        }
+    }
+
+    /**
+     * Saves the items, appending the difference from the stored list to the log, or writing a
+     * new snapshot when the log has grown too large or the list changed wholesale.
+     *
+     * @param items The items to save, in order.
+     */
+    fun saveItems(items: List<T>) {
+        synchronized(lock) {
+            try {
+                if (!loaded) loadLocked()
+                saveLocked(items)
+            } catch (e: Exception) {
+                e.printStackTrace()
+                // Reload before the next save; that also cuts off a partly written frame.
+                loaded = false
+            }
+        }
+    }
+
+    private fun saveLocked(items: List<T>) {
+        val keys = ArrayList<String>(items.size)
+        val hashes = HashMap<String, Long>(items.size * 4 / 3 + 1)
+        for (item in items) {
+            val key = keyOf(item)
+            keys += key
+            if (hashes.put(key, fingerprintOf(item)) != null) {
+                throw IllegalArgumentException("duplicate key: $key")
+            }
+        }
+
+        val records = diff(items, keys, hashes)
+        if (records.isEmpty() && walMatchesSnapshot) return
+        val frame = encodeFrame(records)
+        if (!walMatchesSnapshot || walBytes + frame.size > maxOf(minCompactionBytes, snapshotBytes)) {
+            writeSnapshot(items)
+        } else {
+            FileOutputStream(getWalFile(), true).use { out ->
+                out.write(frame)
+                out.fd.sync()
+            }
+            walBytes += frame.size
+        }
+        persistedKeys = keys
+        persistedHashes = hashes
+    }
+
+    /**
+     * Returns records that turn the persisted list into [keys]. The new list is split into a
+     * front part, a middle part that kept its relative order, and a back part; the longest such
+     * middle is kept in place, the front is re-inserted at the front and the back at the back.
+     * This covers the edits the app makes (move to front, append, remove, update) with one record
+     * per changed item.
+     */
+    private fun diff(items: List<T>, keys: List<String>, hashes: Map<String, Long>): List<Record<T>> {
+        val oldIndex = HashMap<String, Int>(persistedKeys.size * 4 / 3 + 1)
+        persistedKeys.forEachIndexed { i, key -> oldIndex[key] = i }
+
+        var bestStart = 0
+        var bestEnd = 0
+        var runStart = 0
+        var previous = -1
+        for (i in keys.indices) {
+            val index = oldIndex[keys[i]] ?: -1
+            if (index < 0 || index < previous) runStart = if (index < 0) i + 1 else i
+            previous = index
+            if (i + 1 - runStart > bestEnd - bestStart) {
+                bestStart = runStart
+                bestEnd = i + 1
+            }
+        }
+
+        val records = ArrayList<Record<T>>()
+        for (key in persistedKeys) {
+            if (key !in hashes) records += Record(OP_REMOVE, key, null)
+        }
+        for (i in bestStart - 1 downTo 0) records += Record(OP_PUT_FIRST, keys[i], items[i])
+        for (i in bestStart until bestEnd) {
+            if (persistedHashes[keys[i]] != hashes[keys[i]]) records += Record(OP_UPDATE, keys[i], items[i])
+        }
+        for (i in bestEnd until keys.size) records += Record(OP_PUT_LAST, keys[i], items[i])
+        return records
+    }
+
+    private fun loadLocked(): List<T> {
+        val file = getFile()
+        File(file.path + TMP_SUFFIX).delete()
+        File(getWalFile().path + TMP_SUFFIX).delete()
+
+        var items: List<T> = emptyList()
+        generation = 0L
+        snapshotLength = 0L
+        snapshotCrc = 0
+        if (file.exists()) {
+            snapshotLength = file.length()
+            val checked = CheckedInputStream(BufferedInputStream(FileInputStream(file)), CRC32())
+            checked.use { input ->
+                try {
+                    items = readSnapshot(JsonReader(InputStreamReader(input, Charsets.UTF_8)))
+                } catch (e: Exception) {
+                    // Same as JsonStorage: an unreadable document counts as empty
+                    e.printStackTrace()
+                    items = emptyList()
+                }
+                // The header check covers the whole file, including anything after the JSON
+                val buffer = ByteArray(BUFFER_SIZE)
+                while (input.read(buffer) >= 0) Unit
+            }
+            snapshotCrc = checked.checksum.value.toInt()
+        }
+        snapshotBytes = snapshotLength
+
+        val state = ReplayState<T>()
+        for (item in items) state.put(keyOf(item), item, atFront = false)
+        walBytes = replayWal(state)
+        walMatchesSnapshot = walBytes > 0
+
+        val result = state.toList()
+        persistedKeys = result.map { keyOf(it) }
+        persistedHashes = result.associateBy({ keyOf(it) }, { fingerprintOf(it) })
+        loaded = true
+        return result
+    }
+
+    private fun readSnapshot(reader: JsonReader): List<T> {
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) return readItems(reader)
+        var items: List<T> = emptyList()
+        reader.beginObject()
+        while (reader.hasNext()) {
+            when (reader.nextName()) {
+                "generation" -> generation = reader.nextLong()
+                "items" -> items = readItems(reader)
+                else -> reader.skipValue()
+            }
+        }
+        reader.endObject()
+        return items
+    }
+
+    private fun readItems(reader: JsonReader): List<T> {
+        val items = ArrayList<T>()
+        reader.beginArray()
+        while (reader.hasNext()) {
+            gson.fromJson<T>(reader, itemType)?.let { items += it }
+        }
+        reader.endArray()
+        return items
+    }
+
+    /**
+     * Applies the log's intact frames to [state] and cuts off anything after them.
+     *
+     * @return The length of the valid log, or 0 if there is no log for the current snapshot.
+     */
+    private fun replayWal(state: ReplayState<T>): Long {
+        val wal = getWalFile()
+        if (!wal.exists()) return 0L
+        var validLength = 0L
+        DataInputStream(BufferedInputStream(FileInputStream(wal))).use { input ->
+            try {
+                if (input.readInt() != WAL_MAGIC || input.readInt() != WAL_VERSION ||
+                    input.readLong() != generation || input.readLong() != snapshotLength ||
+                    input.readInt() != snapshotCrc
+                ) {
+                    return 0L
+                }
+            } catch (e: EOFException) {
+                return 0L
+            }
+            validLength = WAL_HEADER_SIZE.toLong()
+            while (true) {
+                val payload = try {
+                    if (input.readInt() != FRAME_MAGIC) break
+                    val length = input.readInt()
+                    val crc = input.readInt()
+                    if (length < 0 || length > wal.length() - validLength) break
+                    val bytes = ByteArray(length)
+                    input.readFully(bytes)
+                    if (CRC32().apply { update(bytes) }.value.toInt() != crc) break
+                    bytes
+                } catch (e: EOFException) {
+                    break
+                }
+                for (record in decodeFrame(payload)) {
+                    when (record.op) {
+                        OP_REMOVE -> state.remove(record.key)
+                        OP_UPDATE -> state.update(record.key, record.item!!)
+                        else -> state.put(record.key, record.item!!, record.op == OP_PUT_FIRST)
+                    }
+                }
+                validLength += FRAME_HEADER_SIZE + payload.size
+            }
+        }
+        if (validLength < wal.length()) {
+            RandomAccessFile(wal, "rw").use { raf ->
+                raf.setLength(validLength)
+                raf.fd.sync()
+            }
+        }
+        return validLength
+    }
+
+    /** Writes a new snapshot of [items], then a new empty log for it. */
+    private fun writeSnapshot(items: List<T>) {
+        val file = getFile()
+        val newGeneration = generation + 1
+        val tmp = File(file.path + TMP_SUFFIX)
+        val crc = CRC32()
+        FileOutputStream(tmp).use { out ->
+            val writer = JsonWriter(OutputStreamWriter(BufferedOutputStream(CheckedOutputStream(out, crc)), Charsets.UTF_8))
+            writer.beginObject()
+            writer.name("generation").value(newGeneration)
+            writer.name("items").beginArray()
+            for (item in items) gson.toJson(item, itemType, writer)
+            writer.endArray()
+            writer.endObject()
+            writer.flush()
+            out.fd.sync()
+        }
+        val length = tmp.length()
+        moveAtomically(tmp, file)
+        generation = newGeneration
+        snapshotLength = length
+        snapshotCrc = crc.value.toInt()
+        snapshotBytes = length
+        walMatchesSnapshot = false
+
+        val header = ByteArrayOutputStream(WAL_HEADER_SIZE)
+        DataOutputStream(header).apply {
+            writeInt(WAL_MAGIC)
+            writeInt(WAL_VERSION)
+            writeLong(generation)
+            writeLong(snapshotLength)
+            writeInt(snapshotCrc)
+        }
+        val walTmp = File(getWalFile().path + TMP_SUFFIX)
+        FileOutputStream(walTmp).use { out ->
+            header.writeTo(out)
+            out.fd.sync()
+        }
+        moveAtomically(walTmp, getWalFile())
+        walBytes = WAL_HEADER_SIZE.toLong()
+        walMatchesSnapshot = true
+    }
+
+    private fun encodeFrame(records: List<Record<T>>): ByteArray {
+        val payload = ByteArrayOutputStream()
+        DataOutputStream(payload).apply {
+            writeInt(records.size)
+            for (record in records) {
+                writeByte(record.op)
+                writeString(record.key)
+                if (record.op != OP_REMOVE) writeString(gson.toJson(record.item, itemType))
+            }
+        }
+        val bytes = payload.toByteArray()
+        val frame = ByteArrayOutputStream(FRAME_HEADER_SIZE + bytes.size)
+        DataOutputStream(frame).apply {
+            writeInt(FRAME_MAGIC)
+            writeInt(bytes.size)
+            writeInt(CRC32().apply { update(bytes) }.value.toInt())
+            write(bytes)
+        }
+        return frame.toByteArray()
+    }
+
+    private fun decodeFrame(payload: ByteArray): List<Record<T>> {
+        val input = DataInputStream(payload.inputStream())
+        val count = input.readInt()
+        return List(count) {
+            val op = input.readUnsignedByte()
+            if (op !in OP_PUT_FIRST..OP_REMOVE) throw IOException("unknown log record $op")
+            val key = input.readString()
+            Record(op, key, if (op != OP_REMOVE) gson.fromJson<T>(input.readString(), itemType) else null)
+        }
+    }
+
+    /**
+     * Ordered map used while replaying: O(1) put at either end, update and remove. Moved or
+     * removed entries leave a stale slot behind that [toList] skips.
+     */
+    private class ReplayState<T> {
+        private class Slot<T>(val key: String, var value: T)
+
+        private val front = ArrayList<Slot<T>>()
+        private val back = ArrayList<Slot<T>>()
+        private val current = HashMap<String, Slot<T>>()
+
+        fun put(key: String, value: T, atFront: Boolean) {
+            val slot = Slot(key, value)
+            current[key] = slot
+            if (atFront) front += slot else back += slot
+        }
+
+        fun update(key: String, value: T) {
+            val slot = current[key]
+            if (slot != null) slot.value = value else put(key, value, atFront = false)
+        }
+
+        fun remove(key: String) {
+            current.remove(key)
+        }
+
+        fun toList(): List<T> {
+            val result = ArrayList<T>(current.size)
+            for (i in front.indices.reversed()) {
+                if (current[front[i].key] === front[i]) result += front[i].value
+            }
+            for (slot in back) {
+                if (current[slot.key] === slot) result += slot.value
+            }
+            return result
+        }
+    }
+
+    companion object {
+        /** The log is folded into the snapshot once it is larger than this and the snapshot. */
+        const val DEFAULT_MIN_COMPACTION_BYTES = 256L * 1024
+
+        private const val WAL_EXTENSION = ".wal"
+        private const val TMP_SUFFIX = ".tmp"
+        private const val BUFFER_SIZE = 64 * 1024
+
+        private const val WAL_MAGIC = 0x4A574C31 // "JWL1"
+        private const val WAL_VERSION = 1
+        private const val WAL_HEADER_SIZE = 4 + 4 + 8 + 8 + 4
+        private const val FRAME_MAGIC = 0x46524D31 // "FRM1"
+        private const val FRAME_HEADER_SIZE = 4 + 4 + 4
+
+        private const val OP_PUT_FIRST = 1
+        private const val OP_PUT_LAST = 2
+        private const val OP_UPDATE = 3
+        private const val OP_REMOVE = 4
+
+        private fun moveAtomically(source: File, target: File) {
+            Files.move(
+                source.toPath(), target.toPath(),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING
+            )
+        }
+
+        private const val FNV_OFFSET = -0x340d631b7bdddcdbL
+        private const val FNV_PRIME = 0x100000001b3L
+
+        private fun DataOutputStream.writeString(value: String) {
+            val bytes = value.toByteArray(Charsets.UTF_8)
+            writeInt(bytes.size)
+            write(bytes)
+        }
+
+        private fun DataInputStream.readString(): String {
+            val length = readInt()
+            if (length < 0 || length > available()) throw IOException("bad string length $length")
+            val bytes = ByteArray(length)
+            readFully(bytes)
+            return String(bytes, Charsets.UTF_8)
+        }
+    }
+}
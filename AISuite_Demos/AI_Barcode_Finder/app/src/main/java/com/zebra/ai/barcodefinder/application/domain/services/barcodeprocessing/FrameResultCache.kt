@@ -0,0 +1,70 @@
+package com.zebra.ai.barcodefinder.application.domain.services.barcodeprocessing
+
+/**
+ * Carries per-entity results from one frame to the next, so processors only rebuild results for
+ * entities that changed.
+ *
+ * Each frame starts with [beginFrame], passing the state the results were derived from (for
+ * example repository snapshots and settings). If any of it is a different instance than in the
+ * previous frame, nothing is reused. Otherwise [getOrPut] returns the previous frame's result for
+ * the same key, so a key should identify everything the result depends on (for a barcode: its
+ * value and bounding box).
+ *
+ * Results for keys missing from a frame are dropped, so the cache never holds more than two
+ * frames' worth. Not thread-safe; meant for the single coroutine that processes frames.
+ */
+class FrameResultCache<K : Any, V> {
+
+    private var state: Array<out Any?> = emptyArray()
+    private var previous = HashMap<K, V>()
+    private var current = HashMap<K, V>()
+
+    var hits = 0L
+        private set
+    var misses = 0L
+        private set
+
+    /**
+     * Starts a frame. [state] is compared by identity with the previous frame's; pass immutable
+     * snapshots, which are replaced rather than modified when they change.
+     */
+    fun beginFrame(vararg state: Any?) {
+        val swap = previous
+        previous = current
+        current = swap
+        current.clear()
+        if (!sameState(state)) {
+            previous.clear()
+            this.state = state
+        }
+    }
+
+    /** Returns the previous frame's result for [key], or creates one, and keeps it for the next frame. */
+    fun getOrPut(key: K, create: () -> V): V {
+        val value = if (previous.containsKey(key)) {
+            hits++
+            @Suppress("UNCHECKED_CAST")
+            previous[key] as V
+        } else {
+            misses++
+            create()
+        }
+        current[key] = value
+        return value
+    }
+
+    /** Forgets all results, e.g. when the processor stops. */
+    fun clear() {
+        previous.clear()
+        current.clear()
+        state = emptyArray()
+    }
+
+    private fun sameState(state: Array<out Any?>): Boolean {
+        if (state.size != this.state.size) return false
+        for (i in state.indices) {
+            if (state[i] !== this.state[i]) return false
+        }
+        return true
+    }
+}
@@ -4,6 +4,7 @@ import android.graphics.RectF
 import com.zebra.ai.barcodefinder.application.data.source.repository.ActionableBarcodeRepository
 import com.zebra.ai.barcodefinder.application.data.source.repository.SettingsRepository
 import com.zebra.ai.barcodefinder.application.domain.services.barcodeprocessing.BaseBarcodeProcessor
+import com.zebra.ai.barcodefinder.application.domain.services.barcodeprocessing.FrameResultCache
 import com.zebra.ai.barcodefinder.application.domain.enums.ActionState
 import com.zebra.ai.barcodefinder.application.domain.enums.ActionType
 import com.zebra.ai.barcodefinder.application.domain.enums.BarcodeUserDataKeys
@@ -14,9 +15,22 @@ import com.zebra.ai.barcodefinder.application.domain.model.BarcodeOverlayItem
 import com.zebra.ai.barcodefinder.application.domain.model.ScanResult
 import com.zebra.ai.barcodefinder.application.domain.model.ScanStatus
 import com.zebra.ai.barcodefinder.sdkcoordinator.EntityTrackerCoordinator
+import com.zebra.ai.barcodefinder.sdkcoordinator.model.AppSettings
 import com.zebra.ai.vision.entity.BarcodeEntity
 import com.zebra.ai.vision.entity.Entity
 
+/**
+ * Builds the Finder screen's overlay and scan results for each frame, and fires feedback for
+ * actionable barcodes.
+ *
+ * Per-frame results are reused while nothing they depend on has changed:
+ * - Overlay items and the actionable check are kept per entity, keyed by value and bounding box,
+ *   for as long as the applied configuration and the settings are the same snapshots as in the
+ *   previous frame and the completed version is unchanged.
+ * - Scan results are rebuilt only when the completed version changes. The version is bumped on
+ *   every change to completed barcodes, including in-place changes to their state and user data,
+ *   which the list snapshot alone would not reveal.
+ */
 class FinderBarcodeProcessor(
     entityTrackerCoordinator: EntityTrackerCoordinator,
     private val actionableBarcodeRepository: ActionableBarcodeRepository,
@@ -24,42 +38,70 @@ class FinderBarcodeProcessor(
     private val barcodeScanSessionManager: BarcodeScanSessionManager?,
 ) : BaseBarcodeProcessor(entityTrackerCoordinator) {
 
+    /** What identifies an entity's cached result within one repository/settings snapshot. */
+    private data class EntityKey(
+        val value: String?,
+        val left: Int,
+        val top: Int,
+        val right: Int,
+        val bottom: Int
+    )
+
+    /** Per-entity result of a frame; [overlayItem] is null when the entity is not drawn. */
+    private class EntityResult(val overlayItem: BarcodeOverlayItem?, val isActionable: Boolean)
+
+    private val entityResults = FrameResultCache<EntityKey, EntityResult>()
+    private var completedVersion = NO_VERSION
+    private var scanResults: List<ScanResult> = emptyList()
+
     override suspend fun processScreenSpecificLogic(entities: List<Entity>): BarcodeProcessingResult {
-        // Single filterIsInstance pass; result shared across feedback and overlay creation
-        val barcodeEntities = entities.filterIsInstance<BarcodeEntity>()
+        // The version is read before the completed barcodes, so a change made while this frame is
+        // processed is picked up by the next one
+        val version = actionableBarcodeRepository.getActionCompletedVersion()
+        val completedChanged = version != completedVersion
+        completedVersion = version
+        if (completedChanged) entityResults.clear()
+
+        // Snapshots this frame's results are derived from; each is replaced, not modified, on change
+        val completedBarcodes = actionableBarcodeRepository.getActionCompletedBarcodes()
+        val settings = settingsRepository.settings.value
+        entityResults.beginFrame(actionableBarcodeRepository.getTrackingSnapshot(), settings)
+
+        val overlayItems = ArrayList<BarcodeOverlayItem>(entities.size)
+        val actionableEntities = ArrayList<BarcodeEntity>()
+        for (entity in entities) {
+            if (entity !is BarcodeEntity) continue
+            val box = entity.boundingBox
+            val key = EntityKey(entity.value, box.left, box.top, box.right, box.bottom)
+            val result = entityResults.getOrPut(key) {
+                EntityResult(createBarcodeOverlayItem(entity, settings), isActionable(entity))
+            }
+            result.overlayItem?.let { overlayItems.add(it) }
+            if (result.isActionable) actionableEntities.add(entity)
+        }
 
         // Fire feedback for actionable barcodes on the current Default thread
-        barcodeScanSessionManager?.let {
-            val filteredEntities = filterActionableEntities(barcodeEntities)
-            it.processBarcodes(filteredEntities)
-        }
+        barcodeScanSessionManager?.processBarcodes(actionableEntities)
 
-        // Single-pass overlay creation — no coroutine scheduling overhead per entity
-        val overlayItems = ArrayList<BarcodeOverlayItem>(barcodeEntities.size)
-        for (entity in barcodeEntities) {
-            val item = createBarcodeOverlayItem(entity)
-            if (item != null) overlayItems.add(item)
+        if (completedChanged) {
+            scanResults = completedBarcodes.map { convertToScanResult(it) }
         }
 
-        // Mutex-guarded read — safe across Default and Main threads
-        val scanResults = actionableBarcodeRepository.getActionCompletedBarcodes()
-            .map { convertToScanResult(it) }
-
         return BarcodeProcessingResult(
             overlayItems = overlayItems,
             scanResults = scanResults
         )
     }
 
-    private fun createBarcodeOverlayItem(entity: BarcodeEntity): BarcodeOverlayItem? {
+    private fun createBarcodeOverlayItem(entity: BarcodeEntity, settings: AppSettings): BarcodeOverlayItem? {
         val actionableBarcode = if (entity.value.isNullOrEmpty()) {
-            val shouldShowUndecoded = settingsRepository.settings.value.feedbackType.showUndecodedBarcode
+            val shouldShowUndecoded = settings.feedbackType.showUndecodedBarcode
             if (shouldShowUndecoded) actionableBarcodeRepository.getEmptyBarcode() else return null
         } else {
             actionableBarcodeRepository.getActionableBarcodeFromTrackList(entity.value)
         }
 
-        val showNoAction = settingsRepository.settings.value.feedbackType.showNoActionBarcode
+        val showNoAction = settings.feedbackType.showNoActionBarcode
         if (!showNoAction && actionableBarcode.actionType == ActionType.TYPE_NO_ACTION) return null
 
         return BarcodeOverlayItem(
@@ -73,51 +115,44 @@ class FinderBarcodeProcessor(
         )
     }
 
-    private fun convertToScanResult(barcode: ActionableBarcode): ScanResult {
-        val icon = barcode.getIconForState(ActionState.STATE_ACTION_NOT_COMPLETED)
-        val status = when (barcode.actionType) {
-            ActionType.TYPE_RECALL -> ScanStatus.RecallConfirmed(icon)
-            ActionType.TYPE_CONFIRM_PICKUP -> ScanStatus.PickupConfirmed(icon)
-            ActionType.TYPE_QUANTITY_PICKUP -> {
-                val replenish = barcode.getUserDataValue(BarcodeUserDataKeys.REPLENISH_STOCK)?.toBoolean() ?: false
-                val pickedQuantity = barcode.getUserDataValue(BarcodeUserDataKeys.PICKED_QUANTITY)?.toIntOrNull() ?: 0
-                ScanStatus.QuantityPicked(barcode.quantity, pickedQuantity, replenish, icon)
-            }
-            else -> ScanStatus.NoActionNeeded(icon)
-        }
-        return ScanResult(
-            productName = barcode.productName,
-            barcode = barcode.barcodeData,
-            status = status,
-            additionalInfo = barcode.getUserDataValue(BarcodeUserDataKeys.RESULT)
-        )
+    /**
+     * Returns true if the entity should trigger feedback: its barcode has an action that is not
+     * completed yet. Undecoded barcodes (where entity.value is null or empty) don't have a type yet.
+     */
+    private fun isActionable(entity: BarcodeEntity): Boolean {
+        if (entity.value.isNullOrEmpty()) return false
+        val actionableBarcode = actionableBarcodeRepository.getActionableBarcodeFromTrackList(entity.value)
+        return actionableBarcode.actionType in ACTIONABLE_TYPES &&
+                !actionableBarcodeRepository.isActionCompleted(entity.value)
     }
 
-    private suspend fun filterActionableEntities(barcodeEntities: List<BarcodeEntity>): List<BarcodeEntity> {
-        val actionableTypes = setOf(
+    companion object {
+        private const val NO_VERSION = -1L
+
+        private val ACTIONABLE_TYPES = setOf(
             ActionType.TYPE_RECALL,
             ActionType.TYPE_CONFIRM_PICKUP,
             ActionType.TYPE_QUANTITY_PICKUP
         )
-        val completedBarcodes = actionableBarcodeRepository.getActionCompletedBarcodes().toSet()
-
-        return barcodeEntities.filter { entity ->
-            // We can only filter barcodes that have a value and can be looked up.
-            // Undecoded barcodes (where entity.value is null or empty) don't have a type yet.
-            if (entity.value.isNullOrEmpty()) {
-                false
-            } else {
-                val actionableBarcode = actionableBarcodeRepository.getActionableBarcodeFromTrackList(entity.value)
-
-                // Condition 1: The barcode's action type must be in our set of actionable types.
-                val isActionableType = actionableBarcode.actionType in actionableTypes
-
-                // Condition 2: The barcode must NOT be in the set of completed barcodes.
-                val isNotCompleted = actionableBarcode !in completedBarcodes
 
-                // The entity passes the filter only if BOTH conditions are true.
-                isActionableType && isNotCompleted
+        internal fun convertToScanResult(barcode: ActionableBarcode): ScanResult {
+            val icon = barcode.getIconForState(ActionState.STATE_ACTION_NOT_COMPLETED)
+            val status = when (barcode.actionType) {
+                ActionType.TYPE_RECALL -> ScanStatus.RecallConfirmed(icon)
+                ActionType.TYPE_CONFIRM_PICKUP -> ScanStatus.PickupConfirmed(icon)
+                ActionType.TYPE_QUANTITY_PICKUP -> {
+                    val replenish = barcode.getUserDataValue(BarcodeUserDataKeys.REPLENISH_STOCK)?.toBoolean() ?: false
+                    val pickedQuantity = barcode.getUserDataValue(BarcodeUserDataKeys.PICKED_QUANTITY)?.toIntOrNull() ?: 0
+                    ScanStatus.QuantityPicked(barcode.quantity, pickedQuantity, replenish, icon)
+                }
+                else -> ScanStatus.NoActionNeeded(icon)
             }
+            return ScanResult(
+                productName = barcode.productName,
+                barcode = barcode.barcodeData,
+                status = status,
+                additionalInfo = barcode.getUserDataValue(BarcodeUserDataKeys.RESULT)
+            )
         }
     }
 }
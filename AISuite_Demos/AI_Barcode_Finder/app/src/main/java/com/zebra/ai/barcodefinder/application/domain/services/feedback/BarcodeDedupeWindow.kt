@@ -0,0 +1,136 @@
+package com.zebra.ai.barcodefinder.application.domain.services.feedback
+
+/**
+ * Bounded set of recently scanned values, used to fire feedback once per value.
+ * Pure Domain Class: No Context, No Android dependencies.
+ *
+ * Responsibilities:
+ * - [offer] reports whether a value is new under the current [DedupePolicy] and remembers it.
+ * - Expired and excess entries are dropped from the oldest end on every call, in O(1) amortized
+ *   time, so the window stays within the policy's bounds over a whole shift.
+ * - Counts hits, new values and evictions for [stats].
+ *
+ * Usage:
+ * - Thread-safe. [offer] runs its factory under the window's lock; keep it cheap and do not
+ *   trigger feedback from it.
+ *
+ * @param clock Monotonic time in milliseconds; injectable for tests.
+ */
+class BarcodeDedupeWindow<V>(
+    policy: DedupePolicy = DedupePolicy.Lru(),
+    private val clock: () -> Long = { System.nanoTime() / 1_000_000 }
+) {
+
+    /** Counters since the window was created or last [clear]ed. */
+    data class Stats(
+        val size: Int,
+        val hits: Long,
+        val newValues: Long,
+        val evictedBySize: Long,
+        val expired: Long
+    )
+
+    private class Entry<V>(val key: String, val value: V, val firstSeen: Long, var lastSeen: Long)
+
+    private val lock = Any()
+    private var policy: DedupePolicy = policy
+    private var entries: LinkedHashMap<String, Entry<V>> = newMap(policy)
+    private var hits = 0L
+    private var newValues = 0L
+    private var evictedBySize = 0L
+    private var expired = 0L
+
+    /**
+     * Returns a new value created by [create] if [key] is not remembered (the caller should give
+     * feedback for it), or null if it is a repeat.
+     */
+    fun offer(key: String, create: (String) -> V): V? = synchronized(lock) {
+        val now = clock()
+        expireLocked(now)
+        val entry = entries[key]
+        if (entry != null) {
+            entry.lastSeen = now
+            hits++
+            return null
+        }
+        val value = create(key)
+        entries[key] = Entry(key, value, now, now)
+        newValues++
+        while (entries.size > policy.maxEntries) {
+            removeEldestLocked()
+            evictedBySize++
+        }
+        value
+    }
+
+    /** Returns the remembered values that have not expired, in eviction order. */
+    fun values(): List<V> = synchronized(lock) {
+        expireLocked(clock())
+        entries.values.map { it.value }
+    }
+
+    fun stats(): Stats = synchronized(lock) {
+        Stats(entries.size, hits, newValues, evictedBySize, expired)
+    }
+
+    /**
+     * Switches to [newPolicy], keeping the remembered values that it still allows.
+     */
+    fun setPolicy(newPolicy: DedupePolicy) = synchronized(lock) {
+        val previous = entries
+        policy = newPolicy
+        entries = newMap(newPolicy)
+        // Re-insert in the new policy's eviction order
+        val ordered = if (newPolicy is DedupePolicy.TimeToLive) {
+            previous.values.sortedBy { it.firstSeen }
+        } else {
+            previous.values.sortedBy { it.lastSeen }
+        }
+        ordered.forEach { entries[it.key] = it }
+        expireLocked(clock())
+        while (entries.size > newPolicy.maxEntries) {
+            removeEldestLocked()
+            evictedBySize++
+        }
+    }
+
+    /** Forgets every value and resets the counters. */
+    fun clear() = synchronized(lock) {
+        entries.clear()
+        hits = 0
+        newValues = 0
+        evictedBySize = 0
+        expired = 0
+    }
+
+    /**
+     * Removes expired entries. Each policy orders its map so that the first entry expires first:
+     * insertion order for a time-to-live, access order for a sliding window.
+     */
+    private fun expireLocked(now: Long) {
+        val current = policy
+        while (entries.isNotEmpty()) {
+            val eldest = entries.values.first()
+            val isExpired = when (current) {
+                is DedupePolicy.Lru -> false
+                is DedupePolicy.TimeToLive -> now - eldest.firstSeen >= current.ttlMillis
+                is DedupePolicy.SlidingWindow -> now - eldest.lastSeen >= current.windowMillis
+            }
+            if (!isExpired) return
+            removeEldestLocked()
+            expired++
+        }
+    }
+
+    private fun removeEldestLocked() {
+        val iterator = entries.values.iterator()
+        iterator.next()
+        iterator.remove()
+    }
+
+    private companion object {
+        /** LinkedHashMap in eviction order: by first sighting for TTL, by last sighting otherwise. */
+        fun <V> newMap(policy: DedupePolicy): LinkedHashMap<String, Entry<V>> =
+            LinkedHashMap(16, 0.75f, policy !is DedupePolicy.TimeToLive)
+    }
+}
@@ -11,19 +11,21 @@ import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.ensureActive
 import kotlinx.coroutines.isActive
 import kotlinx.coroutines.withContext
-import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.atomic.AtomicInteger
 import kotlin.coroutines.CoroutineContext
 
 /**
  * Manages barcode detection sessions.
  * Pure Domain Class: No Context, No Android UI dependencies.
+ *
+ * Feedback fires once per new barcode value. Values are remembered in a bounded
+ * BarcodeDedupeWindow whose DedupePolicy decides when a value seen again counts as new.
  */
 class BarcodeScanSessionManager private constructor(
     private val feedbackService: FeedbackService, // Injected Dependency
     private val coroutineContext: CoroutineContext = Dispatchers.Default
 ) {
-    private val identifiedBarcodeMap = ConcurrentHashMap<String, IdentifiedBarcode>()
+    private val dedupeWindow = BarcodeDedupeWindow<IdentifiedBarcode>()
     private val idGenerator = AtomicInteger(1)
     private val TAG = "BarcodeScanSession"
 
@@ -84,17 +86,14 @@ class BarcodeScanSessionManager private constructor(
                     if (entity is BarcodeEntity) {
                         val barcodeValue = entity.value
                         if (!barcodeValue.isNullOrEmpty()) {
-                            identifiedBarcodeMap.computeIfAbsent(barcodeValue) { key ->
-
-                                // Trigger feedback via the Interface
-                                currentFeedbackSettings?.let { settings ->
-                                    feedbackService.triggerFeedback(settings)
-                                }
-
-                                val newId = idGenerator.getAndIncrement()
-                                Log.d(TAG, "New unique barcode: '$key', ID: $newId.")
-
-                                IdentifiedBarcode(id = newId, value = key)
+                            val identified = dedupeWindow.offer(barcodeValue) { key ->
+                                IdentifiedBarcode(id = idGenerator.getAndIncrement(), value = key)
+                            }
+                            if (identified != null) {
+                                Log.d(TAG, "New unique barcode: '${identified.value}', ID: ${identified.id}.")
+                                // Trigger feedback via the Interface, outside the dedupe window's lock but
+                                // before the next cancellation check, so a remembered value always alerted
+                                currentFeedbackSettings?.let { feedbackService.triggerFeedback(it) }
                             }
                         }
                     }
@@ -109,7 +108,24 @@ class BarcodeScanSessionManager private constructor(
     }
 
     fun getUniqueBarcodes(): List<IdentifiedBarcode> {
-        return identifiedBarcodeMap.values.toList()
+        return dedupeWindow.values()
+    }
+
+    /**
+     * Sets how long a barcode value suppresses repeated feedback. Values already seen are kept
+     * if the new policy still allows them.
+     */
+    fun setDedupePolicy(policy: DedupePolicy) {
+        Log.d(TAG, "Dedupe policy: $policy")
+        dedupeWindow.setPolicy(policy)
+    }
+
+    /**
+     * Returns dedupe counters for the current session: remembered values, repeats suppressed,
+     * new values, and values forgotten because the window was full or had expired.
+     */
+    fun getDedupeStats(): BarcodeDedupeWindow.Stats {
+        return dedupeWindow.stats()
     }
 
     fun destroy() {
@@ -120,7 +136,8 @@ class BarcodeScanSessionManager private constructor(
 
     // Optional: Exposed for testing or reset logic
     fun resetSessionState() {
+        Log.d(TAG, "Resetting session, dedupe stats: ${dedupeWindow.stats()}")
         idGenerator.set(1)
-        identifiedBarcodeMap.clear()
+        dedupeWindow.clear()
     }
 }
\ No newline at end of file
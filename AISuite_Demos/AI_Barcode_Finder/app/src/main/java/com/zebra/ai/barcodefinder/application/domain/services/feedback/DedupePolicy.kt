@@ -0,0 +1,38 @@
+package com.zebra.ai.barcodefinder.application.domain.services.feedback
+
+/**
+ * How long a scanned value is remembered, and so suppresses repeated feedback, during a scan
+ * session. Every policy is bounded by [maxEntries]; when full, the value that would expire next
+ * (the least recently seen one for [Lru] and [SlidingWindow]) is forgotten first.
+ */
+sealed class DedupePolicy {
+    abstract val maxEntries: Int
+
+    /**
+     * Remembers the [maxEntries] most recently seen values for the whole session. A value
+     * alerts again only after it has been pushed out by newer ones.
+     */
+    data class Lru(override val maxEntries: Int = DEFAULT_MAX_ENTRIES) : DedupePolicy()
+
+    /**
+     * Forgets a value [ttlMillis] after it alerted, whether or not it is still being seen, so a
+     * code seen again later alerts again.
+     */
+    data class TimeToLive(
+        val ttlMillis: Long,
+        override val maxEntries: Int = DEFAULT_MAX_ENTRIES
+    ) : DedupePolicy()
+
+    /**
+     * Forgets a value once it has not been seen for [windowMillis]. A code that stays in view is
+     * never repeated; one that leaves and comes back after the window alerts again.
+     */
+    data class SlidingWindow(
+        val windowMillis: Long,
+        override val maxEntries: Int = DEFAULT_MAX_ENTRIES
+    ) : DedupePolicy()
+
+    companion object {
+        const val DEFAULT_MAX_ENTRIES = 10_000
+    }
+}
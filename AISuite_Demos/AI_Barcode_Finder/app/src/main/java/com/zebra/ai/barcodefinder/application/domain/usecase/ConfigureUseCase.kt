@@ -5,6 +5,7 @@ import androidx.camera.core.Preview
 import androidx.camera.view.PreviewView
 import androidx.lifecycle.LifecycleOwner
 import com.zebra.ai.barcodefinder.application.data.source.repository.ActionableBarcodeRepository
+import com.zebra.ai.barcodefinder.application.data.source.storage.ActionableBarcodeImporter
 import com.zebra.ai.barcodefinder.application.domain.enums.ActionType
 import com.zebra.ai.barcodefinder.application.domain.model.ActionableBarcode
 import com.zebra.ai.barcodefinder.application.domain.model.BarcodeOverlayItem
@@ -16,6 +17,7 @@ import com.zebra.ai.barcodefinder.application.domain.services.barcodeprocessing.
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.map
+import java.io.Reader
 
 /**
  * Use case for managing barcode configurations and UI-related operations.
@@ -24,6 +26,7 @@ import kotlinx.coroutines.flow.map
  * - Applying configurations.
  * - Clearing, reloading, and observing configured barcodes.
  * - Managing individual barcodes in the configuration.
+ * - Bulk importing barcodes from CSV or JSON files.
  * - Processing barcode overlays for the UI.
  * - Retrieving icons for action types.
  */
@@ -83,6 +86,20 @@ class ConfigureUseCase(
         repository.loadConfiguredActionableBarcodes()
     }
 
+    /**
+     * Imports a CSV or JSON list of actionable barcodes into the configuration list.
+     *
+     * @param reader The file contents, read as a stream.
+     * @param format The file format.
+     * @return A report of imported, skipped and rejected rows.
+     */
+    suspend fun importBarcodes(
+        reader: Reader,
+        format: ActionableBarcodeImporter.Format
+    ): ActionableBarcodeImporter.Report {
+        return repository.importActionableBarcodes(reader, format)
+    }
+
     /**
      * Removes an actionable barcode from the configuration list.
      *
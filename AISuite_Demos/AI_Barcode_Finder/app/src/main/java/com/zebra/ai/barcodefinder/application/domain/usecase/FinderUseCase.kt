@@ -9,12 +9,14 @@ import com.zebra.ai.barcodefinder.application.domain.model.ActionableBarcode
 import com.zebra.ai.barcodefinder.sdkcoordinator.EntityTrackerCoordinator
 import com.zebra.ai.barcodefinder.application.data.source.repository.SettingsRepository
 import com.zebra.ai.barcodefinder.application.domain.services.feedback.BarcodeScanSessionManager
+import com.zebra.ai.barcodefinder.application.domain.services.feedback.DedupePolicy
 import com.zebra.ai.barcodefinder.application.domain.services.barcodeprocessing.BaseBarcodeProcessor
 import com.zebra.ai.barcodefinder.application.domain.model.BarcodeProcessingResult
 import com.zebra.ai.barcodefinder.application.domain.services.barcodeprocessing.processors.FinderBarcodeProcessor
 import com.zebra.ai.barcodefinder.sdkcoordinator.enums.CoordinatorState
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.StateFlow
+import java.util.concurrent.TimeUnit
 
 /**
  * Use case class for managing Finder-related barcode operations.
@@ -24,12 +26,14 @@ import kotlinx.coroutines.flow.StateFlow
  * - Process barcode results for the Finder screen.
  * - Clear action-completed barcodes.
  * - Add action-completed barcodes to the repository.
+ * - Apply [dedupePolicy] to the scan session, which decides when a repeated code alerts again.
  */
 class FinderUseCase(
     private val actionableBarcodeRepository: ActionableBarcodeRepository,
     private val entityTrackerCoordinator: EntityTrackerCoordinator,
     private val settingsRepository: SettingsRepository,
-    private val barcodeScanSessionManager: BarcodeScanSessionManager
+    private val barcodeScanSessionManager: BarcodeScanSessionManager,
+    private val dedupePolicy: DedupePolicy = DEFAULT_DEDUPE_POLICY
 ) {
 
     private val barcodeProcessor: BaseBarcodeProcessor = FinderBarcodeProcessor(
@@ -76,6 +80,7 @@ class FinderUseCase(
 
     // The UI will call this when it becomes visible/active
     fun bindScanSessionToLifecycle() {
+        barcodeScanSessionManager.setDedupePolicy(dedupePolicy)
         val feedbackSettings =
             settingsRepository.settings.value.feedbackType
         if(feedbackSettings.audio || feedbackSettings.haptics)
@@ -122,4 +127,11 @@ class FinderUseCase(
         entityTrackerCoordinator.setZoomRatio(ratio)
     }
 
+    companion object {
+        /**
+         * A code that stays in view alerts once; one that has been out of view for an hour
+         * alerts again.
+         */
+        val DEFAULT_DEDUPE_POLICY: DedupePolicy = DedupePolicy.SlidingWindow(TimeUnit.HOURS.toMillis(1))
+    }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ package com.zebra.ai.barcodefinder.application.presentation.viewmodel
 
 import android.app.Application
 import android.graphics.Bitmap
+import android.net.Uri
 import android.util.Log
 import androidx.camera.core.Preview
 import androidx.camera.view.PreviewView
@@ -17,10 +18,12 @@ import com.zebra.ai.barcodefinder.sdkcoordinator.enums.CoordinatorState
 import com.zebra.ai.barcodefinder.application.domain.model.ActionableBarcode
 import com.zebra.ai.barcodefinder.application.domain.model.BarcodeOverlayItem
 import com.zebra.ai.barcodefinder.application.data.source.repository.SettingsRepository
+import com.zebra.ai.barcodefinder.application.data.source.storage.ActionableBarcodeImporter
 import com.zebra.ai.barcodefinder.application.data.source.storage.SettingsJsonStorage
 import com.zebra.ai.barcodefinder.application.domain.services.feedback.BarcodeScanSessionManager
 import com.zebra.ai.barcodefinder.sdkcoordinator.EntityTrackerCoordinator
 import com.zebra.ai.barcodefinder.application.domain.usecase.ConfigureUseCase
+import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
@@ -62,6 +65,9 @@ class ConfigureViewModel(application: Application) : AndroidViewModel(applicatio
     private val _configuredBarcodes = MutableStateFlow<List<ActionableBarcode>>(emptyList())
     val configuredBarcodes: StateFlow<List<ActionableBarcode>> = _configuredBarcodes.asStateFlow()
 
+    private val _importReport = MutableStateFlow<ActionableBarcodeImporter.Report?>(null)
+    val importReport: StateFlow<ActionableBarcodeImporter.Report?> = _importReport.asStateFlow()
+
     private val _selectedBarcode = MutableStateFlow<ActionableBarcode?>(null)
     val selectedBarcode: StateFlow<ActionableBarcode?> = _selectedBarcode.asStateFlow()
 
@@ -257,6 +263,29 @@ class ConfigureViewModel(application: Application) : AndroidViewModel(applicatio
         _showActionableBarcodeDialog.value = true
     }
 
+    /**
+     * Imports a CSV or JSON recall/pick list picked by the user into the configuration list.
+     * The result, or null while an import is running, is published in [importReport].
+     * @param uri The document to import
+     */
+    fun importBarcodes(uri: Uri) {
+        _importReport.value = null
+        viewModelScope.launch(Dispatchers.IO) {
+            val resolver = getApplication<Application>().contentResolver
+            val format = ActionableBarcodeImporter.Format.detect(resolver.getType(uri), uri.lastPathSegment)
+            try {
+                resolver.openInputStream(uri)?.bufferedReader()?.use { reader ->
+                    _importReport.value = configureUseCase.importBarcodes(reader, format)
+                }
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                Log.e(TAG, "Import of $uri failed, configuration unchanged", e)
+            }
+        }
+        _showActionableBarcodeDialog.value = true
+    }
+
     /**
      * Edits a barcode, showing the configuration dialog.
      * @param barcode The barcode to edit
@@ -0,0 +1,161 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+
+package com.zebra.ai.barcodefinder.application.data.source.repository
+
+import java.util.Locale
+import kotlin.random.Random
+
+/**
+ * Benchmark of lookup and update cost in [IndexedBarcodeList] against the list-and-map approach
+ * ActionableBarcodeRepository used before, at recall list sizes of 1k, 10k and 100k entries.
+ *
+ * Operations, each timed in µs per operation:
+ * - lookup: find a configured barcode by its data, as ConfigureBarcodeProcessor does for every
+ *   decoded barcode. Previously a linear search of the published list.
+ * - complete: record a completed action (move to front). Previously removeAll, add(0) and a copy
+ *   of the whole list for the StateFlow.
+ * - update: replace a configured entry and move it to the front, including the emission.
+ * - remove: remove a configured entry, including the emission.
+ *
+ * Usage:
+ * - Not a unit test; run main() from the IDE, or call println(IndexedBarcodeListBenchmark.run()).
+ */
+object IndexedBarcodeListBenchmark {
+
+    private data class Entry(val barcodeData: String, val quantity: Int)
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        print(run())
+    }
+
+    /** Runs every operation at each size and returns a table of µs per operation. */
+    fun run(sizes: List<Int> = listOf(1_000, 10_000, 100_000)): String {
+        val builder = StringBuilder()
+        builder.append(
+            String.format(
+                Locale.US, "%-8s %-9s %12s %12s %9s%n",
+                "entries", "op", "list+map", "indexed", "speedup"
+            )
+        )
+        for (size in sizes) {
+            val entries = List(size) { Entry(barcodeFor(it), it) }
+            // The old path copies the whole list per change; keep its run time bounded.
+            val ops = maxOf(200, 2_000_000 / size)
+            val random = Random(size)
+            val keys = List(ops) { barcodeFor(random.nextInt(size + size / 10)) }
+
+            row(builder, size, "lookup", legacyLookup(entries, keys), indexedLookup(entries, keys))
+            row(builder, size, "complete", legacyMoveToFront(entries, keys), indexedMoveToFront(entries, keys))
+            row(builder, size, "update", legacyUpdate(entries, keys), indexedUpdate(entries, keys))
+            row(builder, size, "remove", legacyRemove(entries, keys), indexedRemove(entries, keys))
+        }
+        return builder.toString()
+    }
+
+    private fun row(builder: StringBuilder, size: Int, op: String, legacyMicros: Double, indexedMicros: Double) {
+        builder.append(
+            String.format(
+                Locale.US, "%-8d %-9s %12.3f %12.3f %8.0fx%n",
+                size, op, legacyMicros, indexedMicros, legacyMicros / indexedMicros
+            )
+        )
+    }
+
+    private fun legacyLookup(entries: List<Entry>, keys: List<String>): Double {
+        val published = entries.toList()
+        var found = 0
+        return time(keys.size) {
+            for (key in keys) if (published.find { it.barcodeData == key } != null) found++
+        }.also { consume(found) }
+    }
+
+    private fun indexedLookup(entries: List<Entry>, keys: List<String>): Double {
+        val list = indexed(entries)
+        var found = 0
+        return time(keys.size) {
+            for (key in keys) if (list[key] != null) found++
+        }.also { consume(found) }
+    }
+
+    private fun legacyMoveToFront(entries: List<Entry>, keys: List<String>): Double {
+        val list = entries.toMutableList()
+        var published: List<Entry> = list.toList()
+        return time(keys.size) {
+            for (key in keys) {
+                list.removeAll { it.barcodeData == key }
+                list.add(0, Entry(key, 0))
+                published = list.toList()
+            }
+        }.also { consume(published.size) }
+    }
+
+    private fun indexedMoveToFront(entries: List<Entry>, keys: List<String>): Double {
+        val list = indexed(entries)
+        return time(keys.size) {
+            for (key in keys) list.addFirst(Entry(key, 0))
+        }.also { consume(list.items.value.size) }
+    }
+
+    private fun legacyUpdate(entries: List<Entry>, keys: List<String>): Double {
+        val list = entries.toMutableList()
+        val map = entries.associateByTo(HashMap()) { it.barcodeData }
+        var published: List<Entry> = list.toList()
+        return time(keys.size) {
+            for (key in keys) {
+                list.removeAll { it.barcodeData == key }
+                val updated = Entry(key, 1)
+                list.add(0, updated)
+                map[key] = updated
+                published = list.toList()
+            }
+        }.also { consume(published.size + map.size) }
+    }
+
+    private fun indexedUpdate(entries: List<Entry>, keys: List<String>): Double {
+        val list = indexed(entries)
+        return time(keys.size) {
+            for (key in keys) list.addFirst(Entry(key, 1))
+        }.also { consume(list.items.value.size) }
+    }
+
+    private fun legacyRemove(entries: List<Entry>, keys: List<String>): Double {
+        val list = entries.toMutableList()
+        val map = entries.associateByTo(HashMap()) { it.barcodeData }
+        var published: List<Entry> = list.toList()
+        return time(keys.size) {
+            for (key in keys) {
+                map.remove(key)
+                list.removeAll { it.barcodeData == key }
+                published = list.toList()
+            }
+        }.also { consume(published.size + map.size) }
+    }
+
+    private fun indexedRemove(entries: List<Entry>, keys: List<String>): Double {
+        val list = indexed(entries)
+        return time(keys.size) {
+            for (key in keys) list.remove(key)
+        }.also { consume(list.items.value.size) }
+    }
+
+    private fun indexed(entries: List<Entry>) =
+        IndexedBarcodeList<Entry>({ it.barcodeData }).apply { replaceAll(entries) }
+
+    private fun barcodeFor(i: Int) = "0${9_000_000_000_000L + i * 7L}"
+
+    /** Returns µs per operation of [block], which performs [ops] operations. */
+    private inline fun time(ops: Int, block: () -> Unit): Double {
+        val start = System.nanoTime()
+        block()
+        return (System.nanoTime() - start) / 1_000.0 / ops
+    }
+
+    @Volatile
+    private var sink = 0
+
+    /** Keeps results observable so the timed loops are not optimised away. */
+    private fun consume(value: Int) {
+        sink += value
+    }
+}
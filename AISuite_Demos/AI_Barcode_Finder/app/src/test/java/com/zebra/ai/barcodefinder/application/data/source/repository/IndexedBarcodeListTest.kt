@@ -0,0 +1,112 @@
+package com.zebra.ai.barcodefinder.application.data.source.repository
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+/**
+ * Local unit tests for [IndexedBarcodeList], with small chunks so that splitting and repacking
+ * happen after a few changes.
+ */
+class IndexedBarcodeListTest {
+
+    private data class Entry(val barcodeData: String, val quantity: Int = 0)
+
+    private fun list() = IndexedBarcodeList<Entry>({ it.barcodeData }, chunkSize = CHUNK)
+
+    private fun IndexedBarcodeList<Entry>.keys() = items.value.map { it.barcodeData }
+
+    @Test
+    fun addAtBothEnds_splitsIntoNewChunksAndKeepsOrder() {
+        val list = list()
+        for (i in 0 until 10) list.addLast(Entry("b$i"))
+        for (i in 0 until 10) list.addFirst(Entry("f$i"))
+
+        val expected = (9 downTo 0).map { "f$it" } + (0 until 10).map { "b$it" }
+        assertEquals(expected, list.keys())
+        assertEquals(expected, expected.indices.map { list.items.value[it].barcodeData })
+        assertEquals(20, list.size)
+        assertTrue(list.chunkCount >= 20 / CHUNK, "chunks ${list.chunkCount}")
+    }
+
+    @Test
+    fun addingAnExistingKey_replacesAndMovesIt() {
+        val list = list()
+        list.replaceAll((0 until 10).map { Entry("k$it") })
+        list.addFirst(Entry("k7", quantity = 3))
+        list.addLast(Entry("k0", quantity = 1))
+
+        assertEquals(listOf("k7", "k1", "k2", "k3", "k4", "k5", "k6", "k8", "k9", "k0"), list.keys())
+        assertEquals(10, list.size)
+        assertEquals(3, list["k7"]?.quantity)
+        assertEquals(1, list["k0"]?.quantity)
+    }
+
+    @Test
+    fun removals_repackSparseChunks() {
+        val list = list()
+        list.replaceAll((0 until 400).map { Entry("k$it") })
+        assertEquals(400 / CHUNK, list.chunkCount)
+
+        // Leave one entry in every chunk, which would keep 100 chunks for 100 entries.
+        for (i in 0 until 400) if (i % CHUNK != 0) assertEquals(Entry("k$i"), list.remove("k$i"))
+
+        assertEquals((0 until 400 step CHUNK).map { "k$it" }, list.keys())
+        assertTrue(list.chunkCount <= 2 * (list.size / CHUNK) + 8, "chunks ${list.chunkCount}")
+        assertNull(list.remove("k1"))
+        for (i in 0 until 400 step CHUNK) assertEquals(Entry("k$i"), list["k$i"])
+    }
+
+    @Test
+    fun replaceAll_keepsTheLastValueOfARepeatedKeyAtItsLastPosition() {
+        val list = list()
+        list.addFirst(Entry("old"))
+        list.replaceAll(listOf(Entry("a", 1), Entry("b"), Entry("a", 2), Entry("c")))
+
+        assertEquals(listOf("b", "a", "c"), list.keys())
+        assertEquals(2, list["a"]?.quantity)
+        assertTrue("old" !in list)
+    }
+
+    @Test
+    fun publishedSnapshots_areNotChangedByLaterMutations() {
+        val list = list()
+        list.replaceAll((0 until 10).map { Entry("k$it") })
+        val snapshot = list.items.value
+        val copy = snapshot.toList()
+
+        list.addFirst(Entry("new"))
+        list.addLast(Entry("k3", quantity = 9))
+        list.remove("k5")
+        list.clear()
+
+        assertEquals(copy, snapshot)
+        assertEquals(copy, snapshot.indices.map { snapshot[it] })
+        assertEquals(emptyList<Entry>(), list.items.value)
+    }
+
+    @Test
+    fun batch_publishesOnce() {
+        val list = list()
+        list.addLast(Entry("a"))
+        val before = list.items.value
+        list.batch {
+            addFirst(Entry("b"))
+            remove("a")
+            addLast(Entry("c"))
+            assertSame(before, items.value)
+        }
+        assertEquals(listOf("b", "c"), list.keys())
+
+        // A batch without changes does not publish.
+        val after = list.items.value
+        list.batch { remove("missing") }
+        assertSame(after, list.items.value)
+    }
+
+    private companion object {
+        const val CHUNK = 4
+    }
+}
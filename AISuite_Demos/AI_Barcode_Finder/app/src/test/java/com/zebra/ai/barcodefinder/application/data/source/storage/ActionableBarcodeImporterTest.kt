@@ -0,0 +1,237 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+
+package com.zebra.ai.barcodefinder.application.data.source.storage
+
+import com.zebra.ai.barcodefinder.application.domain.enums.ActionType
+import com.zebra.ai.barcodefinder.application.domain.model.ActionableBarcode
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.io.IOException
+import java.io.Reader
+import java.io.StringReader
+
+/**
+ * Local unit tests for [ActionableBarcodeImporter]: parsing, validation, dedupe, and streaming
+ * throughput for a 100k-row file.
+ */
+class ActionableBarcodeImporterTest {
+
+    private fun import(
+        text: String,
+        format: ActionableBarcodeImporter.Format = ActionableBarcodeImporter.Format.CSV,
+        existing: Set<String> = emptySet(),
+        policy: ActionableBarcodeImporter.DuplicatePolicy = ActionableBarcodeImporter.DuplicatePolicy.SKIP
+    ): Pair<ActionableBarcodeImporter.Report, List<ActionableBarcode>> {
+        val imported = ArrayList<ActionableBarcode>()
+        val report = ActionableBarcodeImporter({ it in existing }, policy)
+            .import(StringReader(text), format) { imported += it }
+        return report to imported
+    }
+
+    @Test
+    fun csv_parsesQuotedFieldsAndActionNames() {
+        val (report, imported) = import(
+            "Barcode,Product Name,Action,Quantity\r\n" +
+                    "4006381333931,\"Pens, blue\",recall,\r\n" +
+                    "12345,\"Say \"\"hi\"\"\",TYPE_QUANTITY_PICKUP,3\r\n" +
+                    "ABC,\"Two\nlines\",confirm pickup,0\r\n"
+        )
+
+        assertEquals(3, report.rowsRead)
+        assertEquals(3, report.imported)
+        assertEquals(listOf("4006381333931", "12345", "ABC"), imported.map { it.barcodeData })
+        assertEquals("", imported[0].productName) // no product_name column: header is "Product Name"
+        assertEquals(ActionType.TYPE_RECALL, imported[0].actionType)
+        assertEquals(ActionType.TYPE_QUANTITY_PICKUP, imported[1].actionType)
+        assertEquals(3, imported[1].quantity)
+        assertEquals(ActionType.TYPE_CONFIRM_PICKUP, imported[2].actionType)
+    }
+
+    @Test
+    fun csv_readsProductColumnWithEmbeddedQuotesAndNewlines() {
+        val (_, imported) = import(
+            "\uFEFFbarcode,product,action\n" +
+                    "1,\"Say \"\"hi\"\"\",recall\n" +
+                    "2,\"Two\nlines\",recall\n"
+        )
+
+        assertEquals("Say \"hi\"", imported[0].productName)
+        assertEquals("Two\nlines", imported[1].productName)
+    }
+
+    @Test
+    fun validation_rejectsBadSymbologyQuantityAndAction() {
+        val (report, imported) = import(
+            "barcode,action,quantity,symbology\n" +
+                    "4006381333931,recall,,EAN-13\n" +     // valid check digit
+                    "4006381333932,recall,,EAN-13\n" +     // wrong check digit
+                    "036000291452,recall,,UPC-A\n" +       // valid
+                    "96385074,recall,,ean8\n" +            // valid
+                    "code-39 lower,recall,,Code39\n" +     // lower case not in Code 39
+                    "X1,quantity_pickup,0,\n" +            // quantity pickup needs a quantity
+                    "X2,quantity_pickup,-1,\n" +
+                    "X3,quantity_pickup,many,\n" +
+                    "X4,launch,1,\n" +
+                    "X5,recall,,Aztec-ish\n" +
+                    ",recall,,\n"
+        )
+
+        assertEquals(11, report.rowsRead)
+        assertEquals(listOf("4006381333931", "036000291452", "96385074"), imported.map { it.barcodeData })
+        assertEquals(8, report.rejected)
+        assertEquals(report.rejected, report.rejections.size)
+        assertEquals(2, report.rejections[0].row)
+        assertTrue(report.rejections[0].reason.contains("check digit"))
+        assertTrue(report.rejections.any { it.reason.startsWith("unknown action") })
+        assertTrue(report.rejections.any { it.reason.startsWith("unknown symbology") })
+    }
+
+    @Test
+    fun dedupe_skipsExistingAndRepeatedRows() {
+        val csv = "barcode,action\nA,recall\nB,recall\nA,no_action\nC,recall\n"
+
+        val (skip, skipped) = import(csv, existing = setOf("B"))
+        assertEquals(listOf("A", "C"), skipped.map { it.barcodeData })
+        assertEquals(1, skip.skippedExisting)
+        assertEquals(1, skip.duplicatesInFile)
+
+        val (replace, replaced) = import(
+            csv, existing = setOf("B"), policy = ActionableBarcodeImporter.DuplicatePolicy.REPLACE
+        )
+        assertEquals(listOf("A", "B", "C"), replaced.map { it.barcodeData })
+        assertEquals(1, replace.replaced)
+        assertEquals(ActionType.TYPE_RECALL, replaced[0].actionType) // first row for A wins
+    }
+
+    @Test
+    fun json_streamsArrayAndAcceptsStorageFieldNames() {
+        val (report, imported) = import(
+            """
+            [
+              {"barcodeData": "A1", "productName": "Milk", "actionType": "TYPE_RECALL", "extra": {"x": [1, 2]}},
+              {"barcode": "A2", "action": "quantity_pickup", "quantity": 4, "symbology": null},
+              {"barcode": "A3", "action": "recall", "quantity": 1.5}
+            ]
+            """.trimIndent(),
+            format = ActionableBarcodeImporter.Format.JSON
+        )
+
+        assertEquals(3, report.rowsRead)
+        assertEquals(listOf("A1", "A2"), imported.map { it.barcodeData })
+        assertEquals("Milk", imported[0].productName)
+        assertEquals(4, imported[1].quantity)
+        assertEquals(1, report.rejected)
+    }
+
+    @Test
+    fun json_firstAliasWinsAndLaterAliasesAreSkipped() {
+        val (report, imported) = import(
+            """
+            [
+              {"barcode": "B1", "barcodeData": "X1", "action": "recall", "actionType": "TYPE_CONFIRM_PICKUP",
+               "product": "Tea", "product_name": "Coffee", "quantity": 2, "quantityValue": 9},
+              {"barcode_data": null, "barcode": "B2", "barcodeData": "X2", "action": "confirm_pickup"}
+            ]
+            """.trimIndent(),
+            format = ActionableBarcodeImporter.Format.JSON
+        )
+
+        assertEquals(2, report.rowsRead)
+        assertEquals(listOf("B1", "B2"), imported.map { it.barcodeData })
+        assertEquals(ActionType.TYPE_RECALL, imported[0].actionType)
+        assertEquals("Tea", imported[0].productName)
+        assertEquals(2, imported[0].quantity)
+        assertEquals(ActionType.TYPE_CONFIRM_PICKUP, imported[1].actionType)
+    }
+
+    @Test
+    fun malformedInput_throws() {
+        assertThrows(IOException::class.java) { import("barcode,product\nA,B\n") }
+        assertThrows(IOException::class.java) { import("barcode,action\n\"A,recall\n") }
+        assertThrows(IOException::class.java) {
+            import("[{\"barcode\": \"A\", \"action\": \"recall\"}, {", ActionableBarcodeImporter.Format.JSON)
+        }
+    }
+
+    @Test
+    fun formatDetection() {
+        assertEquals(ActionableBarcodeImporter.Format.JSON, ActionableBarcodeImporter.Format.detect("application/json", null))
+        assertEquals(ActionableBarcodeImporter.Format.JSON, ActionableBarcodeImporter.Format.detect(null, "recall.JSON"))
+        assertEquals(ActionableBarcodeImporter.Format.CSV, ActionableBarcodeImporter.Format.detect("text/csv", "recall.csv"))
+    }
+
+    /**
+     * Generates a 100k-row CSV or JSON file on the fly, so the import is measured as a stream
+     * without the file ever existing in memory, and prints the throughput.
+     */
+    @Test
+    fun throughput_100kRows() {
+        for (format in ActionableBarcodeImporter.Format.entries) {
+            import(generatedFile(format, 2_000).readText(), format) // warm up
+            val imported = ArrayList<ActionableBarcode>(ROWS)
+            val report = ActionableBarcodeImporter({ false })
+                .import(generatedFile(format, ROWS), format) { imported += it }
+
+            assertEquals(ROWS, report.rowsRead)
+            assertEquals(ROWS, report.imported)
+            assertEquals(0, report.rejected)
+            println(
+                String.format(
+                    "%s: %d rows in %.1f ms, %.0f rows/s",
+                    format, report.rowsRead, report.elapsedNanos / 1e6, report.rowsPerSecond
+                )
+            )
+        }
+    }
+
+    /** A reader that produces rows as they are read; each row is a valid EAN-13 quantity pickup. */
+    private fun generatedFile(format: ActionableBarcodeImporter.Format, rows: Int): Reader = object : Reader() {
+        private var row = -1
+        private var pending = ""
+        private var offset = 0
+
+        private fun nextChunk(): Boolean {
+            if (row > rows) return false
+            pending = when {
+                row == -1 && format == ActionableBarcodeImporter.Format.CSV ->
+                    "barcode,product_name,action,quantity,symbology\n"
+                row == -1 -> "["
+                row == rows -> if (format == ActionableBarcodeImporter.Format.CSV) "" else "]"
+                format == ActionableBarcodeImporter.Format.CSV ->
+                    "${ean13(row)},Product $row,quantity_pickup,${1 + row % 9},EAN-13\n"
+                else -> (if (row > 0) "," else "") +
+                        "{\"barcode\":\"${ean13(row)}\",\"productName\":\"Product $row\"," +
+                        "\"action\":\"quantity_pickup\",\"quantity\":${1 + row % 9},\"symbology\":\"EAN-13\"}\n"
+            }
+            row++
+            offset = 0
+            return true
+        }
+
+        override fun read(buffer: CharArray, off: Int, len: Int): Int {
+            while (offset == pending.length) if (!nextChunk()) return -1
+            val count = minOf(len, pending.length - offset)
+            pending.toCharArray(buffer, off, offset, offset + count)
+            offset += count
+            return count
+        }
+
+        override fun close() {}
+    }
+
+    private fun ean13(n: Int): String {
+        val body = (400_000_000_000L + n).toString()
+        var sum = 0
+        for (i in body.indices) {
+            val digit = body[body.length - 1 - i] - '0'
+            sum += if (i % 2 == 0) digit * 3 else digit
+        }
+        return body + (10 - sum % 10) % 10
+    }
+
+    private companion object {
+        const val ROWS = 100_000
+    }
+}
@@ -0,0 +1,194 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+
+package com.zebra.ai.barcodefinder.application.data.source.storage
+
+import com.google.gson.Gson
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.io.RandomAccessFile
+import kotlin.random.Random
+
+/**
+ * Local unit tests for [JsonWalStorage]: randomized edit sequences, and crash recovery from
+ * simulated power loss at any byte of the log and at each step of a compaction.
+ */
+class JsonWalStorageTest {
+
+    @TempDir
+    lateinit var dir: File
+
+    private data class Item(val key: String, val value: Int, val note: String = "")
+
+    private class ItemStorage(private val file: File, minCompactionBytes: Long) :
+        JsonWalStorage<Item>(Gson(), Item::class.java, minCompactionBytes) {
+        override fun getFile(): File = file
+        override fun keyOf(item: Item): String = item.key
+    }
+
+    private fun storage(directory: File = dir, minCompactionBytes: Long = 4 * 1024L) =
+        ItemStorage(File(directory, "items.json"), minCompactionBytes)
+
+    @Test
+    fun randomEdits_reloadToLastSavedList() {
+        repeat(SEEDS) { seed ->
+            val directory = File(dir, "seed$seed").apply { mkdirs() }
+            val random = Random(seed)
+            val items = ArrayList<Item>()
+            val writer = storage(directory)
+            writer.loadItems()
+            var snapshotWrites = 0
+            var lastSnapshot = ""
+            repeat(200) { step ->
+                edit(items, random)
+                writer.saveItems(items)
+                val snapshot = File(directory, "items.json").readText()
+                if (snapshot != lastSnapshot) snapshotWrites++
+                lastSnapshot = snapshot
+                assertEquals(items, storage(directory).loadItems(), "seed $seed, step $step")
+            }
+            assertTrue(snapshotWrites in 1..100, "seed $seed: $snapshotWrites snapshot writes for 200 saves")
+        }
+    }
+
+    @Test
+    fun tornOrCorruptLog_recoversLastIntactSave() {
+        repeat(SEEDS) { seed ->
+            val directory = File(dir, "seed$seed").apply { mkdirs() }
+            val random = Random(seed)
+            val items = ArrayList<Item>()
+            val writer = storage(directory, minCompactionBytes = Long.MAX_VALUE)
+            writer.loadItems()
+            // Log length and list after each save; the log is never compacted here.
+            val history = ArrayList<Pair<Long, List<Item>>>()
+            repeat(60) {
+                edit(items, random)
+                writer.saveItems(items)
+                history += File(directory, "items.wal").length() to items.toList()
+            }
+            val walLength = history.last().first
+
+            repeat(40) { trial ->
+                val crashed = File(dir, "seed$seed-cut$trial")
+                copyFiles(directory, crashed)
+                val wal = File(crashed, "items.wal")
+                val corrupt = random.nextBoolean()
+                val offset = history.first().first + random.nextLong(walLength - history.first().first)
+                RandomAccessFile(wal, "rw").use { raf ->
+                    if (corrupt) {
+                        raf.seek(offset)
+                        val b = raf.read()
+                        raf.seek(offset)
+                        raf.write(b xor (1 + random.nextInt(255)))
+                    } else {
+                        raf.setLength(offset)
+                    }
+                }
+                val expected = history.last { it.first <= offset }.second
+                val recovered = storage(crashed, minCompactionBytes = Long.MAX_VALUE)
+                assertEquals(expected, recovered.loadItems(), "seed $seed, ${if (corrupt) "flip" else "cut"} at $offset")
+
+                // The damaged tail is gone, so later saves are readable again.
+                val next = expected + Item("after-crash", trial)
+                recovered.saveItems(next)
+                assertEquals(next, storage(crashed).loadItems(), "seed $seed, save after recovery")
+            }
+        }
+    }
+
+    @Test
+    fun crashDuringCompaction_neverReplaysOldLog() {
+        var compactions = 0
+        repeat(SEEDS) { seed ->
+            val directory = File(dir, "seed$seed").apply { mkdirs() }
+            val random = Random(seed)
+            val items = ArrayList<Item>()
+            val writer = storage(directory, minCompactionBytes = 0L)
+            writer.loadItems()
+            repeat(100) { step ->
+                val before = File(dir, "before").apply { deleteRecursively() }
+                copyFiles(directory, before)
+                val previous = items.toList()
+                edit(items, random)
+                writer.saveItems(items)
+                val snapshotChanged = File(before, "items.json").let {
+                    !it.exists() || it.readText() != File(directory, "items.json").readText()
+                }
+                if (!snapshotChanged) return@repeat
+                compactions++
+
+                // Crash while writing the new snapshot: old files plus a partial temporary file
+                val beforeRename = File(dir, "crash-a").apply { deleteRecursively() }
+                copyFiles(before, beforeRename)
+                File(beforeRename, "items.json.tmp").writeText("{\"generation\": 9, \"items\": [{\"ke")
+                assertEquals(previous, storage(beforeRename).loadItems(), "seed $seed, step $step")
+
+                // Crash after the snapshot was renamed, before the new log was
+                val afterRename = File(dir, "crash-b").apply { deleteRecursively() }
+                copyFiles(directory, afterRename)
+                File(before, "items.wal").takeIf { it.exists() }?.copyTo(File(afterRename, "items.wal"), overwrite = true)
+                File(afterRename, "items.wal.tmp").writeBytes(ByteArray(5))
+                assertEquals(items, storage(afterRename).loadItems(), "seed $seed, step $step")
+            }
+        }
+        assertTrue(compactions > SEEDS, "only $compactions compactions")
+    }
+
+    @Test
+    fun plainJsonArray_isLoadedAndUpgraded() {
+        val items = List(5) { Item("K$it", it) }
+        File(dir, "items.json").writeText(Gson().toJson(items))
+
+        val storage = storage()
+        assertEquals(items, storage.loadItems())
+        val edited = items.drop(1) + Item("K9", 9)
+        storage.saveItems(edited)
+
+        assertEquals(edited, storage().loadItems())
+        assertTrue(File(dir, "items.json").readText().startsWith("{\"generation\":"))
+    }
+
+    @Test
+    fun unreadableFile_loadsEmptyAndIsReplacedOnSave() {
+        File(dir, "items.json").writeText("[{\"key\": \"K1\", \"val")
+
+        val storage = storage()
+        assertEquals(emptyList<Item>(), storage.loadItems())
+        storage.saveItems(listOf(Item("K2", 2)))
+
+        assertEquals(listOf(Item("K2", 2)), storage().loadItems())
+    }
+
+    /** Applies one random edit of the kinds the app makes, on a small key space so keys recur. */
+    private fun edit(items: MutableList<Item>, random: Random) {
+        fun newItem() = Item("K${random.nextInt(400)}", random.nextInt(1000), "n".repeat(random.nextInt(20)))
+        fun put(item: Item, atFront: Boolean) {
+            items.removeAll { it.key == item.key }
+            if (atFront) items.add(0, item) else items.add(item)
+        }
+        when (random.nextInt(10)) {
+            0, 1 -> put(newItem(), atFront = true)
+            2, 3 -> put(newItem(), atFront = false)
+            4 -> if (items.isNotEmpty()) {
+                val i = random.nextInt(items.size)
+                items[i] = items[i].copy(value = items[i].value + 1)
+            }
+            5 -> if (items.isNotEmpty()) items.removeAt(random.nextInt(items.size))
+            6 -> repeat(1 + random.nextInt(40)) { put(newItem(), atFront = false) }
+            7 -> if (items.isNotEmpty()) put(items[random.nextInt(items.size)], atFront = true)
+            8 -> if (random.nextInt(10) == 0) items.clear() else items.shuffle(random)
+            else -> Unit
+        }
+    }
+
+    private fun copyFiles(from: File, to: File) {
+        to.mkdirs()
+        from.listFiles()?.filter { it.isFile }?.forEach { it.copyTo(File(to, it.name), overwrite = true) }
+    }
+
+    private companion object {
+        const val SEEDS = 20
+    }
+}
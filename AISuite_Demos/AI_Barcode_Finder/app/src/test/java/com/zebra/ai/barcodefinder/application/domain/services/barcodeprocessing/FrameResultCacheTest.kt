@@ -0,0 +1,82 @@
+package com.zebra.ai.barcodefinder.application.domain.services.barcodeprocessing
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Test
+
+/**
+ * Local unit tests for [FrameResultCache]: reuse within unchanged state, invalidation when a
+ * state snapshot is replaced, and eviction of keys missing from a frame.
+ */
+class FrameResultCacheTest {
+
+    private val cache = FrameResultCache<String, Any>()
+    private var created = 0
+
+    private fun get(key: String): Any = cache.getOrPut(key) { created++; Any() }
+
+    @Test
+    fun sameState_reusesThePreviousFramesResults() {
+        val tracking = mapOf("a" to 1)
+        val settings = Any()
+        cache.beginFrame(tracking, settings)
+        val a = get("a")
+        val b = get("b")
+
+        cache.beginFrame(tracking, settings)
+        assertSame(a, get("a"))
+        assertSame(b, get("b"))
+        assertEquals(2, created)
+        assertEquals(2L, cache.hits)
+        assertEquals(2L, cache.misses)
+    }
+
+    @Test
+    fun replacedState_missesEveryKey() {
+        val settings = Any()
+        cache.beginFrame(mapOf("a" to 1), settings)
+        val a = get("a")
+
+        // Equal content, but a new snapshot: state is compared by identity.
+        val tracking = mapOf("a" to 1)
+        cache.beginFrame(tracking, settings)
+        val b = get("a")
+        assertNotSame(a, b)
+
+        // Same tracking snapshot, new settings.
+        cache.beginFrame(tracking, Any())
+        assertNotSame(b, get("a"))
+        assertEquals(0L, cache.hits)
+        assertEquals(3L, cache.misses)
+    }
+
+    @Test
+    fun keysMissingFromAFrame_areEvicted() {
+        val state = Any()
+        cache.beginFrame(state)
+        val a = get("a")
+        get("b")
+
+        cache.beginFrame(state)
+        get("b") // "a" left the view in this frame
+
+        cache.beginFrame(state)
+        assertNotSame(a, get("a"))
+        get("b")
+        assertEquals(2L, cache.hits)
+        assertEquals(3L, cache.misses)
+    }
+
+    @Test
+    fun clear_forgetsResultsEvenForTheSameState() {
+        val state = Any()
+        cache.beginFrame(state)
+        val a = get("a")
+        cache.clear()
+
+        cache.beginFrame(state)
+        assertNotSame(a, get("a"))
+        assertEquals(0L, cache.hits)
+    }
+}
@@ -0,0 +1,152 @@
+package com.zebra.ai.barcodefinder.application.domain.services.barcodeprocessing.processors
+
+import com.zebra.ai.barcodefinder.application.data.source.repository.IndexedBarcodeList
+import com.zebra.ai.barcodefinder.application.domain.enums.ActionState
+import com.zebra.ai.barcodefinder.application.domain.enums.ActionType
+import com.zebra.ai.barcodefinder.application.domain.model.ActionableBarcode
+import com.zebra.ai.barcodefinder.application.domain.model.ScanResult
+import com.zebra.ai.barcodefinder.application.domain.services.barcodeprocessing.FrameResultCache
+import java.util.Locale
+
+/**
+ * Benchmark of FinderBarcodeProcessor's per-frame cost with and without frame-level caching,
+ * for [tracked] codes in view against a configured list of [listSize] entries.
+ *
+ * Each frame does what the processor does: look up every tracked code in the applied
+ * configuration, check whether its action is completed, build its overlay item, and build the
+ * scan results from the completed list (with the processor's own conversion). Overlay items are
+ * stand-ins holding a copy of the bounds, as RectF needs the Android runtime.
+ *
+ * Scenario, per frame:
+ * - [moving] of the tracked codes move by a pixel (new bounding box, so no reuse).
+ * - Every [framesPerCompletion] frames an action is completed, which bumps the completed version
+ *   and so invalidates every cached result and the scan results.
+ *
+ * Usage:
+ * - Not a unit test; run main() from the IDE, or call println(FinderFrameCacheBenchmark.run()).
+ */
+object FinderFrameCacheBenchmark {
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        print(run())
+    }
+
+    private class OverlayStandIn(val bounds: FloatArray, val barcode: ActionableBarcode, val text: String)
+
+    private class Frame(val values: Array<String>, val boxes: Array<IntArray>)
+
+    private data class Key(val value: String, val left: Int, val top: Int, val right: Int, val bottom: Int)
+
+    private class Result(val overlay: OverlayStandIn, val isActionable: Boolean)
+
+    fun run(
+        listSize: Int = 10_000,
+        completed: Int = 2_000,
+        tracked: Int = 50,
+        moving: Int = 10,
+        framesPerCompletion: Int = 30,
+        frames: Int = 10_000
+    ): String {
+        val uncached = measure(listSize, completed, tracked, moving, framesPerCompletion, frames, cached = false)
+        val cached = measure(listSize, completed, tracked, moving, framesPerCompletion, frames, cached = true)
+        return String.format(
+            Locale.US,
+            "%d tracked codes, %d-entry list, %d completed, %d moving/frame, completion every %d frames%n" +
+                    "%-10s %10.1f µs/frame%n%-10s %10.1f µs/frame (%.0fx)%n",
+            tracked, listSize, completed, moving, framesPerCompletion,
+            "uncached", uncached, "cached", cached, uncached / cached
+        )
+    }
+
+    private fun measure(
+        listSize: Int,
+        completedCount: Int,
+        tracked: Int,
+        moving: Int,
+        framesPerCompletion: Int,
+        frames: Int,
+        cached: Boolean
+    ): Double {
+        val actionTypes = arrayOf(ActionType.TYPE_RECALL, ActionType.TYPE_CONFIRM_PICKUP, ActionType.TYPE_QUANTITY_PICKUP)
+        val tracking: Map<String, ActionableBarcode> = (0 until listSize).associate { i ->
+            barcodeFor(i) to ActionableBarcode(
+                barcodeData = barcodeFor(i),
+                productName = "Product $i",
+                actionType = actionTypes[i % actionTypes.size],
+                actionState = ActionState.STATE_ACTION_NOT_COMPLETED,
+                quantityValue = 1 + i % 5
+            )
+        }
+        val completedList = IndexedBarcodeList<ActionableBarcode>({ it.barcodeData })
+        completedList.replaceAll((0 until completedCount).map { tracking.getValue(barcodeFor(listSize - 1 - it)) })
+        val settings = Any()
+
+        val values = Array(tracked) { barcodeFor(it * (listSize / tracked)) }
+        val boxes = Array(tracked) { intArrayOf(it * 20, 100, it * 20 + 80, 140) }
+        val cache = FrameResultCache<Key, Result>()
+        var completedVersion = 0L
+        var scanVersion = -1L
+        var scanResults: List<ScanResult> = emptyList()
+
+        fun process(frame: Frame) {
+            val version = completedVersion
+            val completed = completedList.items.value
+            if (cached && version != scanVersion) cache.clear()
+            if (cached) cache.beginFrame(tracking, settings)
+            var drawn = 0
+            var actionable = 0
+            for (i in frame.values.indices) {
+                val value = frame.values[i]
+                val box = frame.boxes[i]
+                val create = {
+                    val barcode = tracking[value]!!
+                    Result(
+                        OverlayStandIn(
+                            floatArrayOf(box[0].toFloat(), box[1].toFloat(), box[2].toFloat(), box[3].toFloat()),
+                            barcode,
+                            if (barcode.actionType == ActionType.TYPE_QUANTITY_PICKUP) barcode.quantity.toString() else ""
+                        ),
+                        barcode.actionType != ActionType.TYPE_NO_ACTION && value !in completedList
+                    )
+                }
+                val result = if (cached) cache.getOrPut(Key(value, box[0], box[1], box[2], box[3]), create) else create()
+                drawn += result.overlay.text.length
+                if (result.isActionable) actionable++
+            }
+            if (!cached || version != scanVersion) {
+                scanResults = completed.map { FinderBarcodeProcessor.convertToScanResult(it) }
+                scanVersion = version
+            }
+            sink += drawn + actionable + scanResults.size
+        }
+
+        // Warm up, then time the same scenario
+        var nextCompletion = completedCount
+        var micros = Double.NaN
+        repeat(2) {
+            val start = System.nanoTime()
+            for (f in 0 until frames) {
+                for (m in 0 until moving) {
+                    val box = boxes[(f * moving + m) % tracked]
+                    val dx = if (f % 2 == 0) 1 else -1
+                    box[0] += dx
+                    box[2] += dx
+                }
+                if (f % framesPerCompletion == framesPerCompletion - 1) {
+                    completedList.addFirst(tracking.getValue(barcodeFor(nextCompletion++ % listSize)))
+                    completedVersion++
+                }
+                process(Frame(values, Array(tracked) { boxes[it].copyOf() }))
+            }
+            micros = (System.nanoTime() - start) / 1_000.0 / frames
+        }
+        return micros
+    }
+
+    private fun barcodeFor(i: Int) = "0${9_000_000_000_000L + i * 7L}"
+
+    /** Keeps results observable so the timed loops are not optimised away. */
+    @Volatile
+    private var sink = 0L
+}
@@ -0,0 +1,104 @@
+package com.zebra.ai.barcodefinder.application.domain.services.feedback
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+/**
+ * Local unit tests for [BarcodeDedupeWindow] policies, driven by a synthetic clock.
+ */
+class BarcodeDedupeWindowTest {
+
+    private var now = 0L
+
+    private fun window(policy: DedupePolicy) = BarcodeDedupeWindow<String>(policy) { now }
+
+    private fun BarcodeDedupeWindow<String>.isNew(value: String) = offer(value) { it } != null
+
+    @Test
+    fun lru_forgetsLeastRecentlySeenWhenFull() {
+        val window = window(DedupePolicy.Lru(maxEntries = 3))
+        assertTrue(window.isNew("A"))
+        assertTrue(window.isNew("B"))
+        assertTrue(window.isNew("C"))
+        assertEquals(false, window.isNew("A")) // A is now the most recently seen
+        assertTrue(window.isNew("D"))          // evicts B
+
+        assertEquals(listOf("C", "A", "D"), window.values())
+        assertTrue(window.isNew("B"))
+        assertEquals(BarcodeDedupeWindow.Stats(3, 1, 5, 2, 0), window.stats())
+    }
+
+    @Test
+    fun timeToLive_realertsAfterTtlEvenWhileInView() {
+        val window = window(DedupePolicy.TimeToLive(ttlMillis = 1_000))
+        assertTrue(window.isNew("A"))
+        now = 600
+        assertTrue(window.isNew("B"))
+        now = 999
+        assertEquals(false, window.isNew("A"))
+        now = 1_000
+        assertTrue(window.isNew("A"))          // expired although seen at 999
+        assertEquals(listOf("B", "A"), window.values())
+        now = 1_600
+        assertEquals(listOf("A"), window.values())
+        assertEquals(2L, window.stats().expired)
+    }
+
+    @Test
+    fun slidingWindow_suppressesWhileInViewAndRealertsAfterAbsence() {
+        val window = window(DedupePolicy.SlidingWindow(windowMillis = 500))
+        assertTrue(window.isNew("A"))
+        for (t in 100L..2_000L step 100) {
+            now = t
+            assertEquals(false, window.isNew("A"), "A stays in view at $t")
+        }
+        assertTrue(window.isNew("B"))
+        now = 2_499
+        assertEquals(false, window.isNew("B"))
+        now = 2_600                            // A last seen at 2000
+        assertTrue(window.isNew("A"))
+        assertEquals(1L, window.stats().expired)
+    }
+
+    @Test
+    fun boundedOverLongSession() {
+        val window = window(DedupePolicy.SlidingWindow(windowMillis = 60_000, maxEntries = 1_000))
+        // Eight hours of 30 distinct codes per second
+        var alerts = 0
+        for (second in 0 until 8 * 3_600) {
+            now = second * 1_000L
+            for (i in 0 until 30) if (window.isNew("code-${(second * 30 + i) % 200_000}")) alerts++
+        }
+        val stats = window.stats()
+        assertTrue(stats.size <= 1_000, "size ${stats.size}")
+        assertEquals(stats.newValues, alerts.toLong())
+        assertEquals(stats.newValues - stats.size, stats.evictedBySize + stats.expired)
+    }
+
+    @Test
+    fun setPolicy_keepsEntriesTheNewPolicyAllows() {
+        val window = window(DedupePolicy.Lru())
+        window.isNew("A")
+        now = 5_000
+        window.isNew("B")
+        now = 6_000
+        window.setPolicy(DedupePolicy.TimeToLive(ttlMillis = 2_000))
+
+        assertEquals(listOf("B"), window.values())
+        assertEquals(false, window.isNew("B"))
+        window.setPolicy(DedupePolicy.Lru(maxEntries = 0))
+        assertEquals(emptyList<String>(), window.values())
+    }
+
+    @Test
+    fun clear_forgetsValuesAndCounters() {
+        val window = window(DedupePolicy.Lru())
+        window.isNew("A")
+        window.isNew("A")
+        window.clear()
+
+        assertEquals(BarcodeDedupeWindow.Stats(0, 0, 0, 0, 0), window.stats())
+        assertTrue(window.isNew("A"))
+    }
+}
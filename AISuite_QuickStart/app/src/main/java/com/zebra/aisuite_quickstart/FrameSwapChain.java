@@ -0,0 +1,153 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Triple-buffered item lists shared between producer threads and a single render thread.
+ *
+ * Producers edit a staged list and publish it by copying it into their back buffer, marking
+ * it fresh and exchanging it with the "latest" slot. The render thread exchanges its front
+ * buffer, marked not fresh, with the latest slot when that holds a fresh buffer. Freshness
+ * travels with the buffer, so the render thread can never take back a frame it has already
+ * shown. Each of the three buffers is owned by exactly one side at a time, so the render thread
+ * never takes a lock.
+ *
+ * Items are reference counted across the staged list and the three buffers. Once an item is in
+ * none of them — the render thread can no longer be drawing it — the {@link Recycler} is called
+ * so the item can go back to a pool. Steady-state publishing allocates nothing.
+ */
+public final class FrameSwapChain<T> {
+
+    /** Receives items that are no longer referenced by any frame. */
+    public interface Recycler<T> {
+        void recycle(T item);
+    }
+
+    /** One of the three buffers, with whether it holds a frame the render thread has not taken. */
+    private static final class Slot<T> {
+        final ArrayList<T> items = new ArrayList<>();
+        volatile boolean fresh;
+    }
+
+    private final Object producerLock = new Object();
+    private final Recycler<T> recycler;
+    private final Runnable    afterExchange;
+
+    // Producer side, guarded by producerLock.
+    private final ArrayList<T>             staged = new ArrayList<>();
+    private final IdentityHashMap<T, Integer> refs = new IdentityHashMap<>();
+    private Slot<T>      back = new Slot<>();
+    private boolean      batching;
+
+    // Shared slot and consumer side.
+    private final AtomicReference<Slot<T>> latest = new AtomicReference<>(new Slot<>());
+    private Slot<T> front = new Slot<>();
+
+    public FrameSwapChain(Recycler<T> recycler) {
+        this(recycler, () -> { });
+    }
+
+    /** Runs afterExchange right after a producer's exchange, so tests can interleave the two sides. */
+    FrameSwapChain(Recycler<T> recycler, Runnable afterExchange) {
+        this.recycler      = recycler;
+        this.afterExchange = afterExchange;
+    }
+
+    /** Appends an item; it becomes visible immediately unless a frame is being built. */
+    public void add(T item) {
+        synchronized (producerLock) {
+            staged.add(item);
+            retain(item);
+            if (!batching) publish();
+        }
+    }
+
+    /** Removes all items; takes effect immediately unless a frame is being built. */
+    public void clear() {
+        synchronized (producerLock) {
+            releaseAll(staged);
+            if (!batching) publish();
+        }
+    }
+
+    /**
+     * Starts a new frame: the previous contents are dropped and subsequent add() calls are
+     * collected until {@link #endFrame()} publishes them in one swap.
+     */
+    public void beginFrame() {
+        synchronized (producerLock) {
+            releaseAll(staged);
+            batching = true;
+        }
+    }
+
+    /** Publishes the frame started by {@link #beginFrame()}. */
+    public void endFrame() {
+        synchronized (producerLock) {
+            batching = false;
+            publish();
+        }
+    }
+
+    /** Whether something was published since the render thread last called {@link #acquireFront()}. */
+    public boolean hasPendingFrame() {
+        return latest.get().fresh;
+    }
+
+    /**
+     * Render thread only. Returns the most recently published list; it stays valid and
+     * unchanged until the next call.
+     */
+    public List<T> acquireFront() {
+        front.fresh = false;
+        Slot<T> candidate;
+        // The exchange only fails if a producer published in between; try again with that frame.
+        while ((candidate = latest.get()).fresh) {
+            if (latest.compareAndSet(candidate, front)) {
+                front = candidate;
+                break;
+            }
+        }
+        return front.items;
+    }
+
+    // Caller holds producerLock.
+    private void publish() {
+        for (int i = 0, n = staged.size(); i < n; i++) {
+            T item = staged.get(i);
+            back.items.add(item);
+            retain(item);
+        }
+        back.fresh = true;
+        back = latest.getAndSet(back);
+        afterExchange.run();
+        // The buffer handed back is either a frame the renderer skipped or the one it has just
+        // swapped away from; nobody else can reach it, so release its items straight away.
+        releaseAll(back.items);
+    }
+
+    private void retain(T item) {
+        Integer count = refs.get(item);
+        refs.put(item, count == null ? 1 : count + 1);
+    }
+
+    // Clears the list and recycles items that are no longer referenced anywhere.
+    private void releaseAll(ArrayList<T> list) {
+        for (int i = 0, n = list.size(); i < n; i++) {
+            T item = list.get(i);
+            Integer count = refs.get(item);
+            if (count == null) continue;
+            if (count > 1) {
+                refs.put(item, count - 1);
+            } else {
+                refs.remove(item);
+                recycler.recycle(item);
+            }
+        }
+        list.clear();
+    }
+}
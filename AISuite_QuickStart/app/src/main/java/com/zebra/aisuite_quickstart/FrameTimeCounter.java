@@ -0,0 +1,88 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart;
+
+import java.util.Locale;
+
+/**
+ * Rolling frame-time statistics for an overlay's onDraw().
+ *
+ * Records how long each draw took and when it started, over the last windowSize frames, and
+ * reports the draw rate, mean and worst draw time, and how many frames blew the 60 fps budget.
+ * The fps figure is the overlay's redraw rate, which follows the detector result rate.
+ */
+public final class FrameTimeCounter {
+
+    /** Frame budget at 60 fps. */
+    public static final long FRAME_BUDGET_NANOS = 1_000_000_000L / 60;
+
+    private final long[] starts;
+    private final long[] durations;
+    private int  next;
+    private int  size;
+    private long totalFrames;
+
+    public FrameTimeCounter(int windowSize) {
+        starts    = new long[windowSize];
+        durations = new long[windowSize];
+    }
+
+    /**
+     * @param startNanos System.nanoTime() when the draw began
+     * @param drawNanos  how long the draw took
+     */
+    public synchronized void record(long startNanos, long drawNanos) {
+        starts[next]    = startNanos;
+        durations[next] = drawNanos;
+        next = (next + 1) % starts.length;
+        if (size < starts.length) size++;
+        totalFrames++;
+    }
+
+    /** Frames recorded since creation or the last reset(). */
+    public synchronized long getTotalFrames() {
+        return totalFrames;
+    }
+
+    /** Draws per second over the window; 0 until two frames have been recorded. */
+    public synchronized float getFps() {
+        if (size < 2) return 0f;
+        long oldest = starts[(next - size + starts.length) % starts.length];
+        long newest = starts[(next - 1 + starts.length) % starts.length];
+        long span   = newest - oldest;
+        return span <= 0 ? 0f : (size - 1) * 1e9f / span;
+    }
+
+    public synchronized float getAverageDrawMillis() {
+        if (size == 0) return 0f;
+        long sum = 0;
+        for (int i = 0; i < size; i++) sum += durations[i];
+        return sum / (size * 1e6f);
+    }
+
+    public synchronized float getMaxDrawMillis() {
+        long max = 0;
+        for (int i = 0; i < size; i++) max = Math.max(max, durations[i]);
+        return max / 1e6f;
+    }
+
+    /** Frames in the window whose draw took longer than {@link #FRAME_BUDGET_NANOS}. */
+    public synchronized int getFramesOverBudget() {
+        int over = 0;
+        for (int i = 0; i < size; i++) {
+            if (durations[i] > FRAME_BUDGET_NANOS) over++;
+        }
+        return over;
+    }
+
+    public synchronized void reset() {
+        next = 0;
+        size = 0;
+        totalFrames = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US, "fps=%.1f drawAvg=%.2fms drawMax=%.2fms overBudget=%d/%d",
+                getFps(), getAverageDrawMillis(), getMaxDrawMillis(), getFramesOverBudget(), size);
+    }
+}
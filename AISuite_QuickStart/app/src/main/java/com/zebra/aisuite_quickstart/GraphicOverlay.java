@@ -3,13 +3,20 @@ package com.zebra.aisuite_quickstart;
 
 import android.content.Context;
 import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
 import android.util.AttributeSet;
+import android.util.Log;
 import android.view.View;
 
 import androidx.annotation.NonNull;
 
-import java.util.ArrayList;
+import com.zebra.aisuite_quickstart.metrics.PipelineMetrics;
+import com.zebra.aisuite_quickstart.metrics.PipelineStage;
+
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * The GraphicOverlay class is a custom view designed to manage and render graphical elements
@@ -24,21 +31,40 @@ import java.util.List;
  * - Instantiate the GraphicOverlay as part of your view hierarchy in XML or programmatically.
  * - Use add() to add Graphic objects to be rendered.
  * - Use clear() to remove all graphics from the overlay.
+ * - Or, per frame, call beginFrame(), add() the frame's graphics and endFrame() to replace the
+ *   whole set in one swap.
  * - Override the Graphic.draw() method to define custom drawing behavior for each graphic.
+ * - Use a GraphicPool to reuse graphic objects; they return to the pool once no published frame
+ *   references them.
 
  * Dependencies:
  * - Android View: Provides the base functionality for custom views.
  * - Canvas: Used for drawing operations.
 
  * Thread Safety:
- * - Uses synchronization to ensure thread-safe access to the list of graphics.
+ * - Graphics are kept in a triple-buffered FrameSwapChain. add()/clear() may be called from any
+ *   thread; onDraw() only swaps buffers and never waits for a producer.
+ * - getFrameTimeCounter() reports onDraw() timings over the last few seconds; each draw is also
+ *   recorded as the RENDER stage of PipelineMetrics.
+ * - setMetricsVisible(true) draws the PipelineMetrics per-stage percentiles over the graphics, as
+ *   a debug overlay.
 
  * Note: Ensure that the appropriate permissions and dependencies are configured
  * in the AndroidManifest and build files to utilize camera and image processing capabilities.
  */
 public class GraphicOverlay extends View {
-    private final Object lock = new Object();
-    private final List<Graphic> graphics = new ArrayList<>();
+    private static final String TAG = "GraphicOverlay";
+    private static final int FRAME_WINDOW = 120;
+    private static final long METRICS_REFRESH_NANOS = 500_000_000L;
+    private static final float METRICS_TEXT_SIZE = 28f;
+
+    private final FrameSwapChain<Graphic> graphics = new FrameSwapChain<>(Graphic::recycle);
+    private final FrameTimeCounter frameTimes = new FrameTimeCounter(FRAME_WINDOW);
+    private final PipelineMetrics metrics = PipelineMetrics.getInstance();
+    private Paint metricsPaint;
+    private String[] metricsLines = new String[0];
+    private long metricsUpdatedNanos;
+    private volatile boolean metricsVisible;
 
     public GraphicOverlay(Context context, AttributeSet attrs) {
         super(context, attrs);
@@ -50,9 +76,7 @@ public class GraphicOverlay extends View {
      * @param graphic The graphic object to be added.
      */
     public void add(Graphic graphic) {
-        synchronized (lock) {
-            graphics.add(graphic);
-        }
+        graphics.add(graphic);
         postInvalidate();
     }
 
@@ -60,19 +84,109 @@ public class GraphicOverlay extends View {
      * Removes all graphics from the overlay.
      */
     public void clear() {
-        synchronized (lock) {
-            graphics.clear();
-        }
+        graphics.clear();
+        postInvalidate();
+    }
+
+    /**
+     * Starts a new frame. The current graphics stay on screen until endFrame() replaces them
+     * with everything added in between.
+     */
+    public void beginFrame() {
+        graphics.beginFrame();
+    }
+
+    /**
+     * Publishes the graphics added since beginFrame() in one atomic swap.
+     */
+    public void endFrame() {
+        graphics.endFrame();
+        postInvalidate();
+    }
+
+    /**
+     * Draw timings of this overlay, for checking that rendering stays within the frame budget.
+     */
+    public FrameTimeCounter getFrameTimeCounter() {
+        return frameTimes;
+    }
+
+    /**
+     * Shows or hides the per-stage pipeline timings (p50/p95 in ms) in the top-left corner.
+     */
+    public void setMetricsVisible(boolean visible) {
+        metricsVisible = visible;
         postInvalidate();
     }
 
     @Override
     protected void onDraw(@NonNull Canvas canvas) {
         super.onDraw(canvas);
-        synchronized (lock) {
-            for (Graphic graphic : graphics) {
-                graphic.draw(canvas);
+        long start = System.nanoTime();
+        List<Graphic> frame = graphics.acquireFront();
+        for (int i = 0, n = frame.size(); i < n; i++) {
+            frame.get(i).draw(canvas);
+        }
+        long drawNanos = System.nanoTime() - start;
+        frameTimes.record(start, drawNanos);
+        metrics.record(PipelineMetrics.OVERLAY, PipelineStage.RENDER, drawNanos);
+        if (frameTimes.getTotalFrames() % FRAME_WINDOW == 0) {
+            Log.d(TAG, "Overlay frame times: " + frameTimes);
+        }
+        if (metricsVisible) drawMetrics(canvas, start);
+    }
+
+    // The text is rebuilt at most twice a second; snapshotting every histogram per draw is wasteful.
+    private void drawMetrics(Canvas canvas, long now) {
+        if (metricsPaint == null) {
+            metricsPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            metricsPaint.setColor(Color.YELLOW);
+            metricsPaint.setTextSize(METRICS_TEXT_SIZE);
+            metricsPaint.setShadowLayer(2f, 1f, 1f, Color.BLACK);
+        }
+        if (now - metricsUpdatedNanos >= METRICS_REFRESH_NANOS) {
+            String text = metrics.toOverlayText();
+            metricsLines = text.isEmpty() ? new String[0] : text.split("\n");
+            metricsUpdatedNanos = now;
+            // Keep refreshing while nothing else invalidates the view
+            postInvalidateDelayed(METRICS_REFRESH_NANOS / 1_000_000L);
+        }
+        float y = METRICS_TEXT_SIZE;
+        for (String line : metricsLines) {
+            canvas.drawText(line, METRICS_TEXT_SIZE / 2, y, metricsPaint);
+            y += METRICS_TEXT_SIZE * 1.2f;
+        }
+    }
+
+    /**
+     * Reuses graphic objects across frames. obtain() hands out a recycled instance when one is
+     * free; instances come back automatically once no published frame references them.
+     *
+     * @param <T> the pooled graphic type
+     */
+    public static final class GraphicPool<T extends Graphic> {
+        private final ArrayDeque<T> free = new ArrayDeque<>();
+        private final Supplier<T> factory;
+
+        public GraphicPool(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * Returns a recycled graphic, or a new one if none is free.
+         */
+        public synchronized T obtain() {
+            T graphic = free.poll();
+            if (graphic == null) {
+                graphic = factory.get();
+                graphic.pool = this;
             }
+            return graphic;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized void release(Graphic graphic) {
+            free.push((T) graphic);
         }
     }
 
@@ -82,6 +196,7 @@ public class GraphicOverlay extends View {
      */
     public abstract static class Graphic {
         private final GraphicOverlay overlay;
+        private GraphicPool<?> pool;
 
         public Graphic(GraphicOverlay overlay) {
             this.overlay = overlay;
@@ -100,6 +215,18 @@ public class GraphicOverlay extends View {
         protected void postInvalidate() {
             overlay.postInvalidate();
         }
+
+        /**
+         * Called once the graphic is no longer part of any frame, before it returns to its pool.
+         * Pooled graphics reset their per-frame state here.
+         */
+        protected void onRecycled() {
+        }
+
+        private void recycle() {
+            onRecycled();
+            if (pool != null) pool.release(this);
+        }
     }
 }
 
@@ -37,6 +37,7 @@ import com.zebra.ai.vision.entity.Entity;
 import com.zebra.ai.vision.entity.LocalizerEntity;
 import com.zebra.ai.vision.entity.ParagraphEntity;
 import com.zebra.ai.vision.viewfinder.EntityViewController;
+import com.zebra.aisuite_quickstart.BuildConfig;
 import com.zebra.aisuite_quickstart.CameraXViewModel;
 import com.zebra.aisuite_quickstart.R;
 import com.zebra.aisuite_quickstart.databinding.ActivityCameraXlivePreviewBinding;
@@ -63,8 +64,11 @@ import com.zebra.aisuite_quickstart.java.lowlevel.simpleocrsample.OCRAnalyzer;
 import com.zebra.aisuite_quickstart.java.lowlevel.simpleocrsample.OCRSample;
 import com.zebra.aisuite_quickstart.java.viewfinder.EntityBarcodeTracker;
 import com.zebra.aisuite_quickstart.java.viewfinder.EntityViewGraphic;
+import com.zebra.aisuite_quickstart.metrics.PipelineMetrics;
 import com.zebra.aisuite_quickstart.utils.CommonUtils;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -165,6 +169,8 @@ public class CameraXLivePreviewActivity extends AppCompatActivity implements Bar
 
         binding = ActivityCameraXlivePreviewBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
+        // Per-stage pipeline timings as a debug overlay
+        binding.graphicOverlay.setMetricsVisible(BuildConfig.DEBUG);
         executors = Executors.newSingleThreadExecutor();
         ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.camx_main), (v, insets) -> {
             Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
@@ -469,27 +475,10 @@ public class CameraXLivePreviewActivity extends AppCompatActivity implements Bar
     // Handles entity tracking results and updates the graphical overlay
     @Override
     public synchronized void handleEntities(EntityTrackerAnalyzer.Result result) {
-        List<? extends Entity> barcodeEntities;
-        List<? extends Entity> ocrEntities;
-        List<? extends Entity> moduleEntities;
-
-        if (tracker.getBarcodeDecoder() != null) {
-            barcodeEntities = result.getValue(tracker.getBarcodeDecoder());
-        } else {
-            barcodeEntities = null;
-        }
-
-        if (tracker.getTextOCR() != null) {
-            ocrEntities = result.getValue(tracker.getTextOCR());
-        } else {
-            ocrEntities = null;
-        }
-
-        if (tracker.getModuleRecognizer() != null) {
-            moduleEntities = result.getValue(tracker.getModuleRecognizer());
-        } else {
-            moduleEntities = null;
-        }
+        // Slower detectors do not run on every frame; the tracker fills in their last results.
+        List<? extends Entity> barcodeEntities = tracker.getBarcodeEntities(result);
+        List<? extends Entity> ocrEntities = tracker.getOcrEntities(result);
+        List<? extends Entity> moduleEntities = tracker.getModuleEntities(result);
         detectionHandler.handleEntityTrackerDetection(barcodeEntities, ocrEntities, moduleEntities);
 
     }
@@ -678,7 +667,8 @@ public class CameraXLivePreviewActivity extends AppCompatActivity implements Bar
                     Log.i(TAG, "Using Entity Analyzer");
                     executors.execute(() -> {
                         try {
-                            Tracker t = new Tracker(this, this, analysisUseCase, selectedFilterItems, success -> handleModelLoadResult(loadGeneration, success));
+                            Tracker t = new Tracker(this, this, analysisUseCase, selectedFilterItems, success -> handleModelLoadResult(loadGeneration, success),
+                                    Tracker.CaptureModelPolicy.ON_DEMAND, Tracker.DEFAULT_CAPTURE_IDLE_TIMEOUT_MS);
                             if (loadGeneration != modelLoadGeneration.get()) { t.stop(); return; }
                             tracker = t;
                         } catch (Exception e) {
@@ -826,14 +816,28 @@ public class CameraXLivePreviewActivity extends AppCompatActivity implements Bar
         stopAnalyzing();
         cameraManager.unbindAll();
         disposeModels();
+        if (BuildConfig.DEBUG) dumpPipelineMetrics();
         super.onPause();
     }
 
+    // Leaves the session's stage timings in the app's external files dir, for adb pull.
+    private void dumpPipelineMetrics() {
+        File dir = getExternalFilesDir(null);
+        if (dir == null) return;
+        try {
+            PipelineMetrics.getInstance().dump(dir);
+            Log.d(TAG, "Pipeline metrics written to " + dir);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not write pipeline metrics", e);
+        }
+    }
+
     @Override
     protected void onDestroy() {
         if (displayManager != null && displayListener != null) {
             displayManager.unregisterDisplayListener(displayListener);
         }
+        if (boundingBoxMapper != null) boundingBoxMapper.release();
         // Ensure executor is fully terminated on destroy
         if (executors != null && !executors.isShutdown()) {
             executors.shutdownNow();
@@ -1016,8 +1020,18 @@ public class CameraXLivePreviewActivity extends AppCompatActivity implements Bar
         if (tracker != null) {
             if (tracker.getCapturedTrackerAnalyzer()) {
                 onComplete.run();
+                return;
             }
-
+            // Capture models are loaded on first use; show progress while they load.
+            showModelLoadingProgress(true);
+            tracker.loadCaptureModels(loaded -> {
+                showModelLoadingProgress(false);
+                if (loaded) {
+                    onComplete.run();
+                } else {
+                    Log.e(TAG, "Capture tracker models failed to load");
+                }
+            });
         }
     }
 
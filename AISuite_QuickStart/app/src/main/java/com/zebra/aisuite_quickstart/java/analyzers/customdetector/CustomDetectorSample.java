@@ -18,6 +18,7 @@ import com.zebra.aisuite_quickstart.java.analyzers.customdetector.barcode.Barcod
 import com.zebra.aisuite_quickstart.java.analyzers.customdetector.mobilenet.TFLiteModelIntegration;
 import com.zebra.aisuite_quickstart.java.analyzers.customdetector.ocr.OcrIntegration;
 import com.zebra.aisuite_quickstart.java.analyzers.customdetector.ocr.OcrTextEntity;
+import com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo.YoloInputTransform.ResizeMode;
 import com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo.YoloIntegration;
 
 import java.util.ArrayList;
@@ -56,6 +57,12 @@ public class CustomDetectorSample {
         TFLiteModelIntegration.MODEL_ID
     };
 
+    /**
+     * How frames are fitted into the YOLO input. Analysis frames are 4:3 or 16:9, so the sample
+     * letterboxes them instead of stretching narrow objects out of shape.
+     */
+    private static final ResizeMode YOLO_RESIZE_MODE = ResizeMode.LETTERBOX;
+
     private static final String TAG = "CustomDetectorSampleJava";
 
     // ── Callback interfaces ───────────────────────────────────────────────────────────────────
@@ -125,7 +132,7 @@ public class CustomDetectorSample {
 
         if (selectedIds.contains(BarcodeIntegration.MODEL_ID))      barcodeDecoder    = BarcodeIntegration.create(executor);
         if (selectedIds.contains(OcrIntegration.MODEL_ID))          mlkitDetector     = OcrIntegration.create();
-        if (selectedIds.contains(YoloIntegration.MODEL_ID))         yoloDetector      = YoloIntegration.create(context);
+        if (selectedIds.contains(YoloIntegration.MODEL_ID))         yoloDetector      = YoloIntegration.create(context, YOLO_RESIZE_MODE);
         if (selectedIds.contains(TFLiteModelIntegration.MODEL_ID)) mobileNetDetector = TFLiteModelIntegration.create(context);
 
         Log.i(TAG, "Selected detectors initialized in " + (System.currentTimeMillis() - t0) + " ms");
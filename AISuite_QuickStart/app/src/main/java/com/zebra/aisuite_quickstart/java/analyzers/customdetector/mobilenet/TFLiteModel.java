@@ -16,7 +16,6 @@ import org.tensorflow.lite.support.common.FileUtil;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -34,6 +33,12 @@ import java.util.Map;
  *   2 — scores     [1, max_det]     float32  confidence (descending)
  *   3 — num_det    [1]              float32  number of valid detections
  * max_det is read from the model at runtime; boxes are mapped to bitmap pixel space on output.
+ *
+ * Input and output tensors are leased from a {@link TensorBufferPool} keyed by shape and returned
+ * after every run, so steady-state frames allocate no direct buffers or output arrays.
+ * {@link #getBufferPoolStats()} exposes the pool counters, and {@link #getLastPreprocessNanos()},
+ * {@link #getLastSessionNanos()} and {@link #getLastDecodeNanos()} the most recent frame's stage
+ * times.
  */
 public class TFLiteModel implements AutoCloseable {
 
@@ -41,24 +46,69 @@ public class TFLiteModel implements AutoCloseable {
     private static final String MODEL_FILE = "models/mobilenet_ssd.tflite";
     private static final float  CONF_THRESHOLD = 0.5f;
 
+    /** Let TFLite pick the interpreter thread count. */
+    public static final int DEFAULT_NUM_THREADS = -1;
+
     private final Interpreter interpreter;
     private final int maxDetections;
     private final int inputSize;
     private final int boxesIdx;
     private final int scoresIdx;
     private final int numDetIdx;
+    private final int[] inputShape;
+    private final int[] boxesShape;
+    private final int[] vectorShape;
+    private final int[] numDetShape = {1};
+
+    private final TensorBufferPool bufferPool = new TensorBufferPool();
+    private int[] pixels;
+    private volatile long lastPreprocessNanos;
+    private volatile long lastSessionNanos;
+    private volatile long lastDecodeNanos;
 
     // ── Model Loading ────────────────────────────────────────────────────────
 
     public TFLiteModel(Context context) throws IOException {
-        interpreter   = new Interpreter(FileUtil.loadMappedFile(context, MODEL_FILE));
-        inputSize     = interpreter.getInputTensor(0).shape()[1];
+        this(context, DEFAULT_NUM_THREADS);
+    }
+
+    /**
+     * @param numThreads interpreter thread count; ≤ 0 keeps the TFLite default
+     */
+    public TFLiteModel(Context context, int numThreads) throws IOException {
+        Interpreter.Options options = new Interpreter.Options();
+        if (numThreads > 0) options.setNumThreads(numThreads);
+        interpreter   = new Interpreter(FileUtil.loadMappedFile(context, MODEL_FILE), options);
+        inputShape    = interpreter.getInputTensor(0).shape();
+        inputSize     = inputShape[1];
         int[] idx     = resolveOutputIndices();
         boxesIdx      = idx[0];
         scoresIdx     = idx[1];
         numDetIdx     = idx[2];
         maxDetections = idx[3];
-        Log.i(TAG, "Model ready — inputSize=" + inputSize + " maxDetections=" + maxDetections);
+        boxesShape    = new int[]{1, maxDetections, 4};
+        vectorShape   = new int[]{1, maxDetections};
+        Log.i(TAG, "Model ready — inputSize=" + inputSize + " maxDetections=" + maxDetections
+                + " numThreads=" + (numThreads > 0 ? numThreads : "default"));
+    }
+
+    public TensorBufferPool.Stats getBufferPoolStats() {
+        return bufferPool.getStats();
+    }
+
+    /** Wall time spent scaling and packing the most recent frame into the input buffer. */
+    public long getLastPreprocessNanos() {
+        return lastPreprocessNanos;
+    }
+
+    /** Wall time of the most recent interpreter run. */
+    public long getLastSessionNanos() {
+        return lastSessionNanos;
+    }
+
+    /** Wall time spent filtering and mapping the most recent output. */
+    public long getLastDecodeNanos() {
+        return lastDecodeNanos;
     }
 
     private int[] resolveOutputIndices() {
@@ -87,22 +137,39 @@ public class TFLiteModel implements AutoCloseable {
     }
 
     public List<Rect> detect(Bitmap bitmap) {
+        long t0 = System.nanoTime();
         ByteBuffer input = toInputBuffer(bitmap);
+        lastPreprocessNanos = System.nanoTime() - t0;
         int bw = bitmap.getWidth();
         int bh = bitmap.getHeight();
 
-        float[][][] boxes    = new float[1][maxDetections][4];
-        float[][]   classes  = new float[1][maxDetections];
-        float[][]   scores   = new float[1][maxDetections];
-        float[]     numDet   = new float[1];
+        float[][][] boxes    = (float[][][]) bufferPool.acquireFloatArray(boxesShape);
+        float[][]   classes  = (float[][])   bufferPool.acquireFloatArray(vectorShape);
+        float[][]   scores   = (float[][])   bufferPool.acquireFloatArray(vectorShape);
+        float[]     numDet   = (float[])     bufferPool.acquireFloatArray(numDetShape);
+        try {
+            return runAndDecode(input, boxes, classes, scores, numDet, bw, bh);
+        } finally {
+            bufferPool.release(input);
+            bufferPool.release(boxes);
+            bufferPool.release(classes);
+            bufferPool.release(scores);
+            bufferPool.release(numDet);
+        }
+    }
 
+    private List<Rect> runAndDecode(ByteBuffer input, float[][][] boxes, float[][] classes,
+                                    float[][] scores, float[] numDet, int bw, int bh) {
         Map<Integer, Object> outputs = new HashMap<>();
         outputs.put(boxesIdx,  boxes);
         outputs.put(1,         classes);
         outputs.put(scoresIdx, scores);
         outputs.put(numDetIdx, numDet);
 
+        long t0 = System.nanoTime();
         interpreter.runForMultipleInputsOutputs(new Object[]{input}, outputs);
+        long t1 = System.nanoTime();
+        lastSessionNanos = t1 - t0;
 
         int n = Math.min((int) numDet[0], maxDetections);
         List<Rect> results = new ArrayList<>();
@@ -119,6 +186,7 @@ public class TFLiteModel implements AutoCloseable {
             Log.v(TAG, "  MobileNet SSD detections kept=" + results.size() + "/" + n
                     + " top_score=" + scores[0][0]);
         }
+        lastDecodeNanos = System.nanoTime() - t1;
         return results;
     }
 
@@ -128,11 +196,10 @@ public class TFLiteModel implements AutoCloseable {
         Bitmap sw = bitmap.getConfig() == Bitmap.Config.HARDWARE
                 ? bitmap.copy(Bitmap.Config.ARGB_8888, false) : bitmap;
         Bitmap scaled = Bitmap.createScaledBitmap(sw, inputSize, inputSize, true);
-        int[] pixels = new int[inputSize * inputSize];
+        if (pixels == null) pixels = new int[inputSize * inputSize];
         scaled.getPixels(pixels, 0, inputSize, 0, 0, inputSize, inputSize);
 
-        ByteBuffer bufOut = ByteBuffer.allocateDirect(inputSize * inputSize * 3);
-        bufOut.order(ByteOrder.nativeOrder());
+        ByteBuffer bufOut = bufferPool.acquireByteBuffer(inputShape, 1);
         for (int px : pixels) {
             bufOut.put((byte) ((px >> 16) & 0xFF));
             bufOut.put((byte) ((px >>  8) & 0xFF));
@@ -146,6 +213,8 @@ public class TFLiteModel implements AutoCloseable {
 
     @Override
     public void close() {
+        Log.d(TAG, "Releasing interpreter — buffer pool " + bufferPool.getStats());
         interpreter.close();
+        bufferPool.clear();
     }
 }
@@ -8,6 +8,8 @@ import com.google.android.gms.tasks.Tasks;
 import com.google.mlkit.vision.common.InputImage;
 import com.zebra.ai.vision.custommodels.CustomDetector;
 import com.zebra.ai.vision.entity.DetectionEntity;
+import com.zebra.aisuite_quickstart.metrics.PipelineMetrics;
+import com.zebra.aisuite_quickstart.metrics.PipelineStage;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -30,17 +32,31 @@ public class TFLiteModelIntegration {
     private static final String TAG = "TFLiteModelIntegration";
 
     public static CustomDetector<DetectionEntity> create(Context context) throws IOException {
-        Log.d(TAG, "Initializing MobileNet SSD object detector…");
+        return create(context, TFLiteModel.DEFAULT_NUM_THREADS);
+    }
+
+    /**
+     * @param numThreads TFLite interpreter thread count; ≤ 0 keeps the TFLite default
+     */
+    public static CustomDetector<DetectionEntity> create(Context context, int numThreads)
+            throws IOException {
+        Log.d(TAG, "Initializing MobileNet SSD object detector… numThreads=" + numThreads);
 
         // Step 1: Initialize
-        TFLiteModel model = new TFLiteModel(context);
+        TFLiteModel model = new TFLiteModel(context, numThreads);
 
         // Step 2: Wrap with CustomDetector
+        PipelineMetrics metrics = PipelineMetrics.getInstance();
         CustomDetector<DetectionEntity> detector = CustomDetector.create(model, MODEL_ID,
                 (m, imageData) -> {
                     try {
+                        long start = metrics.nanoTime();
                         List<DetectionEntity> entities = Tasks.await(
                                 m.process(InputImage.fromBitmap(imageData.getBitmap(), 0)));
+                        metrics.record(MODEL_ID, PipelineStage.CONVERT, m.getLastPreprocessNanos());
+                        metrics.record(MODEL_ID, PipelineStage.INFERENCE, m.getLastSessionNanos());
+                        metrics.record(MODEL_ID, PipelineStage.POSTPROCESS, m.getLastDecodeNanos());
+                        metrics.record(MODEL_ID, PipelineStage.TOTAL, metrics.nanoTime() - start);
                         Log.v(TAG, "  MobileNet SSD: " + entities.size() + " detection(s)");
                         return entities;
                     } catch (Exception e) {
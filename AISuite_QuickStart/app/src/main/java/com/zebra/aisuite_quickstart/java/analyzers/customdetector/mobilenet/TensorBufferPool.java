@@ -0,0 +1,161 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.java.analyzers.customdetector.mobilenet;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Reusable tensor buffers for TFLite inference, keyed by tensor shape.
+ *
+ * Direct ByteBuffers are only reclaimed when the GC finalises their owner, so allocating one per
+ * frame lets native memory creep over a long shift. This pool hands out direct input buffers and
+ * float output arrays, takes them back after the interpreter run, and reuses them for the next
+ * frame with the same shape. Buffers are only allocated on a miss, so after the first frame every
+ * acquire is a hit.
+ *
+ * acquire*() and release() may be called from any thread.
+ */
+public final class TensorBufferPool {
+
+    /** Snapshot of pool counters. */
+    public static final class Stats {
+        /** acquire*() calls served from an idle pooled buffer. */
+        public final long hits;
+        /** acquire*() calls that had to allocate. */
+        public final long misses;
+        /** Bytes owned by the pool — idle plus currently leased buffers. */
+        public final long bytesRetained;
+        /** Buffers currently idle in the pool. */
+        public final int  idleBuffers;
+
+        Stats(long hits, long misses, long bytesRetained, int idleBuffers) {
+            this.hits          = hits;
+            this.misses        = misses;
+            this.bytesRetained = bytesRetained;
+            this.idleBuffers   = idleBuffers;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + " misses=" + misses
+                    + " bytesRetained=" + bytesRetained + " idle=" + idleBuffers;
+        }
+    }
+
+    private final Map<Key, ArrayDeque<Object>> idle   = new HashMap<>();
+    private final Map<Object, Key>             leased = new IdentityHashMap<>();
+
+    private long hits;
+    private long misses;
+    private long bytesRetained;
+    private int  idleCount;
+
+    /**
+     * Returns a cleared, native-order direct buffer for a tensor of the given shape.
+     *
+     * @param bytesPerElement 1 for uint8, 4 for float32, …
+     */
+    public synchronized ByteBuffer acquireByteBuffer(int[] shape, int bytesPerElement) {
+        Key key = new Key(Kind.DIRECT_BYTES, shape, bytesPerElement);
+        ByteBuffer buffer = (ByteBuffer) poll(key);
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect((int) key.bytes).order(ByteOrder.nativeOrder());
+            onMiss(key);
+        }
+        buffer.clear();
+        leased.put(buffer, key);
+        return buffer;
+    }
+
+    /**
+     * Returns a float array with the given shape, e.g. {1, 10, 4} → float[1][10][4].
+     * Contents are whatever the previous lease left; the interpreter overwrites them.
+     */
+    public synchronized Object acquireFloatArray(int[] shape) {
+        Key key = new Key(Kind.FLOAT_ARRAY, shape, 4);
+        Object array = poll(key);
+        if (array == null) {
+            array = shape.length == 1 ? new float[shape[0]] : Array.newInstance(float.class, shape);
+            onMiss(key);
+        }
+        leased.put(array, key);
+        return array;
+    }
+
+    /** Returns a buffer obtained from this pool. Unknown or already-released buffers are ignored. */
+    public synchronized void release(Object buffer) {
+        Key key = leased.remove(buffer);
+        if (key == null) return;
+        ArrayDeque<Object> queue = idle.get(key);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            idle.put(key, queue);
+        }
+        queue.push(buffer);
+        idleCount++;
+    }
+
+    /**
+     * Drops all idle buffers and forgets the leased ones, so buffers still leased at the time are
+     * ignored by release() instead of coming back into the pool.
+     */
+    public synchronized void clear() {
+        idle.clear();
+        leased.clear();
+        idleCount     = 0;
+        bytesRetained = 0;
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, bytesRetained, idleCount);
+    }
+
+    private Object poll(Key key) {
+        ArrayDeque<Object> queue = idle.get(key);
+        Object buffer = queue == null ? null : queue.poll();
+        if (buffer != null) {
+            hits++;
+            idleCount--;
+        }
+        return buffer;
+    }
+
+    private void onMiss(Key key) {
+        misses++;
+        bytesRetained += key.bytes;
+    }
+
+    private enum Kind { DIRECT_BYTES, FLOAT_ARRAY }
+
+    private static final class Key {
+        final Kind  kind;
+        final int[] shape;
+        final long  bytes;
+
+        Key(Kind kind, int[] shape, int bytesPerElement) {
+            this.kind  = kind;
+            this.shape = shape.clone();
+            long elements = 1;
+            for (int d : shape) elements *= d;
+            this.bytes = elements * bytesPerElement;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return kind == k.kind && bytes == k.bytes && Arrays.equals(shape, k.shape);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * kind.hashCode() + Arrays.hashCode(shape);
+        }
+    }
+}
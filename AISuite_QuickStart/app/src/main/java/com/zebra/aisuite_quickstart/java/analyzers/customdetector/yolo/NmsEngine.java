@@ -0,0 +1,275 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo;
+
+import java.util.Arrays;
+
+/**
+ * Non-Maximum Suppression engine over packed primitive boxes.
+ *
+ * Modes:
+ *   AGNOSTIC  — any two overlapping boxes compete, whatever their class (the NmsUtils behaviour).
+ *   PER_CLASS — boxes only suppress boxes of the same class, so a person next to a bicycle
+ *               keeps both detections.
+ *
+ * Algorithms:
+ *   GREEDY        — classic O(n²) greedy NMS.
+ *   GRID          — greedy NMS with candidates bucketed into a uniform spatial grid, so a kept
+ *                   box is only compared against boxes sharing a cell with it. Produces exactly
+ *                   the same result as GREEDY and scales to thousands of candidates.
+ *   SOFT_LINEAR   — Soft-NMS, overlapping scores are scaled by (1 − IoU) above the threshold.
+ *   SOFT_GAUSSIAN — Soft-NMS, overlapping scores are scaled by exp(−IoU² / σ).
+ * Soft-NMS keeps a box while its decayed score stays at or above softScoreThreshold.
+ *
+ * Boxes are packed [x1, y1, x2, y2] per candidate; scores must be non-negative. Scratch arrays
+ * grow on demand and are reused between calls. Not thread-safe — use one engine per detector.
+ */
+public final class NmsEngine {
+
+    public enum Mode { AGNOSTIC, PER_CLASS }
+
+    public enum Algorithm { GREEDY, GRID, SOFT_LINEAR, SOFT_GAUSSIAN }
+
+    /** Upper bound on grid cells per axis; keeps the bucket table small for sparse outliers. */
+    private static final int MAX_GRID_CELLS = 128;
+
+    private final Mode      mode;
+    private final Algorithm algorithm;
+    private final float     iouThreshold;
+    private final float     softSigma;
+    private final float     softScoreThreshold;
+
+    private long[]    order      = new long[0];
+    private int[]     rank       = new int[0];
+    private boolean[] suppressed = new boolean[0];
+    private float[]   keptScores = new float[0];
+    private float[]   working    = new float[0];
+    private int[]     cellStart  = new int[0];
+    private int[]     cellItems  = new int[0];
+
+    public NmsEngine(Mode mode, Algorithm algorithm, float iouThreshold) {
+        this(mode, algorithm, iouThreshold, 0.5f, 0.001f);
+    }
+
+    /**
+     * @param softSigma          σ of the Gaussian decay (SOFT_GAUSSIAN only)
+     * @param softScoreThreshold boxes whose decayed score falls below this are dropped (soft only)
+     */
+    public NmsEngine(Mode mode, Algorithm algorithm, float iouThreshold,
+                     float softSigma, float softScoreThreshold) {
+        this.mode               = mode;
+        this.algorithm          = algorithm;
+        this.iouThreshold       = iouThreshold;
+        this.softSigma          = softSigma;
+        this.softScoreThreshold = softScoreThreshold;
+    }
+
+    public Mode getMode()           { return mode; }
+    public Algorithm getAlgorithm() { return algorithm; }
+
+    /**
+     * Runs NMS over the first count candidates.
+     *
+     * @param classIds class per candidate; may be null in AGNOSTIC mode
+     * @param keep     receives kept indices; length ≥ count. GREEDY/GRID write them in descending
+     *                 score order, soft variants in selection order.
+     * @return number of kept indices
+     */
+    public int run(float[] boxes, float[] scores, int[] classIds, int count, int[] keep) {
+        ensureCapacity(count);
+        switch (algorithm) {
+            case GRID:          return grid(boxes, scores, classIds, count, keep);
+            case SOFT_LINEAR:
+            case SOFT_GAUSSIAN: return soft(boxes, scores, classIds, count, keep);
+            default:            return greedy(boxes, scores, classIds, count, keep);
+        }
+    }
+
+    /**
+     * Score of each kept box from the last run(), aligned with keep. For soft variants this is
+     * the decayed score; otherwise it is the input score.
+     */
+    public float[] getKeptScores() {
+        return keptScores;
+    }
+
+    // ── Greedy ───────────────────────────────────────────────────────────────
+
+    private int greedy(float[] boxes, float[] scores, int[] classIds, int count, int[] keep) {
+        sortByScoreDescending(scores, count);
+        Arrays.fill(suppressed, 0, count, false);
+        int kept = 0;
+
+        for (int r = 0; r < count; r++) {
+            int i = (int) order[r];
+            if (suppressed[i]) continue;
+            keptScores[kept] = scores[i];
+            keep[kept++] = i;
+            for (int s = r + 1; s < count; s++) {
+                int j = (int) order[s];
+                if (!suppressed[j] && competes(classIds, i, j)
+                        && iou(boxes, i, j) > iouThreshold) {
+                    suppressed[j] = true;
+                }
+            }
+        }
+        return kept;
+    }
+
+    // ── Grid-bucketed greedy ─────────────────────────────────────────────────
+
+    private int grid(float[] boxes, float[] scores, int[] classIds, int count, int[] keep) {
+        if (count == 0) return 0;
+        sortByScoreDescending(scores, count);
+        for (int r = 0; r < count; r++) rank[(int) order[r]] = r;
+
+        // Cell size ≈ mean box extent, so a typical box spans at most 2×2 cells.
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        double extentSum = 0;
+        for (int i = 0; i < count; i++) {
+            int o = i * 4;
+            minX = Math.min(minX, boxes[o]);
+            minY = Math.min(minY, boxes[o + 1]);
+            maxX = Math.max(maxX, boxes[o + 2]);
+            maxY = Math.max(maxY, boxes[o + 3]);
+            extentSum += Math.max(boxes[o + 2] - boxes[o], boxes[o + 3] - boxes[o + 1]);
+        }
+        float span = Math.max(maxX - minX, maxY - minY);
+        float cell = Math.max((float) (extentSum / count), span / MAX_GRID_CELLS);
+        if (!(cell > 0f)) cell = 1f;
+        int cols = (int) ((maxX - minX) / cell) + 1;
+        int rows = (int) ((maxY - minY) / cell) + 1;
+        int cells = cols * rows;
+
+        // Counting sort of (cell, box) pairs into CSR arrays: cellStart[c]..cellStart[c + 1].
+        if (cellStart.length < cells + 1) cellStart = new int[cells + 1];
+        Arrays.fill(cellStart, 0, cells + 1, 0);
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            int o = i * 4;
+            int c0 = (int) ((boxes[o] - minX) / cell),     c1 = (int) ((boxes[o + 2] - minX) / cell);
+            int r0 = (int) ((boxes[o + 1] - minY) / cell), r1 = (int) ((boxes[o + 3] - minY) / cell);
+            for (int y = r0; y <= r1; y++) {
+                for (int x = c0; x <= c1; x++) {
+                    cellStart[y * cols + x + 1]++;
+                    total++;
+                }
+            }
+        }
+        for (int c = 0; c < cells; c++) cellStart[c + 1] += cellStart[c];
+        if (cellItems.length < total) cellItems = new int[total];
+        int[] fill = Arrays.copyOf(cellStart, cells);
+        for (int i = 0; i < count; i++) {
+            int o = i * 4;
+            int c0 = (int) ((boxes[o] - minX) / cell),     c1 = (int) ((boxes[o + 2] - minX) / cell);
+            int r0 = (int) ((boxes[o + 1] - minY) / cell), r1 = (int) ((boxes[o + 3] - minY) / cell);
+            for (int y = r0; y <= r1; y++) {
+                for (int x = c0; x <= c1; x++) {
+                    cellItems[fill[y * cols + x]++] = i;
+                }
+            }
+        }
+
+        Arrays.fill(suppressed, 0, count, false);
+        int kept = 0;
+        for (int r = 0; r < count; r++) {
+            int i = (int) order[r];
+            if (suppressed[i]) continue;
+            keptScores[kept] = scores[i];
+            keep[kept++] = i;
+
+            int o = i * 4;
+            int c0 = (int) ((boxes[o] - minX) / cell),     c1 = (int) ((boxes[o + 2] - minX) / cell);
+            int r0 = (int) ((boxes[o + 1] - minY) / cell), r1 = (int) ((boxes[o + 3] - minY) / cell);
+            for (int y = r0; y <= r1; y++) {
+                for (int x = c0; x <= c1; x++) {
+                    int c = y * cols + x;
+                    for (int k = cellStart[c]; k < cellStart[c + 1]; k++) {
+                        int j = cellItems[k];
+                        if (rank[j] > r && !suppressed[j] && competes(classIds, i, j)
+                                && iou(boxes, i, j) > iouThreshold) {
+                            suppressed[j] = true;
+                        }
+                    }
+                }
+            }
+        }
+        return kept;
+    }
+
+    // ── Soft-NMS ─────────────────────────────────────────────────────────────
+
+    private int soft(float[] boxes, float[] scores, int[] classIds, int count, int[] keep) {
+        System.arraycopy(scores, 0, working, 0, count);
+        Arrays.fill(suppressed, 0, count, false);   // reused as "already selected or dropped"
+        int kept = 0;
+
+        for (int step = 0; step < count; step++) {
+            int best = -1;
+            float bestScore = -1f;
+            for (int j = 0; j < count; j++) {
+                if (!suppressed[j] && working[j] > bestScore) {
+                    bestScore = working[j];
+                    best = j;
+                }
+            }
+            if (best < 0 || bestScore < softScoreThreshold) break;
+            suppressed[best] = true;
+            keptScores[kept] = bestScore;
+            keep[kept++] = best;
+
+            for (int j = 0; j < count; j++) {
+                if (suppressed[j] || !competes(classIds, best, j)) continue;
+                float overlap = iou(boxes, best, j);
+                if (algorithm == Algorithm.SOFT_GAUSSIAN) {
+                    working[j] *= (float) Math.exp(-(overlap * overlap) / softSigma);
+                } else if (overlap > iouThreshold) {
+                    working[j] *= 1f - overlap;
+                }
+                if (working[j] < softScoreThreshold) suppressed[j] = true;
+            }
+        }
+        return kept;
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private boolean competes(int[] classIds, int i, int j) {
+        return mode == Mode.AGNOSTIC || classIds == null || classIds[i] == classIds[j];
+    }
+
+    // Non-negative float bit patterns order like the floats, so (bits << 32 | ~index) sorts by
+    // score without boxing; the inverted index keeps ties in ascending index order.
+    private void sortByScoreDescending(float[] scores, int count) {
+        for (int i = 0; i < count; i++) {
+            order[i] = ((long) Float.floatToIntBits(scores[i]) << 32) | (~i & 0xFFFFFFFFL);
+        }
+        Arrays.sort(order, 0, count);
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            long t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        for (int i = 0; i < count; i++) order[i] = ~order[i] & 0xFFFFFFFFL;
+    }
+
+    private void ensureCapacity(int count) {
+        if (order.length >= count) return;
+        order      = new long[count];
+        rank       = new int[count];
+        suppressed = new boolean[count];
+        keptScores = new float[count];
+        working    = new float[count];
+    }
+
+    private static float iou(float[] b, int i, int j) {
+        int a = i * 4, c = j * 4;
+        float interW = Math.min(b[a + 2], b[c + 2]) - Math.max(b[a], b[c]);
+        float interH = Math.min(b[a + 3], b[c + 3]) - Math.max(b[a + 1], b[c + 1]);
+        if (interW <= 0f || interH <= 0f) return 0f;
+        float inter = interW * interH;
+        float areaA = Math.max(0f, b[a + 2] - b[a]) * Math.max(0f, b[a + 3] - b[a + 1]);
+        float areaB = Math.max(0f, b[c + 2] - b[c]) * Math.max(0f, b[c + 3] - b[c + 1]);
+        return inter / (areaA + areaB - inter);
+    }
+}
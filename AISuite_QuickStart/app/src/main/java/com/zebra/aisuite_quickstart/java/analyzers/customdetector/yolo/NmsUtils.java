@@ -6,7 +6,11 @@ import java.util.Comparator;
 import java.util.List;
 
 /**
- * Non-Maximum Suppression utility used by YOLO post-processing.
+ * Class-agnostic greedy Non-Maximum Suppression helpers.
+ *
+ * YOLO post-processing uses {@link NmsEngine}, which works on packed primitive boxes and adds
+ * per-class, soft and grid-bucketed variants; this List-based helper remains for simple agnostic
+ * use.
  */
 public final class NmsUtils {
 
@@ -0,0 +1,103 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Pinned per-session buffers for YOLO pre/post-processing.
+ *
+ * Every buffer is allocated on first use and then reused for every following frame, so a
+ * steady-state frame performs no large allocation. The input and output float buffers are
+ * direct and in native order, which lets ONNX Runtime wrap them in an OnnxTensor without copying.
+ *
+ * Each (re)allocation is counted against the current frame; call beginFrame() before touching
+ * the buffers and read getFrameAllocations()/getFrameAllocatedBytes() once the frame is done.
+ *
+ * Not thread-safe — one instance belongs to one model session, which runs one frame at a time.
+ */
+public final class YoloFrameBuffers {
+
+    private int[]       pixels;
+    private FloatBuffer input;
+    private FloatBuffer output;
+
+    private int  frameAllocations;
+    private long frameAllocatedBytes;
+    private long totalAllocations;
+
+    /** Resets the per-frame allocation counters. */
+    public void beginFrame() {
+        frameAllocations    = 0;
+        frameAllocatedBytes = 0;
+    }
+
+    /** ARGB pixel scratch for a width×height model input. */
+    public int[] pixels(int count) {
+        if (pixels == null || pixels.length != count) {
+            pixels = new int[count];
+            recordAllocation(4L * count);
+        }
+        return pixels;
+    }
+
+    /** Direct CHW float input buffer, rewound and ready to be filled. */
+    public FloatBuffer input(int count) {
+        if (input == null || input.capacity() != count) {
+            input = allocateDirectFloats(count);
+            recordAllocation(4L * count);
+        }
+        input.clear();
+        return input;
+    }
+
+    /** Direct float output buffer sized to the model output, rewound and ready to be read. */
+    public FloatBuffer output(int count) {
+        if (output == null || output.capacity() != count) {
+            output = allocateDirectFloats(count);
+            recordAllocation(4L * count);
+        }
+        output.clear();
+        return output;
+    }
+
+    /** Number of buffers (re)allocated since the last beginFrame(). */
+    public int getFrameAllocations() {
+        return frameAllocations;
+    }
+
+    /** Bytes (re)allocated since the last beginFrame(). */
+    public long getFrameAllocatedBytes() {
+        return frameAllocatedBytes;
+    }
+
+    /** Number of buffers allocated over the lifetime of this instance. */
+    public long getTotalAllocations() {
+        return totalAllocations;
+    }
+
+    /**
+     * Packs ARGB pixels into planar RGB (CHW) floats normalised to [0, 1].
+     * dst must hold at least 3 × count floats; its position is left unchanged.
+     */
+    public static void packChw(int[] pixels, int count, FloatBuffer dst) {
+        int base = dst.position();
+        for (int i = 0; i < count; i++) {
+            int px = pixels[i];
+            dst.put(base + i,             (px >> 16 & 0xFF) / 255f);
+            dst.put(base + count + i,     (px >>  8 & 0xFF) / 255f);
+            dst.put(base + 2 * count + i, (px       & 0xFF) / 255f);
+        }
+    }
+
+    private void recordAllocation(long bytes) {
+        frameAllocations++;
+        frameAllocatedBytes += bytes;
+        totalAllocations++;
+    }
+
+    private static FloatBuffer allocateDirectFloats(int count) {
+        return ByteBuffer.allocateDirect(4 * count).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+}
@@ -0,0 +1,77 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo;
+
+/**
+ * Source-image → model-input mapping used by YOLO preprocessing, and its exact inverse.
+ *
+ *   model = source × scale + pad
+ *
+ * STRETCH scales each axis independently to fill the square input (aspect ratio is lost).
+ * LETTERBOX scales both axes by the same factor and centres the image, padding the remainder.
+ *
+ * Instances are mutable so one transform can be reused for every frame without allocating.
+ */
+public final class YoloInputTransform {
+
+    /** How a source frame is fitted into the square model input. */
+    public enum ResizeMode {
+        /** Squash/stretch to fill the input — the original behaviour. */
+        STRETCH,
+        /** Preserve aspect ratio and pad the borders with a solid colour. */
+        LETTERBOX
+    }
+
+    private float scaleX = 1f;
+    private float scaleY = 1f;
+    private float padX;
+    private float padY;
+    private int   sourceW;
+    private int   sourceH;
+
+    /** Recomputes the transform for a sourceW×sourceH frame and a square model input. */
+    public YoloInputTransform set(ResizeMode mode, int sourceW, int sourceH, int inputSize) {
+        this.sourceW = sourceW;
+        this.sourceH = sourceH;
+        if (mode == ResizeMode.LETTERBOX) {
+            float scale = Math.min((float) inputSize / sourceW, (float) inputSize / sourceH);
+            scaleX = scale;
+            scaleY = scale;
+            padX   = (inputSize - sourceW * scale) / 2f;
+            padY   = (inputSize - sourceH * scale) / 2f;
+        } else {
+            scaleX = (float) inputSize / sourceW;
+            scaleY = (float) inputSize / sourceH;
+            padX   = 0f;
+            padY   = 0f;
+        }
+        return this;
+    }
+
+    public float getScaleX() { return scaleX; }
+    public float getScaleY() { return scaleY; }
+    public float getPadX()   { return padX; }
+    public float getPadY()   { return padY; }
+
+    /**
+     * Maps an [x1, y1, x2, y2] box from model-input space back to source pixels, in place.
+     * The result is clamped to the source frame, so boxes that spill into padding are trimmed.
+     */
+    public void mapToSource(float[] box) {
+        box[0] = clamp((box[0] - padX) / scaleX, sourceW);
+        box[1] = clamp((box[1] - padY) / scaleY, sourceH);
+        box[2] = clamp((box[2] - padX) / scaleX, sourceW);
+        box[3] = clamp((box[3] - padY) / scaleY, sourceH);
+    }
+
+    /** Maps an [x1, y1, x2, y2] box from source pixels into model-input space, in place. */
+    public void mapToModel(float[] box) {
+        box[0] = box[0] * scaleX + padX;
+        box[1] = box[1] * scaleY + padY;
+        box[2] = box[2] * scaleX + padX;
+        box[3] = box[3] * scaleY + padY;
+    }
+
+    private static float clamp(float v, int max) {
+        return Math.max(0f, Math.min(v, max));
+    }
+}
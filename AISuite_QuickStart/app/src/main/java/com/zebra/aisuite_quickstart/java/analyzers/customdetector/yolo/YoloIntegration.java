@@ -8,6 +8,9 @@ import com.google.android.gms.tasks.Tasks;
 import com.google.mlkit.vision.common.InputImage;
 import com.zebra.ai.vision.custommodels.CustomDetector;
 import com.zebra.ai.vision.entity.DetectionEntity;
+import com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo.YoloInputTransform.ResizeMode;
+import com.zebra.aisuite_quickstart.metrics.PipelineMetrics;
+import com.zebra.aisuite_quickstart.metrics.PipelineStage;
 
 import java.util.List;
 
@@ -24,18 +27,38 @@ public class YoloIntegration {
     private static final String TAG = "YoloIntegration";
 
     public static CustomDetector<DetectionEntity> create(Context context) throws Exception {
-        Log.d(TAG, "Initializing YOLOv8n ONNX…");
+        return create(context, ResizeMode.STRETCH);
+    }
+
+    /**
+     * @param resizeMode how frames are fitted into the 640×640 input; LETTERBOX keeps the aspect
+     *                   ratio (padding with {@link YoloOnnxModel#DEFAULT_PAD_COLOR}) and is the
+     *                   better choice for 16:9 analysis frames with narrow objects.
+     */
+    public static CustomDetector<DetectionEntity> create(Context context, ResizeMode resizeMode)
+            throws Exception {
+        Log.d(TAG, "Initializing YOLOv8n ONNX… resize=" + resizeMode);
 
         // Step 1: Initialize
-        YoloOnnxModel model = new YoloOnnxModel(context);
+        YoloOnnxModel model = new YoloOnnxModel(context, YoloOnnxModel.PreprocessMode.POOLED,
+                resizeMode, YoloOnnxModel.DEFAULT_PAD_COLOR);
 
         // Step 2: Wrap with CustomDetector
+        PipelineMetrics metrics = PipelineMetrics.getInstance();
         CustomDetector<DetectionEntity> detector = CustomDetector.create(model, MODEL_ID,
                 (m, imageData) -> {
                     try {
+                        long start = metrics.nanoTime();
                         List<DetectionEntity> entities = Tasks.await(
                                 m.process(InputImage.fromBitmap(imageData.getBitmap(), 0)));
-                        Log.v(TAG, "  YOLO: " + entities.size() + " detection(s)");
+                        metrics.record(MODEL_ID, PipelineStage.CONVERT, m.getLastPreprocessNanos());
+                        metrics.record(MODEL_ID, PipelineStage.INFERENCE, m.getLastSessionNanos());
+                        metrics.record(MODEL_ID, PipelineStage.POSTPROCESS, m.getLastDecodeNanos());
+                        metrics.record(MODEL_ID, PipelineStage.TOTAL, metrics.nanoTime() - start);
+                        Log.v(TAG, "  YOLO: " + entities.size() + " detection(s), preprocess("
+                                + m.getResizeMode() + ")=" + m.getLastPreprocessNanos() / 1000
+                                + " µs session=" + m.getLastSessionNanos() / 1000
+                                + " µs decode=" + m.getLastDecodeNanos() / 1000 + " µs");
                         return entities;
                     } catch (Exception e) {
                         throw new RuntimeException("YOLO inference failed", e);
@@ -1,13 +1,19 @@
 // Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
 package com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo;
 
+import ai.onnxruntime.NodeInfo;
 import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OnnxValue;
 import ai.onnxruntime.OrtEnvironment;
 import ai.onnxruntime.OrtException;
 import ai.onnxruntime.OrtSession;
+import ai.onnxruntime.TensorInfo;
 
 import android.content.Context;
 import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
 import android.graphics.Rect;
 import android.util.Log;
 
@@ -15,6 +21,7 @@ import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
 import com.google.mlkit.vision.common.InputImage;
 import com.zebra.ai.vision.entity.DetectionEntity;
+import com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo.YoloInputTransform.ResizeMode;
 
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -22,6 +29,7 @@ import java.nio.FloatBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,9 +42,32 @@ import java.util.stream.Collectors;
  * Output: [1, 84, 8400] — cx/cy/w/h + 80 class scores per prediction.
  *
  * OrtEnvironment is a JVM singleton — do NOT close it here; only the session is released.
+ *
+ * In {@link PreprocessMode#POOLED} mode (the default) the scaled bitmap, pixel scratch, input
+ * tensor, input map and output tensor are created once per session and reused for every frame;
+ * {@link #getFrameBuffers()} exposes how many large buffers the last frame had to allocate.
+ * {@link PreprocessMode#ALLOCATING} keeps the original allocate-per-frame path for comparison.
+ *
+ * The frame is fitted into the square input according to {@link ResizeMode}: STRETCH (the
+ * original behaviour) or LETTERBOX, which keeps the aspect ratio and pads with padColor. Boxes
+ * are mapped back to source pixels through the exact inverse of the transform used for the frame.
+ * {@link #getLastPreprocessNanos()} reports the preprocessing cost so both modes can be compared
+ * on device.
+ *
+ * Output decoding is done by {@link YoloV8Decoder} on primitive arrays and suppressed per class
+ * by {@link NmsEngine}; session and decode times are reported separately via
+ * {@link #getLastSessionNanos()} and {@link #getLastDecodeNanos()}.
  */
 public class YoloOnnxModel implements AutoCloseable {
 
+    /** How input/output buffers are managed between frames. */
+    public enum PreprocessMode {
+        /** Allocate fresh pixel, float, bitmap and tensor buffers for every frame. */
+        ALLOCATING,
+        /** Reuse pinned buffers and tensors for the lifetime of the session. */
+        POOLED
+    }
+
     private static final String TAG             = "YoloOnnxModel";
     private static final String MODEL_FILE      = "models/yolov8n-onnx/yolov8n.onnx";
     private static final int    INPUT_SIZE      = 640;
@@ -45,11 +76,60 @@ public class YoloOnnxModel implements AutoCloseable {
     private static final int    NUM_PREDICTIONS = 8400;
     private static final int    BOX_DIMS        = 4;
     private static final int    NUM_CLASSES     = 80;
+    private static final int    GRID_NMS_MIN_CANDIDATES = 512;
+
+    /** Grey (114, 114, 114) — the padding colour YOLOv8 is trained with. */
+    public static final int DEFAULT_PAD_COLOR = 0xFF727272;
 
     private final OrtEnvironment env;
     private final OrtSession     session;
+    private final PreprocessMode mode;
+    private final ResizeMode     resizeMode;
+    private final int            padColor;
+    private final String         inputName;
+    private final String         outputName;
+    private final long[]         outputShape;
+
+    // ── Pooled-mode state (lazily created, reused across frames) ─────────────
+    private final YoloFrameBuffers  buffers     = new YoloFrameBuffers();
+    private final Matrix            scaleMatrix = new Matrix();
+    private final Paint             scalePaint  = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private Bitmap                  scaledBitmap;
+    private Canvas                  scaledCanvas;
+    private OnnxTensor              inputTensor;
+    private OnnxTensor              outputTensor;
+    private Map<String, OnnxTensor> inputMap;
+    private Map<String, OnnxValue>  pinnedOutputs;
+    private final YoloInputTransform transform = new YoloInputTransform();
+
+    private final YoloV8Decoder decoder = new YoloV8Decoder(NUM_PREDICTIONS, NUM_CLASSES);
+
+    // Per-class NMS so overlapping objects of different classes don't suppress each other.
+    // GRID gives the same result as GREEDY but only compares boxes that share a grid cell.
+    private final NmsEngine greedyNms = new NmsEngine(
+            NmsEngine.Mode.PER_CLASS, NmsEngine.Algorithm.GREEDY, IOU_THRESHOLD);
+    private final NmsEngine gridNms = new NmsEngine(
+            NmsEngine.Mode.PER_CLASS, NmsEngine.Algorithm.GRID, IOU_THRESHOLD);
+    private final float[]       box     = new float[BOX_DIMS];
+    private int[]               keep    = new int[64];
+
+    private volatile long lastPreprocessNanos;
+    private volatile long lastSessionNanos;
+    private volatile long lastDecodeNanos;
 
     public YoloOnnxModel(Context context) throws IOException, OrtException {
+        this(context, PreprocessMode.POOLED, ResizeMode.STRETCH, DEFAULT_PAD_COLOR);
+    }
+
+    public YoloOnnxModel(Context context, PreprocessMode mode) throws IOException, OrtException {
+        this(context, mode, ResizeMode.STRETCH, DEFAULT_PAD_COLOR);
+    }
+
+    public YoloOnnxModel(Context context, PreprocessMode mode, ResizeMode resizeMode, int padColor)
+            throws IOException, OrtException {
+        this.mode       = mode;
+        this.resizeMode = resizeMode;
+        this.padColor   = padColor;
         Log.d(TAG, "Loading ONNX session from assets: " + MODEL_FILE);
         env = OrtEnvironment.getEnvironment();
         android.content.res.AssetFileDescriptor fd = context.getAssets().openFd(MODEL_FILE);
@@ -57,8 +137,41 @@ public class YoloOnnxModel implements AutoCloseable {
                 .getChannel()
                 .map(FileChannel.MapMode.READ_ONLY, fd.getStartOffset(), fd.getDeclaredLength());
         session = env.createSession(buffer);
+        inputName  = session.getInputNames().iterator().next();
+        outputName = session.getOutputNames().iterator().next();
+        NodeInfo outputInfo = session.getOutputInfo().get(outputName);
+        outputShape = outputInfo.getInfo() instanceof TensorInfo
+                ? ((TensorInfo) outputInfo.getInfo()).getShape() : new long[0];
         Log.i(TAG, "ONNX session ready — inputs=" + session.getInputNames()
-                + " outputs=" + session.getOutputNames());
+                + " outputs=" + session.getOutputNames() + " mode=" + mode + " resize=" + resizeMode);
+    }
+
+    public PreprocessMode getPreprocessMode() {
+        return mode;
+    }
+
+    public ResizeMode getResizeMode() {
+        return resizeMode;
+    }
+
+    /** Wall time spent fitting and packing the most recent frame into the input tensor. */
+    public long getLastPreprocessNanos() {
+        return lastPreprocessNanos;
+    }
+
+    /** Wall time of the most recent OrtSession.run(). */
+    public long getLastSessionNanos() {
+        return lastSessionNanos;
+    }
+
+    /** Wall time spent decoding, suppressing and un-mapping the most recent output. */
+    public long getLastDecodeNanos() {
+        return lastDecodeNanos;
+    }
+
+    /** Pinned buffers of the POOLED path; the frame counters describe the most recent frame. */
+    public YoloFrameBuffers getFrameBuffers() {
+        return buffers;
     }
 
     public Task<List<DetectionEntity>> process(
@@ -75,70 +188,153 @@ public class YoloOnnxModel implements AutoCloseable {
     }
 
     public List<Rect> detect(Bitmap bitmap) throws OrtException {
-        float[] inputFloats = bitmapToInputFloats(bitmap);
+        return mode == PreprocessMode.POOLED ? detectPooled(bitmap) : detectAllocating(bitmap);
+    }
+
+    private List<Rect> detectAllocating(Bitmap bitmap) throws OrtException {
+        long t0 = System.nanoTime();
+        YoloInputTransform frameTransform = new YoloInputTransform()
+                .set(resizeMode, bitmap.getWidth(), bitmap.getHeight(), INPUT_SIZE);
+        float[] inputFloats = bitmapToInputFloats(bitmap, frameTransform);
         long[] shape        = {1L, 3L, INPUT_SIZE, INPUT_SIZE};
-        String inputName    = session.getInputNames().iterator().next();
+        lastPreprocessNanos = System.nanoTime() - t0;
 
         OnnxTensor input = OnnxTensor.createTensor(env, FloatBuffer.wrap(inputFloats), shape);
         try {
             Map<String, OnnxTensor> inputMap = new HashMap<>();
             inputMap.put(inputName, input);
+            long t1 = System.nanoTime();
             try (OrtSession.Result results = session.run(inputMap)) {
+                lastSessionNanos = System.nanoTime() - t1;
                 OnnxTensor outTensor = (OnnxTensor) results.get(0);
                 FloatBuffer buf = outTensor.getFloatBuffer();
                 float[] raw = new float[buf.remaining()];
                 buf.get(raw);
-                return decodeYolov8(raw, bitmap.getWidth(), bitmap.getHeight());
+                return decodeYolov8(FloatBuffer.wrap(raw), frameTransform);
             }
         } finally {
             input.close();
         }
     }
 
-    // YOLOv8n output: [1, 84, 8400] row-major — first index = feature, second = prediction
-    // Channels 0-3: cx, cy, w, h in 640-px model space. Channels 4-83: 80 COCO class scores.
-    private List<Rect> decodeYolov8(float[] raw, int bitmapW, int bitmapH) {
-        List<float[]> boxes  = new ArrayList<>();
-        List<Float>   scores = new ArrayList<>();
-
-        for (int p = 0; p < NUM_PREDICTIONS; p++) {
-            float maxScore = 0f;
-            for (int c = 0; c < NUM_CLASSES; c++) {
-                float s = raw[(BOX_DIMS + c) * NUM_PREDICTIONS + p];
-                if (s > maxScore) maxScore = s;
+    // Steady state: no pixel/float/bitmap/tensor allocation — the input tensor wraps the pinned
+    // direct buffer, and the output is written by ORT straight into the pinned output tensor.
+    private List<Rect> detectPooled(Bitmap bitmap) throws OrtException {
+        buffers.beginFrame();
+        ensurePooledTensors();
+
+        long t0 = System.nanoTime();
+        transform.set(resizeMode, bitmap.getWidth(), bitmap.getHeight(), INPUT_SIZE);
+        int n = INPUT_SIZE * INPUT_SIZE;
+        int[] pixels = buffers.pixels(n);
+        scaleInto(bitmap).getPixels(pixels, 0, INPUT_SIZE, 0, 0, INPUT_SIZE, INPUT_SIZE);
+        YoloFrameBuffers.packChw(pixels, n, buffers.input(3 * n));
+        lastPreprocessNanos = System.nanoTime() - t0;
+
+        FloatBuffer raw;
+        long t1 = System.nanoTime();
+        if (pinnedOutputs != null) {
+            try (OrtSession.Result ignored = session.run(inputMap, pinnedOutputs)) {
+                raw = buffers.output(outputCount());
+            }
+        } else {
+            try (OrtSession.Result results = session.run(inputMap)) {
+                raw = ((OnnxTensor) results.get(0)).getFloatBuffer();
             }
-            if (maxScore < CONF_THRESHOLD) continue;
-
-            float cx = raw[0 * NUM_PREDICTIONS + p];
-            float cy = raw[1 * NUM_PREDICTIONS + p];
-            float w  = raw[2 * NUM_PREDICTIONS + p];
-            float h  = raw[3 * NUM_PREDICTIONS + p];
-            boxes.add(new float[]{cx - w / 2f, cy - h / 2f, cx + w / 2f, cy + h / 2f});
-            scores.add(maxScore);
         }
+        lastSessionNanos = System.nanoTime() - t1;
+        if (buffers.getFrameAllocations() > 0) {
+            Log.v(TAG, "Pooled frame allocated " + buffers.getFrameAllocations()
+                    + " buffer(s), " + buffers.getFrameAllocatedBytes() + " bytes");
+        }
+        return decodeYolov8(raw, transform);
+    }
+
+    private void ensurePooledTensors() throws OrtException {
+        if (inputTensor != null) return;
+        int n = INPUT_SIZE * INPUT_SIZE;
+        long[] shape = {1L, 3L, INPUT_SIZE, INPUT_SIZE};
+        inputTensor = OnnxTensor.createTensor(env, buffers.input(3 * n), shape);
+        inputMap    = Collections.singletonMap(inputName, inputTensor);
+
+        // Only pin the output when its shape is fully static; otherwise ORT allocates it per run.
+        int count = outputCount();
+        if (count > 0) {
+            outputTensor  = OnnxTensor.createTensor(env, buffers.output(count), outputShape);
+            pinnedOutputs = Collections.singletonMap(outputName, outputTensor);
+        }
+    }
+
+    private int outputCount() {
+        if (outputShape.length == 0) return -1;
+        long count = 1;
+        for (long d : outputShape) {
+            if (d <= 0) return -1;
+            count *= d;
+        }
+        return (int) count;
+    }
+
+    // Draws the source into a reused INPUT_SIZE² bitmap instead of createScaledBitmap().
+    private Bitmap scaleInto(Bitmap bitmap) {
+        if (scaledBitmap == null) {
+            scaledBitmap = Bitmap.createBitmap(INPUT_SIZE, INPUT_SIZE, Bitmap.Config.ARGB_8888);
+            scaledCanvas = new Canvas(scaledBitmap);
+        }
+        // A software Canvas cannot read HARDWARE bitmaps, so those still need a one-off copy.
+        Bitmap software = bitmap.getConfig() == Bitmap.Config.HARDWARE
+                ? bitmap.copy(Bitmap.Config.ARGB_8888, false) : bitmap;
+        drawFitted(scaledCanvas, software, transform, scaleMatrix, scalePaint);
+        if (software != bitmap) software.recycle();
+        return scaledBitmap;
+    }
 
-        if (boxes.isEmpty()) return new ArrayList<>();
+    private void drawFitted(Canvas canvas, Bitmap source, YoloInputTransform t,
+                            Matrix matrix, Paint paint) {
+        if (t.getPadX() > 0f || t.getPadY() > 0f) canvas.drawColor(padColor);
+        matrix.setScale(t.getScaleX(), t.getScaleY());
+        matrix.postTranslate(t.getPadX(), t.getPadY());
+        canvas.drawBitmap(source, matrix, paint);
+    }
 
-        float[] scoresArr = new float[scores.size()];
-        for (int i = 0; i < scores.size(); i++) scoresArr[i] = scores.get(i);
+    // YOLOv8n output: [1, 84, 8400] row-major — first index = feature, second = prediction
+    // Channels 0-3: cx, cy, w, h in 640-px model space. Channels 4-83: 80 COCO class scores.
+    private List<Rect> decodeYolov8(FloatBuffer raw, YoloInputTransform t) {
+        long t0 = System.nanoTime();
+        int count = decoder.decode(raw, CONF_THRESHOLD);
+        if (count == 0) {
+            lastDecodeNanos = System.nanoTime() - t0;
+            return new ArrayList<>();
+        }
+
+        if (keep.length < count) keep = new int[Math.max(count, keep.length * 2)];
+        float[] boxes = decoder.getBoxes();
+        NmsEngine nms = count > GRID_NMS_MIN_CANDIDATES ? gridNms : greedyNms;
+        int kept = nms.run(boxes, decoder.getScores(), decoder.getClassIds(), count, keep);
 
-        List<Integer> kept = NmsUtils.nms(boxes, scoresArr, IOU_THRESHOLD);
-        List<Rect> results = new ArrayList<>(kept.size());
-        for (int idx : kept) {
-            float[] b = boxes.get(idx);
+        List<Rect> results = new ArrayList<>(kept);
+        for (int k = 0; k < kept; k++) {
+            System.arraycopy(boxes, keep[k] * BOX_DIMS, box, 0, BOX_DIMS);
+            t.mapToSource(box);
             results.add(new Rect(
-                    Math.round(b[0] / INPUT_SIZE * bitmapW),
-                    Math.round(b[1] / INPUT_SIZE * bitmapH),
-                    Math.round(b[2] / INPUT_SIZE * bitmapW),
-                    Math.round(b[3] / INPUT_SIZE * bitmapH)));
+                    Math.round(box[0]), Math.round(box[1]),
+                    Math.round(box[2]), Math.round(box[3])));
         }
+        lastDecodeNanos = System.nanoTime() - t0;
         return results;
     }
 
-    private float[] bitmapToInputFloats(Bitmap bitmap) {
+    private float[] bitmapToInputFloats(Bitmap bitmap, YoloInputTransform t) {
         Bitmap software = bitmap.getConfig() == Bitmap.Config.HARDWARE
                 ? bitmap.copy(Bitmap.Config.ARGB_8888, false) : bitmap;
-        Bitmap scaled = Bitmap.createScaledBitmap(software, INPUT_SIZE, INPUT_SIZE, true);
+        Bitmap scaled;
+        if (resizeMode == ResizeMode.LETTERBOX) {
+            scaled = Bitmap.createBitmap(INPUT_SIZE, INPUT_SIZE, Bitmap.Config.ARGB_8888);
+            drawFitted(new Canvas(scaled), software, t, new Matrix(),
+                    new Paint(Paint.FILTER_BITMAP_FLAG));
+        } else {
+            scaled = Bitmap.createScaledBitmap(software, INPUT_SIZE, INPUT_SIZE, true);
+        }
         int[] pixels = new int[INPUT_SIZE * INPUT_SIZE];
         scaled.getPixels(pixels, 0, INPUT_SIZE, 0, 0, INPUT_SIZE, INPUT_SIZE);
 
@@ -154,6 +350,9 @@ public class YoloOnnxModel implements AutoCloseable {
 
     @Override
     public void close() throws OrtException {
+        if (inputTensor  != null) inputTensor.close();
+        if (outputTensor != null) outputTensor.close();
+        if (scaledBitmap != null) scaledBitmap.recycle();
         session.close();
         // Do NOT close OrtEnvironment — it is a JVM-wide singleton
     }
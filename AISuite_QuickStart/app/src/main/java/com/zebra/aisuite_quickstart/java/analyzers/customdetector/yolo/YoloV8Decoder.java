@@ -0,0 +1,121 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * Primitive-array decoder for the YOLOv8 [1, 4 + numClasses, numPredictions] output.
+ *
+ * The output is channel-major, so walking it anchor by anchor touches every class plane with a
+ * stride of numPredictions floats. This decoder instead reads one class plane at a time into a
+ * scratch row and keeps a running max score/class per anchor, which is a sequential scan. Anchors
+ * whose max score stays below the confidence threshold are rejected before their box channels
+ * are ever read, and survivors are written into packed primitive arrays — nothing is boxed.
+ *
+ * Scratch arrays grow on demand and are reused, so a steady-state decode allocates nothing.
+ * Not thread-safe — one decoder belongs to one model session.
+ */
+public final class YoloV8Decoder {
+
+    private static final int BOX_DIMS = 4;
+
+    private final int numPredictions;
+    private final int numClasses;
+
+    private final float[] row;
+    private final float[] bestScore;
+    private final int[]   bestClass;
+
+    private float[] boxes    = new float[64 * BOX_DIMS];
+    private float[] scores   = new float[64];
+    private int[]   classIds = new int[64];
+    private int     count;
+
+    public YoloV8Decoder(int numPredictions, int numClasses) {
+        this.numPredictions = numPredictions;
+        this.numClasses     = numClasses;
+        this.row            = new float[numPredictions];
+        this.bestScore      = new float[numPredictions];
+        this.bestClass      = new int[numPredictions];
+    }
+
+    /**
+     * Decodes raw model output into candidate boxes in model-input space.
+     *
+     * @param raw           model output; read from index 0 regardless of its position
+     * @param confThreshold anchors whose best class score is below this are rejected
+     * @return number of candidates; read them via {@link #getBoxes()}, {@link #getScores()}
+     *         and {@link #getClassIds()}
+     */
+    public int decode(FloatBuffer raw, float confThreshold) {
+        final int p = numPredictions;
+        Arrays.fill(bestScore, 0f);
+        Arrays.fill(bestClass, -1);
+
+        // Pass 1: sequential scan of each class plane, tracking the best class per anchor.
+        for (int c = 0; c < numClasses; c++) {
+            raw.position((BOX_DIMS + c) * p);
+            raw.get(row, 0, p);
+            for (int i = 0; i < p; i++) {
+                float s = row[i];
+                if (s > bestScore[i]) {
+                    bestScore[i] = s;
+                    bestClass[i] = c;
+                }
+            }
+        }
+        raw.rewind();
+
+        // Pass 2: only anchors that cleared the threshold have their box channels read.
+        count = 0;
+        for (int i = 0; i < p; i++) {
+            float score = bestScore[i];
+            if (score < confThreshold) continue;
+
+            float cx = raw.get(i);
+            float cy = raw.get(p + i);
+            float w  = raw.get(2 * p + i);
+            float h  = raw.get(3 * p + i);
+
+            ensureCapacity(count + 1);
+            int o = count * BOX_DIMS;
+            boxes[o]     = cx - w / 2f;
+            boxes[o + 1] = cy - h / 2f;
+            boxes[o + 2] = cx + w / 2f;
+            boxes[o + 3] = cy + h / 2f;
+            scores[count]   = score;
+            classIds[count] = bestClass[i];
+            count++;
+        }
+        return count;
+    }
+
+    /** Number of candidates produced by the last {@link #decode} call. */
+    public int getCount() {
+        return count;
+    }
+
+    /** Packed [x1, y1, x2, y2] per candidate; only the first getCount() × 4 entries are valid. */
+    public float[] getBoxes() {
+        return boxes;
+    }
+
+    /** Best class score per candidate; only the first getCount() entries are valid. */
+    public float[] getScores() {
+        return scores;
+    }
+
+    /** Best class index per candidate; only the first getCount() entries are valid. */
+    public int[] getClassIds() {
+        return classIds;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= scores.length) return;
+        int capacity = Math.max(needed, scores.length * 2);
+        boxes    = Arrays.copyOf(boxes, capacity * BOX_DIMS);
+        scores   = Arrays.copyOf(scores, capacity);
+        classIds = Arrays.copyOf(classIds, capacity);
+    }
+}
@@ -2,6 +2,11 @@
 package com.zebra.aisuite_quickstart.java.analyzers.tracker;
 
 import android.content.Context;
+import android.os.Debug;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.os.SystemClock;
 import android.util.Log;
 
 import androidx.camera.core.ImageAnalysis;
@@ -9,6 +14,7 @@ import androidx.camera.core.ImageProxy;
 import androidx.core.content.ContextCompat;
 
 import com.zebra.ai.vision.analyzer.tracking.EntityTrackerAnalyzer;
+import com.zebra.ai.vision.custommodels.CustomDetector;
 import com.zebra.ai.vision.detector.AIVisionSDKException;
 import com.zebra.ai.vision.detector.AIVisionSDKLicenseException;
 import com.zebra.ai.vision.detector.BarcodeDecoder;
@@ -19,18 +25,19 @@ import com.zebra.ai.vision.detector.ModuleRecognizer;
 import com.zebra.ai.vision.detector.TextOCR;
 import com.zebra.ai.vision.entity.Entity;
 import com.zebra.aisuite_quickstart.filtertracker.FilterDialog;
+import com.zebra.aisuite_quickstart.scheduling.AdaptiveRatePolicy;
+import com.zebra.aisuite_quickstart.scheduling.FrameSkipPolicy;
+import com.zebra.aisuite_quickstart.scheduling.FrameSkipScheduler;
+import com.zebra.aisuite_quickstart.utils.AppAssets;
 
-import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * The Tracker class is responsible for setting up and managing the process
@@ -48,6 +55,20 @@ import java.util.concurrent.Executors;
  * - Invoke stop() to dispose of the BarcodeDecoder and release resources.
  * - Invoke stopAnalyzing() to terminate the ExecutorService and stop ongoing analysis tasks.
  * <p>
+ * Capture models:
+ * - EAGER loads the 1280 capture detectors alongside the 640 live ones, so the first capture is
+ *   instant but startup time and resident memory cover both sets.
+ * - ON_DEMAND loads only the live detectors at startup. loadCaptureModels() creates the capture
+ *   set on first use; it is cached and disposed again after captureIdleTimeoutMs without a capture.
+ * - getModelMetrics() reports startup time, capture load time and the PSS each load added.
+ * <p>
+ * Live detector rates:
+ * - Each live detector runs in its own {@link FrameSkipScheduler} lane. The barcode decoder sees
+ *   every frame; OCR and the module recognizer run at lower target rates that back off further
+ *   when they are slow or the device heats up, and their last results fill the frames in between.
+ * - Read live results with getBarcodeEntities(), getOcrEntities() and getModuleEntities(); the
+ *   analyzer keys results by the scheduled wrappers, not by the SDK detectors.
+ * <p>
  * Dependencies:
  * - Android Context: Required for managing resources and executing tasks on the main thread.
  * - ExecutorService: Used for asynchronous task execution.
@@ -65,6 +86,17 @@ import java.util.concurrent.Executors;
 public class Tracker {
 
     public void processImage(ImageProxy image) {
+        BarcodeDecoder captureBarcodeDecoder;
+        TextOCR captureOcr;
+        ModuleRecognizer captureModuleRecognizer;
+        synchronized (this) {
+            // Pin the capture set so an idle release cannot dispose it mid-capture.
+            captureInFlight++;
+            captureBarcodeDecoder = this.captureBarcodeDecoder;
+            captureOcr = this.captureOcr;
+            captureModuleRecognizer = this.captureModuleRecognizer;
+        }
+        boolean completionAttached = false;
         try {
             ImageData imageData = ImageData.fromImageProxy(image);
             List<CompletableFuture<?>> futures = new ArrayList<>();
@@ -91,10 +123,13 @@ public class Tracker {
                     .exceptionally(e -> {
                         Log.e(TAG, "Error processing capture image: " + e.getMessage());
                         return null;
-                    });
+                    })
+                    .whenComplete((ignored, e) -> endCapture());
+            completionAttached = true;
         } catch (AIVisionSDKException e) {
             Log.e(TAG, "Error in processImage: " + e.getMessage());
         } finally {
+            if (!completionAttached) endCapture();
             image.close();
         }
     }
@@ -130,11 +165,21 @@ public class Tracker {
     private ModuleRecognizer moduleRecognizer;
     private final List<String> selectedFilterItems;
     private final List<Detector<? extends List<? extends Entity>>> analyzerList = new ArrayList<>();
+    private final FrameSkipScheduler frameScheduler;
+    private volatile Detector<? extends List<? extends Entity>> scheduledBarcodeDecoder;
+    private volatile Detector<? extends List<? extends Entity>> scheduledTextOCR;
+    private volatile Detector<? extends List<? extends Entity>> scheduledModuleRecognizer;
     private final List<Detector<? extends List<? extends Entity>>> captureAnalyzerList = new ArrayList<>();
     private final ModelLoadingCallback loadingCallback;
     // Model input sizes
     private static final int LIVE_PREVIEW_SIZE = 640;
     private static final int CAPTURE_SIZE = 1280; // Higher resolution for capture
+
+    // Live detector rates: target fps, floor fps under load or heat, share of time it may be busy.
+    private static final FrameSkipPolicy BARCODE_RATE = FrameSkipPolicy.everyFrame();
+    private static final FrameSkipPolicy OCR_RATE = new AdaptiveRatePolicy(10, 2, 0.5f);
+    private static final FrameSkipPolicy MODULE_RATE = new AdaptiveRatePolicy(5, 1, 0.3f);
+    private static final int THERMAL_FORECAST_SECONDS = 10;
     // Capture instances
     private BarcodeDecoder captureBarcodeDecoder;
     private TextOCR captureOcr;
@@ -143,6 +188,75 @@ public class Tracker {
     private boolean captureModelsLoaded = false;
     private boolean modelsLoaded = false;
 
+    /**
+     * When the capture-resolution detectors are created.
+     */
+    public enum CaptureModelPolicy {
+        /** Together with the live detectors, before loading completes. */
+        EAGER,
+        /** On the first loadCaptureModels() call; released again after an idle timeout. */
+        ON_DEMAND
+    }
+
+    public static final long DEFAULT_CAPTURE_IDLE_TIMEOUT_MS = 60_000L;
+
+    private final CaptureModelPolicy capturePolicy;
+    private final long captureIdleTimeoutMs;
+    private final List<CaptureTrackerCallback> captureWaiters = new ArrayList<>();
+    private final Handler idleHandler = new Handler(Looper.getMainLooper());
+    private final Runnable idleRelease = this::postCaptureRelease;
+    private boolean captureLoading = false;
+    private int captureInFlight = 0;
+    // Bumped whenever a capture load starts or is abandoned; detectors created for an older
+    // generation are disposed instead of being used.
+    private int captureGeneration = 0;
+
+    // Metrics; PSS readings are in KB.
+    private final long createdAtMs = SystemClock.elapsedRealtime();
+    private final long pssAtCreationKb;
+    private long startupMs = -1;
+    private long startupResidentKb = -1;
+    private long captureLoadStartMs;
+    private long pssBeforeCaptureKb;
+    private long captureLoadMs = -1;
+    private long captureResidentKb = -1;
+    private int captureLoads = 0;
+    private int captureReleases = 0;
+
+    /**
+     * Snapshot of model loading metrics. Durations are in ms and resident sizes are process PSS
+     * deltas in KB; -1 means not measured yet. In EAGER mode the startup figures include the
+     * capture set, in ON_DEMAND mode they do not — comparing the two shows what lazy loading
+     * saves.
+     */
+    public static final class ModelMetrics {
+        public final CaptureModelPolicy policy;
+        public final long startupMs;
+        public final long startupResidentKb;
+        public final long captureLoadMs;
+        public final long captureResidentKb;
+        public final int captureLoads;
+        public final int captureReleases;
+
+        ModelMetrics(CaptureModelPolicy policy, long startupMs, long startupResidentKb,
+                     long captureLoadMs, long captureResidentKb, int captureLoads, int captureReleases) {
+            this.policy = policy;
+            this.startupMs = startupMs;
+            this.startupResidentKb = startupResidentKb;
+            this.captureLoadMs = captureLoadMs;
+            this.captureResidentKb = captureResidentKb;
+            this.captureLoads = captureLoads;
+            this.captureReleases = captureReleases;
+        }
+
+        @Override
+        public String toString() {
+            return "policy=" + policy + " startup=" + startupMs + "ms/" + startupResidentKb + "KB"
+                    + " captureLoad=" + captureLoadMs + "ms/" + captureResidentKb + "KB"
+                    + " captureLoads=" + captureLoads + " captureReleases=" + captureReleases;
+        }
+    }
+
     /**
      * Callback interface for model loading completion
      */
@@ -162,25 +276,47 @@ public class Tracker {
      * @param imageAnalysis The image analysis configuration for processing image data.
      */
     public Tracker(Context context, DetectionCallback callback, ImageAnalysis imageAnalysis, List<String> filterItems, ModelLoadingCallback loadingCallback) {
+        this(context, callback, imageAnalysis, filterItems, loadingCallback, CaptureModelPolicy.EAGER, DEFAULT_CAPTURE_IDLE_TIMEOUT_MS);
+    }
+
+    /**
+     * Constructs a new Tracker with an explicit capture model policy.
+     *
+     * @param capturePolicy        When the capture-resolution detectors are created.
+     * @param captureIdleTimeoutMs ON_DEMAND only: how long the capture detectors stay cached
+     *                             after the last capture.
+     */
+    public Tracker(Context context, DetectionCallback callback, ImageAnalysis imageAnalysis, List<String> filterItems, ModelLoadingCallback loadingCallback,
+                   CaptureModelPolicy capturePolicy, long captureIdleTimeoutMs) {
         this.context = context;
         this.callback = callback;
         this.imageAnalysis = imageAnalysis;
         this.selectedFilterItems = filterItems;
         this.loadingCallback = loadingCallback;
+        this.capturePolicy = capturePolicy;
+        this.captureIdleTimeoutMs = captureIdleTimeoutMs;
+        this.pssAtCreationKb = Debug.getPss();
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        this.frameScheduler = new FrameSkipScheduler(FrameSkipScheduler.SYSTEM_CLOCK, powerManager == null
+                ? FrameSkipScheduler.NO_THERMAL
+                : () -> powerManager.getThermalHeadroom(THERMAL_FORECAST_SECONDS));
 
         if (!selectedFilterItems.isEmpty()) {
+            if (capturePolicy == CaptureModelPolicy.EAGER) {
+                beginCaptureLoad();
+            }
             for (String item : selectedFilterItems) {
                 if (item.equalsIgnoreCase(FilterDialog.BARCODE_TRACKER)) {
                     initializeBarcodeDecoder();
-                    initializeCaptureBarcodeDecoder();
                 } else if (item.equalsIgnoreCase(FilterDialog.OCR_TRACKER)) {
                     initializeTextOCR();
-                    initializeCaptureOcr();
                 } else if (item.equalsIgnoreCase(FilterDialog.PRODUCT_AND_SHELF)) {
                     initializeModuleRecognizer();
-                    initializeCaptureModuleRecognizer();
                 }
             }
+            if (capturePolicy == CaptureModelPolicy.EAGER) {
+                initializeCaptureModels();
+            }
         } else {
             if (loadingCallback != null) {
                 loadingCallback.onLoadingComplete(false);
@@ -216,7 +352,8 @@ public class Tracker {
         long m_Start = System.currentTimeMillis();
         BarcodeDecoder.getBarcodeDecoder(decoderSettings, executor).thenAccept(decoderInstance -> {
             barcodeDecoder = decoderInstance;
-            createAnalyzer(List.of(barcodeDecoder));
+            scheduledBarcodeDecoder = scheduled(barcodeDecoder, mavenModelName, BARCODE_RATE);
+            createAnalyzer(List.of(scheduledBarcodeDecoder));
             Log.d(TAG, "BarcodeDecoder() obj creation time =" + (System.currentTimeMillis() - m_Start) + " milli sec");
         }).exceptionally(e -> {
             if (e instanceof AIVisionSDKLicenseException) {
@@ -261,7 +398,8 @@ public class Tracker {
         long m_Start = System.currentTimeMillis();
         TextOCR.getTextOCR(textOCRSettings, executor).thenAccept(OCRInstance -> {
             textOCR = OCRInstance;
-            createAnalyzer(List.of(textOCR));
+            scheduledTextOCR = scheduled(textOCR, mavenOCRModelName, OCR_RATE);
+            createAnalyzer(List.of(scheduledTextOCR));
             Log.d(TAG, "TextOCR() obj creation / model loading time = " + (System.currentTimeMillis() - m_Start) + " milli sec");
         }).exceptionally(e -> {
             if (e instanceof AIVisionSDKLicenseException) {
@@ -305,7 +443,8 @@ public class Tracker {
 
             moduleRecognizer = recognizerInstance;
             // Use EntityTrackerAnalyzer with moduleRecognizer as a Detector
-            createAnalyzer(List.of(moduleRecognizer));
+            scheduledModuleRecognizer = scheduled(moduleRecognizer, mavenProductModelName, MODULE_RATE);
+            createAnalyzer(List.of(scheduledModuleRecognizer));
         }).exceptionally(throwable -> {
             if (loadingCallback != null) {
                 loadingCallback.onLoadingComplete(false);
@@ -368,8 +507,8 @@ public class Tracker {
         String indexFilename = "product.index";
         String labelsFilename = "product.txt";
         String toPath = context.getFilesDir() + "/";
-        copyFromAssets(indexFilename, toPath);
-        copyFromAssets(labelsFilename, toPath);
+        copyFromAssets(indexFilename);
+        copyFromAssets(labelsFilename);
         // Create settings with base model
         ModuleRecognizer.Settings settings = new ModuleRecognizer.Settings(mavenProductModelName);
 
@@ -387,28 +526,33 @@ public class Tracker {
     /**
      * Initializes the capture barcode decoder with higher resolution settings
      */
-    public void initializeCaptureBarcodeDecoder() {
+    private void initializeCaptureBarcodeDecoder(int generation) {
         try {
             BarcodeDecoder.Settings captureDecoderSettings = createBarcodeDecoderSettings(CAPTURE_SIZE);
-            createCaptureBarcodeDecoder(captureDecoderSettings);
+            createCaptureBarcodeDecoder(captureDecoderSettings, generation);
         } catch (Exception ex) {
-            if (loadingCallback != null) {
-                loadingCallback.onLoadingComplete(false);
-            }
+            onCaptureModelFailed(generation);
             Log.e(TAG, "Capture barcode decoder initialization failed: " + ex.getMessage());
         }
     }
 
-    private void createCaptureBarcodeDecoder(BarcodeDecoder.Settings decoderSettings) {
+    private void createCaptureBarcodeDecoder(BarcodeDecoder.Settings decoderSettings, int generation) {
         long startTime = System.currentTimeMillis();
         BarcodeDecoder.getBarcodeDecoder(decoderSettings, captureExecutor).thenAccept(decoderInstance -> {
-            captureBarcodeDecoder = decoderInstance;
-            createCaptureAnalyzer(List.of(captureBarcodeDecoder));
+            boolean current;
+            synchronized (this) {
+                current = generation == captureGeneration;
+                if (current) captureBarcodeDecoder = decoderInstance;
+            }
+            if (!current) {
+                decoderInstance.dispose();
+                Log.d(TAG, "Capture barcode decoder from an abandoned load disposed");
+                return;
+            }
+            createCaptureAnalyzer(List.of(decoderInstance), generation);
             Log.d(TAG, "Capture BarcodeDecoder() obj creation time =" + (System.currentTimeMillis() - startTime) + " milli sec");
         }).exceptionally(e -> {
-            if (loadingCallback != null) {
-                loadingCallback.onLoadingComplete(false);
-            }
+            onCaptureModelFailed(generation);
             Log.e(TAG, "Capture barcode decoder creation failed: " + e.getMessage());
             return null;
         });
@@ -417,28 +561,33 @@ public class Tracker {
     /**
      * Initializes the capture OCR scanner with higher resolution settings
      */
-    public void initializeCaptureOcr() {
+    private void initializeCaptureOcr(int generation) {
         try {
             TextOCR.Settings captureOcrSettings = createTextOCRSettings(CAPTURE_SIZE);
-            createCaptureTextOCR(captureOcrSettings);
+            createCaptureTextOCR(captureOcrSettings, generation);
         } catch (Exception ex) {
-            if (loadingCallback != null) {
-                loadingCallback.onLoadingComplete(false);
-            }
+            onCaptureModelFailed(generation);
             Log.e(TAG, "Capture OCR scanner initialization failed: " + ex.getMessage());
         }
     }
 
-    private void createCaptureTextOCR(TextOCR.Settings textOCRSettings) {
+    private void createCaptureTextOCR(TextOCR.Settings textOCRSettings, int generation) {
         long startTime = System.currentTimeMillis();
         TextOCR.getTextOCR(textOCRSettings, captureExecutor).thenAccept(ocrInstance -> {
-            captureOcr = ocrInstance;
-            createCaptureAnalyzer(List.of(captureOcr));
+            boolean current;
+            synchronized (this) {
+                current = generation == captureGeneration;
+                if (current) captureOcr = ocrInstance;
+            }
+            if (!current) {
+                ocrInstance.dispose();
+                Log.d(TAG, "Capture OCR scanner from an abandoned load disposed");
+                return;
+            }
+            createCaptureAnalyzer(List.of(ocrInstance), generation);
             Log.d(TAG, "TextOCR() obj creation / model loading time = " + (System.currentTimeMillis() - startTime) + " milli sec");
         }).exceptionally(e -> {
-            if (loadingCallback != null) {
-                loadingCallback.onLoadingComplete(false);
-            }
+            onCaptureModelFailed(generation);
             Log.e(TAG, "Capture OCR scanner creation failed: " + e.getMessage());
             return null;
         });
@@ -447,29 +596,34 @@ public class Tracker {
     /**
      * Initializes the capture module recognizer with higher resolution settings
      */
-    public void initializeCaptureModuleRecognizer() {
+    private void initializeCaptureModuleRecognizer(int generation) {
         try {
             ModuleRecognizer.Settings captureModuleSettings = createModuleRecognizerSettings(CAPTURE_SIZE);
-            createCaptureModuleRecognizer(captureModuleSettings);
+            createCaptureModuleRecognizer(captureModuleSettings, generation);
         } catch (Exception ex) {
-            if (loadingCallback != null) {
-                loadingCallback.onLoadingComplete(false);
-            }
+            onCaptureModelFailed(generation);
             Log.e(TAG, "Capture module recognizer initialization failed: " + ex.getMessage());
         }
     }
 
-    private void createCaptureModuleRecognizer(ModuleRecognizer.Settings moduleSettings) {
+    private void createCaptureModuleRecognizer(ModuleRecognizer.Settings moduleSettings, int generation) {
         long startTime = System.currentTimeMillis();
         ModuleRecognizer.getModuleRecognizer(moduleSettings, captureExecutor).thenAccept(moduleInstance -> {
-            captureModuleRecognizer = moduleInstance;
+            boolean current;
+            synchronized (this) {
+                current = generation == captureGeneration;
+                if (current) captureModuleRecognizer = moduleInstance;
+            }
+            if (!current) {
+                moduleInstance.dispose();
+                Log.d(TAG, "Capture module recognizer from an abandoned load disposed");
+                return;
+            }
             long creationTime = System.currentTimeMillis() - startTime;
-            createCaptureAnalyzer(List.of(captureModuleRecognizer));
+            createCaptureAnalyzer(List.of(moduleInstance), generation);
             Log.d(TAG, "Capture ModuleRecognizer Creation Time: " + creationTime + "ms");
         }).exceptionally(e -> {
-            if (loadingCallback != null) {
-                loadingCallback.onLoadingComplete(false);
-            }
+            onCaptureModelFailed(generation);
             Log.e(TAG, "Capture module recognizer creation failed: " + e.getMessage());
             return null;
         });
@@ -477,20 +631,14 @@ public class Tracker {
 
 
     /**
-     * Copies files from the assets folder to the specified path.
+     * Copies a file from the assets folder to the app's files directory, unless an identical
+     * copy is already there.
      *
      * @param filename The name of the file to copy.
-     * @param toPath   The destination path.
      */
-    private void copyFromAssets(String filename, String toPath) {
-        final int bufferSize = 8192;
-        try (InputStream stream = context.getAssets().open(filename); OutputStream fos = Files.newOutputStream(Paths.get(toPath + filename)); BufferedOutputStream output = new BufferedOutputStream(fos)) {
-            byte[] data = new byte[bufferSize];
-            int count;
-            while ((count = stream.read(data)) != -1) {
-                output.write(data, 0, count);
-            }
-            output.flush();
+    private void copyFromAssets(String filename) {
+        try {
+            AppAssets.materialize(context, filename);
         } catch (IOException e) {
             Log.e(TAG, "Error in copy from assets: " + e.getMessage());
         }
@@ -523,6 +671,76 @@ public class Tracker {
         return textOCR;
     }
 
+    /**
+     * Live barcode results from an analyzer result; the last decoded ones if this frame was skipped.
+     *
+     * @return The barcode entities, or null if the decoder is not loaded.
+     */
+    public List<? extends Entity> getBarcodeEntities(EntityTrackerAnalyzer.Result result) {
+        Detector<? extends List<? extends Entity>> detector = scheduledBarcodeDecoder;
+        return detector != null ? result.getValue(detector) : null;
+    }
+
+    /**
+     * Live OCR results from an analyzer result; the last recognized ones if this frame was skipped.
+     *
+     * @return The OCR entities, or null if TextOCR is not loaded.
+     */
+    public List<? extends Entity> getOcrEntities(EntityTrackerAnalyzer.Result result) {
+        Detector<? extends List<? extends Entity>> detector = scheduledTextOCR;
+        return detector != null ? result.getValue(detector) : null;
+    }
+
+    /**
+     * Live module recognizer results from an analyzer result; the last ones if this frame was skipped.
+     *
+     * @return The module entities, or null if the recognizer is not loaded.
+     */
+    public List<? extends Entity> getModuleEntities(EntityTrackerAnalyzer.Result result) {
+        Detector<? extends List<? extends Entity>> detector = scheduledModuleRecognizer;
+        return detector != null ? result.getValue(detector) : null;
+    }
+
+    /** Current rate, latency and skip count of each live detector, one line each. */
+    public String getFrameScheduleSummary() {
+        return frameScheduler.toSummary();
+    }
+
+    /**
+     * Wraps a live detector so it only runs when its lane is due. On skipped frames, and while an
+     * earlier frame is still being processed, the wrapper returns the detector's last results.
+     */
+    private <E extends Entity> CustomDetector<E> scheduled(Detector<List<E>> detector, String name,
+                                                          FrameSkipPolicy policy) {
+        FrameSkipScheduler.Lane<List<E>> lane = frameScheduler.lane(name, policy, Collections.emptyList());
+        return CustomDetector.create(new ScheduledModel<>(detector, lane), name,
+                (model, imageData) -> model.lane.runOrReuse(() -> {
+                    try {
+                        return model.detector.process(imageData).join();
+                    } catch (Exception e) {
+                        throw new RuntimeException(name + " failed", e);
+                    }
+                }));
+    }
+
+    /**
+     * Model handed to CustomDetector. Closing it does nothing: the SDK detector is disposed by
+     * stop() like the rest of the live set.
+     */
+    private static final class ScheduledModel<E> implements AutoCloseable {
+        final Detector<List<E>> detector;
+        final FrameSkipScheduler.Lane<List<E>> lane;
+
+        ScheduledModel(Detector<List<E>> detector, FrameSkipScheduler.Lane<List<E>> lane) {
+            this.detector = detector;
+            this.lane = lane;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
     /**
      * Handles the results of the barcode detection by invoking the callback with the result.
      *
@@ -545,28 +763,196 @@ public class Tracker {
         analyzerList.add(analyzers.get(0));
         if (selectedFilterItems.size() == analyzerList.size()) {
             modelsLoaded = true;
-            if (captureModelsLoaded) {
-                if (loadingCallback != null) {
-                    loadingCallback.onLoadingComplete(true);
-                }
-                attachAnalysisAfterModelLoading();
+            if (captureModelsLoaded || capturePolicy == CaptureModelPolicy.ON_DEMAND) {
+                onStartupComplete();
             }
 
         }
     }
 
-    private synchronized void createCaptureAnalyzer(List<Detector<? extends List<? extends Entity>>>
-                                                            analyzers) {
-        captureAnalyzerList.add(analyzers.get(0));
-        if (selectedFilterItems.size() == captureAnalyzerList.size()) {
-            if (modelsLoaded) {
-                if (loadingCallback != null) {
-                    loadingCallback.onLoadingComplete(true);
+    private void createCaptureAnalyzer(List<Detector<? extends List<? extends Entity>>>
+                                               analyzers, int generation) {
+        synchronized (this) {
+            // A failed detector abandoned this load after the instance was stored; the forced
+            // release takes care of it.
+            if (generation != captureGeneration) return;
+            captureAnalyzerList.add(analyzers.get(0));
+            if (selectedFilterItems.size() != captureAnalyzerList.size()) return;
+            captureModelsLoaded = true;
+            captureLoading = false;
+            captureLoads++;
+            captureLoadMs = SystemClock.elapsedRealtime() - captureLoadStartMs;
+            captureResidentKb = Debug.getPss() - pssBeforeCaptureKb;
+            if (capturePolicy == CaptureModelPolicy.EAGER && modelsLoaded) {
+                onStartupComplete();
+            }
+        }
+        Log.i(TAG, "Capture models ready - " + getModelMetrics());
+        scheduleCaptureRelease();
+        notifyCaptureWaiters(true);
+    }
+
+    // Caller holds the Tracker lock.
+    private void onStartupComplete() {
+        startupMs = SystemClock.elapsedRealtime() - createdAtMs;
+        startupResidentKb = Debug.getPss() - pssAtCreationKb;
+        Log.i(TAG, "Models loaded - " + getModelMetrics());
+        if (loadingCallback != null) {
+            loadingCallback.onLoadingComplete(true);
+        }
+        attachAnalysisAfterModelLoading();
+    }
+
+    /**
+     * Makes sure the capture-resolution detectors are loaded and calls back once they are.
+     * With EAGER loading this only waits for the startup load; with ON_DEMAND it creates the
+     * capture set on first use and keeps it cached until it has been idle for the timeout.
+     * The callback runs on a detector thread, or on the caller's thread if already loaded.
+     *
+     * @param readyCallback Receives true when the capture detectors can be used.
+     */
+    public void loadCaptureModels(CaptureTrackerCallback readyCallback) {
+        boolean alreadyLoaded;
+        boolean startLoad = false;
+        synchronized (this) {
+            alreadyLoaded = captureModelsLoaded;
+            if (!alreadyLoaded) {
+                captureWaiters.add(readyCallback);
+                if (!captureLoading) {
+                    beginCaptureLoad();
+                    startLoad = true;
                 }
-                attachAnalysisAfterModelLoading();
             }
-            captureModelsLoaded = true;
+        }
+        if (alreadyLoaded) {
+            scheduleCaptureRelease();
+            readyCallback.onCaptureTrackerReady(true);
+        } else if (startLoad) {
+            Log.d(TAG, "Loading capture models on demand");
+            initializeCaptureModels();
+        }
+    }
+
+    /**
+     * Returns the current model loading metrics.
+     */
+    public synchronized ModelMetrics getModelMetrics() {
+        return new ModelMetrics(capturePolicy, startupMs, startupResidentKb, captureLoadMs,
+                captureResidentKb, captureLoads, captureReleases);
+    }
+
+    // Caller holds the Tracker lock, or runs in the constructor.
+    private void beginCaptureLoad() {
+        captureGeneration++;
+        captureAnalyzerList.clear();
+        captureLoading = true;
+        captureLoadStartMs = SystemClock.elapsedRealtime();
+        pssBeforeCaptureKb = Debug.getPss();
+    }
+
+    private void initializeCaptureModels() {
+        int generation;
+        synchronized (this) {
+            generation = captureGeneration;
+        }
+        for (String item : selectedFilterItems) {
+            if (item.equalsIgnoreCase(FilterDialog.BARCODE_TRACKER)) {
+                initializeCaptureBarcodeDecoder(generation);
+            } else if (item.equalsIgnoreCase(FilterDialog.OCR_TRACKER)) {
+                initializeCaptureOcr(generation);
+            } else if (item.equalsIgnoreCase(FilterDialog.PRODUCT_AND_SHELF)) {
+                initializeCaptureModuleRecognizer(generation);
+            }
+        }
+    }
+
+    private void onCaptureModelFailed(int generation) {
+        if (capturePolicy == CaptureModelPolicy.EAGER) {
+            if (loadingCallback != null) {
+                loadingCallback.onLoadingComplete(false);
+            }
+            return;
+        }
+        synchronized (this) {
+            // Another capture detector already reported failure, or a newer load has started.
+            if (!captureLoading || generation != captureGeneration) return;
+            captureLoading = false;
+            // Detectors of this load that are still being created are disposed when they arrive.
+            captureGeneration++;
+        }
+        // Drop whatever part of the set did load so the next attempt starts clean.
+        releaseCaptureModels(true, "a capture model failed to load");
+        notifyCaptureWaiters(false);
+    }
+
+    private void notifyCaptureWaiters(boolean loaded) {
+        List<CaptureTrackerCallback> waiters;
+        synchronized (this) {
+            waiters = new ArrayList<>(captureWaiters);
+            captureWaiters.clear();
+        }
+        for (CaptureTrackerCallback waiter : waiters) {
+            waiter.onCaptureTrackerReady(loaded);
+        }
+    }
+
+    private synchronized void endCapture() {
+        captureInFlight--;
+        scheduleCaptureRelease();
+    }
+
+    private void scheduleCaptureRelease() {
+        if (capturePolicy != CaptureModelPolicy.ON_DEMAND) return;
+        idleHandler.removeCallbacks(idleRelease);
+        idleHandler.postDelayed(idleRelease, captureIdleTimeoutMs);
+    }
+
+    // Runs on the main thread; disposal happens on the capture executor.
+    private void postCaptureRelease() {
+        try {
+            captureExecutor.execute(() -> releaseCaptureModels(false, "idle timeout"));
+        } catch (RejectedExecutionException e) {
+            Log.d(TAG, "Capture executor shut down, skipping idle release");
+        }
+    }
+
+    /**
+     * Disposes the capture-resolution detectors unless a capture is in progress.
+     *
+     * @param force  Release even while loading, used to discard a partially loaded set.
+     * @param reason Why the set is released, for the log.
+     */
+    private void releaseCaptureModels(boolean force, String reason) {
+        synchronized (this) {
+            if (captureInFlight > 0 || (!force && captureLoading)) {
+                scheduleCaptureRelease();
+                return;
+            }
+            if (captureBarcodeDecoder == null && captureOcr == null && captureModuleRecognizer == null) return;
+            disposeCaptureInstances();
+            captureAnalyzerList.clear();
+            captureModelsLoaded = false;
+            captureReleases++;
+        }
+        Log.i(TAG, "Capture models released after " + reason + " - " + getModelMetrics());
+    }
 
+    // Caller holds the Tracker lock.
+    private void disposeCaptureInstances() {
+        if (captureBarcodeDecoder != null) {
+            captureBarcodeDecoder.dispose();
+            Log.d(TAG, "Capture barcode decoder disposed");
+            captureBarcodeDecoder = null;
+        }
+        if (captureOcr != null) {
+            captureOcr.dispose();
+            Log.d(TAG, "Capture OCR scanner disposed");
+            captureOcr = null;
+        }
+        if (captureModuleRecognizer != null) {
+            captureModuleRecognizer.dispose();
+            Log.d(TAG, "Capture module recognizer disposed");
+            captureModuleRecognizer = null;
         }
     }
 
@@ -589,6 +975,7 @@ public class Tracker {
      * This method should be called when barcode detection is no longer needed.
      */
     public void stop() {
+        idleHandler.removeCallbacks(idleRelease);
         if (captureExecutor != null) {
             captureExecutor.shutdownNow();
         }
@@ -608,20 +995,11 @@ public class Tracker {
             moduleRecognizer = null;
         }
         // Dispose capture instances
-        if (captureBarcodeDecoder != null) {
-            captureBarcodeDecoder.dispose();
-            Log.d(TAG, "Capture barcode decoder disposed");
-            captureBarcodeDecoder = null;
-        }
-        if (captureOcr != null) {
-            captureOcr.dispose();
-            Log.d(TAG, "Capture OCR scanner disposed");
-            captureOcr = null;
-        }
-        if (captureModuleRecognizer != null) {
-            captureModuleRecognizer.dispose();
-            Log.d(TAG, "Capture module recognizer disposed");
-            captureModuleRecognizer = null;
+        synchronized (this) {
+            captureGeneration++;
+            disposeCaptureInstances();
+            captureAnalyzerList.clear();
+            captureModelsLoaded = false;
         }
     }
 
@@ -633,10 +1011,13 @@ public class Tracker {
         if (executor != null) {
             executor.shutdownNow();
         }
+        Log.i(TAG, "Live detector rates:\n" + frameScheduler.toSummary());
+        // Results cached for the old session must not show up once analysis restarts.
+        frameScheduler.reset();
 
     }
 
-    public boolean getCapturedTrackerAnalyzer() {
+    public synchronized boolean getCapturedTrackerAnalyzer() {
         return captureModelsLoaded;
     }
 
@@ -11,6 +11,8 @@ import com.zebra.ai.vision.detector.AIVisionSDKException;
 import com.zebra.ai.vision.detector.BarcodeDecoder;
 import com.zebra.ai.vision.detector.ImageData;
 import com.zebra.ai.vision.entity.BarcodeEntity;
+import com.zebra.aisuite_quickstart.metrics.PipelineMetrics;
+import com.zebra.aisuite_quickstart.metrics.PipelineStage;
 
 import java.util.List;
 import java.util.Objects;
@@ -32,6 +34,8 @@ import java.util.concurrent.Future;
  * - Implement the DetectionCallback interface to handle detection results.
  * - The analyze(ImageProxy) method is called by the camera framework to process image frames.
  * - Call stopAnalyzing() to stop the analysis process and release resources.
+ * - Convert, inference, postprocess (the result callback) and total frame times are recorded in
+ *   PipelineMetrics under {@link #METRICS_NAME}.
  *
  * Dependencies:
  * - Android ImageProxy: Provides access to image data from the camera.
@@ -56,7 +60,11 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
         void onCaptureDetectionResult(List<BarcodeEntity> entities);
     }
 
+    /** Detector name under which this analyzer's stage timings are recorded. */
+    public static final String METRICS_NAME = "barcode";
+
     private static final String TAG = "BarcodeAnalyzer";
+    private final PipelineMetrics metrics = PipelineMetrics.getInstance();
     private final DetectionCallback callback;
     private final BarcodeDecoder barcodeDecoder;
     private ExecutorService executorService;
@@ -90,16 +98,27 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
 
         isAnalyzing = false; // Prevent re-entry
         Future<?> future = executorService.submit(() -> {
+            PipelineMetrics.Span total = metrics.start(METRICS_NAME, PipelineStage.TOTAL);
             try {
                 Log.d(TAG, "Starting image analysis");
+                PipelineMetrics.Span convert = metrics.start(METRICS_NAME, PipelineStage.CONVERT);
                 ImageData imageData = ImageData.fromImageProxy(image);
+                convert.end();
                 long start = System.currentTimeMillis();
+                PipelineMetrics.Span inference = metrics.start(METRICS_NAME, PipelineStage.INFERENCE);
                 barcodeDecoder.process(imageData)
+                        .whenComplete((result, ex) -> inference.end())
                         .thenAccept(result -> {
                             long processingTime = System.currentTimeMillis() - start;
                             Log.d(TAG, "processing time: " + processingTime + "ms");
                             if (!isStopped) {
-                                callback.onDetectionResult(result, processingTime);
+                                PipelineMetrics.Span postprocess =
+                                        metrics.start(METRICS_NAME, PipelineStage.POSTPROCESS);
+                                try {
+                                    callback.onDetectionResult(result, processingTime);
+                                } finally {
+                                    postprocess.end();
+                                }
                             }
                             isAnalyzing = true;
                             image.close();
@@ -109,8 +128,10 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
                             isAnalyzing = true;
                             image.close();
                             return null;
-                        });
+                        })
+                        .whenComplete((ignored, ex) -> total.end());
             } catch (AIVisionSDKException e) {
+                total.end();
                 Log.e(TAG, Objects.requireNonNull(e.getMessage()));
                 image.close();
                 isAnalyzing = true;
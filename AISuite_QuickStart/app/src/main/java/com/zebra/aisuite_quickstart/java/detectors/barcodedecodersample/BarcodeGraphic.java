@@ -23,7 +23,8 @@ import java.util.List;
  *
  * Usage:
  * - Instantiate the BarcodeGraphic with a reference to the GraphicOverlay, and lists of bounding
- *   boxes and decoded strings.
+ *   boxes and decoded strings, or obtain one from a GraphicOverlay.GraphicPool and fill it with
+ *   addBox() — pooled instances keep their Rects between frames and all instances share Paints.
  * - The draw(Canvas) method is called to render the graphics on the screen.
  *
  * Dependencies:
@@ -35,17 +36,52 @@ import java.util.List;
  * display the results of the detection process in an Android application.
  */
 public class BarcodeGraphic extends GraphicOverlay.Graphic {
-    private final Paint boxPaint;
-    private final Paint contentRectPaint;
-    private final Paint contentTextPaint;
+    private static final Paint BOX_PAINT = new Paint();
+    private static final Paint CONTENT_RECT_PAINT = new Paint();
+    private static final Paint CONTENT_TEXT_PAINT = new Paint();
+    // measureText() runs on the producer thread; keep it off the paint used by draw().
+    private static final Paint MEASURE_PAINT;
+    private static final int CONTENT_PADDING = 25;
+
+    static {
+        // Initialize the paint for drawing bounding boxes
+        BOX_PAINT.setColor(Color.GREEN);
+        BOX_PAINT.setStyle(Paint.Style.STROKE);
+        BOX_PAINT.setStrokeWidth(6f);
+
+        // Initialize the paint for drawing content rectangles
+        CONTENT_RECT_PAINT.setColor(Color.WHITE);
+        CONTENT_RECT_PAINT.setStyle(Paint.Style.FILL);
+        CONTENT_RECT_PAINT.setStrokeWidth(6f);
+
+        // Initialize the paint for drawing text
+        CONTENT_TEXT_PAINT.setColor(Color.DKGRAY);
+        CONTENT_TEXT_PAINT.setAlpha(255);
+        CONTENT_TEXT_PAINT.setTextSize(36F);
+
+        MEASURE_PAINT = new Paint(CONTENT_TEXT_PAINT);
+    }
+
+    // Rects are retained across recycles; only the first count entries are live. Blank values
+    // are stored as null when added, so draw() does not trim them again on every frame.
     private final List<Rect> boundingBoxes = new ArrayList<>();
     private final List<Rect> contentRectBoxes = new ArrayList<>();
     private final List<String> decodedValues = new ArrayList<>();
-    private final int contentPadding = 25;
+    private int count;
 
     /**
-     * Constructs a new BarcodeGraphic object, initializing the Paint objects used for drawing
-     * and preparing the bounding boxes and decoded text for rendering.
+     * Constructs an empty BarcodeGraphic for use with a GraphicOverlay.GraphicPool. Fill it with
+     * addBox() before adding it to the overlay.
+     *
+     * @param overlay The GraphicOverlay on which this graphic will be drawn.
+     */
+    public BarcodeGraphic(GraphicOverlay overlay) {
+        super(overlay);
+    }
+
+    /**
+     * Constructs a new BarcodeGraphic object and prepares the bounding boxes and decoded text
+     * for rendering.
      *
      * @param overlay The GraphicOverlay on which this graphic will be drawn.
      * @param boxes A list of Rect objects representing the bounding boxes of detected barcodes.
@@ -55,50 +91,55 @@ public class BarcodeGraphic extends GraphicOverlay.Graphic {
         super(overlay);
         overlay.clear();
 
-        // Initialize the paint for drawing bounding boxes
-        boxPaint = new Paint();
-        boxPaint.setColor(Color.GREEN);
-        boxPaint.setStyle(Paint.Style.STROKE);
-        boxPaint.setStrokeWidth(6f);
-
-        // Initialize the paint for drawing content rectangles
-        contentRectPaint = new Paint();
-        contentRectPaint.setColor(Color.WHITE);
-        contentRectPaint.setStyle(Paint.Style.FILL);
-        contentRectPaint.setStrokeWidth(6f);
-
-        // Initialize the paint for drawing text
-        contentTextPaint = new Paint();
-        contentTextPaint.setColor(Color.DKGRAY);
-        contentTextPaint.setAlpha(255);
-        contentTextPaint.setTextSize(36F);
-        boundingBoxes.clear();
-
-        // Populate bounding boxes if provided
         if (boxes != null) {
-            boundingBoxes.addAll(boxes);
+            for (int i = 0; i < boxes.size(); i++) {
+                addBox(boxes.get(i), decodedStrings != null && i < decodedStrings.size()
+                        ? decodedStrings.get(i) : "");
+            }
         }
 
-        // Populate decoded values if provided
-        decodedValues.clear();
-        if (decodedStrings != null) {
-            decodedValues.addAll(decodedStrings);
+        // Trigger a redraw of the overlay
+        postInvalidate();
+    }
+
+    /**
+     * Appends one barcode. The box is copied, so the caller may reuse it.
+     *
+     * @param box Bounding box in overlay coordinates.
+     * @param decodedValue The decoded content, drawn below the box when not blank.
+     */
+    public void addBox(Rect box, String decodedValue) {
+        if (count == boundingBoxes.size()) {
+            boundingBoxes.add(new Rect());
+            contentRectBoxes.add(new Rect());
+            decodedValues.add(null);
         }
+        boundingBoxes.get(count).set(box);
+        decodedValues.set(count, decodedValue.trim().isEmpty() ? null : decodedValue);
 
-        // Calculate rectangles for the content text background
-        contentRectBoxes.clear();
-        for (int i = 0; i < boundingBoxes.size(); i++) {
-            int textWidth = (int) contentTextPaint.measureText(decodedValues.get(i));
-            contentRectBoxes.add(new Rect(
-                    boundingBoxes.get(i).left,
-                    boundingBoxes.get(i).bottom + contentPadding / 2,
-                    boundingBoxes.get(i).left + textWidth + contentPadding * 2,
-                    boundingBoxes.get(i).bottom + (int) contentTextPaint.getTextSize() + contentPadding
-            ));
+        // Calculate the rectangle for the content text background
+        int textWidth;
+        synchronized (MEASURE_PAINT) {
+            textWidth = (int) MEASURE_PAINT.measureText(decodedValue);
         }
+        contentRectBoxes.get(count).set(
+                box.left,
+                box.bottom + CONTENT_PADDING / 2,
+                box.left + textWidth + CONTENT_PADDING * 2,
+                box.bottom + (int) MEASURE_PAINT.getTextSize() + CONTENT_PADDING
+        );
+        count++;
+    }
 
-        // Trigger a redraw of the overlay
-        postInvalidate();
+    /** Number of barcodes in this graphic. */
+    public int size() {
+        return count;
+    }
+
+    @Override
+    protected void onRecycled() {
+        for (int i = 0; i < count; i++) decodedValues.set(i, null);
+        count = 0;
     }
 
     /**
@@ -109,22 +150,24 @@ public class BarcodeGraphic extends GraphicOverlay.Graphic {
     @Override
     public void draw(Canvas canvas) {
         // Draw bounding boxes
-        for (Rect rect : boundingBoxes) {
-            canvas.drawRect(rect, boxPaint);
+        for (int i = 0; i < count; i++) {
+            canvas.drawRect(boundingBoxes.get(i), BOX_PAINT);
         }
 
         // Draw the text content of the barcode
-        for (int i = 0; i < decodedValues.size(); i++) {
-            if (!decodedValues.get(i).trim().isEmpty()) {
+        for (int i = 0; i < count; i++) {
+            String value = decodedValues.get(i);
+            if (value != null) {
                 // Draw the rectangle for barcode content
-                canvas.drawRect(contentRectBoxes.get(i), contentRectPaint);
+                canvas.drawRect(contentRectBoxes.get(i), CONTENT_RECT_PAINT);
 
                 // Draw the text
+                Rect box = boundingBoxes.get(i);
                 canvas.drawText(
-                        decodedValues.get(i),
-                        boundingBoxes.get(i).left + contentPadding,
-                        boundingBoxes.get(i).bottom + contentPadding * 2,
-                        contentTextPaint
+                        value,
+                        box.left + CONTENT_PADDING,
+                        box.bottom + CONTENT_PADDING * 2,
+                        CONTENT_TEXT_PAINT
                 );
             }
         }
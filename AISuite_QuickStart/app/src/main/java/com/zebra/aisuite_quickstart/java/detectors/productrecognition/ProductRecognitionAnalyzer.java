@@ -12,6 +12,8 @@ import com.zebra.ai.vision.detector.ImageData;
 import com.zebra.ai.vision.detector.ModuleRecognizer;
 import com.zebra.ai.vision.entity.Entity;
 import com.zebra.ai.vision.entity.ShelfEntity;
+import com.zebra.aisuite_quickstart.metrics.PipelineMetrics;
+import com.zebra.aisuite_quickstart.metrics.PipelineStage;
 
 import java.util.List;
 import java.util.Objects;
@@ -34,6 +36,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * - Implement the DetectionCallback interface to handle recognition results.
  * - The analyze(ImageProxy) method is called by the camera framework to process image frames.
  * - Call stopAnalyzing() to stop the analysis process and release resources.
+ * - Convert, inference, postprocess (the result callback) and total frame times are recorded in
+ *   PipelineMetrics under {@link #METRICS_NAME}.
  * <p>
  * Dependencies:
  * - Android ImageProxy: Provides access to image data from the camera.
@@ -59,7 +63,11 @@ public class ProductRecognitionAnalyzer implements ImageAnalysis.Analyzer {
         void onCaptureRecognitionResult(List<Entity> result);
     }
 
+    /** Detector name under which this analyzer's stage timings are recorded. */
+    public static final String METRICS_NAME = "product_recognition";
+
     private static final String TAG = "ProductRecognitionAnalyzer";
+    private final PipelineMetrics metrics = PipelineMetrics.getInstance();
     private final AtomicBoolean isAnalyzing = new AtomicBoolean(true);
     private final DetectionCallback callback;
     private volatile boolean isStopped = false;
@@ -88,14 +96,21 @@ public class ProductRecognitionAnalyzer implements ImageAnalysis.Analyzer {
         }
 
         Log.d(TAG, "Converting ImageProxy to Bitmap...");
+        PipelineMetrics.Span total = metrics.start(METRICS_NAME, PipelineStage.TOTAL);
+        PipelineMetrics.Span convert = metrics.start(METRICS_NAME, PipelineStage.CONVERT);
         ImageData imageData = ImageData.fromImageProxy(image);
+        convert.end();
 
         Log.d(TAG, "Calling moduleRecognizer.process...");
         long start = System.currentTimeMillis();
         executorService.execute(() -> {
             try {
+                PipelineMetrics.Span inference = metrics.start(METRICS_NAME, PipelineStage.INFERENCE);
                 productRecognizer.process(imageData)
+                        .whenComplete((entityList, ex) -> inference.end())
                         .thenAccept(entityList -> {
+                            PipelineMetrics.Span postprocess =
+                                    metrics.start(METRICS_NAME, PipelineStage.POSTPROCESS);
                             long end = System.currentTimeMillis();
                             long inferenceTime = end - start;
                             Log.d(TAG, "Inference Time: " + inferenceTime);
@@ -108,19 +123,25 @@ public class ProductRecognitionAnalyzer implements ImageAnalysis.Analyzer {
                                 }
                             }
                             Log.d(TAG, "process() completed. Shelves found: " + shelfCount);
-                            if (!isStopped && callback != null) {
-                                Log.d(TAG, "Invoking callback.onRecognitionResult");
-                                callback.onRecognitionResult(entityList);
+                            try {
+                                if (!isStopped && callback != null) {
+                                    Log.d(TAG, "Invoking callback.onRecognitionResult");
+                                    callback.onRecognitionResult(entityList);
+                                }
+                            } finally {
+                                postprocess.end();
                             }
                             Log.d(TAG, "Image closed, ready for next frame.");
                         })
                         .exceptionally(ex -> {
                             Log.e(TAG, "Error in shelf recognition: " + ex.getMessage(), ex);
                             return null;
-                        });
+                        })
+                        .whenComplete((ignored, ex) -> total.end());
                 image.close();
                 isAnalyzing.set(true);
             } catch (Exception e) {
+                total.end();
                 Log.e(TAG, "Error running product recognition "+ e.getMessage());
                 isAnalyzing.set(true);
                 image.close();
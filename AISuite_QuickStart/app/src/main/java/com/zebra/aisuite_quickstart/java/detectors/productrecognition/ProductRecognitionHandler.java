@@ -11,13 +11,9 @@ import com.zebra.ai.vision.detector.BarcodeDecoder;
 import com.zebra.ai.vision.detector.EntityType;
 import com.zebra.ai.vision.detector.InferencerOptions;
 import com.zebra.ai.vision.detector.ModuleRecognizer;
+import com.zebra.aisuite_quickstart.utils.AppAssets;
 
-import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
@@ -64,8 +60,8 @@ public class ProductRecognitionHandler {
         this.executor = Executors.newFixedThreadPool(3);
         this.loadingCallback = loadingCallback;
         toPath = context.getFilesDir() + "/";
-        copyFromAssets(indexFilename, toPath);
-        copyFromAssets(labelsFilename, toPath);
+        copyFromAssets(indexFilename);
+        copyFromAssets(labelsFilename);
         initializeModuleRecognizer();
         initializeCaptureRecognizer();
     }
@@ -181,19 +177,14 @@ public class ProductRecognitionHandler {
 
 
     /**
-     * Copies files from the assets folder to the specified path.
+     * Copies a file from the assets folder to the app's files directory, unless an identical
+     * copy is already there.
+     *
+     * @param filename The name of the file to copy.
      */
-    private void copyFromAssets(String filename, String toPath) {
-        final int bufferSize = 8192;
-        try (InputStream stream = context.getAssets().open(filename);
-             OutputStream fos = Files.newOutputStream(Paths.get(toPath + filename));
-             BufferedOutputStream output = new BufferedOutputStream(fos)) {
-            byte[] data = new byte[bufferSize];
-            int count;
-            while ((count = stream.read(data)) != -1) {
-                output.write(data, 0, count);
-            }
-            output.flush();
+    private void copyFromAssets(String filename) {
+        try {
+            AppAssets.materialize(context, filename);
         } catch (IOException e) {
             Log.e(TAG, "Error copying from assets: " + e.getMessage());
         }
@@ -11,6 +11,8 @@ import com.zebra.ai.vision.detector.AIVisionSDKException;
 import com.zebra.ai.vision.detector.ImageData;
 import com.zebra.ai.vision.detector.TextOCR;
 import com.zebra.ai.vision.entity.ParagraphEntity;
+import com.zebra.aisuite_quickstart.metrics.PipelineMetrics;
+import com.zebra.aisuite_quickstart.metrics.PipelineStage;
 
 import java.util.List;
 import java.util.Objects;
@@ -34,6 +36,8 @@ import java.util.concurrent.Future;
  * - Implement the DetectionCallback interface to handle OCR results.
  * - The analyze(ImageProxy) method is called by the camera framework to process image frames.
  * - Call stopAnalyzing() to stop the analysis process and release resources.
+ * - Convert, inference, postprocess (the result callback) and total frame times are recorded in
+ *   PipelineMetrics under {@link #METRICS_NAME}.
  *
  * Dependencies:
  * - Android ImageProxy: Provides access to image data from the camera.
@@ -58,7 +62,11 @@ public class TextOCRAnalyzer implements ImageAnalysis.Analyzer {
         void onCaptureDetectionTextResult(List<ParagraphEntity> list);
     }
 
+    /** Detector name under which this analyzer's stage timings are recorded. */
+    public static final String METRICS_NAME = "ocr";
+
     private static final String TAG = "TextOCRAnalyzer";
+    private final PipelineMetrics metrics = PipelineMetrics.getInstance();
     private final DetectionCallback callback;
     private final TextOCR textOCR;
     private ExecutorService executorService;
@@ -93,16 +101,27 @@ public class TextOCRAnalyzer implements ImageAnalysis.Analyzer {
         isAnalyzing = false; // Prevent re-entry
 
         Future<?> future = executorService.submit(() -> {
+            PipelineMetrics.Span total = metrics.start(METRICS_NAME, PipelineStage.TOTAL);
             try {
                 Log.d(TAG, "Starting image analysis");
+                PipelineMetrics.Span convert = metrics.start(METRICS_NAME, PipelineStage.CONVERT);
                 ImageData imageData = ImageData.fromImageProxy(image);
+                convert.end();
                 long start = System.currentTimeMillis();
+                PipelineMetrics.Span inference = metrics.start(METRICS_NAME, PipelineStage.INFERENCE);
                 textOCR.process(imageData)
+                        .whenComplete((result, ex) -> inference.end())
                         .thenAccept(result -> {
                             long processingTime = System.currentTimeMillis() - start;
                             Log.d(TAG, "processing time: " + processingTime + "ms");
                             if (!isStopped) {
-                                callback.onDetectionTextResult(result, processingTime);
+                                PipelineMetrics.Span postprocess =
+                                        metrics.start(METRICS_NAME, PipelineStage.POSTPROCESS);
+                                try {
+                                    callback.onDetectionTextResult(result, processingTime);
+                                } finally {
+                                    postprocess.end();
+                                }
                             }
                             isAnalyzing = true;
                             image.close();
@@ -112,9 +131,11 @@ public class TextOCRAnalyzer implements ImageAnalysis.Analyzer {
                             isAnalyzing = true;
                             image.close();
                             return null;
-                        });
+                        })
+                        .whenComplete((ignored, ex) -> total.end());
 
             } catch (AIVisionSDKException e) {
+                total.end();
                 Log.e(TAG, Objects.requireNonNull(e.getMessage()));
                 isAnalyzing = true;
                 image.close();
@@ -6,15 +6,25 @@ import android.content.res.Configuration;
 import android.graphics.Rect;
 import android.hardware.camera2.CameraCharacteristics;
 import android.hardware.camera2.CameraManager;
+import android.hardware.display.DisplayManager;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.view.Display;
+import android.view.View;
 import android.view.WindowManager;
 
 import com.zebra.aisuite_quickstart.java.CameraXLivePreviewActivity;
 
+import java.util.List;
+
 /**
  * BoundingBoxMapper handles the mapping of bounding boxes from image coordinates
  * to overlay coordinates, including rotation transformations.
+ *
+ * The mapping is resolved once into an {@link OverlayTransform} and reused for every box until
+ * the display rotates, the preview view is laid out again, or one of the setters changes the
+ * camera state. Call {@link #release()} when the owning activity is destroyed.
  */
 public class BoundingBoxMapper {
     private static final String TAG = "BoundingBoxMapper";
@@ -25,16 +35,43 @@ public class BoundingBoxMapper {
     private int initialRotation;
     private boolean isFrontCamera;
 
-    private static final int ROTATION_0 = 0;
-    private static final int ROTATION_90 = 1;
-    private static final int ROTATION_180 = 2;
-    private static final int ROTATION_270 = 3;
+    private static final int ROTATION_0 = OverlayTransform.ROTATION_0;
+    private static final int ROTATION_90 = OverlayTransform.ROTATION_90;
+    private static final int ROTATION_180 = OverlayTransform.ROTATION_180;
+    private static final int ROTATION_270 = OverlayTransform.ROTATION_270;
 
     private final CameraXLivePreviewActivity activity;
     private boolean isTablet = false;
     private int cameraOrientation = 0;
     private boolean isHorizontalCameraTablet = false;
 
+    private final OverlayTransform transform = new OverlayTransform();
+    private final int[] mapped = new int[4];
+    private volatile boolean transformValid = false;
+    private boolean listenersRegistered = false;
+
+    private final DisplayManager.DisplayListener displayListener = new DisplayManager.DisplayListener() {
+        @Override
+        public void onDisplayAdded(int displayId) {
+        }
+
+        @Override
+        public void onDisplayRemoved(int displayId) {
+        }
+
+        @Override
+        public void onDisplayChanged(int displayId) {
+            invalidate();
+        }
+    };
+
+    private final View.OnLayoutChangeListener layoutListener =
+            (v, left, top, right, bottom, oldLeft, oldTop, oldRight, oldBottom) -> {
+                if (right - left != oldRight - oldLeft || bottom - top != oldBottom - oldTop) {
+                    invalidate();
+                }
+            };
+
     public BoundingBoxMapper(CameraXLivePreviewActivity activity,Context context) {
         this.activity = activity;
         this.context = context;
@@ -46,99 +83,120 @@ public class BoundingBoxMapper {
     public void setImageDimensions(int width, int height) {
         this.imageWidth = width;
         this.imageHeight = height;
+        invalidate();
     }
 
     public void setInitialRotation(int rotation) {
         this.initialRotation = rotation;
+        invalidate();
     }
 
     public void setFrontCamera(boolean frontCamera) {
         this.isFrontCamera = frontCamera;
+        invalidate();
+    }
+
+    /** Forces the transform to be rebuilt before the next box is mapped. */
+    public void invalidate() {
+        transformValid = false;
+    }
+
+    /** Unregisters the display and layout listeners. */
+    public void release() {
+        if (!listenersRegistered) return;
+        DisplayManager displayManager = (DisplayManager) context.getSystemService(Context.DISPLAY_SERVICE);
+        if (displayManager != null) displayManager.unregisterDisplayListener(displayListener);
+        activity.getBinding().previewView.removeOnLayoutChangeListener(layoutListener);
+        listenersRegistered = false;
     }
 
     public Rect mapBoundingBoxToOverlay(Rect bbox) {
+        if (!ensureTransform()) {
+            return bbox;
+        }
+        return mapInto(bbox, new Rect());
+    }
+
+    /**
+     * Maps bbox into out without allocating. If the overlay has not been laid out yet the box is
+     * copied unchanged.
+     *
+     * @return out
+     */
+    public Rect mapBoundingBoxToOverlay(Rect bbox, Rect out) {
+        if (!ensureTransform()) {
+            out.set(bbox);
+            return out;
+        }
+        return mapInto(bbox, out);
+    }
+
+    /**
+     * Maps a whole frame of boxes in place through a single transform lookup. If the overlay has
+     * not been laid out yet the boxes are left unchanged.
+     */
+    public void mapBoundingBoxes(List<Rect> boxes) {
+        if (!ensureTransform()) return;
+        for (int i = 0, n = boxes.size(); i < n; i++) {
+            Rect bbox = boxes.get(i);
+            mapInto(bbox, bbox);
+        }
+    }
+
+    private Rect mapInto(Rect bbox, Rect out) {
+        transform.mapRect(bbox.left, bbox.top, bbox.right, bbox.bottom, mapped);
+        out.set(mapped[0], mapped[1], mapped[2], mapped[3]);
+        return out;
+    }
+
+    /** Rebuilds the transform if it was invalidated; returns false while the overlay has no size. */
+    private boolean ensureTransform() {
+        if (transformValid) return true;
+        registerListeners();
+        // Set before reading state, so an invalidate() racing with the rebuild forces another one.
+        transformValid = true;
+
         Display display = ((WindowManager) context.getSystemService(Context.WINDOW_SERVICE))
                 .getDefaultDisplay();
         int currentRotation = display.getRotation();
 
         int relativeRotation = ((currentRotation - initialRotation + 4) % 4);
-        Log.d(TAG, "current rotation :"+currentRotation+" initial rotation "+initialRotation+" relative "+relativeRotation);
 
-        // This would need to be passed from the activity or calculated
-        int overlayWidth = activity.getBinding().previewView.getWidth(); // Need to get from GraphicOverlay
-        int overlayHeight = activity.getBinding().previewView.getHeight(); // Need to get from GraphicOverlay
+        int overlayWidth = activity.getBinding().previewView.getWidth();
+        int overlayHeight = activity.getBinding().previewView.getHeight();
 
         if (overlayWidth == 0 || overlayHeight == 0) {
-            return bbox;
+            // Not laid out yet; retry on the next call.
+            transformValid = false;
+            return false;
         }
 
-
-        Rect transformedBbox = transformBoundingBoxForRotation(bbox, relativeRotation);
-
-        int effectiveImageWidth = imageWidth;
-        int effectiveImageHeight = imageHeight;
-
+        boolean swapEffectiveSize = false;
         if(isHorizontalCameraTablet) {
             if ((isTablet && (relativeRotation == ROTATION_0 || relativeRotation == ROTATION_180)) ||
                     (!isTablet && (relativeRotation == ROTATION_90 || relativeRotation == ROTATION_270))) {
-                effectiveImageWidth = imageHeight;
-                effectiveImageHeight = imageWidth;
+                swapEffectiveSize = true;
             }
         }
-        Log.d(TAG,"overlay width and height"+overlayWidth+" "+ overlayHeight+ "effective width n height"+effectiveImageWidth+" "+ effectiveImageHeight);
-
-        float scaleX = (float) overlayWidth / effectiveImageWidth;
-        float scaleY = (float) overlayHeight / effectiveImageHeight;
-        float scale = Math.max(scaleX, scaleY);
-
-        float offsetX = (overlayWidth - effectiveImageWidth * scale) / 2f;
-        float offsetY = (overlayHeight - effectiveImageHeight * scale) / 2f;
-
-        // Handle mirroring for front camera
-        if (isFrontCamera) {
-            int left = transformedBbox.left;
-            int right = transformedBbox.right;
-            transformedBbox.left = effectiveImageWidth - right;
-            transformedBbox.right = effectiveImageWidth - left;
-        }
 
-        return new Rect(
-                (int) (transformedBbox.left * scale + offsetX),
-                (int) (transformedBbox.top * scale + offsetY),
-                (int) (transformedBbox.right * scale + offsetX),
-                (int) (transformedBbox.bottom * scale + offsetY)
-        );
+        transform.set(relativeRotation, imageWidth, imageHeight, overlayWidth, overlayHeight,
+                isFrontCamera, swapEffectiveSize);
+        Log.d(TAG, "Rebuilt overlay transform - current rotation " + currentRotation
+                + ", initial rotation " + initialRotation + ", relative " + relativeRotation
+                + ", overlay " + overlayWidth + "x" + overlayHeight
+                + ", effective " + transform.getEffectiveWidth() + "x" + transform.getEffectiveHeight()
+                + ", mirror " + isFrontCamera);
+        return true;
     }
 
-    private Rect transformBoundingBoxForRotation(Rect bbox, int relativeRotation) {
-        switch (relativeRotation) {
-            case ROTATION_0:
-                return new Rect(bbox);
-            case ROTATION_90:
-                return new Rect(
-                        bbox.top,
-                        imageWidth - bbox.right,
-                        bbox.bottom,
-                        imageWidth - bbox.left
-                );
-            case ROTATION_180:
-                return new Rect(
-                        imageWidth - bbox.right,
-                        imageHeight - bbox.bottom,
-                        imageWidth - bbox.left,
-                        imageHeight - bbox.top
-                );
-            case ROTATION_270:
-                return new Rect(
-                        imageHeight - bbox.bottom,
-                        bbox.left,
-                        imageHeight - bbox.top,
-                        bbox.right
-                );
-            default:
-                Log.w(TAG, "Unknown relative rotation: " + relativeRotation + ", using original bbox");
-                return new Rect(bbox);
+    private void registerListeners() {
+        if (listenersRegistered) return;
+        DisplayManager displayManager = (DisplayManager) context.getSystemService(Context.DISPLAY_SERVICE);
+        if (displayManager != null) {
+            displayManager.registerDisplayListener(displayListener, new Handler(Looper.getMainLooper()));
         }
+        activity.getBinding().previewView.addOnLayoutChangeListener(layoutListener);
+        listenersRegistered = true;
     }
 
     private boolean isTablet(Context context) {
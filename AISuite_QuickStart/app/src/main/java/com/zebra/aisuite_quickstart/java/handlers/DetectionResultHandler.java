@@ -32,6 +32,7 @@ import com.zebra.ai.vision.entity.ParagraphEntity;
 import com.zebra.ai.vision.entity.ProductEntity;
 import com.zebra.ai.vision.entity.ShelfEntity;
 import com.zebra.ai.vision.entity.WordEntity;
+import com.zebra.aisuite_quickstart.GraphicOverlay;
 import com.zebra.aisuite_quickstart.java.CameraXLivePreviewActivity;
 import com.zebra.aisuite_quickstart.java.analyzers.tracker.TrackerGraphic;
 import com.zebra.aisuite_quickstart.java.camera.CameraManager;
@@ -67,56 +68,62 @@ public class DetectionResultHandler {
     private final List<LabelEntity> capturedLabels = new ArrayList<>();
     private final List<RectF> capturedLabelViewRects = new ArrayList<>();
 
+    // Barcode overlay rendering reuses graphics and scratch rects across frames (UI thread only).
+    private GraphicOverlay.GraphicPool<BarcodeGraphic> barcodeGraphicPool;
+    private final Rect imageScratch = new Rect();
+    private final Rect overlayScratch = new Rect();
+
     public DetectionResultHandler(CameraXLivePreviewActivity activity, BoundingBoxMapper boundingBoxMapper, CameraManager cameraManager) {
         this.activity = activity;
         this.boundingBoxMapper = boundingBoxMapper;
         this.cameraManager = cameraManager;
     }
 
+    private GraphicOverlay.GraphicPool<BarcodeGraphic> barcodeGraphicPool(GraphicOverlay overlay) {
+        if (barcodeGraphicPool == null) {
+            barcodeGraphicPool = new GraphicOverlay.GraphicPool<>(() -> new BarcodeGraphic(overlay));
+        }
+        return barcodeGraphicPool;
+    }
+
     // Barcode detection result handler
     public void handleBarcodeDetection(List<BarcodeEntity> result) {
-        List<Rect> rects = new ArrayList<>();
-        List<String> decodedStrings = new ArrayList<>();
-
         activity.runOnUiThread(() -> {
-            activity.getBinding().graphicOverlay.clear();
+            GraphicOverlay overlay = activity.getBinding().graphicOverlay;
+            overlay.beginFrame();
             if (result != null) {
+                BarcodeGraphic graphic = barcodeGraphicPool(overlay).obtain();
                 for (BarcodeEntity bb : result) {
                     Rect rect = bb.getBoundingBox();
                     if (rect != null) {
-                        Log.d(TAG, String.format("Original bbox: %s", rect));
-                        Rect overlayRect = boundingBoxMapper.mapBoundingBoxToOverlay(rect);
-                        Log.d(TAG, String.format("Mapped bbox: %s", overlayRect));
-                        rects.add(overlayRect);
-                        decodedStrings.add(bb.getValue());
+                        graphic.addBox(boundingBoxMapper.mapBoundingBoxToOverlay(rect, overlayScratch), bb.getValue());
                     }
                     Log.e(TAG, "Detected entity - Value: " + bb.getValue());
                     Log.e(TAG, "Detected entity - Symbology: " + bb.getSymbology());
                 }
-                activity.getBinding().graphicOverlay.add(new BarcodeGraphic(activity.getBinding().graphicOverlay, rects, decodedStrings));
+                overlay.add(graphic);
             }
+            overlay.endFrame();
         });
     }
 
     // Legacy barcode detection result handler
     public void handleLegacyBarcodeDetection(BarcodeDecoder.Result[] barcodes) {
-        List<Rect> rects = new ArrayList<>();
-        List<String> decodedStrings = new ArrayList<>();
-
         activity.runOnUiThread(() -> {
-            activity.getBinding().graphicOverlay.clear();
+            GraphicOverlay overlay = activity.getBinding().graphicOverlay;
+            overlay.beginFrame();
+            BarcodeGraphic graphic = barcodeGraphicPool(overlay).obtain();
             for (BarcodeDecoder.Result barcode : barcodes) {
                 String decodedString = barcode.value;
                 BBox bbox = barcode.bboxData;
-                Rect rect = new Rect((int) bbox.xmin, (int) bbox.ymin, (int) bbox.xmax, (int) bbox.ymax);
-                Rect overlayRect = boundingBoxMapper.mapBoundingBoxToOverlay(rect);
-                rects.add(overlayRect);
-                decodedStrings.add(barcode.value);
+                imageScratch.set((int) bbox.xmin, (int) bbox.ymin, (int) bbox.xmax, (int) bbox.ymax);
+                graphic.addBox(boundingBoxMapper.mapBoundingBoxToOverlay(imageScratch, overlayScratch), barcode.value);
 
                 Log.d(TAG, "Symbology Type " + barcode.symbologytype);
                 Log.d(TAG, "Decoded barcode: " + decodedString);
             }
-            activity.getBinding().graphicOverlay.add(new BarcodeGraphic(activity.getBinding().graphicOverlay, rects, decodedStrings));
+            overlay.add(graphic);
+            overlay.endFrame();
         });
     }
 
@@ -126,7 +133,7 @@ public class DetectionResultHandler {
         List<String> decodedStrings = new ArrayList<>();
 
         activity.runOnUiThread(() -> {
-            activity.getBinding().graphicOverlay.clear();
+            activity.getBinding().graphicOverlay.beginFrame();
             for (ParagraphEntity entity : list) {
                 List<LineEntity> lines = entity.getLines();
                 for (LineEntity line : lines) {
@@ -139,16 +146,16 @@ public class DetectionResultHandler {
                                 float maxX = Math.max(Math.max(bbox.x[0], bbox.x[1]), Math.max(bbox.x[2], bbox.x[3]));
                                 float minY = Math.min(Math.min(bbox.y[0], bbox.y[1]), Math.min(bbox.y[2], bbox.y[3]));
                                 float maxY = Math.max(Math.max(bbox.y[0], bbox.y[1]), Math.max(bbox.y[2], bbox.y[3]));
-                                Rect rect = new Rect((int) minX, (int) minY, (int) maxX, (int) maxY);
-                                Rect overlayRect = boundingBoxMapper.mapBoundingBoxToOverlay(rect);
-                                rects.add(overlayRect);
+                                rects.add(new Rect((int) minX, (int) minY, (int) maxX, (int) maxY));
                                 decodedStrings.add(word.getText());
                             }
                         }
                     }
                 }
             }
+            boundingBoxMapper.mapBoundingBoxes(rects);
             activity.getBinding().graphicOverlay.add(new OCRGraphic(activity.getBinding().graphicOverlay, rects, decodedStrings));
+            activity.getBinding().graphicOverlay.endFrame();
         });
     }
 
@@ -158,27 +165,27 @@ public class DetectionResultHandler {
         List<String> decodedStrings = new ArrayList<>();
 
         activity.runOnUiThread(() -> {
-            activity.getBinding().graphicOverlay.clear();
+            activity.getBinding().graphicOverlay.beginFrame();
             for (Word word : words) {
                 if (word.decodes.length > 0) {
                     ComplexBBox bbox = word.bbox;
                     if (bbox != null && bbox.x != null && bbox.y != null &&
                             bbox.x.length >= 3 && bbox.y.length >= 3) {
                         float minX = bbox.x[0], maxX = bbox.x[2], minY = bbox.y[0], maxY = bbox.y[2];
-                        Rect rect = new Rect((int) minX, (int) minY, (int) maxX, (int) maxY);
-                        Rect overlayRect = boundingBoxMapper.mapBoundingBoxToOverlay(rect);
-                        rects.add(overlayRect);
+                        rects.add(new Rect((int) minX, (int) minY, (int) maxX, (int) maxY));
                         decodedStrings.add(word.decodes[0].content);
                     }
                 }
             }
+            boundingBoxMapper.mapBoundingBoxes(rects);
             activity.getBinding().graphicOverlay.add(new OCRGraphic(activity.getBinding().graphicOverlay, rects, decodedStrings));
+            activity.getBinding().graphicOverlay.endFrame();
         });
     }
 
     public void handleLegacyProductRecognitionResult(BBox[] detections, BBox[] products, Recognizer.Recognition[] recognitions) {
         activity.runOnUiThread(() -> {
-            activity.getBinding().graphicOverlay.clear();
+            activity.getBinding().graphicOverlay.beginFrame();
             if (detections != null) {
                 List<Rect> labelShelfRects = new ArrayList<>();
                 List<Rect> labelPegRects = new ArrayList<>();
@@ -228,6 +235,7 @@ public class DetectionResultHandler {
 
                 activity.getBinding().graphicOverlay.add(new ProductRecognitionGraphic(activity.getBinding().graphicOverlay, labelShelfRects, labelPegRects, shelfRects, recognizedRects, decodedStrings, barcodeRects, barcodeTexts));
             }
+            activity.getBinding().graphicOverlay.endFrame();
         });
     }
 
@@ -235,8 +243,11 @@ public class DetectionResultHandler {
     public void handleDetectionRecognitionResult(List<Entity> result) {
         Log.d(TAG, "Inside On Shelf RecognitionResult (flat hierarchy)");
         activity.runOnUiThread(() -> {
-            activity.getBinding().graphicOverlay.clear();
-            if (result == null) return;
+            activity.getBinding().graphicOverlay.beginFrame();
+            if (result == null) {
+                activity.getBinding().graphicOverlay.endFrame();
+                return;
+            }
 
             List<ShelfEntity> shelves = new ArrayList<>();
             List<LabelEntity> labels = new ArrayList<>();
@@ -308,6 +319,7 @@ public class DetectionResultHandler {
             activity.getBinding().graphicOverlay.add(new ProductRecognitionGraphic(activity.getBinding().graphicOverlay, labelShelfRects, labelPegRects, shelfRects, productRects, productLabels, barcodeRects,
                     barcodeTexts)
             );
+            activity.getBinding().graphicOverlay.endFrame();
         });
     }
 
@@ -325,7 +337,7 @@ public class DetectionResultHandler {
 
 
         activity.runOnUiThread(() -> {
-            activity.getBinding().graphicOverlay.clear();
+            activity.getBinding().graphicOverlay.beginFrame();
             if (barcodeEntities != null) {
                 for (Entity entity : barcodeEntities) {
                     if (entity instanceof BarcodeEntity) {
@@ -431,6 +443,7 @@ public class DetectionResultHandler {
                 activity.getBinding().graphicOverlay.add(new OCRGraphic(activity.getBinding().graphicOverlay, ocrRects, ocrStrings));
             if (!shelfRects.isEmpty() || !labelShelfRects.isEmpty() || !labelPegRects.isEmpty() || !productRects.isEmpty() || !productLabels.isEmpty())
                 activity.getBinding().graphicOverlay.add(new ProductRecognitionGraphic(activity.getBinding().graphicOverlay, labelShelfRects, labelPegRects, shelfRects, productRects, productLabels, null, null));
+            activity.getBinding().graphicOverlay.endFrame();
         });
     }
 
@@ -1198,7 +1211,7 @@ public class DetectionResultHandler {
         List<Rect> rects = new ArrayList<>();
 
         activity.runOnUiThread(() -> {
-            activity.getBinding().graphicOverlay.clear();
+            activity.getBinding().graphicOverlay.beginFrame();
             if (result != null) {
                 for (LocalizerEntity entity : result) {
                     Rect rect = entity.getBoundingBox();
@@ -1211,6 +1224,7 @@ public class DetectionResultHandler {
                 }
                 activity.getBinding().graphicOverlay.add(new WareHouseLocalizerGraphic(activity.getBinding().graphicOverlay, rects));
             }
+            activity.getBinding().graphicOverlay.endFrame();
         });
     }
 
@@ -1343,7 +1357,7 @@ public class DetectionResultHandler {
                 + " mobileNet=" + mobileNetRects.size());
 
         activity.runOnUiThread(() -> {
-            activity.getBinding().graphicOverlay.clear();
+            activity.getBinding().graphicOverlay.beginFrame();
             activity.getBinding().graphicOverlay.add(
                     new com.zebra.aisuite_quickstart.java.analyzers.customdetector.CustomDetectionGraphic(
                             activity.getBinding().graphicOverlay,
@@ -1353,6 +1367,7 @@ public class DetectionResultHandler {
                             mobileNetRects
                     )
             );
+            activity.getBinding().graphicOverlay.endFrame();
         });
     }
 }
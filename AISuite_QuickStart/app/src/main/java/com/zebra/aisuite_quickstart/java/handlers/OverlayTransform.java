@@ -0,0 +1,122 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.java.handlers;
+
+/**
+ * Image → overlay mapping resolved once per (rotation, image size, view size, mirror) state.
+ *
+ * A box is first rotated into the display orientation, optionally mirrored for the front camera,
+ * then scaled to fill the view (centre-crop, like PreviewView's FILL_CENTER). Every step is a
+ * signed axis swap or a scale, so the whole chain reduces to
+ *
+ *   x' = xSign · (x or y) + xBase        X = (int) (x' · scale + offsetX)
+ *   y' = ySign · (x or y) + yBase        Y = (int) (y' · scale + offsetY)
+ *
+ * with integer coefficients, which reproduces the previous per-box Rect arithmetic exactly,
+ * truncation included. No Android types are used, so the math is unit-testable on the JVM.
+ */
+public final class OverlayTransform {
+
+    public static final int ROTATION_0   = 0;
+    public static final int ROTATION_90  = 1;
+    public static final int ROTATION_180 = 2;
+    public static final int ROTATION_270 = 3;
+
+    // x' = xSign * (xFromY ? y : x) + xBase; likewise for y'.
+    private boolean xFromY;
+    private int     xSign = 1;
+    private int     xBase;
+    private boolean yFromX;
+    private int     ySign = 1;
+    private int     yBase;
+
+    private float scale   = 1f;
+    private float offsetX;
+    private float offsetY;
+    private int   effectiveWidth;
+    private int   effectiveHeight;
+
+    /**
+     * Recomputes the mapping.
+     *
+     * @param relativeRotation  display rotation relative to the rotation the image size was set
+     *                          for, as a Surface.ROTATION_* quarter-turn count
+     * @param swapEffectiveSize true on horizontal-camera tablets, where the scaled frame is
+     *                          imageHeight × imageWidth in this orientation
+     */
+    public OverlayTransform set(int relativeRotation, int imageWidth, int imageHeight,
+                                int overlayWidth, int overlayHeight,
+                                boolean mirror, boolean swapEffectiveSize) {
+        switch (relativeRotation) {
+            case ROTATION_90:
+                setAxes(true, 1, 0, true, -1, imageWidth);
+                break;
+            case ROTATION_180:
+                setAxes(false, -1, imageWidth, false, -1, imageHeight);
+                break;
+            case ROTATION_270:
+                setAxes(true, -1, imageHeight, true, 1, 0);
+                break;
+            default:
+                setAxes(false, 1, 0, false, 1, 0);
+                break;
+        }
+
+        effectiveWidth  = swapEffectiveSize ? imageHeight : imageWidth;
+        effectiveHeight = swapEffectiveSize ? imageWidth : imageHeight;
+
+        if (mirror) {
+            xSign = -xSign;
+            xBase = effectiveWidth - xBase;
+        }
+
+        float scaleX = (float) overlayWidth / effectiveWidth;
+        float scaleY = (float) overlayHeight / effectiveHeight;
+        scale   = Math.max(scaleX, scaleY);
+        offsetX = (overlayWidth - effectiveWidth * scale) / 2f;
+        offsetY = (overlayHeight - effectiveHeight * scale) / 2f;
+        return this;
+    }
+
+    public float getScale()         { return scale; }
+    public float getOffsetX()       { return offsetX; }
+    public float getOffsetY()       { return offsetY; }
+    public int getEffectiveWidth()  { return effectiveWidth; }
+    public int getEffectiveHeight() { return effectiveHeight; }
+
+    /**
+     * Maps an image-space box to overlay space. A negative sign reverses an axis, so that edge
+     * is taken from the opposite corner — exactly as the old Rect-based code did.
+     *
+     * @param out receives {left, top, right, bottom}; length ≥ 4
+     */
+    public void mapRect(int left, int top, int right, int bottom, int[] out) {
+        int nearX = axis(xFromY, xSign, xBase, left, top);
+        int farX  = axis(xFromY, xSign, xBase, right, bottom);
+        int nearY = axis(yFromX, ySign, yBase, top, left);
+        int farY  = axis(yFromX, ySign, yBase, bottom, right);
+
+        int l = xSign > 0 ? nearX : farX;
+        int r = xSign > 0 ? farX : nearX;
+        int t = ySign > 0 ? nearY : farY;
+        int b = ySign > 0 ? farY : nearY;
+
+        out[0] = (int) (l * scale + offsetX);
+        out[1] = (int) (t * scale + offsetY);
+        out[2] = (int) (r * scale + offsetX);
+        out[3] = (int) (b * scale + offsetY);
+    }
+
+    private void setAxes(boolean xFromY, int xSign, int xBase, boolean yFromX, int ySign, int yBase) {
+        this.xFromY = xFromY;
+        this.xSign  = xSign;
+        this.xBase  = xBase;
+        this.yFromX = yFromX;
+        this.ySign  = ySign;
+        this.yBase  = yBase;
+    }
+
+    // own is the coordinate on this axis, other the coordinate on the perpendicular axis.
+    private static int axis(boolean swapped, int sign, int base, int own, int other) {
+        return sign * (swapped ? other : own) + base;
+    }
+}
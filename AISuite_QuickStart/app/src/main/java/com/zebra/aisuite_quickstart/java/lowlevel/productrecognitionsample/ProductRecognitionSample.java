@@ -13,13 +13,9 @@ import com.zebra.ai.vision.detector.InferencerOptions;
 import com.zebra.ai.vision.detector.Localizer;
 import com.zebra.ai.vision.detector.Recognizer;
 import com.zebra.aisuite_quickstart.java.detectors.barcodedecodersample.BarcodeHandler;
+import com.zebra.aisuite_quickstart.utils.AppAssets;
 
-import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -86,8 +82,8 @@ public class ProductRecognitionSample {
             String indexFilename = "product.index";
             String labelsFilename = "product.txt";
             String toPath = context.getFilesDir() + "/";
-            copyFromAssets(indexFilename, toPath);
-            copyFromAssets(labelsFilename, toPath);
+            copyFromAssets(indexFilename);
+            copyFromAssets(labelsFilename);
 
             Recognizer.SettingsIndex reSettings = new Recognizer.SettingsIndex();
             reSettings.indexFilename = toPath + indexFilename;
@@ -177,22 +173,14 @@ public class ProductRecognitionSample {
     }
 
     /**
-     * Copies files from the assets folder to the specified path.
+     * Copies a file from the assets folder to the app's files directory, unless an identical
+     * copy is already there.
      *
      * @param filename The name of the file to copy.
-     * @param toPath   The destination path.
      */
-    private void copyFromAssets(String filename, String toPath) {
-        final int bufferSize = 8192;
-        try (InputStream stream = context.getAssets().open(filename);
-             OutputStream fos = Files.newOutputStream(Paths.get(toPath + filename));
-             BufferedOutputStream output = new BufferedOutputStream(fos)) {
-            byte[] data = new byte[bufferSize];
-            int count;
-            while ((count = stream.read(data)) != -1) {
-                output.write(data, 0, count);
-            }
-            output.flush();
+    private void copyFromAssets(String filename) {
+        try {
+            AppAssets.materialize(context, filename);
         } catch (IOException e) {
             Log.e(TAG, "Error in copy from assets: " + e.getMessage());
         }
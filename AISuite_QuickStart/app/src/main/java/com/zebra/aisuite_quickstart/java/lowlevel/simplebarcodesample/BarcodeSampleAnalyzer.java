@@ -13,7 +13,9 @@ import com.zebra.ai.vision.detector.BBox;
 import com.zebra.ai.vision.detector.BarcodeDecoder;
 import com.zebra.ai.vision.detector.InvalidInputException;
 import com.zebra.ai.vision.detector.Localizer;
-import com.zebra.aisuite_quickstart.utils.CommonUtils;
+import com.zebra.aisuite_quickstart.utils.ImageHandle;
+import com.zebra.aisuite_quickstart.yuv.BitmapConversionStage;
+import com.zebra.aisuite_quickstart.yuv.RgbFrameRing;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -60,12 +62,16 @@ public class BarcodeSampleAnalyzer implements ImageAnalysis.Analyzer {
     }
 
     private static final String TAG = "BarcodeAnalyzer";
+    // Pooled Bitmaps for the 1920x1080 analysis stream: one being analyzed, one spare.
+    private static final int MAX_FRAMES_IN_FLIGHT = 2;
     private boolean isAnalyzing = true;
     private final BarcodeSampleAnalyzer.SampleBarcodeDetectionCallback callback;
     private BarcodeDecoder barcodeDecoder;
     private BBox[] detections;
     private Localizer localizer;
     private final ExecutorService executorService;
+    private final BitmapConversionStage conversionStage =
+            new BitmapConversionStage(MAX_FRAMES_IN_FLIGHT, 1920, 1080);
     private volatile boolean isStopped = false;
 
     /**
@@ -97,8 +103,19 @@ public class BarcodeSampleAnalyzer implements ImageAnalysis.Analyzer {
         isAnalyzing = false; // Prevent re-entry
 
         Future<?> future = executorService.submit(() -> {
+            // Convert into a pooled Bitmap; if every pooled Bitmap is still in use, skip the
+            // frame rather than allocate.
+            RgbFrameRing.Frame frame = conversionStage.tryConvert(image);
+            if (frame == null) {
+                isAnalyzing = true;
+                image.close();
+                return;
+            }
             try {
-                Bitmap bitmap = CommonUtils.rotateBitmapIfNeeded(image);
+                // Localizing and decoding do not depend on orientation, so run them on the
+                // unrotated frame and rotate the result boxes instead of the pixels.
+                ImageHandle handle = BitmapConversionStage.toImageHandle(frame, image);
+                Bitmap bitmap = handle.getBitmap();
                 CompletableFuture<BBox[]> futureResult = localizer.detect(bitmap, executorService);
                 Log.d(TAG, "Starting image analysis");
                 futureResult.thenCompose(bBoxes -> {
@@ -110,11 +127,18 @@ public class BarcodeSampleAnalyzer implements ImageAnalysis.Analyzer {
                         throw new RuntimeException(e);
                     }
                 }).thenAccept(barcodes -> {
+                    if (barcodes != null) {
+                        for (BarcodeDecoder.Result barcode : barcodes) {
+                            handle.mapToUpright(barcode.bboxData);
+                        }
+                    }
                     callback.onDetectionResult(barcodes);
+                    frame.release();
                     isAnalyzing = true;
                     image.close();
                 }).exceptionally(ex -> {
                     Log.e(TAG, "Error in completable future result " + ex.getMessage());
+                    frame.release();
                     isAnalyzing = true;
                     image.close();
                     return null;
@@ -122,6 +146,7 @@ public class BarcodeSampleAnalyzer implements ImageAnalysis.Analyzer {
 
             } catch (AIVisionSDKException e) {
                 Log.e(TAG, Objects.requireNonNull(e.getMessage()));
+                frame.release();
                 isAnalyzing = true;
                 image.close();
             }
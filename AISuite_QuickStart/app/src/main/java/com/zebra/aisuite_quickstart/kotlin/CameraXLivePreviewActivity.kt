@@ -32,6 +32,7 @@ import com.zebra.ai.vision.entity.LocalizerEntity
 import com.zebra.ai.vision.entity.ParagraphEntity
 import com.zebra.ai.vision.viewfinder.EntityViewController
 import com.zebra.ai.vision.viewfinder.listners.EntityViewResizeSpecs
+import com.zebra.aisuite_quickstart.BuildConfig
 import com.zebra.aisuite_quickstart.CameraXViewModel
 import com.zebra.aisuite_quickstart.R
 import com.zebra.aisuite_quickstart.databinding.ActivityCameraXlivePreviewBinding
@@ -57,12 +58,14 @@ import com.zebra.aisuite_quickstart.kotlin.lowlevel.simpleocrsample.OCRAnalyzer
 import com.zebra.aisuite_quickstart.kotlin.lowlevel.simpleocrsample.OCRSample
 import com.zebra.aisuite_quickstart.kotlin.viewfinder.EntityBarcodeTracker
 import com.zebra.aisuite_quickstart.kotlin.viewfinder.EntityViewGraphic
+import com.zebra.aisuite_quickstart.metrics.PipelineMetrics
 import com.zebra.aisuite_quickstart.utils.CommonUtils
 import com.zebra.aisuite_quickstart.utils.CommonUtils.PALLET_AND_BOX_LOCALIZER
 import com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.CustomDetectorSample
 import com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.ocr.OcrTextEntity
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.launch
+import java.io.IOException
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
 import java.util.concurrent.atomic.AtomicInteger
@@ -128,6 +131,8 @@ class CameraXLivePreviewActivity : AppCompatActivity(), BarcodeAnalyzer.Detectio
 
         binding = ActivityCameraXlivePreviewBinding.inflate(layoutInflater)
         setContentView(binding.root)
+        // Per-stage pipeline timings as a debug overlay
+        binding.graphicOverlay.setMetricsVisible(BuildConfig.DEBUG)
         ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.camx_main)) { v, insets ->
             val systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars())
             v.setPadding(systemBars.left, systemBars.top, systemBars.right, systemBars.bottom)
@@ -341,7 +346,10 @@ class CameraXLivePreviewActivity : AppCompatActivity(), BarcodeAnalyzer.Detectio
                     Log.i(tag, "Using Entity Analyzer")
                     executors.execute {
                         analysisUseCase?.let {
-                            val t = Tracker(this, this, it, selectedFilterItems) { success -> handleModelLoadResult(loadGeneration, success) }
+                            val t = Tracker(
+                                this, this, it, selectedFilterItems,
+                                capturePolicy = Tracker.CaptureModelPolicy.ON_DEMAND
+                            ) { success -> handleModelLoadResult(loadGeneration, success) }
                             if (loadGeneration != modelLoadGeneration.get()) { t.stop(); return@execute }
                             tracker = t
                         }
@@ -540,9 +548,10 @@ class CameraXLivePreviewActivity : AppCompatActivity(), BarcodeAnalyzer.Detectio
 
     override fun handleEntities(result: EntityTrackerAnalyzer.Result) {
 
-            val barcodeEntities = tracker?.getBarcodeDecoder()?.let { result.getValue(it) }
-            val ocrEntities = tracker?.getTextOCR()?.let { result.getValue(it) }
-            val moduleEntities = tracker?.getModuleRecognizer()?.let { result.getValue(it) }
+            // Slower detectors do not run on every frame; the tracker fills in their last results.
+            val barcodeEntities = tracker?.getBarcodeEntities(result)
+            val ocrEntities = tracker?.getOcrEntities(result)
+            val moduleEntities = tracker?.getModuleEntities(result)
             detectionHandler.handleEntityTrackerDetection(barcodeEntities, ocrEntities, moduleEntities)
 
     }
@@ -750,12 +759,25 @@ class CameraXLivePreviewActivity : AppCompatActivity(), BarcodeAnalyzer.Detectio
         stopAnalyzing()
         cameraManager.unbindAll()
         disposeModels()
+        if (BuildConfig.DEBUG) dumpPipelineMetrics()
+    }
+
+    // Leaves the session's stage timings in the app's external files dir, for adb pull.
+    private fun dumpPipelineMetrics() {
+        val dir = getExternalFilesDir(null) ?: return
+        try {
+            PipelineMetrics.getInstance().dump(dir)
+            Log.d(tag, "Pipeline metrics written to $dir")
+        } catch (e: IOException) {
+            Log.w(tag, "Could not write pipeline metrics", e)
+        }
     }
 
     override fun onDestroy() {
         displayListener?.let {
             displayManager?.unregisterDisplayListener(it)
         }
+        if (::boundingBoxMapper.isInitialized) boundingBoxMapper.release()
         if (::executors.isInitialized && !executors.isShutdown) executors.shutdownNow()
         super.onDestroy()
     }
@@ -881,8 +903,20 @@ class CameraXLivePreviewActivity : AppCompatActivity(), BarcodeAnalyzer.Detectio
 
     fun initializeCaptureTracker(onComplete: () -> Unit) {
         binding.graphicOverlay.clear()
-        if (tracker?.captureModelsLoaded == true) {
+        val tracker = tracker ?: return
+        if (tracker.captureModelsLoaded) {
             onComplete()
+            return
+        }
+        // Capture models are loaded on first use; show progress while they load.
+        showModelLoadingProgress(true)
+        tracker.loadCaptureModels { loaded ->
+            showModelLoadingProgress(false)
+            if (loaded) {
+                onComplete()
+            } else {
+                Log.e(tag, "Capture tracker models failed to load")
+            }
         }
     }
 
@@ -16,6 +16,7 @@ import com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.barcode.Barc
 import com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.mobilenet.TFLiteModelIntegration
 import com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.ocr.OcrIntegration
 import com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.ocr.OcrTextEntity
+import com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.yolo.YoloInputTransform.ResizeMode
 import com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.yolo.YoloIntegration
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
@@ -58,6 +59,12 @@ class CustomDetectorSample(
             TFLiteModelIntegration.MODEL_ID
         )
 
+        /**
+         * How frames are fitted into the YOLO input. Analysis frames are 4:3 or 16:9, so the
+         * sample letterboxes them instead of stretching narrow objects out of shape.
+         */
+        private val YOLO_RESIZE_MODE = ResizeMode.LETTERBOX
+
         private const val TAG = "CustomDetectorSampleKt"
     }
 
@@ -113,7 +120,7 @@ class CustomDetectorSample(
 
         if (BarcodeIntegration.MODEL_ID      in selectedIds) barcodeDecoder    = BarcodeIntegration.create(executor)
         if (OcrIntegration.MODEL_ID          in selectedIds) mlkitDetector     = OcrIntegration.create()
-        if (YoloIntegration.MODEL_ID         in selectedIds) yoloDetector      = YoloIntegration.create(context)
+        if (YoloIntegration.MODEL_ID         in selectedIds) yoloDetector      = YoloIntegration.create(context, YOLO_RESIZE_MODE)
         if (TFLiteModelIntegration.MODEL_ID in selectedIds) mobileNetDetector = TFLiteModelIntegration.create(context)
 
         Log.i(TAG, "Selected detectors initialized in ${System.currentTimeMillis() - t0} ms")
@@ -8,7 +8,6 @@ import android.util.Log
 import org.tensorflow.lite.Interpreter
 import org.tensorflow.lite.support.common.FileUtil
 import java.nio.ByteBuffer
-import java.nio.ByteOrder
 
 /**
  * MobileNet SSD v1 COCO object detector (TFLite, quantized uint8).
@@ -21,10 +20,23 @@ import java.nio.ByteOrder
  *   2 — scores     [1, max_det]     float32  confidence (descending)
  *   3 — num_det    [1]              float32  number of valid detections
  * max_det is read from the model at runtime; boxes are mapped to bitmap pixel space on output.
+ *
+ * Input and output tensors are leased from a [TensorBufferPool] keyed by shape and returned after
+ * every run, so steady-state frames allocate no direct buffers or output arrays.
+ * [bufferPoolStats] exposes the pool counters, and [lastPreprocessNanos], [lastSessionNanos] and
+ * [lastDecodeNanos] the most recent frame's stage times.
+ *
+ * @param numThreads interpreter thread count; ≤ 0 keeps the TFLite default
  */
-class TFLiteModel(context: Context) : AutoCloseable {
+class TFLiteModel(
+    context: Context,
+    numThreads: Int = DEFAULT_NUM_THREADS
+) : AutoCloseable {
 
     companion object {
+        /** Let TFLite pick the interpreter thread count. */
+        const val DEFAULT_NUM_THREADS = -1
+
         private const val TAG            = "TFLiteModel"
         private const val MODEL_FILE     = "models/mobilenet_ssd.tflite"
         private const val CONF_THRESHOLD = 0.5f
@@ -36,13 +48,40 @@ class TFLiteModel(context: Context) : AutoCloseable {
     private val boxesIdx: Int
     private val scoresIdx: Int
     private val numDetIdx: Int
+    private val inputShape: IntArray
+    private val boxesShape: IntArray
+    private val vectorShape: IntArray
+    private val numDetShape = intArrayOf(1)
+
+    private val bufferPool = TensorBufferPool()
+    private var pixels: IntArray? = null
+
+    val bufferPoolStats: TensorBufferPool.Stats
+        get() = bufferPool.stats()
+
+    /** Wall time spent scaling and packing the most recent frame into the input buffer. */
+    @Volatile
+    var lastPreprocessNanos: Long = 0
+        private set
+
+    /** Wall time of the most recent interpreter run. */
+    @Volatile
+    var lastSessionNanos: Long = 0
+        private set
+
+    /** Wall time spent filtering and mapping the most recent output. */
+    @Volatile
+    var lastDecodeNanos: Long = 0
+        private set
 
     init {
-        Log.d(TAG, "Loading TFLite model from assets: $MODEL_FILE")
-        interpreter = Interpreter(FileUtil.loadMappedFile(context, MODEL_FILE))
+        Log.d(TAG, "Loading TFLite model from assets: $MODEL_FILE numThreads=$numThreads")
+        val options = Interpreter.Options().apply { if (numThreads > 0) setNumThreads(numThreads) }
+        interpreter = Interpreter(FileUtil.loadMappedFile(context, MODEL_FILE), options)
 
         // Resolve input size dynamically (typically 300 for MobileNet SSD)
-        inputSize = interpreter.getInputTensor(0).shape()[1]
+        inputShape = interpreter.getInputTensor(0).shape()
+        inputSize  = inputShape[1]
 
         var foundBoxes  = 0
         var foundScores = 2
@@ -63,6 +102,8 @@ class TFLiteModel(context: Context) : AutoCloseable {
         scoresIdx     = foundScores
         numDetIdx     = foundNumDet
         maxDetections = foundMaxDet
+        boxesShape    = intArrayOf(1, maxDetections, 4)
+        vectorShape   = intArrayOf(1, maxDetections)
 
         Log.i(TAG, "MobileNet SSD ready — inputSize=$inputSize maxDetections=$maxDetections" +
                 " boxesIdx=$boxesIdx scoresIdx=$scoresIdx numDetIdx=$numDetIdx" +
@@ -70,22 +111,50 @@ class TFLiteModel(context: Context) : AutoCloseable {
     }
 
     fun detect(bitmap: Bitmap): List<Rect> {
+        val t0 = System.nanoTime()
         val input = toInputBuffer(bitmap)
+        lastPreprocessNanos = System.nanoTime() - t0
         val bw = bitmap.width
         val bh = bitmap.height
 
-        val boxes   = Array(1) { Array(maxDetections) { FloatArray(4) } }
-        val classes = Array(1) { FloatArray(maxDetections) }
-        val scores  = Array(1) { FloatArray(maxDetections) }
-        val numDet  = FloatArray(1)
+        @Suppress("UNCHECKED_CAST")
+        val boxes   = bufferPool.acquireFloatArray(boxesShape) as Array<Array<FloatArray>>
+        @Suppress("UNCHECKED_CAST")
+        val classes = bufferPool.acquireFloatArray(vectorShape) as Array<FloatArray>
+        @Suppress("UNCHECKED_CAST")
+        val scores  = bufferPool.acquireFloatArray(vectorShape) as Array<FloatArray>
+        val numDet  = bufferPool.acquireFloatArray(numDetShape) as FloatArray
+
+        try {
+            return runAndDecode(input, boxes, classes, scores, numDet, bw, bh)
+        } finally {
+            bufferPool.release(input)
+            bufferPool.release(boxes)
+            bufferPool.release(classes)
+            bufferPool.release(scores)
+            bufferPool.release(numDet)
+        }
+    }
 
+    private fun runAndDecode(
+        input: ByteBuffer,
+        boxes: Array<Array<FloatArray>>,
+        classes: Array<FloatArray>,
+        scores: Array<FloatArray>,
+        numDet: FloatArray,
+        bw: Int,
+        bh: Int
+    ): List<Rect> {
         val outputs: MutableMap<Int, Any> = mutableMapOf(
             boxesIdx  to boxes,
             1         to classes,
             scoresIdx to scores,
             numDetIdx to numDet
         )
+        val t0 = System.nanoTime()
         interpreter.runForMultipleInputsOutputs(arrayOf(input), outputs)
+        val t1 = System.nanoTime()
+        lastSessionNanos = t1 - t0
 
         val n = minOf(numDet[0].toInt(), maxDetections)
         val results = (0 until n)
@@ -97,6 +166,7 @@ class TFLiteModel(context: Context) : AutoCloseable {
                      (xmax * bw).toInt(), (ymax * bh).toInt())
             }
         if (n > 0) Log.v(TAG, "  MobileNet SSD detections kept=${results.size}/$n top_score=${scores[0][0]}")
+        lastDecodeNanos = System.nanoTime() - t1
         return results
     }
 
@@ -104,11 +174,10 @@ class TFLiteModel(context: Context) : AutoCloseable {
         val sw = if (bitmap.config == Bitmap.Config.HARDWARE)
             bitmap.copy(Bitmap.Config.ARGB_8888, false) else bitmap
         val scaled = Bitmap.createScaledBitmap(sw, inputSize, inputSize, true)
-        val pixels = IntArray(inputSize * inputSize)
+        val pixels = pixels ?: IntArray(inputSize * inputSize).also { pixels = it }
         scaled.getPixels(pixels, 0, inputSize, 0, 0, inputSize, inputSize)
 
-        val buf = ByteBuffer.allocateDirect(inputSize * inputSize * 3)
-            .order(ByteOrder.nativeOrder())
+        val buf = bufferPool.acquireByteBuffer(inputShape, 1)
         for (px in pixels) {
             buf.put(((px shr 16) and 0xFF).toByte())
             buf.put(((px shr  8) and 0xFF).toByte())
@@ -118,5 +187,9 @@ class TFLiteModel(context: Context) : AutoCloseable {
         return buf
     }
 
-    override fun close() = interpreter.close()
+    override fun close() {
+        Log.d(TAG, "Releasing interpreter — buffer pool $bufferPoolStats")
+        interpreter.close()
+        bufferPool.clear()
+    }
 }
@@ -5,6 +5,8 @@ import android.content.Context
 import android.util.Log
 import com.zebra.ai.vision.custommodels.CustomDetector
 import com.zebra.ai.vision.entity.DetectionEntity
+import com.zebra.aisuite_quickstart.metrics.PipelineMetrics
+import com.zebra.aisuite_quickstart.metrics.PipelineStage
 
 /**
  * Steps 1+2: Initialize MobileNet SSD TFLite model and wrap it in a CustomDetector.
@@ -21,16 +23,25 @@ object TFLiteModelIntegration {
 
     private const val TAG = "TFLiteModelIntegration"
 
-    fun create(context: Context): CustomDetector<DetectionEntity> {
-        Log.d(TAG, "Initializing MobileNet SSD object detector…")
+    /**
+     * @param numThreads TFLite interpreter thread count; ≤ 0 keeps the TFLite default
+     */
+    fun create(context: Context, numThreads: Int = TFLiteModel.DEFAULT_NUM_THREADS): CustomDetector<DetectionEntity> {
+        Log.d(TAG, "Initializing MobileNet SSD object detector… numThreads=$numThreads")
 
         // Step 1: Initialize
-        val model = TFLiteModel(context)
+        val model = TFLiteModel(context, numThreads)
 
         // Step 2: Wrap with CustomDetector
+        val metrics = PipelineMetrics.getInstance()
         val detector = CustomDetector.create(model, MODEL_ID) { m, imageData ->
+            val start = metrics.nanoTime()
             val entities = m.detect(imageData.getBitmap())
                 .map { rect -> DetectionEntity(rect, emptyList()) }
+            metrics.record(MODEL_ID, PipelineStage.CONVERT, m.lastPreprocessNanos)
+            metrics.record(MODEL_ID, PipelineStage.INFERENCE, m.lastSessionNanos)
+            metrics.record(MODEL_ID, PipelineStage.POSTPROCESS, m.lastDecodeNanos)
+            metrics.record(MODEL_ID, PipelineStage.TOTAL, metrics.nanoTime() - start)
             Log.v(TAG, "  MobileNet SSD: ${entities.size} detection(s)")
             entities
         }
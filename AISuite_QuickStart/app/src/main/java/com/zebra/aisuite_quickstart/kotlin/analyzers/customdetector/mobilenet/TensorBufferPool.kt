@@ -0,0 +1,114 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.mobilenet
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.util.ArrayDeque
+import java.util.IdentityHashMap
+
+/**
+ * Reusable tensor buffers for TFLite inference, keyed by tensor shape.
+ *
+ * Direct ByteBuffers are only reclaimed when the GC finalises their owner, so allocating one per
+ * frame lets native memory creep over a long shift. This pool hands out direct input buffers and
+ * float output arrays, takes them back after the interpreter run, and reuses them for the next
+ * frame with the same shape. Buffers are only allocated on a miss, so after the first frame every
+ * acquire is a hit.
+ *
+ * acquire*() and release() may be called from any thread.
+ */
+class TensorBufferPool {
+
+    /** Snapshot of pool counters. */
+    data class Stats(
+        /** acquire*() calls served from an idle pooled buffer. */
+        val hits: Long,
+        /** acquire*() calls that had to allocate. */
+        val misses: Long,
+        /** Bytes owned by the pool — idle plus currently leased buffers. */
+        val bytesRetained: Long,
+        /** Buffers currently idle in the pool. */
+        val idleBuffers: Int
+    )
+
+    private val idle   = HashMap<Key, ArrayDeque<Any>>()
+    private val leased = IdentityHashMap<Any, Key>()
+
+    private var hits          = 0L
+    private var misses        = 0L
+    private var bytesRetained = 0L
+    private var idleCount     = 0
+
+    /** Returns a cleared, native-order direct buffer for a tensor of the given shape. */
+    @Synchronized
+    fun acquireByteBuffer(shape: IntArray, bytesPerElement: Int): ByteBuffer {
+        val key = Key(Kind.DIRECT_BYTES, shape, bytesPerElement)
+        val buffer = poll(key) as ByteBuffer?
+            ?: ByteBuffer.allocateDirect(key.bytes.toInt()).order(ByteOrder.nativeOrder()).also { onMiss(key) }
+        buffer.clear()
+        leased[buffer] = key
+        return buffer
+    }
+
+    /**
+     * Returns a float array with the given shape, e.g. [1, 10, 4] → Array<Array<FloatArray>>.
+     * Contents are whatever the previous lease left; the interpreter overwrites them.
+     */
+    @Synchronized
+    fun acquireFloatArray(shape: IntArray): Any {
+        val key = Key(Kind.FLOAT_ARRAY, shape, 4)
+        val array = poll(key) ?: newFloatArray(shape, 0).also { onMiss(key) }
+        leased[array] = key
+        return array
+    }
+
+    /** Returns a buffer obtained from this pool. Unknown or already-released buffers are ignored. */
+    @Synchronized
+    fun release(buffer: Any) {
+        val key = leased.remove(buffer) ?: return
+        idle.getOrPut(key) { ArrayDeque() }.push(buffer)
+        idleCount++
+    }
+
+    /**
+     * Drops all idle buffers and forgets the leased ones, so buffers still leased at the time are
+     * ignored by release() instead of coming back into the pool.
+     */
+    @Synchronized
+    fun clear() {
+        idle.clear()
+        leased.clear()
+        idleCount     = 0
+        bytesRetained = 0
+    }
+
+    @Synchronized
+    fun stats(): Stats = Stats(hits, misses, bytesRetained, idleCount)
+
+    private fun poll(key: Key): Any? =
+        idle[key]?.poll()?.also {
+            hits++
+            idleCount--
+        }
+
+    private fun onMiss(key: Key) {
+        misses++
+        bytesRetained += key.bytes
+    }
+
+    private fun newFloatArray(shape: IntArray, dim: Int): Any =
+        if (dim == shape.size - 1) FloatArray(shape[dim])
+        else Array(shape[dim]) { newFloatArray(shape, dim + 1) }
+
+    private enum class Kind { DIRECT_BYTES, FLOAT_ARRAY }
+
+    private class Key(val kind: Kind, shape: IntArray, bytesPerElement: Int) {
+        val shape: IntArray = shape.clone()
+        val bytes: Long = shape.fold(1L) { acc, d -> acc * d } * bytesPerElement
+
+        override fun equals(other: Any?): Boolean =
+            other is Key && kind == other.kind && bytes == other.bytes && shape.contentEquals(other.shape)
+
+        override fun hashCode(): Int = 31 * kind.hashCode() + shape.contentHashCode()
+    }
+}
@@ -0,0 +1,244 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.yolo
+
+import kotlin.math.exp
+
+/**
+ * Non-Maximum Suppression engine over packed primitive boxes.
+ *
+ * Modes:
+ *   AGNOSTIC  — any two overlapping boxes compete, whatever their class (the [nms] behaviour).
+ *   PER_CLASS — boxes only suppress boxes of the same class, so a person next to a bicycle
+ *               keeps both detections.
+ *
+ * Algorithms:
+ *   GREEDY        — classic O(n²) greedy NMS.
+ *   GRID          — greedy NMS with candidates bucketed into a uniform spatial grid, so a kept
+ *                   box is only compared against boxes sharing a cell with it. Produces exactly
+ *                   the same result as GREEDY and scales to thousands of candidates.
+ *   SOFT_LINEAR   — Soft-NMS, overlapping scores are scaled by (1 − IoU) above the threshold.
+ *   SOFT_GAUSSIAN — Soft-NMS, overlapping scores are scaled by exp(−IoU² / σ).
+ * Soft-NMS keeps a box while its decayed score stays at or above softScoreThreshold.
+ *
+ * Boxes are packed [x1, y1, x2, y2] per candidate; scores must be non-negative. Scratch arrays
+ * grow on demand and are reused between calls. Not thread-safe — use one engine per detector.
+ */
+class NmsEngine(
+    val mode: Mode,
+    val algorithm: Algorithm,
+    private val iouThreshold: Float,
+    private val softSigma: Float = 0.5f,
+    private val softScoreThreshold: Float = 0.001f
+) {
+
+    enum class Mode { AGNOSTIC, PER_CLASS }
+
+    enum class Algorithm { GREEDY, GRID, SOFT_LINEAR, SOFT_GAUSSIAN }
+
+    private var order      = LongArray(0)
+    private var rank       = IntArray(0)
+    private var suppressed = BooleanArray(0)
+    private var working    = FloatArray(0)
+    private var cellStart  = IntArray(0)
+    private var cellItems  = IntArray(0)
+
+    /**
+     * Score of each kept box from the last run(), aligned with keep. For soft variants this is
+     * the decayed score; otherwise it is the input score.
+     */
+    var keptScores = FloatArray(0)
+        private set
+
+    /**
+     * Runs NMS over the first [count] candidates and writes kept indices into [keep]
+     * (length ≥ count). GREEDY/GRID write them in descending score order, soft variants in
+     * selection order. [classIds] may be null in AGNOSTIC mode. Returns the number kept.
+     */
+    fun run(boxes: FloatArray, scores: FloatArray, classIds: IntArray?, count: Int, keep: IntArray): Int {
+        ensureCapacity(count)
+        return when (algorithm) {
+            Algorithm.GRID -> grid(boxes, scores, classIds, count, keep)
+            Algorithm.SOFT_LINEAR, Algorithm.SOFT_GAUSSIAN -> soft(boxes, scores, classIds, count, keep)
+            Algorithm.GREEDY -> greedy(boxes, scores, classIds, count, keep)
+        }
+    }
+
+    // ── Greedy ───────────────────────────────────────────────────────────────
+
+    private fun greedy(boxes: FloatArray, scores: FloatArray, classIds: IntArray?, count: Int, keep: IntArray): Int {
+        sortByScoreDescending(scores, count)
+        suppressed.fill(false, 0, count)
+        var kept = 0
+
+        for (r in 0 until count) {
+            val i = order[r].toInt()
+            if (suppressed[i]) continue
+            keptScores[kept] = scores[i]
+            keep[kept++] = i
+            for (s in r + 1 until count) {
+                val j = order[s].toInt()
+                if (!suppressed[j] && competes(classIds, i, j) && iou(boxes, i, j) > iouThreshold) {
+                    suppressed[j] = true
+                }
+            }
+        }
+        return kept
+    }
+
+    // ── Grid-bucketed greedy ─────────────────────────────────────────────────
+
+    private fun grid(boxes: FloatArray, scores: FloatArray, classIds: IntArray?, count: Int, keep: IntArray): Int {
+        if (count == 0) return 0
+        sortByScoreDescending(scores, count)
+        for (r in 0 until count) rank[order[r].toInt()] = r
+
+        // Cell size ≈ mean box extent, so a typical box spans at most 2×2 cells.
+        var minX = Float.MAX_VALUE
+        var minY = Float.MAX_VALUE
+        var maxX = -Float.MAX_VALUE
+        var maxY = -Float.MAX_VALUE
+        var extentSum = 0.0
+        for (i in 0 until count) {
+            val o = i * 4
+            minX = minOf(minX, boxes[o])
+            minY = minOf(minY, boxes[o + 1])
+            maxX = maxOf(maxX, boxes[o + 2])
+            maxY = maxOf(maxY, boxes[o + 3])
+            extentSum += maxOf(boxes[o + 2] - boxes[o], boxes[o + 3] - boxes[o + 1])
+        }
+        val span = maxOf(maxX - minX, maxY - minY)
+        var cell = maxOf((extentSum / count).toFloat(), span / MAX_GRID_CELLS)
+        if (!(cell > 0f)) cell = 1f
+        val cols  = ((maxX - minX) / cell).toInt() + 1
+        val rows  = ((maxY - minY) / cell).toInt() + 1
+        val cells = cols * rows
+
+        fun col(x: Float) = ((x - minX) / cell).toInt()
+        fun row(y: Float) = ((y - minY) / cell).toInt()
+
+        // Counting sort of (cell, box) pairs into CSR arrays: cellStart[c]..cellStart[c + 1].
+        if (cellStart.size < cells + 1) cellStart = IntArray(cells + 1)
+        cellStart.fill(0, 0, cells + 1)
+        var total = 0
+        for (i in 0 until count) {
+            val o = i * 4
+            for (y in row(boxes[o + 1])..row(boxes[o + 3])) {
+                for (x in col(boxes[o])..col(boxes[o + 2])) {
+                    cellStart[y * cols + x + 1]++
+                    total++
+                }
+            }
+        }
+        for (c in 0 until cells) cellStart[c + 1] += cellStart[c]
+        if (cellItems.size < total) cellItems = IntArray(total)
+        val fill = cellStart.copyOf(cells)
+        for (i in 0 until count) {
+            val o = i * 4
+            for (y in row(boxes[o + 1])..row(boxes[o + 3])) {
+                for (x in col(boxes[o])..col(boxes[o + 2])) {
+                    cellItems[fill[y * cols + x]++] = i
+                }
+            }
+        }
+
+        suppressed.fill(false, 0, count)
+        var kept = 0
+        for (r in 0 until count) {
+            val i = order[r].toInt()
+            if (suppressed[i]) continue
+            keptScores[kept] = scores[i]
+            keep[kept++] = i
+
+            val o = i * 4
+            for (y in row(boxes[o + 1])..row(boxes[o + 3])) {
+                for (x in col(boxes[o])..col(boxes[o + 2])) {
+                    val c = y * cols + x
+                    for (k in cellStart[c] until cellStart[c + 1]) {
+                        val j = cellItems[k]
+                        if (rank[j] > r && !suppressed[j] && competes(classIds, i, j) &&
+                            iou(boxes, i, j) > iouThreshold) {
+                            suppressed[j] = true
+                        }
+                    }
+                }
+            }
+        }
+        return kept
+    }
+
+    // ── Soft-NMS ─────────────────────────────────────────────────────────────
+
+    private fun soft(boxes: FloatArray, scores: FloatArray, classIds: IntArray?, count: Int, keep: IntArray): Int {
+        System.arraycopy(scores, 0, working, 0, count)
+        suppressed.fill(false, 0, count)   // reused as "already selected or dropped"
+        var kept = 0
+
+        repeat(count) {
+            var best = -1
+            var bestScore = -1f
+            for (j in 0 until count) {
+                if (!suppressed[j] && working[j] > bestScore) {
+                    bestScore = working[j]
+                    best = j
+                }
+            }
+            if (best < 0 || bestScore < softScoreThreshold) return kept
+            suppressed[best] = true
+            keptScores[kept] = bestScore
+            keep[kept++] = best
+
+            for (j in 0 until count) {
+                if (suppressed[j] || !competes(classIds, best, j)) continue
+                val overlap = iou(boxes, best, j)
+                if (algorithm == Algorithm.SOFT_GAUSSIAN) {
+                    working[j] *= exp(-(overlap * overlap) / softSigma)
+                } else if (overlap > iouThreshold) {
+                    working[j] *= 1f - overlap
+                }
+                if (working[j] < softScoreThreshold) suppressed[j] = true
+            }
+        }
+        return kept
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private fun competes(classIds: IntArray?, i: Int, j: Int): Boolean =
+        mode == Mode.AGNOSTIC || classIds == null || classIds[i] == classIds[j]
+
+    // Non-negative float bit patterns order like the floats, so (bits << 32 | ~index) sorts by
+    // score without boxing; the inverted index keeps ties in ascending index order.
+    private fun sortByScoreDescending(scores: FloatArray, count: Int) {
+        for (i in 0 until count) {
+            order[i] = (scores[i].toRawBits().toLong() shl 32) or (i.inv().toLong() and 0xFFFFFFFFL)
+        }
+        order.sortDescending(0, count)
+        for (i in 0 until count) order[i] = order[i].inv() and 0xFFFFFFFFL
+    }
+
+    private fun ensureCapacity(count: Int) {
+        if (order.size >= count) return
+        order      = LongArray(count)
+        rank       = IntArray(count)
+        suppressed = BooleanArray(count)
+        keptScores = FloatArray(count)
+        working    = FloatArray(count)
+    }
+
+    private companion object {
+        /** Upper bound on grid cells per axis; keeps the bucket table small for sparse outliers. */
+        const val MAX_GRID_CELLS = 128
+
+        fun iou(b: FloatArray, i: Int, j: Int): Float {
+            val a = i * 4
+            val c = j * 4
+            val interW = minOf(b[a + 2], b[c + 2]) - maxOf(b[a], b[c])
+            val interH = minOf(b[a + 3], b[c + 3]) - maxOf(b[a + 1], b[c + 1])
+            if (interW <= 0f || interH <= 0f) return 0f
+            val inter = interW * interH
+            val areaA = maxOf(0f, b[a + 2] - b[a]) * maxOf(0f, b[a + 3] - b[a + 1])
+            val areaB = maxOf(0f, b[c + 2] - b[c]) * maxOf(0f, b[c + 3] - b[c + 1])
+            return inter / (areaA + areaB - inter)
+        }
+    }
+}
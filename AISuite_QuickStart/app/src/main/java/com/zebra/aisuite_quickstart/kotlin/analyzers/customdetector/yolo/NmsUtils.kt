@@ -3,7 +3,8 @@ package com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.yolo
 
 /**
  * Non-Maximum Suppression: given parallel lists of [x1, y1, x2, y2] boxes and confidence
- * scores, returns the indices of boxes that survive the IoU cull.
+ * scores, returns the indices of boxes that survive the IoU cull. Class-agnostic; YOLO
+ * post-processing uses [NmsEngine] for per-class, soft and grid-bucketed variants.
  */
 internal fun nms(
     boxes        : List<FloatArray>,
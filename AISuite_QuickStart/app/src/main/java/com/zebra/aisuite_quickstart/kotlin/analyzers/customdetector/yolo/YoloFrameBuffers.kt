@@ -0,0 +1,85 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.yolo
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.FloatBuffer
+
+/**
+ * Pinned per-session buffers for YOLO pre/post-processing.
+ *
+ * Every buffer is allocated on first use and then reused for every following frame, so a
+ * steady-state frame performs no large allocation. The input and output float buffers are
+ * direct and in native order, which lets ONNX Runtime wrap them in an OnnxTensor without copying.
+ *
+ * Each (re)allocation is counted against the current frame; call beginFrame() before touching
+ * the buffers and read frameAllocations/frameAllocatedBytes once the frame is done.
+ *
+ * Not thread-safe — one instance belongs to one model session, which runs one frame at a time.
+ */
+class YoloFrameBuffers {
+
+    private var pixels: IntArray?    = null
+    private var input : FloatBuffer? = null
+    private var output: FloatBuffer? = null
+
+    /** Number of buffers (re)allocated since the last beginFrame(). */
+    var frameAllocations: Int = 0
+        private set
+
+    /** Bytes (re)allocated since the last beginFrame(). */
+    var frameAllocatedBytes: Long = 0
+        private set
+
+    /** Number of buffers allocated over the lifetime of this instance. */
+    var totalAllocations: Long = 0
+        private set
+
+    /** Resets the per-frame allocation counters. */
+    fun beginFrame() {
+        frameAllocations    = 0
+        frameAllocatedBytes = 0
+    }
+
+    /** ARGB pixel scratch for a width×height model input. */
+    fun pixels(count: Int): IntArray =
+        pixels?.takeIf { it.size == count }
+            ?: IntArray(count).also { pixels = it; recordAllocation(4L * count) }
+
+    /** Direct CHW float input buffer, rewound and ready to be filled. */
+    fun input(count: Int): FloatBuffer =
+        (input?.takeIf { it.capacity() == count }
+            ?: allocateDirectFloats(count).also { input = it; recordAllocation(4L * count) })
+            .apply { clear() }
+
+    /** Direct float output buffer sized to the model output, rewound and ready to be read. */
+    fun output(count: Int): FloatBuffer =
+        (output?.takeIf { it.capacity() == count }
+            ?: allocateDirectFloats(count).also { output = it; recordAllocation(4L * count) })
+            .apply { clear() }
+
+    private fun recordAllocation(bytes: Long) {
+        frameAllocations++
+        frameAllocatedBytes += bytes
+        totalAllocations++
+    }
+
+    companion object {
+        /**
+         * Packs ARGB pixels into planar RGB (CHW) floats normalised to [0, 1].
+         * dst must hold at least 3 × count floats; its position is left unchanged.
+         */
+        fun packChw(pixels: IntArray, count: Int, dst: FloatBuffer) {
+            val base = dst.position()
+            for (i in 0 until count) {
+                val px = pixels[i]
+                dst.put(base + i,             (px shr 16 and 0xFF) / 255f)
+                dst.put(base + count + i,     (px shr  8 and 0xFF) / 255f)
+                dst.put(base + 2 * count + i, (px        and 0xFF) / 255f)
+            }
+        }
+
+        private fun allocateDirectFloats(count: Int): FloatBuffer =
+            ByteBuffer.allocateDirect(4 * count).order(ByteOrder.nativeOrder()).asFloatBuffer()
+    }
+}
@@ -0,0 +1,73 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.yolo
+
+/**
+ * Source-image → model-input mapping used by YOLO preprocessing, and its exact inverse.
+ *
+ *   model = source × scale + pad
+ *
+ * STRETCH scales each axis independently to fill the square input (aspect ratio is lost).
+ * LETTERBOX scales both axes by the same factor and centres the image, padding the remainder.
+ *
+ * Instances are mutable so one transform can be reused for every frame without allocating.
+ */
+class YoloInputTransform {
+
+    /** How a source frame is fitted into the square model input. */
+    enum class ResizeMode {
+        /** Squash/stretch to fill the input — the original behaviour. */
+        STRETCH,
+        /** Preserve aspect ratio and pad the borders with a solid colour. */
+        LETTERBOX
+    }
+
+    var scaleX = 1f
+        private set
+    var scaleY = 1f
+        private set
+    var padX = 0f
+        private set
+    var padY = 0f
+        private set
+
+    private var sourceW = 0
+    private var sourceH = 0
+
+    /** Recomputes the transform for a sourceW×sourceH frame and a square model input. */
+    fun set(mode: ResizeMode, sourceW: Int, sourceH: Int, inputSize: Int): YoloInputTransform {
+        this.sourceW = sourceW
+        this.sourceH = sourceH
+        if (mode == ResizeMode.LETTERBOX) {
+            val scale = minOf(inputSize.toFloat() / sourceW, inputSize.toFloat() / sourceH)
+            scaleX = scale
+            scaleY = scale
+            padX   = (inputSize - sourceW * scale) / 2f
+            padY   = (inputSize - sourceH * scale) / 2f
+        } else {
+            scaleX = inputSize.toFloat() / sourceW
+            scaleY = inputSize.toFloat() / sourceH
+            padX   = 0f
+            padY   = 0f
+        }
+        return this
+    }
+
+    /**
+     * Maps an [x1, y1, x2, y2] box from model-input space back to source pixels, in place.
+     * The result is clamped to the source frame, so boxes that spill into padding are trimmed.
+     */
+    fun mapToSource(box: FloatArray) {
+        box[0] = ((box[0] - padX) / scaleX).coerceIn(0f, sourceW.toFloat())
+        box[1] = ((box[1] - padY) / scaleY).coerceIn(0f, sourceH.toFloat())
+        box[2] = ((box[2] - padX) / scaleX).coerceIn(0f, sourceW.toFloat())
+        box[3] = ((box[3] - padY) / scaleY).coerceIn(0f, sourceH.toFloat())
+    }
+
+    /** Maps an [x1, y1, x2, y2] box from source pixels into model-input space, in place. */
+    fun mapToModel(box: FloatArray) {
+        box[0] = box[0] * scaleX + padX
+        box[1] = box[1] * scaleY + padY
+        box[2] = box[2] * scaleX + padX
+        box[3] = box[3] * scaleY + padY
+    }
+}
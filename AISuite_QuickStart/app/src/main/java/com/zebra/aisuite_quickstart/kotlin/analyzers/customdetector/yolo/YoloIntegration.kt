@@ -5,6 +5,9 @@ import android.content.Context
 import android.util.Log
 import com.zebra.ai.vision.custommodels.CustomDetector
 import com.zebra.ai.vision.entity.DetectionEntity
+import com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.yolo.YoloInputTransform.ResizeMode
+import com.zebra.aisuite_quickstart.metrics.PipelineMetrics
+import com.zebra.aisuite_quickstart.metrics.PipelineStage
 
 /**
  * Steps 1+2: Initialize YOLOv8n ONNX model and wrap it in a CustomDetector.
@@ -18,17 +21,30 @@ object YoloIntegration {
 
     private const val TAG = "YoloIntegration"
 
-    fun create(context: Context): CustomDetector<DetectionEntity> {
-        Log.d(TAG, "Initializing YOLOv8n ONNX…")
+    /**
+     * @param resizeMode how frames are fitted into the 640×640 input; LETTERBOX keeps the aspect
+     *                   ratio (padding with [YoloOnnxModel.DEFAULT_PAD_COLOR]) and is the better
+     *                   choice for 16:9 analysis frames with narrow objects.
+     */
+    fun create(context: Context, resizeMode: ResizeMode = ResizeMode.STRETCH): CustomDetector<DetectionEntity> {
+        Log.d(TAG, "Initializing YOLOv8n ONNX… resize=$resizeMode")
 
         // Step 1: Initialize
-        val model = YoloOnnxModel(context)
+        val model = YoloOnnxModel(context, resizeMode = resizeMode)
 
         // Step 2: Wrap with CustomDetector
+        val metrics = PipelineMetrics.getInstance()
         val detector = CustomDetector.create(model, MODEL_ID) { m, imageData ->
+            val start = metrics.nanoTime()
             val entities = m.detect(imageData.getBitmap())
                 .map { rect -> DetectionEntity(rect, emptyList()) }
-            Log.v(TAG, "  YOLO: ${entities.size} detection(s)")
+            metrics.record(MODEL_ID, PipelineStage.CONVERT, m.lastPreprocessNanos)
+            metrics.record(MODEL_ID, PipelineStage.INFERENCE, m.lastSessionNanos)
+            metrics.record(MODEL_ID, PipelineStage.POSTPROCESS, m.lastDecodeNanos)
+            metrics.record(MODEL_ID, PipelineStage.TOTAL, metrics.nanoTime() - start)
+            Log.v(TAG, "  YOLO: ${entities.size} detection(s), " +
+                    "preprocess(${m.resizeMode})=${m.lastPreprocessNanos / 1000} µs " +
+                    "session=${m.lastSessionNanos / 1000} µs decode=${m.lastDecodeNanos / 1000} µs")
             entities
         }
 
@@ -2,15 +2,22 @@
 package com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.yolo
 
 import ai.onnxruntime.OnnxTensor
+import ai.onnxruntime.OnnxValue
 import ai.onnxruntime.OrtEnvironment
 import ai.onnxruntime.OrtSession
+import ai.onnxruntime.TensorInfo
 import android.content.Context
 import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.Matrix
+import android.graphics.Paint
 import android.graphics.Rect
 import android.util.Log
+import com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.yolo.YoloInputTransform.ResizeMode
 import java.io.FileInputStream
 import java.nio.FloatBuffer
 import java.nio.channels.FileChannel
+import kotlin.math.roundToInt
 
 /**
  * YOLOv8n general object detector — 80 COCO classes (ONNX Runtime).
@@ -20,19 +27,93 @@ import java.nio.channels.FileChannel
  *
  * Implements AutoCloseable so the ONNX session is released when
  * CustomDetector.close() cascades to this.
+ *
+ * In [PreprocessMode.POOLED] mode (the default) the scaled bitmap, pixel scratch, input tensor,
+ * input map and output tensor are created once per session and reused for every frame;
+ * [frameBuffers] exposes how many large buffers the last frame had to allocate.
+ * [PreprocessMode.ALLOCATING] keeps the original allocate-per-frame path for comparison.
+ *
+ * The frame is fitted into the square input according to [ResizeMode]: STRETCH (the original
+ * behaviour) or LETTERBOX, which keeps the aspect ratio and pads with [padColor]. Boxes are
+ * mapped back to source pixels through the exact inverse of the transform used for the frame.
+ * [lastPreprocessNanos] reports the preprocessing cost so both modes can be compared on device.
+ *
+ * Output decoding is done by [YoloV8Decoder] on primitive arrays and suppressed per class by
+ * [NmsEngine]; session and decode times are reported separately via [lastSessionNanos] and
+ * [lastDecodeNanos].
  */
-class YoloOnnxModel(context: Context) : AutoCloseable {
+class YoloOnnxModel(
+    context: Context,
+    val preprocessMode: PreprocessMode = PreprocessMode.POOLED,
+    val resizeMode: ResizeMode = ResizeMode.STRETCH,
+    private val padColor: Int = DEFAULT_PAD_COLOR
+) : AutoCloseable {
+
+    /** How input/output buffers are managed between frames. */
+    enum class PreprocessMode {
+        /** Allocate fresh pixel, float, bitmap and tensor buffers for every frame. */
+        ALLOCATING,
+        /** Reuse pinned buffers and tensors for the lifetime of the session. */
+        POOLED
+    }
 
     companion object {
+        /** Grey (114, 114, 114) — the padding colour YOLOv8 is trained with. */
+        const val DEFAULT_PAD_COLOR = 0xFF727272.toInt()
+
         private const val MODEL_FILE      = "models/yolov8n-onnx/yolov8n.onnx"
         private const val INPUT_SIZE      = 640
         private const val CONF_THRESHOLD  = 0.3f
         private const val IOU_THRESHOLD   = 0.45f
+        private const val NUM_PREDICTIONS = 8400
+        private const val NUM_CLASSES     = 80
+        private const val GRID_NMS_MIN_CANDIDATES = 512
         private const val TAG = "YoloOnnxModel"
     }
 
     private val env    : OrtEnvironment = OrtEnvironment.getEnvironment()
     private val session: OrtSession
+    private val inputName  : String
+    private val outputName : String
+    private val outputShape: LongArray
+
+    /** Pinned buffers of the POOLED path; the frame counters describe the most recent frame. */
+    val frameBuffers = YoloFrameBuffers()
+
+    // ── Pooled-mode state (lazily created, reused across frames) ─────────────
+    private val scaleMatrix = Matrix()
+    private val scalePaint  = Paint(Paint.FILTER_BITMAP_FLAG)
+    private var scaledBitmap : Bitmap?                 = null
+    private var scaledCanvas : Canvas?                 = null
+    private var inputTensor  : OnnxTensor?             = null
+    private var outputTensor : OnnxTensor?             = null
+    private var inputMap     : Map<String, OnnxTensor> = emptyMap()
+    private var pinnedOutputs: Map<String, OnnxValue>? = null
+    private val transform = YoloInputTransform()
+
+    private val decoder = YoloV8Decoder(NUM_PREDICTIONS, NUM_CLASSES)
+
+    // Per-class NMS so overlapping objects of different classes don't suppress each other.
+    // GRID gives the same result as GREEDY but only compares boxes that share a grid cell.
+    private val greedyNms = NmsEngine(NmsEngine.Mode.PER_CLASS, NmsEngine.Algorithm.GREEDY, IOU_THRESHOLD)
+    private val gridNms   = NmsEngine(NmsEngine.Mode.PER_CLASS, NmsEngine.Algorithm.GRID, IOU_THRESHOLD)
+    private val box     = FloatArray(4)
+    private var keep    = IntArray(64)
+
+    /** Wall time spent fitting and packing the most recent frame into the input tensor. */
+    @Volatile
+    var lastPreprocessNanos: Long = 0
+        private set
+
+    /** Wall time of the most recent OrtSession.run(). */
+    @Volatile
+    var lastSessionNanos: Long = 0
+        private set
+
+    /** Wall time spent decoding, un-mapping and suppressing the most recent output. */
+    @Volatile
+    var lastDecodeNanos: Long = 0
+        private set
 
     init {
         Log.d(TAG, "Loading ONNX session from assets: $MODEL_FILE")
@@ -41,29 +122,119 @@ class YoloOnnxModel(context: Context) : AutoCloseable {
             FileChannel.MapMode.READ_ONLY, fd.startOffset, fd.declaredLength
         )
         session = env.createSession(buffer)
-        Log.i(TAG, "ONNX session ready — inputs=${session.inputNames} outputs=${session.outputNames}")
+        inputName   = session.inputNames.iterator().next()
+        outputName  = session.outputNames.iterator().next()
+        outputShape = (session.outputInfo[outputName]?.info as? TensorInfo)?.shape ?: LongArray(0)
+        Log.i(TAG, "ONNX session ready — inputs=${session.inputNames} outputs=${session.outputNames}" +
+                " mode=$preprocessMode resize=$resizeMode")
     }
 
-    fun detect(bitmap: Bitmap): List<Rect> {
-        val inputFloats = bitmapToInputFloats(bitmap)
+    fun detect(bitmap: Bitmap): List<Rect> =
+        if (preprocessMode == PreprocessMode.POOLED) detectPooled(bitmap) else detectAllocating(bitmap)
+
+    private fun detectAllocating(bitmap: Bitmap): List<Rect> {
+        val t0 = System.nanoTime()
+        val frameTransform = YoloInputTransform().set(resizeMode, bitmap.width, bitmap.height, INPUT_SIZE)
+        val inputFloats = bitmapToInputFloats(bitmap, frameTransform)
         val shape       = longArrayOf(1L, 3L, INPUT_SIZE.toLong(), INPUT_SIZE.toLong())
-        val inputName   = session.inputNames.iterator().next()
+        lastPreprocessNanos = System.nanoTime() - t0
 
+        val t1  = System.nanoTime()
         val raw = OnnxTensor.createTensor(env, FloatBuffer.wrap(inputFloats), shape).use { input ->
             session.run(mapOf(inputName to input)).use { results ->
+                lastSessionNanos = System.nanoTime() - t1
                 val outTensor = results[0] as OnnxTensor
                 val buf = outTensor.floatBuffer
                 FloatArray(buf.remaining()).also { buf.get(it) }
             }
         }
 
-        return decodeYolov8(raw, bitmap.width, bitmap.height)
+        return decodeYolov8(FloatBuffer.wrap(raw), frameTransform)
+    }
+
+    // Steady state: no pixel/float/bitmap/tensor allocation — the input tensor wraps the pinned
+    // direct buffer, and the output is written by ORT straight into the pinned output tensor.
+    private fun detectPooled(bitmap: Bitmap): List<Rect> {
+        frameBuffers.beginFrame()
+        ensurePooledTensors()
+
+        val t0 = System.nanoTime()
+        transform.set(resizeMode, bitmap.width, bitmap.height, INPUT_SIZE)
+        val n = INPUT_SIZE * INPUT_SIZE
+        val pixels = frameBuffers.pixels(n)
+        scaleInto(bitmap).getPixels(pixels, 0, INPUT_SIZE, 0, 0, INPUT_SIZE, INPUT_SIZE)
+        YoloFrameBuffers.packChw(pixels, n, frameBuffers.input(3 * n))
+        lastPreprocessNanos = System.nanoTime() - t0
+
+        val pinned = pinnedOutputs
+        val t1 = System.nanoTime()
+        val raw = if (pinned != null) {
+            session.run(inputMap, pinned).use { frameBuffers.output(outputCount()) }
+        } else {
+            session.run(inputMap).use { results -> (results[0] as OnnxTensor).floatBuffer }
+        }
+        lastSessionNanos = System.nanoTime() - t1
+        if (frameBuffers.frameAllocations > 0) {
+            Log.v(TAG, "Pooled frame allocated ${frameBuffers.frameAllocations} buffer(s), " +
+                    "${frameBuffers.frameAllocatedBytes} bytes")
+        }
+        return decodeYolov8(raw, transform)
+    }
+
+    private fun ensurePooledTensors() {
+        if (inputTensor != null) return
+        val n     = INPUT_SIZE * INPUT_SIZE
+        val shape = longArrayOf(1L, 3L, INPUT_SIZE.toLong(), INPUT_SIZE.toLong())
+        val input = OnnxTensor.createTensor(env, frameBuffers.input(3 * n), shape)
+        inputTensor = input
+        inputMap    = mapOf(inputName to input)
+
+        // Only pin the output when its shape is fully static; otherwise ORT allocates it per run.
+        val count = outputCount()
+        if (count > 0) {
+            val output = OnnxTensor.createTensor(env, frameBuffers.output(count), outputShape)
+            outputTensor  = output
+            pinnedOutputs = mapOf(outputName to output)
+        }
+    }
+
+    private fun outputCount(): Int {
+        if (outputShape.isEmpty() || outputShape.any { it <= 0 }) return -1
+        return outputShape.fold(1L) { acc, d -> acc * d }.toInt()
+    }
+
+    // Draws the source into a reused INPUT_SIZE² bitmap instead of createScaledBitmap().
+    private fun scaleInto(bitmap: Bitmap): Bitmap {
+        val target = scaledBitmap
+            ?: Bitmap.createBitmap(INPUT_SIZE, INPUT_SIZE, Bitmap.Config.ARGB_8888).also {
+                scaledBitmap = it
+                scaledCanvas = Canvas(it)
+            }
+        // A software Canvas cannot read HARDWARE bitmaps, so those still need a one-off copy.
+        val software = if (bitmap.config == Bitmap.Config.HARDWARE)
+            bitmap.copy(Bitmap.Config.ARGB_8888, false) else bitmap
+        scaledCanvas?.let { drawFitted(it, software, transform, scaleMatrix, scalePaint) }
+        if (software !== bitmap) software.recycle()
+        return target
+    }
+
+    private fun drawFitted(canvas: Canvas, source: Bitmap, t: YoloInputTransform, matrix: Matrix, paint: Paint) {
+        if (t.padX > 0f || t.padY > 0f) canvas.drawColor(padColor)
+        matrix.setScale(t.scaleX, t.scaleY)
+        matrix.postTranslate(t.padX, t.padY)
+        canvas.drawBitmap(source, matrix, paint)
     }
 
-    private fun bitmapToInputFloats(bitmap: Bitmap): FloatArray {
+    private fun bitmapToInputFloats(bitmap: Bitmap, t: YoloInputTransform): FloatArray {
         val software = if (bitmap.config == Bitmap.Config.HARDWARE)
             bitmap.copy(Bitmap.Config.ARGB_8888, false) else bitmap
-        val scaled = Bitmap.createScaledBitmap(software, INPUT_SIZE, INPUT_SIZE, true)
+        val scaled = if (resizeMode == ResizeMode.LETTERBOX) {
+            Bitmap.createBitmap(INPUT_SIZE, INPUT_SIZE, Bitmap.Config.ARGB_8888).also {
+                drawFitted(Canvas(it), software, t, Matrix(), Paint(Paint.FILTER_BITMAP_FLAG))
+            }
+        } else {
+            Bitmap.createScaledBitmap(software, INPUT_SIZE, INPUT_SIZE, true)
+        }
         val pixels = IntArray(INPUT_SIZE * INPUT_SIZE)
         scaled.getPixels(pixels, 0, INPUT_SIZE, 0, 0, INPUT_SIZE, INPUT_SIZE)
 
@@ -79,39 +250,36 @@ class YoloOnnxModel(context: Context) : AutoCloseable {
 
     // YOLOv8n output: [1, 84, 8400] row-major — first index = feature, second = prediction.
     // Channels 0-3: cx, cy, w, h in 640-px model space. Channels 4-83: 80 COCO class scores.
-    private fun decodeYolov8(raw: FloatArray, bitmapW: Int, bitmapH: Int): List<Rect> {
-        val numPreds  = 8400
-        val numValues = 84
-
-        val boxes  = mutableListOf<FloatArray>()
-        val scores = mutableListOf<Float>()
-
-        for (p in 0 until numPreds) {
-            val cx = raw[0 * numPreds + p]
-            val cy = raw[1 * numPreds + p]
-            val w  = raw[2 * numPreds + p]
-            val h  = raw[3 * numPreds + p]
-
-            var maxScore = 0f
-            for (c in 4 until numValues) {
-                val s = raw[c * numPreds + p]
-                if (s > maxScore) maxScore = s
-            }
-            if (maxScore < CONF_THRESHOLD) continue
-
-            boxes  += floatArrayOf(
-                (cx - w / 2f) * bitmapW / 640f,
-                (cy - h / 2f) * bitmapH / 640f,
-                (cx + w / 2f) * bitmapW / 640f,
-                (cy + h / 2f) * bitmapH / 640f
-            )
-            scores += maxScore
+    // Decoding is delegated to YoloV8Decoder, which works on primitive arrays.
+    private fun decodeYolov8(raw: FloatBuffer, t: YoloInputTransform): List<Rect> {
+        val t0    = System.nanoTime()
+        val count = decoder.decode(raw, CONF_THRESHOLD)
+
+        if (count == 0) {
+            lastDecodeNanos = System.nanoTime() - t0
+            return emptyList()
         }
 
-        return nms(boxes, scores.toFloatArray(), IOU_THRESHOLD)
-            .map { i -> boxes[i].let { Rect(it[0].toInt(), it[1].toInt(), it[2].toInt(), it[3].toInt()) } }
+        // NMS runs in model space, like the Java sample; only the kept boxes are un-mapped.
+        if (keep.size < count) keep = IntArray(maxOf(count, keep.size * 2))
+        val boxes  = decoder.boxes
+        val engine = if (count > GRID_NMS_MIN_CANDIDATES) gridNms else greedyNms
+        val kept   = engine.run(boxes, decoder.scores, decoder.classIds, count, keep)
+        val results = ArrayList<Rect>(kept)
+        for (k in 0 until kept) {
+            System.arraycopy(boxes, keep[k] * 4, box, 0, 4)
+            t.mapToSource(box)
+            results.add(Rect(box[0].roundToInt(), box[1].roundToInt(), box[2].roundToInt(), box[3].roundToInt()))
+        }
+        lastDecodeNanos = System.nanoTime() - t0
+        return results
     }
 
     // OrtEnvironment is a singleton — closing it would affect any other ONNX session.
-    override fun close() = session.close()
+    override fun close() {
+        inputTensor?.close()
+        outputTensor?.close()
+        scaledBitmap?.recycle()
+        session.close()
+    }
 }
@@ -0,0 +1,104 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.yolo
+
+import java.nio.FloatBuffer
+
+/**
+ * Primitive-array decoder for the YOLOv8 [1, 4 + numClasses, numPredictions] output.
+ *
+ * The output is channel-major, so walking it anchor by anchor touches every class plane with a
+ * stride of numPredictions floats. This decoder instead reads one class plane at a time into a
+ * scratch row and keeps a running max score/class per anchor, which is a sequential scan. Anchors
+ * whose max score stays below the confidence threshold are rejected before their box channels
+ * are ever read, and survivors are written into packed primitive arrays — nothing is boxed.
+ *
+ * Scratch arrays grow on demand and are reused, so a steady-state decode allocates nothing.
+ * Not thread-safe — one decoder belongs to one model session.
+ */
+class YoloV8Decoder(
+    private val numPredictions: Int,
+    private val numClasses: Int
+) {
+
+    private val row       = FloatArray(numPredictions)
+    private val bestScore = FloatArray(numPredictions)
+    private val bestClass = IntArray(numPredictions)
+
+    /** Packed [x1, y1, x2, y2] per candidate; only the first count × 4 entries are valid. */
+    var boxes = FloatArray(64 * BOX_DIMS)
+        private set
+
+    /** Best class score per candidate; only the first count entries are valid. */
+    var scores = FloatArray(64)
+        private set
+
+    /** Best class index per candidate; only the first count entries are valid. */
+    var classIds = IntArray(64)
+        private set
+
+    /** Number of candidates produced by the last [decode] call. */
+    var count = 0
+        private set
+
+    /**
+     * Decodes raw model output into candidate boxes in model-input space.
+     *
+     * @param raw           model output; read from index 0 regardless of its position
+     * @param confThreshold anchors whose best class score is below this are rejected
+     * @return number of candidates
+     */
+    fun decode(raw: FloatBuffer, confThreshold: Float): Int {
+        val p = numPredictions
+        bestScore.fill(0f)
+        bestClass.fill(-1)
+
+        // Pass 1: sequential scan of each class plane, tracking the best class per anchor.
+        for (c in 0 until numClasses) {
+            raw.position((BOX_DIMS + c) * p)
+            raw.get(row, 0, p)
+            for (i in 0 until p) {
+                val s = row[i]
+                if (s > bestScore[i]) {
+                    bestScore[i] = s
+                    bestClass[i] = c
+                }
+            }
+        }
+        raw.rewind()
+
+        // Pass 2: only anchors that cleared the threshold have their box channels read.
+        count = 0
+        for (i in 0 until p) {
+            val score = bestScore[i]
+            if (score < confThreshold) continue
+
+            val cx = raw.get(i)
+            val cy = raw.get(p + i)
+            val w  = raw.get(2 * p + i)
+            val h  = raw.get(3 * p + i)
+
+            ensureCapacity(count + 1)
+            val o = count * BOX_DIMS
+            boxes[o]     = cx - w / 2f
+            boxes[o + 1] = cy - h / 2f
+            boxes[o + 2] = cx + w / 2f
+            boxes[o + 3] = cy + h / 2f
+            scores[count]   = score
+            classIds[count] = bestClass[i]
+            count++
+        }
+        return count
+    }
+
+    private fun ensureCapacity(needed: Int) {
+        if (needed <= scores.size) return
+        val capacity = maxOf(needed, scores.size * 2)
+        boxes    = boxes.copyOf(capacity * BOX_DIMS)
+        scores   = scores.copyOf(capacity)
+        classIds = classIds.copyOf(capacity)
+    }
+
+    private companion object {
+        const val BOX_DIMS = 4
+    }
+}
@@ -2,11 +2,17 @@
 package com.zebra.aisuite_quickstart.kotlin.analyzers.tracker
 
 import android.content.Context
+import android.os.Debug
+import android.os.Handler
+import android.os.Looper
+import android.os.PowerManager
+import android.os.SystemClock
 import android.util.Log
 import androidx.camera.core.ImageAnalysis
 import androidx.camera.core.ImageProxy
 import androidx.core.content.ContextCompat
 import com.zebra.ai.vision.analyzer.tracking.EntityTrackerAnalyzer
+import com.zebra.ai.vision.custommodels.CustomDetector
 import com.zebra.ai.vision.detector.AIVisionSDKLicenseException
 import com.zebra.ai.vision.detector.BarcodeDecoder
 import com.zebra.ai.vision.detector.Detector
@@ -16,22 +22,69 @@ import com.zebra.ai.vision.detector.ModuleRecognizer
 import com.zebra.ai.vision.detector.TextOCR
 import com.zebra.ai.vision.entity.Entity
 import com.zebra.aisuite_quickstart.filtertracker.FilterDialog
-import java.io.BufferedOutputStream
+import com.zebra.aisuite_quickstart.scheduling.AdaptiveRatePolicy
+import com.zebra.aisuite_quickstart.scheduling.FrameSkipPolicy
+import com.zebra.aisuite_quickstart.scheduling.FrameSkipScheduler
+import com.zebra.aisuite_quickstart.utils.AppAssets
 import java.io.IOException
-import java.nio.file.Files
-import java.nio.file.Paths
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
-
+import java.util.concurrent.RejectedExecutionException
+
+/**
+ * Runs the live (640) entity tracker and a set of capture-resolution (1280) detectors.
+ *
+ * Capture models:
+ * - EAGER loads both sets before [loadingCallback] fires, so the first capture is instant but
+ *   startup time and resident memory cover both sets.
+ * - ON_DEMAND loads only the live set at startup. [loadCaptureModels] creates the capture set on
+ *   first use; it is cached and disposed again after [captureIdleTimeoutMs] without a capture.
+ * - [modelMetrics] reports startup time, capture load time and the PSS each load added.
+ *
+ * Live detector rates:
+ * - Each live detector runs in its own [FrameSkipScheduler] lane. The barcode decoder sees every
+ *   frame; OCR and the module recognizer run at lower target rates that back off further when
+ *   they are slow or the device heats up, and their last results fill the frames in between.
+ * - Read live results with [getBarcodeEntities], [getOcrEntities] and [getModuleEntities]; the
+ *   analyzer keys results by the scheduled wrappers, not by the SDK detectors.
+ */
 class Tracker(
     private val context: Context,
     private val callback: DetectionCallback,
     private val imageAnalysis: ImageAnalysis,
     private val selectedFilterItems: MutableList<String?>,
+    private val capturePolicy: CaptureModelPolicy = CaptureModelPolicy.EAGER,
+    private val captureIdleTimeoutMs: Long = DEFAULT_CAPTURE_IDLE_TIMEOUT_MS,
     private val loadingCallback: ((Boolean) -> Unit)? = null
 ) {
 
+    /**
+     * When the capture-resolution detectors are created.
+     */
+    enum class CaptureModelPolicy {
+        /** Together with the live detectors, before loading completes. */
+        EAGER,
+        /** On the first loadCaptureModels() call; released again after an idle timeout. */
+        ON_DEMAND
+    }
+
+    /**
+     * Snapshot of model loading metrics. Durations are in ms and resident sizes are process PSS
+     * deltas in KB; -1 means not measured yet. In EAGER mode the startup figures include the
+     * capture set, in ON_DEMAND mode they do not — comparing the two shows what lazy loading
+     * saves.
+     */
+    data class ModelMetrics(
+        val policy: CaptureModelPolicy,
+        val startupMs: Long,
+        val startupResidentKb: Long,
+        val captureLoadMs: Long,
+        val captureResidentKb: Long,
+        val captureLoads: Int,
+        val captureReleases: Int
+    )
+
     interface DetectionCallback {
         fun handleEntities(result: EntityTrackerAnalyzer.Result)
         fun handleCaptureFrameEntities(
@@ -45,6 +98,13 @@ class Tracker(
         private const val TAG = "Tracker"
         private const val LIVE_PREVIEW_SIZE = 640
         private const val CAPTURE_SIZE = 1280 // Higher resolution for capture
+        const val DEFAULT_CAPTURE_IDLE_TIMEOUT_MS = 60_000L
+
+        // Live detector rates: target fps, floor fps under load or heat, share of time it may be busy.
+        private val BARCODE_RATE = FrameSkipPolicy.everyFrame()
+        private val OCR_RATE = AdaptiveRatePolicy(10f, 2f, 0.5f)
+        private val MODULE_RATE = AdaptiveRatePolicy(5f, 1f, 0.3f)
+        private const val THERMAL_FORECAST_SECONDS = 10
     }
 
     // Live preview instances
@@ -52,6 +112,16 @@ class Tracker(
     private var textOCR: TextOCR? = null
     private var moduleRecognizer: ModuleRecognizer? = null
 
+    private val frameScheduler = FrameSkipScheduler(
+        FrameSkipScheduler.SYSTEM_CLOCK,
+        (context.getSystemService(Context.POWER_SERVICE) as PowerManager?)?.let { powerManager ->
+            FrameSkipScheduler.ThermalSource { powerManager.getThermalHeadroom(THERMAL_FORECAST_SECONDS) }
+        } ?: FrameSkipScheduler.NO_THERMAL
+    )
+    @Volatile private var scheduledBarcodeDecoder: Detector<out List<Entity>>? = null
+    @Volatile private var scheduledTextOCR: Detector<out List<Entity>>? = null
+    @Volatile private var scheduledModuleRecognizer: Detector<out List<Entity>>? = null
+
     // Capture instances
     private var captureBarcodeDecoder: BarcodeDecoder? = null
     private var captureOcr: TextOCR? = null
@@ -69,22 +139,55 @@ class Tracker(
         ArrayList()
 
     private var modelsLoaded = false
+    @get:Synchronized
     var captureModelsLoaded = false
+        private set
+
+    private val captureWaiters = ArrayList<(Boolean) -> Unit>()
+    private val idleHandler = Handler(Looper.getMainLooper())
+    private val idleRelease = Runnable { postCaptureRelease() }
+    private var captureLoading = false
+    private var captureInFlight = 0
+    // Bumped whenever a capture load starts or is abandoned; detectors created for an older
+    // generation are disposed instead of being used.
+    private var captureGeneration = 0
+
+    // Metrics; PSS readings are in KB.
+    private val createdAtMs = SystemClock.elapsedRealtime()
+    private val pssAtCreationKb = Debug.getPss()
+    private var startupMs = -1L
+    private var startupResidentKb = -1L
+    private var captureLoadStartMs = 0L
+    private var pssBeforeCaptureKb = 0L
+    private var captureLoadMs = -1L
+    private var captureResidentKb = -1L
+    private var captureLoads = 0
+    private var captureReleases = 0
+
+    /** Current model loading metrics. */
+    val modelMetrics: ModelMetrics
+        @Synchronized get() = ModelMetrics(
+            capturePolicy, startupMs, startupResidentKb, captureLoadMs,
+            captureResidentKb, captureLoads, captureReleases
+        )
 
     init {
         if (selectedFilterItems.isNotEmpty()) {
+            if (capturePolicy == CaptureModelPolicy.EAGER) {
+                beginCaptureLoad()
+            }
             for (item in selectedFilterItems) {
                 if (item.equals(FilterDialog.BARCODE_TRACKER, ignoreCase = true)) {
                     initializeBarcodeDecoder()
-                    initializeCaptureBarcodeDecoder()
                 } else if (item.equals(FilterDialog.OCR_TRACKER, ignoreCase = true)) {
                     initializeTextOCR()
-                    initializeCaptureOcr()
                 } else if (item.equals(FilterDialog.PRODUCT_AND_SHELF, ignoreCase = true)) {
                     initializeModuleRecognizer()
-                    initializeCaptureModuleRecognizer()
                 }
             }
+            if (capturePolicy == CaptureModelPolicy.EAGER) {
+                initializeCaptureModels()
+            }
         } else {
             loadingCallback?.invoke(false)
             Log.d(TAG, "None of the filter selected")
@@ -137,8 +240,8 @@ class Tracker(
         val indexFilename = "product.index"
         val labelsFilename = "product.txt"
         val toPath = "${context.filesDir}/"
-        copyFromAssets(indexFilename, toPath)
-        copyFromAssets(labelsFilename, toPath)
+        copyFromAssets(indexFilename)
+        copyFromAssets(labelsFilename)
 
         return ModuleRecognizer.Settings(mavenProductModelName).apply {
             inferencerOptions.apply {
@@ -172,7 +275,9 @@ class Tracker(
         val startTime = System.currentTimeMillis()
         BarcodeDecoder.getBarcodeDecoder(settings, executor).thenAccept { decoder ->
             barcodeDecoder = decoder
-            createAnalyzer(listOfNotNull(barcodeDecoder))
+            val scheduled = scheduled(decoder, mavenModelName, BARCODE_RATE)
+            scheduledBarcodeDecoder = scheduled
+            createAnalyzer(listOf(scheduled))
             Log.d(
                 TAG,
                 "BarcodeDecoder() obj creation time = ${System.currentTimeMillis() - startTime} ms"
@@ -198,7 +303,9 @@ class Tracker(
         val startTime = System.currentTimeMillis()
         TextOCR.getTextOCR(settings, executor).thenAccept { ocr ->
             textOCR = ocr
-            createAnalyzer(listOfNotNull(textOCR))
+            val scheduled = scheduled(ocr, mavenOCRModelName, OCR_RATE)
+            scheduledTextOCR = scheduled
+            createAnalyzer(listOf(scheduled))
             Log.d(
                 TAG,
                 "TextOCR() obj creation / model loading time = ${System.currentTimeMillis() - startTime} ms"
@@ -227,7 +334,9 @@ class Tracker(
             .thenAccept { recognizerInstance ->
                 Log.i(TAG, "ModuleRecognizer instance created successfully for Product Recognition")
                 moduleRecognizer = recognizerInstance
-                createAnalyzer(listOfNotNull(moduleRecognizer))
+                val scheduled = scheduled(recognizerInstance, mavenProductModelName, MODULE_RATE)
+                scheduledModuleRecognizer = scheduled
+                createAnalyzer(listOf(scheduled))
                 Log.d(
                     TAG,
                     "Product Recognition creation time: ${System.currentTimeMillis() - startTime}ms"
@@ -250,27 +359,34 @@ class Tracker(
     /**
      * Initializes the capture barcode decoder with higher resolution settings.
      */
-    fun initializeCaptureBarcodeDecoder() {
+    private fun initializeCaptureBarcodeDecoder(generation: Int) {
         try {
             val captureDecoderSettings = createBarcodeDecoderSettings(CAPTURE_SIZE)
-            createCaptureBarcodeDecoder(captureDecoderSettings)
+            createCaptureBarcodeDecoder(captureDecoderSettings, generation)
         } catch (ex: Exception) {
-            loadingCallback?.invoke(false)
+            onCaptureModelFailed(generation)
             Log.e(TAG, "Capture barcode decoder initialization failed: ${ex.message}")
         }
     }
 
-    private fun createCaptureBarcodeDecoder(settings: BarcodeDecoder.Settings) {
+    private fun createCaptureBarcodeDecoder(settings: BarcodeDecoder.Settings, generation: Int) {
         val startTime = System.currentTimeMillis()
         BarcodeDecoder.getBarcodeDecoder(settings, captureExecutor).thenAccept { decoderInstance ->
-            captureBarcodeDecoder = decoderInstance
-            createCaptureAnalyzer(listOfNotNull(captureBarcodeDecoder))
+            val current = synchronized(this) {
+                (generation == captureGeneration).also { if (it) captureBarcodeDecoder = decoderInstance }
+            }
+            if (!current) {
+                decoderInstance.dispose()
+                Log.d(TAG, "Capture barcode decoder from an abandoned load disposed")
+                return@thenAccept
+            }
+            createCaptureAnalyzer(listOf(decoderInstance), generation)
             Log.d(
                 TAG,
                 "Capture BarcodeDecoder() obj creation time = ${System.currentTimeMillis() - startTime} ms"
             )
         }.exceptionally { e ->
-            loadingCallback?.invoke(false)
+            onCaptureModelFailed(generation)
             Log.e(TAG, "Capture barcode decoder creation failed: ${e.message}")
             null
         }
@@ -279,27 +395,34 @@ class Tracker(
     /**
      * Initializes the capture OCR scanner with higher resolution settings.
      */
-    fun initializeCaptureOcr() {
+    private fun initializeCaptureOcr(generation: Int) {
         try {
             val captureOcrSettings = createTextOCRSettings(CAPTURE_SIZE)
-            createCaptureTextOCR(captureOcrSettings)
+            createCaptureTextOCR(captureOcrSettings, generation)
         } catch (ex: Exception) {
-            loadingCallback?.invoke(false)
+            onCaptureModelFailed(generation)
             Log.e(TAG, "Capture OCR scanner initialization failed: ${ex.message}")
         }
     }
 
-    private fun createCaptureTextOCR(settings: TextOCR.Settings) {
+    private fun createCaptureTextOCR(settings: TextOCR.Settings, generation: Int) {
         val startTime = System.currentTimeMillis()
         TextOCR.getTextOCR(settings, captureExecutor).thenAccept { ocrInstance ->
-            captureOcr = ocrInstance
-            createCaptureAnalyzer(listOfNotNull(captureOcr))
+            val current = synchronized(this) {
+                (generation == captureGeneration).also { if (it) captureOcr = ocrInstance }
+            }
+            if (!current) {
+                ocrInstance.dispose()
+                Log.d(TAG, "Capture OCR scanner from an abandoned load disposed")
+                return@thenAccept
+            }
+            createCaptureAnalyzer(listOf(ocrInstance), generation)
             Log.d(
                 TAG,
                 "Capture TextOCR() obj creation / model loading time = ${System.currentTimeMillis() - startTime} ms"
             )
         }.exceptionally { e ->
-            loadingCallback?.invoke(false)
+            onCaptureModelFailed(generation)
             Log.e(TAG, "Capture OCR scanner creation failed: ${e.message}")
             null
         }
@@ -308,28 +431,35 @@ class Tracker(
     /**
      * Initializes the capture module recognizer with higher resolution settings.
      */
-    fun initializeCaptureModuleRecognizer() {
+    private fun initializeCaptureModuleRecognizer(generation: Int) {
         try {
             val captureModuleSettings = createModuleRecognizerSettings(CAPTURE_SIZE)
-            createCaptureModuleRecognizer(captureModuleSettings)
+            createCaptureModuleRecognizer(captureModuleSettings, generation)
         } catch (ex: Exception) {
-            loadingCallback?.invoke(false)
+            onCaptureModelFailed(generation)
             Log.e(TAG, "Capture module recognizer initialization failed: ${ex.message}")
         }
     }
 
-    private fun createCaptureModuleRecognizer(settings: ModuleRecognizer.Settings) {
+    private fun createCaptureModuleRecognizer(settings: ModuleRecognizer.Settings, generation: Int) {
         val startTime = System.currentTimeMillis()
         ModuleRecognizer.getModuleRecognizer(settings, captureExecutor)
             .thenAccept { moduleInstance ->
-                captureModuleRecognizer = moduleInstance
-                createCaptureAnalyzer(listOfNotNull(captureModuleRecognizer))
+                val current = synchronized(this) {
+                    (generation == captureGeneration).also { if (it) captureModuleRecognizer = moduleInstance }
+                }
+                if (!current) {
+                    moduleInstance.dispose()
+                    Log.d(TAG, "Capture module recognizer from an abandoned load disposed")
+                    return@thenAccept
+                }
+                createCaptureAnalyzer(listOf(moduleInstance), generation)
                 Log.d(
                     TAG,
                     "Capture ModuleRecognizer Creation Time: ${System.currentTimeMillis() - startTime}ms"
                 )
             }.exceptionally { e ->
-                loadingCallback?.invoke(false)
+                onCaptureModelFailed(generation)
                 Log.e(TAG, "Capture module recognizer creation failed: ${e.message}")
                 null
             }
@@ -338,34 +468,185 @@ class Tracker(
 
     /**
      * Creates and configures an EntityTrackerAnalyzer with the provided analyzers.
-     * Tracks loading of live preview models. Only attaches analyzer when both
-     * live and capture models are fully loaded.
+     * Tracks loading of live preview models. With EAGER capture loading the analyzer is only
+     * attached once both live and capture models are loaded; with ON_DEMAND the live set is enough.
      */
     @Synchronized
     private fun createAnalyzer(analyzers: List<Detector<out MutableList<out Entity>>>) {
         analyzerList.add(analyzers[0])
         if (analyzerList.size == selectedFilterItems.size) {
             modelsLoaded = true
-            if (captureModelsLoaded) {
-                loadingCallback?.invoke(true)
-                attachAnalysisAfterModelLoading()
+            if (captureModelsLoaded || capturePolicy == CaptureModelPolicy.ON_DEMAND) {
+                onStartupComplete()
             }
         }
     }
 
     /**
-     * Tracks loading of capture models. Only attaches analyzer when both
-     * live and capture models are fully loaded.
+     * Tracks loading of capture models and wakes up loadCaptureModels() callers once the whole
+     * capture set is ready.
      */
+    private fun createCaptureAnalyzer(analyzers: List<Detector<out MutableList<out Entity>>>, generation: Int) {
+        synchronized(this) {
+            // A failed detector abandoned this load after the instance was stored; the forced
+            // release takes care of it.
+            if (generation != captureGeneration) return
+            captureAnalyzerList.add(analyzers[0])
+            if (captureAnalyzerList.size != selectedFilterItems.size) return
+            captureModelsLoaded = true
+            captureLoading = false
+            captureLoads++
+            captureLoadMs = SystemClock.elapsedRealtime() - captureLoadStartMs
+            captureResidentKb = Debug.getPss() - pssBeforeCaptureKb
+            if (capturePolicy == CaptureModelPolicy.EAGER && modelsLoaded) {
+                onStartupComplete()
+            }
+        }
+        Log.i(TAG, "Capture models ready - $modelMetrics")
+        scheduleCaptureRelease()
+        notifyCaptureWaiters(true)
+    }
+
+    // Caller holds the Tracker lock.
+    private fun onStartupComplete() {
+        startupMs = SystemClock.elapsedRealtime() - createdAtMs
+        startupResidentKb = Debug.getPss() - pssAtCreationKb
+        Log.i(TAG, "Models loaded - $modelMetrics")
+        loadingCallback?.invoke(true)
+        attachAnalysisAfterModelLoading()
+    }
+
+    /**
+     * Makes sure the capture-resolution detectors are loaded and calls back once they are.
+     * With EAGER loading this only waits for the startup load; with ON_DEMAND it creates the
+     * capture set on first use and keeps it cached until it has been idle for the timeout.
+     * The callback runs on a detector thread, or on the caller's thread if already loaded.
+     */
+    fun loadCaptureModels(readyCallback: (Boolean) -> Unit) {
+        var startLoad = false
+        val alreadyLoaded = synchronized(this) {
+            if (!captureModelsLoaded) {
+                captureWaiters.add(readyCallback)
+                if (!captureLoading) {
+                    beginCaptureLoad()
+                    startLoad = true
+                }
+            }
+            captureModelsLoaded
+        }
+        if (alreadyLoaded) {
+            scheduleCaptureRelease()
+            readyCallback(true)
+        } else if (startLoad) {
+            Log.d(TAG, "Loading capture models on demand")
+            initializeCaptureModels()
+        }
+    }
+
+    // Caller holds the Tracker lock, or runs in init.
+    private fun beginCaptureLoad() {
+        captureGeneration++
+        captureAnalyzerList.clear()
+        captureLoading = true
+        captureLoadStartMs = SystemClock.elapsedRealtime()
+        pssBeforeCaptureKb = Debug.getPss()
+    }
+
+    private fun initializeCaptureModels() {
+        val generation = synchronized(this) { captureGeneration }
+        for (item in selectedFilterItems) {
+            if (item.equals(FilterDialog.BARCODE_TRACKER, ignoreCase = true)) {
+                initializeCaptureBarcodeDecoder(generation)
+            } else if (item.equals(FilterDialog.OCR_TRACKER, ignoreCase = true)) {
+                initializeCaptureOcr(generation)
+            } else if (item.equals(FilterDialog.PRODUCT_AND_SHELF, ignoreCase = true)) {
+                initializeCaptureModuleRecognizer(generation)
+            }
+        }
+    }
+
+    private fun onCaptureModelFailed(generation: Int) {
+        if (capturePolicy == CaptureModelPolicy.EAGER) {
+            loadingCallback?.invoke(false)
+            return
+        }
+        synchronized(this) {
+            // Another capture detector already reported failure, or a newer load has started.
+            if (!captureLoading || generation != captureGeneration) return
+            captureLoading = false
+            // Detectors of this load that are still being created are disposed when they arrive.
+            captureGeneration++
+        }
+        // Drop whatever part of the set did load so the next attempt starts clean.
+        releaseCaptureModels(force = true, reason = "a capture model failed to load")
+        notifyCaptureWaiters(false)
+    }
+
+    private fun notifyCaptureWaiters(loaded: Boolean) {
+        val waiters = synchronized(this) {
+            ArrayList(captureWaiters).also { captureWaiters.clear() }
+        }
+        waiters.forEach { it(loaded) }
+    }
+
     @Synchronized
-    private fun createCaptureAnalyzer(analyzers: List<Detector<out MutableList<out Entity>>>) {
-        captureAnalyzerList.add(analyzers[0])
-        if (captureAnalyzerList.size == selectedFilterItems.size) {
-            if (modelsLoaded) {
-                loadingCallback?.invoke(true)
-                attachAnalysisAfterModelLoading()
+    private fun endCapture() {
+        captureInFlight--
+        scheduleCaptureRelease()
+    }
+
+    private fun scheduleCaptureRelease() {
+        if (capturePolicy != CaptureModelPolicy.ON_DEMAND) return
+        idleHandler.removeCallbacks(idleRelease)
+        idleHandler.postDelayed(idleRelease, captureIdleTimeoutMs)
+    }
+
+    // Runs on the main thread; disposal happens on the capture executor.
+    private fun postCaptureRelease() {
+        try {
+            captureExecutor.execute { releaseCaptureModels(force = false, reason = "idle timeout") }
+        } catch (e: RejectedExecutionException) {
+            Log.d(TAG, "Capture executor shut down, skipping idle release")
+        }
+    }
+
+    /**
+     * Disposes the capture-resolution detectors unless a capture is in progress.
+     *
+     * @param force Release even while loading, used to discard a partially loaded set.
+     * @param reason Why the set is released, for the log.
+     */
+    private fun releaseCaptureModels(force: Boolean, reason: String) {
+        synchronized(this) {
+            if (captureInFlight > 0 || (!force && captureLoading)) {
+                scheduleCaptureRelease()
+                return
             }
-            captureModelsLoaded = true
+            if (captureBarcodeDecoder == null && captureOcr == null && captureModuleRecognizer == null) return
+            disposeCaptureInstances()
+            captureAnalyzerList.clear()
+            captureModelsLoaded = false
+            captureReleases++
+        }
+        Log.i(TAG, "Capture models released after $reason - $modelMetrics")
+    }
+
+    // Caller holds the Tracker lock.
+    private fun disposeCaptureInstances() {
+        captureBarcodeDecoder?.let {
+            it.dispose()
+            Log.d(TAG, "Capture barcode decoder disposed")
+            captureBarcodeDecoder = null
+        }
+        captureOcr?.let {
+            it.dispose()
+            Log.d(TAG, "Capture OCR scanner disposed")
+            captureOcr = null
+        }
+        captureModuleRecognizer?.let {
+            it.dispose()
+            Log.d(TAG, "Capture module recognizer disposed")
+            captureModuleRecognizer = null
         }
     }
 
@@ -397,6 +678,12 @@ class Tracker(
      * @param image The ImageProxy containing the captured image data to process.
      */
     fun processImage(image: ImageProxy) {
+        // Pin the capture set so an idle release cannot dispose it mid-capture.
+        val (captureBarcodeDecoder, captureOcr, captureModuleRecognizer) = synchronized(this) {
+            captureInFlight++
+            Triple(this.captureBarcodeDecoder, this.captureOcr, this.captureModuleRecognizer)
+        }
+        var completionAttached = false
         try {
             val imageData = ImageData.fromImageProxy(image)
             val futures = mutableListOf<CompletableFuture<*>>()
@@ -412,7 +699,7 @@ class Tracker(
                     ) && captureBarcodeDecoder != null
                 ) {
                     futures.add(
-                        captureBarcodeDecoder!!.process(imageData)
+                        captureBarcodeDecoder.process(imageData)
                             .thenAccept { result -> barcodeResult = result }
                     )
                 } else if (item.equals(
@@ -421,7 +708,7 @@ class Tracker(
                     ) && captureOcr != null
                 ) {
                     futures.add(
-                        captureOcr!!.process(imageData)
+                        captureOcr.process(imageData)
                             .thenAccept { result -> ocrResult = result }
                     )
                 } else if (item.equals(
@@ -430,7 +717,7 @@ class Tracker(
                     ) && captureModuleRecognizer != null
                 ) {
                     futures.add(
-                        captureModuleRecognizer!!.process(imageData)
+                        captureModuleRecognizer.process(imageData)
                             .thenAccept { result -> moduleResult = result }
                     )
                 }
@@ -444,9 +731,12 @@ class Tracker(
                     Log.e(TAG, "Error processing capture image: ${e.message}")
                     null
                 }
+                .whenComplete { _, _ -> endCapture() }
+            completionAttached = true
         } catch (e: Exception) {
             Log.e(TAG, "Error in processImage: ${e.message}")
         } finally {
+            if (!completionAttached) endCapture()
             image.close()
         }
     }
@@ -474,6 +764,7 @@ class Tracker(
      * Stops and disposes of all live preview and capture instances, releasing resources.
      */
     fun stop() {
+        idleHandler.removeCallbacks(idleRelease)
         captureExecutor.shutdownNow()
 
         // Dispose live preview instances
@@ -494,20 +785,11 @@ class Tracker(
         }
 
         // Dispose capture instances
-        captureBarcodeDecoder?.let {
-            it.dispose()
-            Log.d(TAG, "Capture barcode decoder disposed")
-            captureBarcodeDecoder = null
-        }
-        captureOcr?.let {
-            it.dispose()
-            Log.d(TAG, "Capture OCR scanner disposed")
-            captureOcr = null
-        }
-        captureModuleRecognizer?.let {
-            it.dispose()
-            Log.d(TAG, "Capture module recognizer disposed")
-            captureModuleRecognizer = null
+        synchronized(this) {
+            captureGeneration++
+            disposeCaptureInstances()
+            captureAnalyzerList.clear()
+            captureModelsLoaded = false
         }
     }
 
@@ -516,27 +798,59 @@ class Tracker(
      */
     fun stopAnalyzing() {
         executor.shutdownNow()
+        Log.i(TAG, "Live detector rates:\n${frameScheduler.toSummary()}")
+        // Results cached for the old session must not show up once analysis restarts.
+        frameScheduler.reset()
     }
 
     fun getModuleRecognizer(): ModuleRecognizer? = moduleRecognizer
     fun getBarcodeDecoder(): BarcodeDecoder? = barcodeDecoder
     fun getTextOCR(): TextOCR? = textOCR
 
-    private fun copyFromAssets(filename: String, toPath: String) {
-        val bufferSize = 8192
+    /** Live barcode results from [result]; the last decoded ones if this frame was skipped. */
+    fun getBarcodeEntities(result: EntityTrackerAnalyzer.Result): List<Entity>? =
+        scheduledBarcodeDecoder?.let { result.getValue(it) }
+
+    /** Live OCR results from [result]; the last recognized ones if this frame was skipped. */
+    fun getOcrEntities(result: EntityTrackerAnalyzer.Result): List<Entity>? =
+        scheduledTextOCR?.let { result.getValue(it) }
+
+    /** Live module recognizer results from [result]; the last ones if this frame was skipped. */
+    fun getModuleEntities(result: EntityTrackerAnalyzer.Result): List<Entity>? =
+        scheduledModuleRecognizer?.let { result.getValue(it) }
+
+    /** Current rate, latency and skip count of each live detector, one line each. */
+    fun getFrameScheduleSummary(): String = frameScheduler.toSummary()
+
+    /**
+     * Wraps a live detector so it only runs when its lane is due. On skipped frames, and while an
+     * earlier frame is still being processed, the wrapper returns the detector's last results.
+     */
+    private fun <E : Entity> scheduled(
+        detector: Detector<out List<E>>,
+        name: String,
+        policy: FrameSkipPolicy
+    ): CustomDetector<E> {
+        val lane = frameScheduler.lane<List<E>>(name, policy, emptyList())
+        return CustomDetector.create<_, E>(ScheduledModel(detector, lane), name) { model, imageData ->
+            model.lane.runOrReuse { model.detector.process(imageData).join() }
+        }
+    }
+
+    /**
+     * Model handed to CustomDetector. Closing it does nothing: the SDK detector is disposed by
+     * [stop] like the rest of the live set.
+     */
+    private class ScheduledModel<E>(
+        val detector: Detector<out List<E>>,
+        val lane: FrameSkipScheduler.Lane<List<E>>
+    ) : AutoCloseable {
+        override fun close() {}
+    }
+
+    private fun copyFromAssets(filename: String) {
         try {
-            context.assets.open(filename).use { stream ->
-                Files.newOutputStream(Paths.get("$toPath$filename")).use { fos ->
-                    BufferedOutputStream(fos).use { output ->
-                        val data = ByteArray(bufferSize)
-                        var count: Int
-                        while (stream.read(data).also { count = it } != -1) {
-                            output.write(data, 0, count)
-                        }
-                        output.flush()
-                    }
-                }
-            }
+            AppAssets.materialize(context, filename)
         } catch (e: IOException) {
             Log.e(TAG, "Error in copy from assets: ${e.message}")
         }
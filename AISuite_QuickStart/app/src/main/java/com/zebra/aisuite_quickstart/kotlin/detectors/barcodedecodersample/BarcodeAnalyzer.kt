@@ -8,6 +8,8 @@ import com.zebra.ai.vision.detector.AIVisionSDKException
 import com.zebra.ai.vision.detector.BarcodeDecoder
 import com.zebra.ai.vision.detector.ImageData
 import com.zebra.ai.vision.entity.BarcodeEntity
+import com.zebra.aisuite_quickstart.metrics.PipelineMetrics
+import com.zebra.aisuite_quickstart.metrics.PipelineStage
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.Job
@@ -31,6 +33,8 @@ import kotlin.coroutines.resumeWithException
  * - Implement the DetectionCallback interface to handle barcode detection results.
  * - The analyze(ImageProxy) method is called by the camera framework to process image frames.
  * - Call stop() to terminate ongoing analysis and release resources.
+ * - Convert, inference, postprocess (the result callback) and total frame times are recorded in
+ *   PipelineMetrics under [METRICS_NAME].
  *
  * Dependencies:
  * - Android ImageProxy: Provides access to image data from the camera.
@@ -59,6 +63,7 @@ class BarcodeAnalyzer(
     }
 
     private val TAG = "BarcodeAnalyzer"
+    private val metrics = PipelineMetrics.getInstance()
     private var isAnalyzing = true
     private var job = Job()
     private var isStopped = false
@@ -80,15 +85,24 @@ class BarcodeAnalyzer(
         isAnalyzing = false // Prevent re-entry
 
         scope.launch {
+            val total = metrics.start(METRICS_NAME, PipelineStage.TOTAL)
             try {
                 Log.d(TAG, "Starting image analysis")
                 val result = processImageAsync(image)
                 withContext(Dispatchers.Main) {
-                    if (!isStopped) callback.onDetectionResult(result)
+                    if (!isStopped) {
+                        val postprocess = metrics.start(METRICS_NAME, PipelineStage.POSTPROCESS)
+                        try {
+                            callback.onDetectionResult(result)
+                        } finally {
+                            postprocess.end()
+                        }
+                    }
                 }
             } catch (ex: Exception) {
                 Log.e(TAG, "Error during image processing: ${ex.message}")
             } finally {
+                total.end()
                 isAnalyzing = true
                 image.close() // Ensure image is closed
             }
@@ -142,7 +156,12 @@ class BarcodeAnalyzer(
     private suspend fun processImageAsync(image: ImageProxy): List<BarcodeEntity> {
         return suspendCancellableCoroutine { cont ->
             try {
-                barcodeDecoder?.process(ImageData.fromImageProxy(image))
+                val convert = metrics.start(METRICS_NAME, PipelineStage.CONVERT)
+                val imageData = ImageData.fromImageProxy(image)
+                convert.end()
+                val inference = metrics.start(METRICS_NAME, PipelineStage.INFERENCE)
+                barcodeDecoder?.process(imageData)
+                    ?.whenComplete { _, _ -> inference.end() }
                     ?.thenAccept { result ->
                         cont.resume(result) // Resume the coroutine with the result
                     }
@@ -176,4 +195,9 @@ class BarcodeAnalyzer(
         job = Job()
         scope = CoroutineScope(Dispatchers.IO + job)
     }
+
+    companion object {
+        /** Detector name under which this analyzer's stage timings are recorded. */
+        const val METRICS_NAME = "barcode"
+    }
 }
@@ -17,7 +17,9 @@ import com.zebra.aisuite_quickstart.GraphicOverlay
 
  * Usage:
  * - Instantiate the BarcodeGraphic with a reference to the GraphicOverlay, and lists
- *   of bounding boxes and decoded strings.
+ *   of bounding boxes and decoded strings, or obtain one from a GraphicOverlay.GraphicPool and
+ *   fill it with addBox() — pooled instances keep their Rects between frames and all instances
+ *   share Paints.
  * - The draw(Canvas) method is called to render the graphics on the screen.
 
  * Dependencies:
@@ -28,78 +30,113 @@ import com.zebra.aisuite_quickstart.GraphicOverlay
  * Note: This class is typically used in conjunction with a barcode detection system to visually
  * display the results of the detection process in an Android application.
  */
-class BarcodeGraphic(
-    overlay: GraphicOverlay,
-    boxes: List<Rect>?,
-    decodedStrings: List<String>?
-) : GraphicOverlay.Graphic(overlay) {
-
-    private val boxPaint: Paint = Paint().apply {
-        color = Color.GREEN
-        style = Paint.Style.STROKE
-        strokeWidth = 6f
-    }
+class BarcodeGraphic(overlay: GraphicOverlay) : GraphicOverlay.Graphic(overlay) {
 
-    private val contentRectPaint: Paint = Paint().apply {
-        color = Color.WHITE
-        style = Paint.Style.FILL
-        strokeWidth = 6f
-    }
+    companion object {
+        private val BOX_PAINT = Paint().apply {
+            color = Color.GREEN
+            style = Paint.Style.STROKE
+            strokeWidth = 6f
+        }
+
+        private val CONTENT_RECT_PAINT = Paint().apply {
+            color = Color.WHITE
+            style = Paint.Style.FILL
+            strokeWidth = 6f
+        }
 
-    private val contentTextPaint: Paint = Paint().apply {
-        color = Color.DKGRAY
-        alpha = 255
-        textSize = 36F
+        private val CONTENT_TEXT_PAINT = Paint().apply {
+            color = Color.DKGRAY
+            alpha = 255
+            textSize = 36F
+        }
+
+        // measureText() runs on the producer thread; keep it off the paint used by draw().
+        private val MEASURE_PAINT = Paint(CONTENT_TEXT_PAINT)
+
+        private const val CONTENT_PADDING = 25
     }
 
+    // Rects are retained across recycles; only the first count entries are live. Blank values
+    // are stored as null when added, so draw() does not trim them again on every frame.
     private val boundingBoxes: MutableList<Rect> = mutableListOf()
     private val contentRectBoxes: MutableList<Rect> = mutableListOf()
-    private val decodedValues: MutableList<String> = mutableListOf()
-    private val contentPadding = 25
+    private val decodedValues: MutableList<String?> = mutableListOf()
 
-    init {
+    /** Number of barcodes in this graphic. */
+    var size = 0
+        private set
+
+    /**
+     * Constructs a new BarcodeGraphic and prepares the bounding boxes and decoded text for
+     * rendering.
+     */
+    constructor(
+        overlay: GraphicOverlay,
+        boxes: List<Rect>?,
+        decodedStrings: List<String>?
+    ) : this(overlay) {
         overlay.clear()
 
-        boxes?.let { boundingBoxes.addAll(it) }
-        decodedStrings?.let { decodedValues.addAll(it) }
-
-        for (i in boundingBoxes.indices) {
-            val textWidth = contentTextPaint.measureText(decodedValues[i]).toInt()
-            contentRectBoxes.add(Rect(
-                boundingBoxes[i].left,
-                boundingBoxes[i].bottom + contentPadding / 2,
-                boundingBoxes[i].left + textWidth + contentPadding * 2,
-                boundingBoxes[i].bottom + contentTextPaint.textSize.toInt() + contentPadding
-            ))
-        }
+        boxes?.forEachIndexed { i, box -> addBox(box, decodedStrings?.getOrNull(i) ?: "") }
 
         // Redraw the overlay, as this graphic has been added.
         postInvalidate()
     }
 
+    /**
+     * Appends one barcode. The box is copied, so the caller may reuse it.
+     *
+     * @param box Bounding box in overlay coordinates.
+     * @param decodedValue The decoded content, drawn below the box when not blank.
+     */
+    fun addBox(box: Rect, decodedValue: String) {
+        if (size == boundingBoxes.size) {
+            boundingBoxes.add(Rect())
+            contentRectBoxes.add(Rect())
+            decodedValues.add(null)
+        }
+        boundingBoxes[size].set(box)
+        decodedValues[size] = decodedValue.takeIf { it.isNotBlank() }
+
+        val textWidth = synchronized(MEASURE_PAINT) { MEASURE_PAINT.measureText(decodedValue).toInt() }
+        contentRectBoxes[size].set(
+            box.left,
+            box.bottom + CONTENT_PADDING / 2,
+            box.left + textWidth + CONTENT_PADDING * 2,
+            box.bottom + MEASURE_PAINT.textSize.toInt() + CONTENT_PADDING
+        )
+        size++
+    }
+
+    override fun onRecycled() {
+        for (i in 0 until size) decodedValues[i] = null
+        size = 0
+    }
+
     /**
      * Draws the bounding boxes and decoded text on the given Canvas.
      *
      * @param canvas The canvas on which to draw the graphic.
      */
     override fun draw(canvas: Canvas) {
-        for (rect in boundingBoxes) {
-            canvas.drawRect(rect, boxPaint)
+        for (i in 0 until size) {
+            canvas.drawRect(boundingBoxes[i], BOX_PAINT)
         }
 
         // Draw the text content of the barcode
-        for (i in decodedValues.indices) {
-            if (decodedValues[i].trim().isNotEmpty()) {
-                // Draw the rectangle for barcode content
-                canvas.drawRect(contentRectBoxes[i], contentRectPaint)
-
-                canvas.drawText(
-                    decodedValues[i],
-                    boundingBoxes[i].left + contentPadding.toFloat(),
-                    boundingBoxes[i].bottom + contentPadding * 2.toFloat(),
-                    contentTextPaint
-                )
-            }
+        for (i in 0 until size) {
+            val value = decodedValues[i] ?: continue
+            // Draw the rectangle for barcode content
+            canvas.drawRect(contentRectBoxes[i], CONTENT_RECT_PAINT)
+
+            val box = boundingBoxes[i]
+            canvas.drawText(
+                value,
+                box.left + CONTENT_PADDING.toFloat(),
+                box.bottom + CONTENT_PADDING * 2.toFloat(),
+                CONTENT_TEXT_PAINT
+            )
         }
     }
 }
@@ -7,6 +7,8 @@ import androidx.camera.core.ImageProxy
 import com.zebra.ai.vision.detector.ImageData
 import com.zebra.ai.vision.detector.ModuleRecognizer
 import com.zebra.ai.vision.entity.Entity
+import com.zebra.aisuite_quickstart.metrics.PipelineMetrics
+import com.zebra.aisuite_quickstart.metrics.PipelineStage
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.Job
@@ -27,6 +29,7 @@ class ProductRecognitionAnalyzer(
     }
 
     private val TAG = "ProductRecognitionAnalyzer"
+    private val metrics = PipelineMetrics.getInstance()
     private var isAnalyzing = true
     private var isStopped = false
     private var job = Job()
@@ -45,14 +48,25 @@ class ProductRecognitionAnalyzer(
         isAnalyzing = false
 
         scope.launch {
+            val total = metrics.start(METRICS_NAME, PipelineStage.TOTAL)
             try {
+                val convert = metrics.start(METRICS_NAME, PipelineStage.CONVERT)
                 val imageData = ImageData.fromImageProxy(image)
+                convert.end()
                 val start = System.currentTimeMillis()
-                moduleRecognizer.process(imageData).thenAccept { entityList ->
+                val inference = metrics.start(METRICS_NAME, PipelineStage.INFERENCE)
+                moduleRecognizer.process(imageData).whenComplete { _, _ ->
+                    inference.end()
+                }.thenAccept { entityList ->
                     val end = System.currentTimeMillis()
                     Log.d(TAG, "Inference Time: ${end - start} ms")
                     if (!isStopped) {
-                        callback.onRecognitionResult(entityList)
+                        val postprocess = metrics.start(METRICS_NAME, PipelineStage.POSTPROCESS)
+                        try {
+                            callback.onRecognitionResult(entityList)
+                        } finally {
+                            postprocess.end()
+                        }
                     }
                     image.close()
                     isAnalyzing = true
@@ -61,8 +75,9 @@ class ProductRecognitionAnalyzer(
                     image.close()
                     isAnalyzing = true
                     null
-                }
+                }.whenComplete { _, _ -> total.end() }
             } catch (ex: Exception) {
+                total.end()
                 Log.e(TAG, "Exception during analyze: ${ex.message}", ex)
                 image.close()
                 isAnalyzing = true
@@ -129,4 +144,8 @@ class ProductRecognitionAnalyzer(
         scope = CoroutineScope(Dispatchers.IO + job)
     }
 
-}
\ No newline at end of file
+    companion object {
+        /** Detector name under which this analyzer's stage timings are recorded. */
+        const val METRICS_NAME = "product_recognition"
+    }
+}
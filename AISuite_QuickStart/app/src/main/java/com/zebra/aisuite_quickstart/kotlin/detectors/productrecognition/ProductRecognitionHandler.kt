@@ -13,10 +13,8 @@ import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.asCoroutineDispatcher
 import kotlinx.coroutines.future.await
 import kotlinx.coroutines.launch
-import java.io.BufferedOutputStream
+import com.zebra.aisuite_quickstart.utils.AppAssets
 import java.io.IOException
-import java.nio.file.Files
-import java.nio.file.Paths
 import java.util.concurrent.Executors
 
 class ProductRecognitionHandler(
@@ -45,8 +43,8 @@ class ProductRecognitionHandler(
     val toPath = "${context.filesDir}/"
 
     init {
-        copyFromAssets(indexFilename, toPath)
-        copyFromAssets(labelsFilename, toPath)
+        copyFromAssets(indexFilename)
+        copyFromAssets(labelsFilename)
         initializeModuleRecognizer()
         initializeCaptureRecognizer()
     }
@@ -210,21 +208,9 @@ class ProductRecognitionHandler(
         )
     }
 
-    private fun copyFromAssets(filename: String, toPath: String) {
-        val bufferSize = 8192
+    private fun copyFromAssets(filename: String) {
         try {
-            context.assets.open(filename).use { stream ->
-                Files.newOutputStream(Paths.get("$toPath$filename")).use { fos ->
-                    BufferedOutputStream(fos).use { output ->
-                        val data = ByteArray(bufferSize)
-                        var count: Int
-                        while (stream.read(data).also { count = it } != -1) {
-                            output.write(data, 0, count)
-                        }
-                        output.flush()
-                    }
-                }
-            }
+            AppAssets.materialize(context, filename)
         } catch (e: IOException) {
             Log.e(tag, "Error copying from assets: ${e.message}")
         }
@@ -8,6 +8,8 @@ import com.zebra.ai.vision.detector.AIVisionSDKException
 import com.zebra.ai.vision.detector.ImageData
 import com.zebra.ai.vision.detector.TextOCR
 import com.zebra.ai.vision.entity.ParagraphEntity
+import com.zebra.aisuite_quickstart.metrics.PipelineMetrics
+import com.zebra.aisuite_quickstart.metrics.PipelineStage
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.Job
@@ -31,6 +33,8 @@ import kotlin.coroutines.resumeWithException
  * - Implement the DetectionCallback interface to handle OCR results.
  * - The analyze(ImageProxy) method is called by the camera framework to process image frames.
  * - Call stop() to terminate ongoing analysis and release resources.
+ * - Convert, inference, postprocess (the result callback) and total frame times are recorded in
+ *   PipelineMetrics under [METRICS_NAME].
 
  * Dependencies:
  * - Android ImageProxy: Provides access to image data from the camera.
@@ -59,6 +63,7 @@ class TextOCRAnalyzer(
     }
 
     private val TAG = "TextOCRAnalyzer"
+    private val metrics = PipelineMetrics.getInstance()
     private var isAnalyzing = true
     private var job = Job()
     private var isStopped = false
@@ -81,11 +86,19 @@ class TextOCRAnalyzer(
         isAnalyzing = false // Set to false to prevent re-entry
 
         scope.launch {
+            val total = metrics.start(METRICS_NAME, PipelineStage.TOTAL)
             try {
                 Log.d(TAG, "Starting image analysis")
                 val result = processImageAsync(image)
                 withContext(Dispatchers.Main) {
-                    if (!isStopped) callback.onDetectionTextResult(result)
+                    if (!isStopped) {
+                        val postprocess = metrics.start(METRICS_NAME, PipelineStage.POSTPROCESS)
+                        try {
+                            callback.onDetectionTextResult(result)
+                        } finally {
+                            postprocess.end()
+                        }
+                    }
                     isAnalyzing = true
                     image.close()
                 }
@@ -93,6 +106,8 @@ class TextOCRAnalyzer(
                 Log.e(TAG, "Error during image processing: ${ex.message}")
                 isAnalyzing = true
                 image.close()
+            } finally {
+                total.end()
             }
         }
     }
@@ -143,7 +158,12 @@ class TextOCRAnalyzer(
     private suspend fun processImageAsync(image: ImageProxy): List<ParagraphEntity> {
         return suspendCancellableCoroutine { cont ->
             try {
-                textOCR?.process(ImageData.fromImageProxy(image))
+                val convert = metrics.start(METRICS_NAME, PipelineStage.CONVERT)
+                val imageData = ImageData.fromImageProxy(image)
+                convert.end()
+                val inference = metrics.start(METRICS_NAME, PipelineStage.INFERENCE)
+                textOCR?.process(imageData)
+                    ?.whenComplete { _, _ -> inference.end() }
                     ?.thenAccept { result ->
                         cont.resume(result) // Resume the coroutine with the result
                     }
@@ -181,4 +201,9 @@ class TextOCRAnalyzer(
         job = Job()
         scope = CoroutineScope(Dispatchers.IO + job)
     }
+
+    companion object {
+        /** Detector name under which this analyzer's stage timings are recorded. */
+        const val METRICS_NAME = "ocr"
+    }
 }
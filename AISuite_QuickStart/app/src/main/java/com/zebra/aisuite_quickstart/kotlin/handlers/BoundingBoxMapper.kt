@@ -7,13 +7,21 @@ import android.content.res.Configuration
 import android.graphics.Rect
 import android.hardware.camera2.CameraCharacteristics
 import android.hardware.camera2.CameraManager
+import android.hardware.display.DisplayManager
+import android.os.Handler
+import android.os.Looper
 import android.util.Log
+import android.view.View
 import android.view.WindowManager
 import com.zebra.aisuite_quickstart.kotlin.CameraXLivePreviewActivity
 
 /**
  * BoundingBoxMapper handles the mapping of bounding boxes from image coordinates
  * to overlay coordinates, including rotation transformations.
+ *
+ * The mapping is resolved once into an [OverlayTransform] and reused for every box until the
+ * display rotates, the preview view is laid out again, or one of the setters changes the camera
+ * state. Call [release] when the owning activity is destroyed.
  */
 class BoundingBoxMapper(
     private val activity: CameraXLivePreviewActivity,
@@ -21,10 +29,10 @@ class BoundingBoxMapper(
 ) {
     companion object {
         private const val TAG = "BoundingBoxMapper"
-        private const val ROTATION_0 = 0
-        private const val ROTATION_90 = 1
-        private const val ROTATION_180 = 2
-        private const val ROTATION_270 = 3
+        private const val ROTATION_0 = OverlayTransform.ROTATION_0
+        private const val ROTATION_90 = OverlayTransform.ROTATION_90
+        private const val ROTATION_180 = OverlayTransform.ROTATION_180
+        private const val ROTATION_270 = OverlayTransform.ROTATION_270
     }
 
     private var imageWidth: Int = 0
@@ -35,6 +43,24 @@ class BoundingBoxMapper(
     private var cameraOrientation: Int? = 0
     private var isHorizontalCameraTablet = false
 
+    private val transform = OverlayTransform()
+    private val mapped = IntArray(4)
+    @Volatile private var transformValid = false
+    private var listenersRegistered = false
+
+    private val displayListener = object : DisplayManager.DisplayListener {
+        override fun onDisplayAdded(displayId: Int) {}
+        override fun onDisplayRemoved(displayId: Int) {}
+        override fun onDisplayChanged(displayId: Int) = invalidate()
+    }
+
+    private val layoutListener =
+        View.OnLayoutChangeListener { _, left, top, right, bottom, oldLeft, oldTop, oldRight, oldBottom ->
+            if (right - left != oldRight - oldLeft || bottom - top != oldBottom - oldTop) {
+                invalidate()
+            }
+        }
+
 
     init{
         isTablet = isTablet(context)
@@ -44,94 +70,108 @@ class BoundingBoxMapper(
     fun setImageDimensions(width: Int, height: Int) {
         imageWidth = width
         imageHeight = height
+        invalidate()
     }
 
     fun setInitialRotation(rotation: Int) {
         initialRotation = rotation
+        invalidate()
     }
 
     fun setFrontCamera(frontCamera: Boolean) {
         isFrontCamera = frontCamera
+        invalidate()
+    }
+
+    /** Forces the transform to be rebuilt before the next box is mapped. */
+    fun invalidate() {
+        transformValid = false
+    }
+
+    /** Unregisters the display and layout listeners. */
+    fun release() {
+        if (!listenersRegistered) return
+        (context.getSystemService(Context.DISPLAY_SERVICE) as? DisplayManager)
+            ?.unregisterDisplayListener(displayListener)
+        activity.binding.previewView.removeOnLayoutChangeListener(layoutListener)
+        listenersRegistered = false
     }
 
     fun mapBoundingBoxToOverlay(bbox: Rect): Rect {
+        if (!ensureTransform()) {
+            return bbox
+        }
+        return mapInto(bbox, Rect())
+    }
+
+    /**
+     * Maps [bbox] into [out] without allocating. If the overlay has not been laid out yet the box
+     * is copied unchanged.
+     */
+    fun mapBoundingBoxToOverlay(bbox: Rect, out: Rect): Rect {
+        if (!ensureTransform()) {
+            out.set(bbox)
+            return out
+        }
+        return mapInto(bbox, out)
+    }
+
+    /**
+     * Maps a whole frame of boxes in place through a single transform lookup. If the overlay has
+     * not been laid out yet the boxes are left unchanged.
+     */
+    fun mapBoundingBoxes(boxes: List<Rect>) {
+        if (!ensureTransform()) return
+        for (bbox in boxes) {
+            mapInto(bbox, bbox)
+        }
+    }
+
+    private fun mapInto(bbox: Rect, out: Rect): Rect {
+        transform.mapRect(bbox.left, bbox.top, bbox.right, bbox.bottom, mapped)
+        out.set(mapped[0], mapped[1], mapped[2], mapped[3])
+        return out
+    }
+
+    /** Rebuilds the transform if it was invalidated; returns false while the overlay has no size. */
+    private fun ensureTransform(): Boolean {
+        if (transformValid) return true
+        registerListeners()
+        // Set before reading state, so an invalidate() racing with the rebuild forces another one.
+        transformValid = true
+
         val display = (context.getSystemService(Context.WINDOW_SERVICE) as WindowManager).defaultDisplay
         val currentRotation = display.rotation
 
         val relativeRotation = ((currentRotation - initialRotation + 4) % 4)
-        Log.d(TAG, "current rotation: $currentRotation, initial rotation: $initialRotation, relative: $relativeRotation")
 
         val overlayWidth = activity.binding.previewView.width
         val overlayHeight = activity.binding.previewView.height
 
         if (overlayWidth == 0 || overlayHeight == 0) {
-            return bbox
+            // Not laid out yet; retry on the next call.
+            transformValid = false
+            return false
         }
 
-        val transformedBbox = transformBoundingBoxForRotation(bbox, relativeRotation)
+        val swapEffectiveSize = isHorizontalCameraTablet &&
+            ((isTablet && (relativeRotation == ROTATION_0 || relativeRotation == ROTATION_180)) ||
+                (!isTablet && (relativeRotation == ROTATION_90 || relativeRotation == ROTATION_270)))
 
-        var effectiveImageWidth = imageWidth
-        var effectiveImageHeight = imageHeight
-
-        if(isHorizontalCameraTablet) {
-            if ((isTablet && (relativeRotation == ROTATION_0 || relativeRotation == ROTATION_180)) ||
-                (!isTablet && (relativeRotation == ROTATION_90 || relativeRotation == ROTATION_270))
-            ) {
-                effectiveImageWidth = imageHeight
-                effectiveImageHeight = imageWidth
-            }
-        }
-        Log.d(TAG, "overlay width: $overlayWidth, height: $overlayHeight, effective width: $effectiveImageWidth, height: $effectiveImageHeight")
-
-        val scaleX = overlayWidth.toFloat() / effectiveImageWidth
-        val scaleY = overlayHeight.toFloat() / effectiveImageHeight
-        val scale = maxOf(scaleX, scaleY)
-
-        val offsetX = (overlayWidth - effectiveImageWidth * scale) / 2f
-        val offsetY = (overlayHeight - effectiveImageHeight * scale) / 2f
-
-        // Handle mirroring for front camera
-        if (isFrontCamera) {
-            val left = transformedBbox.left
-            val right = transformedBbox.right
-            transformedBbox.left = effectiveImageWidth - right
-            transformedBbox.right = effectiveImageWidth - left
-        }
+        transform.set(relativeRotation, imageWidth, imageHeight, overlayWidth, overlayHeight,
+            isFrontCamera, swapEffectiveSize)
+        Log.d(TAG, "Rebuilt overlay transform - current rotation: $currentRotation, initial rotation: $initialRotation, " +
+                "relative: $relativeRotation, overlay: ${overlayWidth}x$overlayHeight, " +
+                "effective: ${transform.effectiveWidth}x${transform.effectiveHeight}, mirror: $isFrontCamera")
+        return true
+    }
 
-        return Rect(
-            (transformedBbox.left * scale + offsetX).toInt(),
-            (transformedBbox.top * scale + offsetY).toInt(),
-            (transformedBbox.right * scale + offsetX).toInt(),
-            (transformedBbox.bottom * scale + offsetY).toInt()
-        )
-    }
-
-    private fun transformBoundingBoxForRotation(bbox: Rect, relativeRotation: Int): Rect {
-        return when (relativeRotation) {
-            ROTATION_0 -> Rect(bbox)
-            ROTATION_90 -> Rect(
-                bbox.top,
-                imageWidth - bbox.right,
-                bbox.bottom,
-                imageWidth - bbox.left
-            )
-            ROTATION_180 -> Rect(
-                imageWidth - bbox.right,
-                imageHeight - bbox.bottom,
-                imageWidth - bbox.left,
-                imageHeight - bbox.top
-            )
-            ROTATION_270 -> Rect(
-                imageHeight - bbox.bottom,
-                bbox.left,
-                imageHeight - bbox.top,
-                bbox.right
-            )
-            else -> {
-                Log.w(TAG, "Unknown relative rotation: $relativeRotation, using original bbox")
-                Rect(bbox)
-            }
-        }
+    private fun registerListeners() {
+        if (listenersRegistered) return
+        (context.getSystemService(Context.DISPLAY_SERVICE) as? DisplayManager)
+            ?.registerDisplayListener(displayListener, Handler(Looper.getMainLooper()))
+        activity.binding.previewView.addOnLayoutChangeListener(layoutListener)
+        listenersRegistered = true
     }
 
     private fun isTablet(context: Context): Boolean {
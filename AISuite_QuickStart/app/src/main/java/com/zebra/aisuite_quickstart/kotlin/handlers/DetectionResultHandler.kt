@@ -25,6 +25,7 @@ import com.zebra.ai.vision.entity.LocalizerEntity
 import com.zebra.ai.vision.entity.ParagraphEntity
 import com.zebra.ai.vision.entity.ProductEntity
 import com.zebra.ai.vision.entity.ShelfEntity
+import com.zebra.aisuite_quickstart.GraphicOverlay
 import com.zebra.aisuite_quickstart.kotlin.CameraXLivePreviewActivity
 import com.zebra.aisuite_quickstart.kotlin.analyzers.tracker.TrackerGraphic
 import com.zebra.aisuite_quickstart.kotlin.camera.CameraManager
@@ -55,52 +56,51 @@ class DetectionResultHandler(
     private val capturedLabels = mutableListOf<LabelEntity>()
     private val capturedLabelViewRects = mutableListOf<RectF>()
 
-    fun handleBarcodeDetection(result: List<BarcodeEntity>?) {
-        val rects = mutableListOf<Rect>()
-        val decodedStrings = mutableListOf<String>()
+    // Barcode overlay rendering reuses graphics and scratch rects across frames (UI thread only).
+    private var barcodeGraphicPool: GraphicOverlay.GraphicPool<BarcodeGraphic>? = null
+    private val imageScratch = Rect()
+    private val overlayScratch = Rect()
 
+    private fun barcodeGraphicPool(overlay: GraphicOverlay): GraphicOverlay.GraphicPool<BarcodeGraphic> =
+        barcodeGraphicPool ?: GraphicOverlay.GraphicPool<BarcodeGraphic> { BarcodeGraphic(overlay) }
+            .also { barcodeGraphicPool = it }
+
+    fun handleBarcodeDetection(result: List<BarcodeEntity>?) {
         activity.runOnUiThread {
-            activity.binding.graphicOverlay.clear()
+            val overlay = activity.binding.graphicOverlay
+            overlay.beginFrame()
+            val graphic = barcodeGraphicPool(overlay).obtain()
             result?.forEach { bb ->
                 val rect = bb.boundingBox
                 rect?.let {
-                    Log.d(TAG, "Original bbox: $rect")
-                    val overlayRect = boundingBoxMapper.mapBoundingBoxToOverlay(rect)
-                    Log.d(TAG, "Mapped bbox: $overlayRect")
-                    rects.add(overlayRect)
-                    decodedStrings.add(bb.value)
+                    graphic.addBox(boundingBoxMapper.mapBoundingBoxToOverlay(rect, overlayScratch), bb.value)
                     Log.e(TAG, "Detected entity - Value: ${bb.value}")
                     Log.e(TAG, "Detected entity - Symbology: ${bb.symbology}")
                 }
             }
-            activity.binding.graphicOverlay.add(
-                BarcodeGraphic(activity.binding.graphicOverlay, rects, decodedStrings)
-            )
+            overlay.add(graphic)
+            overlay.endFrame()
         }
     }
 
     fun handleLegacyBarcodeDetection(barcodes: Array<BarcodeDecoder.Result>) {
-        val rects = mutableListOf<Rect>()
-        val decodedStrings = mutableListOf<String>()
-
         activity.runOnUiThread {
-            activity.binding.graphicOverlay.clear()
+            val overlay = activity.binding.graphicOverlay
+            overlay.beginFrame()
+            val graphic = barcodeGraphicPool(overlay).obtain()
             barcodes.forEach { barcode ->
-                val rect = Rect(
+                imageScratch.set(
                     barcode.bboxData.xmin.toInt(),
                     barcode.bboxData.ymin.toInt(),
                     barcode.bboxData.xmax.toInt(),
                     barcode.bboxData.ymax.toInt()
                 )
-                val overlayRect = boundingBoxMapper.mapBoundingBoxToOverlay(rect)
-                rects.add(overlayRect)
-                decodedStrings.add(barcode.value)
+                graphic.addBox(boundingBoxMapper.mapBoundingBoxToOverlay(imageScratch, overlayScratch), barcode.value)
                 Log.d(TAG, "Symbology Type: ${barcode.symbologytype}")
                 Log.d(TAG, "Decoded barcode: ${barcode.value}")
             }
-            activity.binding.graphicOverlay.add(
-                BarcodeGraphic(activity.binding.graphicOverlay, rects, decodedStrings)
-            )
+            overlay.add(graphic)
+            overlay.endFrame()
         }
     }
 
@@ -109,7 +109,7 @@ class DetectionResultHandler(
         val decodedStrings = mutableListOf<String>()
 
         activity.runOnUiThread {
-            activity.binding.graphicOverlay.clear()
+            activity.binding.graphicOverlay.beginFrame()
             if (list != null) {
                 for (entity in list) {
                     val lines = entity.lines
@@ -118,25 +118,26 @@ class DetectionResultHandler(
                             if (word.text.isNotEmpty()) {
                                 val bbox = word.complexBBox
                                 if (bbox != null && bbox.x.size >= 3 && bbox.y.size >= 3) {
-                                    val rect = Rect(
-                                        bbox.x[0].toInt(),
-                                        bbox.y[0].toInt(),
-                                        bbox.x[2].toInt(),
-                                        bbox.y[2].toInt()
+                                    rects.add(
+                                        Rect(
+                                            bbox.x[0].toInt(),
+                                            bbox.y[0].toInt(),
+                                            bbox.x[2].toInt(),
+                                            bbox.y[2].toInt()
+                                        )
                                     )
-                                    val overlayRect =
-                                        boundingBoxMapper.mapBoundingBoxToOverlay(rect)
-                                    rects.add(overlayRect)
                                     decodedStrings.add(word.text)
                                 }
                             }
                         }
                     }
                 }
+                boundingBoxMapper.mapBoundingBoxes(rects)
                 activity.binding.graphicOverlay.add(
                     OCRGraphic(activity.binding.graphicOverlay, rects, decodedStrings)
                 )
             }
+            activity.binding.graphicOverlay.endFrame()
         }
     }
 
@@ -146,7 +147,7 @@ class DetectionResultHandler(
         val decodedStrings = mutableListOf<String>()
 
         activity.runOnUiThread {
-            activity.binding.graphicOverlay.clear()
+            activity.binding.graphicOverlay.beginFrame()
             for (word in words) {
                 if (word.decodes.isNotEmpty()) {
                     val bbox = word.bbox
@@ -157,16 +158,16 @@ class DetectionResultHandler(
                         val maxX = bbox.x[2]
                         val minY = bbox.y[0]
                         val maxY = bbox.y[2]
-                        val rect = Rect(minX.toInt(), minY.toInt(), maxX.toInt(), maxY.toInt())
-                        val overlayRect = boundingBoxMapper.mapBoundingBoxToOverlay(rect)
-                        rects.add(overlayRect)
+                        rects.add(Rect(minX.toInt(), minY.toInt(), maxX.toInt(), maxY.toInt()))
                         decodedStrings.add(word.decodes[0].content)
                     }
                 }
             }
+            boundingBoxMapper.mapBoundingBoxes(rects)
             activity.binding.graphicOverlay.add(
                 OCRGraphic(activity.binding.graphicOverlay, rects, decodedStrings)
             )
+            activity.binding.graphicOverlay.endFrame()
         }
     }
 
@@ -176,7 +177,7 @@ class DetectionResultHandler(
         recognitions: Array<Recognizer.Recognition>
     ) {
         activity.runOnUiThread {
-            activity.binding.graphicOverlay.clear()
+            activity.binding.graphicOverlay.beginFrame()
             detections?.let {
                 val labelShelfRects = mutableListOf<Rect>()
                 val labelPegRects = mutableListOf<Rect>()
@@ -257,6 +258,7 @@ class DetectionResultHandler(
                     )
                 )
             }
+            activity.binding.graphicOverlay.endFrame()
         }
     }
 
@@ -264,8 +266,11 @@ class DetectionResultHandler(
     fun handleDetectionRecognitionResult(result: List<Entity>?) {
         Log.d(TAG, "Inside On Shelf RecognitionResult (flat hierarchy)")
         activity.runOnUiThread {
-            activity.binding.graphicOverlay.clear()
-            if (result == null) return@runOnUiThread
+            activity.binding.graphicOverlay.beginFrame()
+            if (result == null) {
+                activity.binding.graphicOverlay.endFrame()
+                return@runOnUiThread
+            }
 
             val shelves = mutableListOf<com.zebra.ai.vision.entity.ShelfEntity>()
             val labels = mutableListOf<com.zebra.ai.vision.entity.LabelEntity>()
@@ -351,6 +356,7 @@ class DetectionResultHandler(
                     barcodeTexts
                 )
             )
+            activity.binding.graphicOverlay.endFrame()
         }
     }
 
@@ -376,7 +382,7 @@ class DetectionResultHandler(
 
 
         activity.runOnUiThread {
-            activity.binding.graphicOverlay.clear()
+            activity.binding.graphicOverlay.beginFrame()
             barcodeEntities?.forEach { entity ->
                 if (entity is BarcodeEntity) {
                     val rect = entity.boundingBox
@@ -496,6 +502,7 @@ class DetectionResultHandler(
                     )
                 )
             }
+            activity.binding.graphicOverlay.endFrame()
         }
     }
 
@@ -522,7 +529,7 @@ class DetectionResultHandler(
         val rects = mutableListOf<Rect>()
 
         activity.runOnUiThread {
-            activity.binding.graphicOverlay.clear()
+            activity.binding.graphicOverlay.beginFrame()
             result.forEach { bb ->
                 val rect = bb.boundingBox
                 rect?.let {
@@ -538,6 +545,7 @@ class DetectionResultHandler(
                     rects
                 )
             )
+            activity.binding.graphicOverlay.endFrame()
         }
     }
 
@@ -1479,7 +1487,7 @@ class DetectionResultHandler(
                 " ocr=${ocrRects.size} yolo=${yoloRects.size} mobileNet=${mobileNetRects.size}")
 
         activity.runOnUiThread {
-            activity.binding.graphicOverlay.clear()
+            activity.binding.graphicOverlay.beginFrame()
             activity.binding.graphicOverlay.add(
                 com.zebra.aisuite_quickstart.kotlin.analyzers.customdetector.CustomDetectionGraphic(
                     activity.binding.graphicOverlay,
@@ -1489,6 +1497,7 @@ class DetectionResultHandler(
                     mobileNetRects
                 )
             )
+            activity.binding.graphicOverlay.endFrame()
         }
     }
 }
@@ -0,0 +1,120 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.kotlin.handlers
+
+/**
+ * Image → overlay mapping resolved once per (rotation, image size, view size, mirror) state.
+ *
+ * A box is first rotated into the display orientation, optionally mirrored for the front camera,
+ * then scaled to fill the view (centre-crop, like PreviewView's FILL_CENTER). Every step is a
+ * signed axis swap or a scale, so the whole chain reduces to
+ *
+ *   x' = xSign · (x or y) + xBase        X = (x' · scale + offsetX).toInt()
+ *   y' = ySign · (x or y) + yBase        Y = (y' · scale + offsetY).toInt()
+ *
+ * with integer coefficients, which reproduces the previous per-box Rect arithmetic exactly,
+ * truncation included. No Android types are used, so the math is unit-testable on the JVM.
+ */
+class OverlayTransform {
+
+    companion object {
+        const val ROTATION_0 = 0
+        const val ROTATION_90 = 1
+        const val ROTATION_180 = 2
+        const val ROTATION_270 = 3
+
+        // own is the coordinate on this axis, other the coordinate on the perpendicular axis.
+        private fun axis(swapped: Boolean, sign: Int, base: Int, own: Int, other: Int): Int =
+            sign * (if (swapped) other else own) + base
+    }
+
+    // x' = xSign * (if (xFromY) y else x) + xBase; likewise for y'.
+    private var xFromY = false
+    private var xSign = 1
+    private var xBase = 0
+    private var yFromX = false
+    private var ySign = 1
+    private var yBase = 0
+
+    var scale = 1f
+        private set
+    var offsetX = 0f
+        private set
+    var offsetY = 0f
+        private set
+    var effectiveWidth = 0
+        private set
+    var effectiveHeight = 0
+        private set
+
+    /**
+     * Recomputes the mapping.
+     *
+     * @param relativeRotation display rotation relative to the rotation the image size was set
+     *                         for, as a Surface.ROTATION_* quarter-turn count
+     * @param swapEffectiveSize true on horizontal-camera tablets, where the scaled frame is
+     *                          imageHeight × imageWidth in this orientation
+     */
+    fun set(
+        relativeRotation: Int,
+        imageWidth: Int,
+        imageHeight: Int,
+        overlayWidth: Int,
+        overlayHeight: Int,
+        mirror: Boolean,
+        swapEffectiveSize: Boolean
+    ): OverlayTransform {
+        when (relativeRotation) {
+            ROTATION_90 -> setAxes(true, 1, 0, true, -1, imageWidth)
+            ROTATION_180 -> setAxes(false, -1, imageWidth, false, -1, imageHeight)
+            ROTATION_270 -> setAxes(true, -1, imageHeight, true, 1, 0)
+            else -> setAxes(false, 1, 0, false, 1, 0)
+        }
+
+        effectiveWidth = if (swapEffectiveSize) imageHeight else imageWidth
+        effectiveHeight = if (swapEffectiveSize) imageWidth else imageHeight
+
+        if (mirror) {
+            xSign = -xSign
+            xBase = effectiveWidth - xBase
+        }
+
+        val scaleX = overlayWidth.toFloat() / effectiveWidth
+        val scaleY = overlayHeight.toFloat() / effectiveHeight
+        scale = maxOf(scaleX, scaleY)
+        offsetX = (overlayWidth - effectiveWidth * scale) / 2f
+        offsetY = (overlayHeight - effectiveHeight * scale) / 2f
+        return this
+    }
+
+    /**
+     * Maps an image-space box to overlay space. A negative sign reverses an axis, so that edge
+     * is taken from the opposite corner — exactly as the old Rect-based code did.
+     *
+     * @param out receives [left, top, right, bottom]; size ≥ 4
+     */
+    fun mapRect(left: Int, top: Int, right: Int, bottom: Int, out: IntArray) {
+        val nearX = axis(xFromY, xSign, xBase, left, top)
+        val farX = axis(xFromY, xSign, xBase, right, bottom)
+        val nearY = axis(yFromX, ySign, yBase, top, left)
+        val farY = axis(yFromX, ySign, yBase, bottom, right)
+
+        val l = if (xSign > 0) nearX else farX
+        val r = if (xSign > 0) farX else nearX
+        val t = if (ySign > 0) nearY else farY
+        val b = if (ySign > 0) farY else nearY
+
+        out[0] = (l * scale + offsetX).toInt()
+        out[1] = (t * scale + offsetY).toInt()
+        out[2] = (r * scale + offsetX).toInt()
+        out[3] = (b * scale + offsetY).toInt()
+    }
+
+    private fun setAxes(xFromY: Boolean, xSign: Int, xBase: Int, yFromX: Boolean, ySign: Int, yBase: Int) {
+        this.xFromY = xFromY
+        this.xSign = xSign
+        this.xBase = xBase
+        this.yFromX = yFromX
+        this.ySign = ySign
+        this.yBase = yBase
+    }
+}
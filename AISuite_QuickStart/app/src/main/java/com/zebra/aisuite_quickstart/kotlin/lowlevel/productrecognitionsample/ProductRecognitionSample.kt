@@ -11,14 +11,12 @@ import com.zebra.ai.vision.detector.InferencerOptions
 import com.zebra.ai.vision.detector.Localizer
 import com.zebra.ai.vision.detector.Recognizer
 import com.zebra.aisuite_quickstart.kotlin.CameraXLivePreviewActivity
+import com.zebra.aisuite_quickstart.utils.AppAssets
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.asCoroutineDispatcher
 import kotlinx.coroutines.future.await
 import kotlinx.coroutines.launch
-import java.io.BufferedOutputStream
 import java.io.IOException
-import java.nio.file.Files
-import java.nio.file.Paths
 import java.util.concurrent.Executors
 
 /**
@@ -101,8 +99,8 @@ class ProductRecognitionSample(
             val indexFilename = "product.index"
             val labelsFilename = "product.txt"
             val toPath = "${context.filesDir}/"
-            copyFromAssets(indexFilename, toPath)
-            copyFromAssets(labelsFilename, toPath)
+            copyFromAssets(indexFilename)
+            copyFromAssets(labelsFilename)
 
             mStart = System.currentTimeMillis()
             val reSettings = Recognizer.SettingsIndex()
@@ -185,26 +183,14 @@ class ProductRecognitionSample(
             }
         }
     /**
-     * Copies files from the assets folder to the specified path.
+     * Copies a file from the assets folder to the app's files directory, unless an identical
+     * copy is already there.
      *
      * @param filename The name of the file to copy.
-     * @param toPath The destination path.
      */
-    private fun copyFromAssets(filename: String, toPath: String) {
-        val bufferSize = 8192
+    private fun copyFromAssets(filename: String) {
         try {
-            context.assets.open(filename).use { stream ->
-                Files.newOutputStream(Paths.get("$toPath$filename")).use { fos ->
-                    BufferedOutputStream(fos).use { output ->
-                        val data = ByteArray(bufferSize)
-                        var count: Int
-                        while (stream.read(data).also { count = it } != -1) {
-                            output.write(data, 0, count)
-                        }
-                        output.flush()
-                    }
-                }
-            }
+            AppAssets.materialize(context, filename)
         } catch (e: IOException) {
             Log.e(TAG, "Error in copy from assets ${e.message}")
         }
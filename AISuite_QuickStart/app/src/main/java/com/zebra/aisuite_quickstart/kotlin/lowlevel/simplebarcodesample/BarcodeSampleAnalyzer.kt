@@ -8,7 +8,8 @@ import com.zebra.ai.vision.detector.AIVisionSDKException
 import com.zebra.ai.vision.detector.BarcodeDecoder
 import com.zebra.ai.vision.detector.InvalidInputException
 import com.zebra.ai.vision.detector.Localizer
-import com.zebra.aisuite_quickstart.utils.CommonUtils
+import com.zebra.aisuite_quickstart.yuv.BitmapConversionStage
+import com.zebra.aisuite_quickstart.yuv.RgbFrameRing
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.Job
@@ -69,6 +70,9 @@ class BarcodeSampleAnalyzer(
 
     private val executor = Executors.newSingleThreadExecutor()
 
+    // Pooled Bitmaps for the 1920x1080 analysis stream: one being analyzed, one spare.
+    private val conversionStage = BitmapConversionStage(2, 1920, 1080)
+
     // Create a CoroutineScope with the IO dispatcher and a Job for lifecycle management
     private val job = Job()
     private val scope = CoroutineScope(Dispatchers.IO + job)
@@ -89,8 +93,15 @@ class BarcodeSampleAnalyzer(
 
         scope.launch {
             try {
+                // Convert into a pooled Bitmap; if every pooled Bitmap is still in use, skip
+                // the frame rather than allocate.
+                val frame = conversionStage.tryConvert(image) ?: return@launch
                 Log.d(TAG, "Starting image analysis")
-                val barcodes = processImageAsync(image)
+                val barcodes = try {
+                    processImageAsync(image, frame)
+                } finally {
+                    frame.release()
+                }
                 withContext(Dispatchers.Main) {
                     if (!isStopped) {
                         callback.onDetectionResult(barcodes)
@@ -109,12 +120,19 @@ class BarcodeSampleAnalyzer(
      * Processes the image asynchronously using the Localizer and BarcodeDecoder.
      *
      * @param image The ImageProxy containing the image data to process.
+     * @param frame The pooled frame the image was converted into.
      * @return An array of BarcodeDecoder.Result representing the detected barcodes.
      */
-    private suspend fun processImageAsync(image: ImageProxy): Array<BarcodeDecoder.Result> {
+    private suspend fun processImageAsync(
+        image: ImageProxy,
+        frame: RgbFrameRing.Frame
+    ): Array<BarcodeDecoder.Result> {
         return suspendCancellableCoroutine { cont ->
             try {
-                val bitmap = CommonUtils.rotateBitmapIfNeeded(image)
+                // Localizing and decoding do not depend on orientation, so run them on the
+                // unrotated frame and rotate the result boxes instead of the pixels.
+                val handle = BitmapConversionStage.toImageHandle(frame, image)
+                val bitmap = handle.bitmap
                 localizer.detect(bitmap, executor).thenCompose { bBoxes ->
                     try {
                         barcodeDecoder.decode(bitmap, bBoxes, executor)
@@ -122,6 +140,7 @@ class BarcodeSampleAnalyzer(
                         throw RuntimeException(e)
                     }
                 }.thenAccept { barcodes ->
+                    barcodes?.forEach { handle.mapToUpright(it.bboxData) }
                     cont.resume(barcodes)
                 }.exceptionally { ex ->
                     cont.resumeWithException(ex)
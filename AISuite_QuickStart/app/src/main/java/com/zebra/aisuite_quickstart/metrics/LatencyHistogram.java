@@ -0,0 +1,131 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with log-linear buckets.
+ *
+ * Values are durations in nanoseconds. Below {@link #SUB_BUCKETS} ns every value has its own
+ * bucket; above that each power of two is split into {@link #SUB_BUCKETS} equal buckets, so a
+ * reported percentile is within 1/16 (6.25%) of the recorded value, over the whole long range, in
+ * a fixed 7.5 KB of counters.
+ *
+ * record() only does atomic increments and a CAS loop for the max, so analyzer threads can call
+ * it concurrently without blocking each other or the thread reading snapshots. A snapshot taken
+ * while values are being recorded may be off by the few values in flight, which is fine for
+ * monitoring; take one after the pipeline is idle for exact figures.
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS     = 1 << SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT    = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong      sum    = new AtomicLong();
+    private final AtomicLong      max    = new AtomicLong();
+
+    /** Records one duration; negative values count as 0. */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketIndex(value));
+        sum.addAndGet(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) counts.set(i, 0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, sum.get(), max.get());
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    /** Smallest value that falls into bucket index. */
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long sub = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + sub) << shift;
+    }
+
+    /** Largest value that falls into bucket index. */
+    static long bucketUpperBound(int index) {
+        if (index == BUCKET_COUNT - 1) return Long.MAX_VALUE;
+        return bucketLowerBound(index + 1) - 1;
+    }
+
+    /** Immutable copy of a histogram's counters. */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long   count;
+        private final long   sum;
+        private final long   max;
+
+        Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count  = count;
+            this.sum    = sum;
+            this.max    = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMaxNanos() {
+            return count == 0 ? 0 : max;
+        }
+
+        public long getMinNanos() {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) return bucketLowerBound(i);
+            }
+            return 0;
+        }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Nearest-rank percentile, p in [0, 100]: the upper bound of the bucket holding that
+         * rank, capped at the recorded max. 0 if nothing was recorded.
+         */
+        public long getValueAtPercentile(double p) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(bucketUpperBound(i), max);
+            }
+            return max;
+        }
+
+        public double getMillisAtPercentile(double p) {
+            return getValueAtPercentile(p) / 1e6;
+        }
+    }
+}
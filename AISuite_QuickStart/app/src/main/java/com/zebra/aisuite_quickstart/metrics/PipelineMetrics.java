@@ -0,0 +1,279 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-detector, per-stage latency histograms for the analysis pipeline.
+ *
+ * Analyzers time a stage either with a span:
+ * <pre>
+ *   PipelineMetrics.Span span = metrics.start("barcode", PipelineStage.INFERENCE);
+ *   ...
+ *   span.end();
+ * </pre>
+ * or, when the stage was already measured elsewhere, with record(). A span may be ended on
+ * another thread than the one that started it, which suits the SDK's CompletableFuture results.
+ *
+ * Recording is lock-free once a detector has been seen: its histograms are created on first use
+ * and then only looked up. The figures can be read as a short text for the debug overlay, or
+ * dumped as JSON or CSV with times in milliseconds.
+ *
+ * Usage:
+ * - PipelineMetrics.getInstance() is shared by the sample's analyzers and overlay.
+ * - setEnabled(false) turns recording into a no-op.
+ * - dump(directory) writes pipeline_metrics.json and pipeline_metrics.csv, e.g. when the camera
+ *   screen is paused, for pulling off the device with adb.
+ */
+public final class PipelineMetrics {
+
+    /** Detector name under which GraphicOverlay records its draws. */
+    public static final String OVERLAY = "overlay";
+
+    public static final String JSON_FILE = "pipeline_metrics.json";
+    public static final String CSV_FILE  = "pipeline_metrics.csv";
+
+    /** Time source, replaceable so tests can drive spans with a synthetic clock. */
+    public interface Clock {
+        long nanoTime();
+    }
+
+    public static final Clock SYSTEM_CLOCK = System::nanoTime;
+
+    private static final PipelineMetrics INSTANCE = new PipelineMetrics(SYSTEM_CLOCK);
+
+    private static final PipelineStage[] STAGES = PipelineStage.values();
+
+    private final ConcurrentMap<String, LatencyHistogram[]> detectors = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private volatile boolean enabled = true;
+
+    public PipelineMetrics(Clock clock) {
+        this.clock = clock;
+    }
+
+    public static PipelineMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long nanoTime() {
+        return clock.nanoTime();
+    }
+
+    /** Starts timing stage for detector; the time is recorded when the span ends. */
+    public Span start(String detector, PipelineStage stage) {
+        return new Span(detector, stage, clock.nanoTime());
+    }
+
+    /** Records a stage duration measured by the caller. */
+    public void record(String detector, PipelineStage stage, long nanos) {
+        if (!enabled) return;
+        histograms(detector)[stage.ordinal()].record(nanos);
+    }
+
+    /** Histogram for detector and stage, or null if nothing was recorded for the detector. */
+    public LatencyHistogram getHistogram(String detector, PipelineStage stage) {
+        LatencyHistogram[] stages = detectors.get(detector);
+        return stages == null ? null : stages[stage.ordinal()];
+    }
+
+    public void reset() {
+        for (LatencyHistogram[] stages : detectors.values()) {
+            for (LatencyHistogram histogram : stages) histogram.reset();
+        }
+    }
+
+    /**
+     * One line per detector with the p50/p95 of each stage that has samples, in milliseconds,
+     * e.g. "barcode  convert 1.2/2.0  inference 18.4/25.1  total 21.0/28.3".
+     */
+    public String toOverlayText() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram.Snapshot[]> entry : snapshots().entrySet()) {
+            StringBuilder line = new StringBuilder(entry.getKey());
+            int stages = 0;
+            for (PipelineStage stage : STAGES) {
+                LatencyHistogram.Snapshot s = entry.getValue()[stage.ordinal()];
+                if (s.getCount() == 0) continue;
+                stages++;
+                line.append(String.format(Locale.US, "  %s %.1f/%.1f", stage.getLabel(),
+                        s.getMillisAtPercentile(50), s.getMillisAtPercentile(95)));
+            }
+            if (stages == 0) continue;
+            if (text.length() > 0) text.append('\n');
+            text.append(line);
+        }
+        return text.toString();
+    }
+
+    /** Writes one CSV row per detector and stage with samples, with a header row. */
+    public void writeCsv(Appendable out) throws IOException {
+        out.append("detector,stage,count,mean_ms,p50_ms,p90_ms,p95_ms,p99_ms,max_ms\n");
+        for (Map.Entry<String, LatencyHistogram.Snapshot[]> entry : snapshots().entrySet()) {
+            for (PipelineStage stage : STAGES) {
+                LatencyHistogram.Snapshot s = entry.getValue()[stage.ordinal()];
+                if (s.getCount() == 0) continue;
+                out.append(csvField(entry.getKey())).append(',').append(stage.getLabel());
+                out.append(String.format(Locale.US, ",%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                        s.getCount(), s.getMeanNanos() / 1e6,
+                        s.getMillisAtPercentile(50), s.getMillisAtPercentile(90),
+                        s.getMillisAtPercentile(95), s.getMillisAtPercentile(99),
+                        s.getMaxNanos() / 1e6));
+            }
+        }
+    }
+
+    /**
+     * Writes {"detectors":{"barcode":{"inference":{"count":..,"mean_ms":..,...},...},...}},
+     * leaving out stages without samples.
+     */
+    public void writeJson(Appendable out) throws IOException {
+        out.append("{\"detectors\":{");
+        boolean firstDetector = true;
+        for (Map.Entry<String, LatencyHistogram.Snapshot[]> entry : snapshots().entrySet()) {
+            if (!firstDetector) out.append(',');
+            firstDetector = false;
+            out.append(jsonString(entry.getKey())).append(":{");
+            boolean firstStage = true;
+            for (PipelineStage stage : STAGES) {
+                LatencyHistogram.Snapshot s = entry.getValue()[stage.ordinal()];
+                if (s.getCount() == 0) continue;
+                if (!firstStage) out.append(',');
+                firstStage = false;
+                out.append(String.format(Locale.US,
+                        "\"%s\":{\"count\":%d,\"mean_ms\":%.3f,\"p50_ms\":%.3f,\"p90_ms\":%.3f,"
+                                + "\"p95_ms\":%.3f,\"p99_ms\":%.3f,\"max_ms\":%.3f}",
+                        stage.getLabel(), s.getCount(), s.getMeanNanos() / 1e6,
+                        s.getMillisAtPercentile(50), s.getMillisAtPercentile(90),
+                        s.getMillisAtPercentile(95), s.getMillisAtPercentile(99),
+                        s.getMaxNanos() / 1e6));
+            }
+            out.append('}');
+        }
+        out.append("}}");
+    }
+
+    /** Writes {@link #JSON_FILE} and {@link #CSV_FILE} into directory, replacing earlier dumps. */
+    public void dump(File directory) throws IOException {
+        try (Writer json = new OutputStreamWriter(
+                new FileOutputStream(new File(directory, JSON_FILE)), StandardCharsets.UTF_8)) {
+            writeJson(json);
+        }
+        try (Writer csv = new OutputStreamWriter(
+                new FileOutputStream(new File(directory, CSV_FILE)), StandardCharsets.UTF_8)) {
+            writeCsv(csv);
+        }
+    }
+
+    public String toCsv() {
+        StringBuilder out = new StringBuilder();
+        try {
+            writeCsv(out);
+        } catch (IOException e) {
+            throw new AssertionError(e); // StringBuilder does not throw
+        }
+        return out.toString();
+    }
+
+    public String toJson() {
+        StringBuilder out = new StringBuilder();
+        try {
+            writeJson(out);
+        } catch (IOException e) {
+            throw new AssertionError(e); // StringBuilder does not throw
+        }
+        return out.toString();
+    }
+
+    private LatencyHistogram[] histograms(String detector) {
+        LatencyHistogram[] stages = detectors.get(detector);
+        if (stages != null) return stages;
+        return detectors.computeIfAbsent(detector, d -> {
+            LatencyHistogram[] created = new LatencyHistogram[STAGES.length];
+            for (int i = 0; i < created.length; i++) created[i] = new LatencyHistogram();
+            return created;
+        });
+    }
+
+    // Detectors sorted by name, so exports are stable.
+    private Map<String, LatencyHistogram.Snapshot[]> snapshots() {
+        Map<String, LatencyHistogram.Snapshot[]> result = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram[]> entry : detectors.entrySet()) {
+            LatencyHistogram.Snapshot[] stages = new LatencyHistogram.Snapshot[STAGES.length];
+            for (int i = 0; i < stages.length; i++) stages[i] = entry.getValue()[i].snapshot();
+            result.put(entry.getKey(), stages);
+        }
+        return result;
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format(Locale.US, "\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    /**
+     * A running stage timing. end() records it once; later calls, and close() after end(), are
+     * ignored, so a span can be closed by try-with-resources and still be ended early.
+     */
+    public final class Span implements AutoCloseable {
+        private final String        detector;
+        private final PipelineStage stage;
+        private final long          startNanos;
+        private boolean             ended;
+
+        private Span(String detector, PipelineStage stage, long startNanos) {
+            this.detector   = detector;
+            this.stage      = stage;
+            this.startNanos = startNanos;
+        }
+
+        /** Records and returns the elapsed time, or -1 if the span was already ended. */
+        public long end() {
+            if (ended) return -1;
+            ended = true;
+            long nanos = clock.nanoTime() - startNanos;
+            record(detector, stage, nanos);
+            return nanos;
+        }
+
+        @Override
+        public void close() {
+            end();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.metrics;
+
+/**
+ * Stages of the per-frame pipeline that {@link PipelineMetrics} times separately.
+ */
+public enum PipelineStage {
+    /** ImageProxy to ImageData/Bitmap/tensor conversion, including resizing. */
+    CONVERT("convert"),
+    /** The detector's own process() call or model session run. */
+    INFERENCE("inference"),
+    /** Decoding, NMS, filtering and result callbacks that build graphics. */
+    POSTPROCESS("postprocess"),
+    /** Drawing the overlay. */
+    RENDER("render"),
+    /** Whole frame, from analyze() to the result being delivered. */
+    TOTAL("total");
+
+    private final String label;
+
+    PipelineStage(String label) {
+        this.label = label;
+    }
+
+    /** Name used in exports and the debug overlay. */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,133 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.replay;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads a recording from a directory of frames.
+ *
+ * Frames are .jpg/.jpeg, .png or raw .nv21/.yuv files. Raw frames carry no header, so their
+ * size is passed to {@link #load}. Timestamps come from an optional {@value #TIMESTAMPS_FILE}
+ * with one "&lt;file name&gt; &lt;timestamp ns&gt;" line per frame, in replay order; blank lines and
+ * lines starting with '#' are ignored. Without it, every frame file is replayed in name order,
+ * spaced at the given frame rate.
+ */
+public final class FrameDirectory {
+
+    public static final String TIMESTAMPS_FILE = "timestamps.txt";
+
+    private FrameDirectory() {}
+
+    /**
+     * @param rawWidth   width of raw NV21 frames; ignored for JPEG/PNG
+     * @param rawHeight  height of raw NV21 frames; ignored for JPEG/PNG
+     * @param defaultFps frame rate used when the directory has no timestamps file
+     */
+    public static List<ReplayFrame> load(File dir, int rawWidth, int rawHeight, double defaultFps)
+            throws IOException {
+        if (!dir.isDirectory()) {
+            throw new IOException("Not a directory: " + dir);
+        }
+        File timestamps = new File(dir, TIMESTAMPS_FILE);
+        List<ReplayFrame> frames = timestamps.isFile()
+                ? readTimestamped(dir, timestamps, rawWidth, rawHeight)
+                : readByName(dir, rawWidth, rawHeight, defaultFps);
+        if (frames.isEmpty()) {
+            throw new IOException("No frames in " + dir);
+        }
+        return frames;
+    }
+
+    /** Frame format for a file name, or null if it is not a frame. */
+    static ReplayFrame.Format formatOf(String name) {
+        String lower = name.toLowerCase(Locale.US);
+        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) return ReplayFrame.Format.JPEG;
+        if (lower.endsWith(".png"))                             return ReplayFrame.Format.PNG;
+        if (lower.endsWith(".nv21") || lower.endsWith(".yuv"))  return ReplayFrame.Format.NV21;
+        return null;
+    }
+
+    private static List<ReplayFrame> readTimestamped(File dir, File timestamps, int rawWidth, int rawHeight)
+            throws IOException {
+        List<ReplayFrame> frames = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(timestamps), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                String[] parts = line.split("\\s+");
+                if (parts.length != 2) {
+                    throw new IOException(TIMESTAMPS_FILE + ":" + lineNumber + ": expected \"<file> <timestamp ns>\"");
+                }
+                ReplayFrame.Format format = formatOf(parts[0]);
+                if (format == null) {
+                    throw new IOException(TIMESTAMPS_FILE + ":" + lineNumber + ": unsupported frame " + parts[0]);
+                }
+                long timestamp;
+                try {
+                    timestamp = Long.parseLong(parts[1]);
+                } catch (NumberFormatException e) {
+                    throw new IOException(TIMESTAMPS_FILE + ":" + lineNumber + ": bad timestamp " + parts[1]);
+                }
+                File file = new File(dir, parts[0]);
+                if (!file.isFile()) {
+                    throw new IOException(TIMESTAMPS_FILE + ":" + lineNumber + ": missing " + file);
+                }
+                if (!frames.isEmpty() && timestamp < frames.get(frames.size() - 1).timestampNanos) {
+                    throw new IOException(TIMESTAMPS_FILE + ":" + lineNumber + ": timestamps go backwards");
+                }
+                frames.add(frame(frames.size(), file, format, timestamp, rawWidth, rawHeight));
+            }
+        }
+        return frames;
+    }
+
+    private static List<ReplayFrame> readByName(File dir, int rawWidth, int rawHeight, double fps)
+            throws IOException {
+        if (fps <= 0) {
+            throw new IllegalArgumentException("fps must be positive: " + fps);
+        }
+        File[] files = dir.listFiles();
+        if (files == null) {
+            throw new IOException("Cannot list " + dir);
+        }
+        Arrays.sort(files);
+        long interval = Math.round(1e9 / fps);
+        List<ReplayFrame> frames = new ArrayList<>();
+        for (File file : files) {
+            ReplayFrame.Format format = formatOf(file.getName());
+            if (format == null || !file.isFile()) continue;
+            frames.add(frame(frames.size(), file, format, frames.size() * interval, rawWidth, rawHeight));
+        }
+        return frames;
+    }
+
+    private static ReplayFrame frame(int index, File file, ReplayFrame.Format format, long timestamp,
+                                     int rawWidth, int rawHeight) throws IOException {
+        if (format != ReplayFrame.Format.NV21) {
+            return new ReplayFrame(index, file, format, timestamp, 0, 0);
+        }
+        if (rawWidth <= 0 || rawHeight <= 0) {
+            throw new IOException("Raw frame " + file.getName() + " needs a frame size");
+        }
+        long expected = (long) rawWidth * rawHeight * 3 / 2;
+        if (file.length() != expected) {
+            throw new IOException("Raw frame " + file.getName() + " is " + file.length()
+                    + " bytes, expected " + expected + " for " + rawWidth + "x" + rawHeight + " NV21");
+        }
+        return new ReplayFrame(index, file, format, timestamp, rawWidth, rawHeight);
+    }
+}
@@ -0,0 +1,199 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.replay;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feeds a recorded frame sequence through an analyzer the way CameraX ImageAnalysis would, so
+ * analyzer pipelines can be profiled without a camera, e.g. on a build machine with stub detectors.
+ *
+ * Frames become due at their recorded timestamps (scaled by {@link #setSpeed}) or at a fixed rate
+ * ({@link #setFixedRate}). The analyzer holds a frame until it calls done, the counterpart of
+ * ImageProxy.close(), and only one frame is in flight at a time. When the analyzer is still busy
+ * as frames fall due, {@link Backpressure#KEEP_ONLY_LATEST} delivers only the newest and counts
+ * the others as dropped, while {@link Backpressure#BLOCK_PRODUCER} delivers every frame late.
+ *
+ * The replayer has no Android dependencies. A {@link FrameLoader} decodes frames into the
+ * analyzer's input type, e.g. a Bitmap on a device or raw bytes on a plain JVM.
+ */
+public final class FrameReplayer<T> {
+
+    /** Same names and meaning as the ImageAnalysis backpressure strategies. */
+    public enum Backpressure { KEEP_ONLY_LATEST, BLOCK_PRODUCER }
+
+    public interface FrameLoader<T> {
+        T load(ReplayFrame frame) throws IOException;
+    }
+
+    /**
+     * The analyzer under test. done must be called exactly once per frame, from any thread, when
+     * the analyzer has finished with it; later calls are ignored.
+     */
+    public interface FrameAnalyzer<T> {
+        void analyze(T frame, Runnable done);
+    }
+
+    /** Time source, replaceable so tests can drive the replayer with a synthetic clock. */
+    public interface Clock {
+        long nanoTime();
+
+        void sleepNanos(long nanos) throws InterruptedException;
+    }
+
+    public static final Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void sleepNanos(long nanos) throws InterruptedException {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        }
+    };
+
+    private final FrameLoader<T>   loader;
+    private final FrameAnalyzer<T> analyzer;
+    private final Clock            clock;
+    private Backpressure backpressure = Backpressure.KEEP_ONLY_LATEST;
+    private double       speed        = 1.0;
+    private double       fixedFps;
+
+    private final Object lock = new Object();
+    private boolean      busy;
+
+    public FrameReplayer(FrameLoader<T> loader, FrameAnalyzer<T> analyzer) {
+        this(loader, analyzer, SYSTEM_CLOCK);
+    }
+
+    public FrameReplayer(FrameLoader<T> loader, FrameAnalyzer<T> analyzer, Clock clock) {
+        this.loader   = loader;
+        this.analyzer = analyzer;
+        this.clock    = clock;
+    }
+
+    public FrameReplayer<T> setBackpressure(Backpressure backpressure) {
+        this.backpressure = backpressure;
+        return this;
+    }
+
+    /**
+     * Replays at the recorded timing, sped up by speed: 1 is real time, 2 twice as fast.
+     * {@code Double.POSITIVE_INFINITY} submits each frame as soon as the analyzer is free and drops
+     * nothing, which measures raw analyzer throughput.
+     */
+    public FrameReplayer<T> setSpeed(double speed) {
+        if (!(speed > 0)) throw new IllegalArgumentException("speed must be positive: " + speed);
+        this.speed    = speed;
+        this.fixedFps = 0;
+        return this;
+    }
+
+    /** Ignores the recorded timestamps and makes a frame due every 1/fps seconds. */
+    public FrameReplayer<T> setFixedRate(double fps) {
+        if (!(fps > 0)) throw new IllegalArgumentException("fps must be positive: " + fps);
+        this.fixedFps = fps;
+        return this;
+    }
+
+    /**
+     * Replays frames on the calling thread and waits for the analyzer to release the last one.
+     *
+     * @throws IOException if the loader fails; frames already analyzed are not reported
+     */
+    public ReplayReport replay(List<ReplayFrame> frames) throws IOException, InterruptedException {
+        int n = frames.size();
+        long[] due = dueOffsets(frames);
+        List<ReplayReport.FrameResult> results = new ArrayList<>(n);
+
+        long start = clock.nanoTime();
+        int next = 0;
+        while (next < n) {
+            awaitIdle();
+            long now = clock.nanoTime() - start;
+            if (due[next] > now) {
+                clock.sleepNanos(due[next] - now);
+                now = clock.nanoTime() - start;
+            }
+            int pick = next;
+            if (backpressure == Backpressure.KEEP_ONLY_LATEST && !isUnpaced()) {
+                while (pick + 1 < n && due[pick + 1] <= now) pick++;
+            }
+            for (int i = next; i < pick; i++) {
+                ReplayFrame dropped = frames.get(i);
+                synchronized (lock) {
+                    results.add(new ReplayReport.FrameResult(dropped.index, dropped.timestampNanos,
+                            ReplayReport.Status.DROPPED, 0, 0, 0));
+                }
+            }
+            // Unpaced frames arrive when the analyzer asks for one, so latency is just the analysis.
+            long arrival = isUnpaced() ? clock.nanoTime() : start + due[pick];
+            submit(frames.get(pick), arrival, results);
+            next = pick + 1;
+        }
+        awaitIdle();
+        long wall = clock.nanoTime() - start;
+        synchronized (lock) {
+            return new ReplayReport(results, wall);
+        }
+    }
+
+    private void submit(ReplayFrame frame, long dueAt, List<ReplayReport.FrameResult> results)
+            throws IOException {
+        long loadStart = clock.nanoTime();
+        T image = loader.load(frame);
+        long submitted = clock.nanoTime();
+        synchronized (lock) {
+            busy = true;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable done = () -> {
+            if (!released.compareAndSet(false, true)) return;
+            long end = clock.nanoTime();
+            synchronized (lock) {
+                results.add(new ReplayReport.FrameResult(frame.index, frame.timestampNanos,
+                        ReplayReport.Status.PROCESSED,
+                        submitted - loadStart, end - submitted, end - dueAt));
+                busy = false;
+                lock.notifyAll();
+            }
+        };
+        try {
+            analyzer.analyze(image, done);
+        } catch (RuntimeException e) {
+            done.run();
+            throw e;
+        }
+    }
+
+    // Unpaced frames are all due at once; nothing is dropped, each waits for the analyzer.
+    private boolean isUnpaced() {
+        return fixedFps == 0 && Double.isInfinite(speed);
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        synchronized (lock) {
+            while (busy) lock.wait();
+        }
+    }
+
+    /** When each frame falls due, relative to the start of the replay. */
+    private long[] dueOffsets(List<ReplayFrame> frames) {
+        long[] due = new long[frames.size()];
+        if (frames.isEmpty()) return due;
+        long first = frames.get(0).timestampNanos;
+        for (int i = 0; i < due.length; i++) {
+            if (fixedFps > 0) {
+                due[i] = Math.round(i * 1e9 / fixedFps);
+            } else if (Double.isInfinite(speed)) {
+                due[i] = 0;
+            } else {
+                due[i] = Math.round((frames.get(i).timestampNanos - first) / speed);
+            }
+        }
+        return due;
+    }
+}
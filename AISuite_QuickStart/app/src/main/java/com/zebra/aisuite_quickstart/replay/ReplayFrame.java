@@ -0,0 +1,42 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.replay;
+
+import java.io.File;
+
+/**
+ * One recorded frame: where it lives on disk, how it is encoded and when it was captured.
+ * Frames are not decoded here; a {@link FrameReplayer.FrameLoader} turns them into whatever the
+ * analyzer under test consumes.
+ */
+public final class ReplayFrame {
+
+    public enum Format {
+        JPEG, PNG,
+        /** Raw NV21, the layout CameraX hands to analyzers as YUV_420_888 on most devices. */
+        NV21
+    }
+
+    /** Position in the recording, starting at 0. */
+    public final int    index;
+    public final File   file;
+    public final Format format;
+    /** Capture timestamp, in the recording's own time base. */
+    public final long   timestampNanos;
+    /** Pixel size for raw frames; 0 for encoded frames, whose size is in the file. */
+    public final int    width;
+    public final int    height;
+
+    public ReplayFrame(int index, File file, Format format, long timestampNanos, int width, int height) {
+        this.index          = index;
+        this.file           = file;
+        this.format         = format;
+        this.timestampNanos = timestampNanos;
+        this.width          = width;
+        this.height         = height;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayFrame{" + index + ", " + file.getName() + ", " + format + ", t=" + timestampNanos + "}";
+    }
+}
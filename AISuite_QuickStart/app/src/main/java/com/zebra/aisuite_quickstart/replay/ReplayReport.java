@@ -0,0 +1,127 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.replay;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outcome of one {@link FrameReplayer#replay} run: a result per recorded frame plus summary
+ * figures. Latency is measured from the moment a frame was due, i.e. when the camera would have
+ * delivered it, to the moment the analyzer released it, so it includes time spent waiting for
+ * the analyzer. Analysis time is from submit to release only.
+ */
+public final class ReplayReport {
+
+    public enum Status { PROCESSED, DROPPED }
+
+    /** Per-frame result. Timings are 0 for dropped frames. */
+    public static final class FrameResult {
+        public final int    index;
+        public final long   timestampNanos;
+        public final Status status;
+        public final long   loadNanos;
+        public final long   analysisNanos;
+        public final long   latencyNanos;
+
+        FrameResult(int index, long timestampNanos, Status status,
+                    long loadNanos, long analysisNanos, long latencyNanos) {
+            this.index          = index;
+            this.timestampNanos = timestampNanos;
+            this.status         = status;
+            this.loadNanos      = loadNanos;
+            this.analysisNanos  = analysisNanos;
+            this.latencyNanos   = latencyNanos;
+        }
+    }
+
+    private final List<FrameResult> frames;
+    private final long              wallNanos;
+    private final int               processed;
+    private final long[]            sortedLatency;
+    private final long[]            sortedAnalysis;
+
+    ReplayReport(List<FrameResult> frames, long wallNanos) {
+        List<FrameResult> ordered = new ArrayList<>(frames);
+        ordered.sort((a, b) -> Integer.compare(a.index, b.index));
+        this.frames    = Collections.unmodifiableList(ordered);
+        this.wallNanos = wallNanos;
+
+        int count = 0;
+        for (FrameResult f : ordered) if (f.status == Status.PROCESSED) count++;
+        processed      = count;
+        sortedLatency  = new long[count];
+        sortedAnalysis = new long[count];
+        int i = 0;
+        for (FrameResult f : ordered) {
+            if (f.status != Status.PROCESSED) continue;
+            sortedLatency[i]  = f.latencyNanos;
+            sortedAnalysis[i] = f.analysisNanos;
+            i++;
+        }
+        Arrays.sort(sortedLatency);
+        Arrays.sort(sortedAnalysis);
+    }
+
+    /** Every recorded frame, in recording order. */
+    public List<FrameResult> getFrames() {
+        return frames;
+    }
+
+    public int getProcessedCount() {
+        return processed;
+    }
+
+    public int getDroppedCount() {
+        return frames.size() - processed;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /** Processed frames per second of wall time. */
+    public double getThroughputFps() {
+        return wallNanos <= 0 ? 0 : processed * 1e9 / wallNanos;
+    }
+
+    /** Latency percentile in milliseconds, p in [0, 100]; 0 if nothing was processed. */
+    public double getLatencyMillis(double p) {
+        return percentileMillis(sortedLatency, p);
+    }
+
+    /** Analysis-time percentile in milliseconds, p in [0, 100]; 0 if nothing was processed. */
+    public double getAnalysisMillis(double p) {
+        return percentileMillis(sortedAnalysis, p);
+    }
+
+    public String summary() {
+        return String.format(Locale.US,
+                "frames %d  processed %d  dropped %d  throughput %.1f fps  "
+                        + "latency p50 %.2f p95 %.2f p99 %.2f max %.2f ms  analysis p50 %.2f p95 %.2f ms",
+                frames.size(), processed, getDroppedCount(), getThroughputFps(),
+                getLatencyMillis(50), getLatencyMillis(95), getLatencyMillis(99), getLatencyMillis(100),
+                getAnalysisMillis(50), getAnalysisMillis(95));
+    }
+
+    /** Writes one CSV row per frame, with a header row. Times are in milliseconds. */
+    public void writeCsv(Appendable out) throws IOException {
+        out.append("index,timestamp_ns,status,load_ms,analysis_ms,latency_ms\n");
+        for (FrameResult f : frames) {
+            out.append(String.format(Locale.US, "%d,%d,%s,%.3f,%.3f,%.3f%n",
+                    f.index, f.timestampNanos, f.status,
+                    f.loadNanos / 1e6, f.analysisNanos / 1e6, f.latencyNanos / 1e6));
+        }
+    }
+
+    // Nearest-rank percentile.
+    private static double percentileMillis(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        int index = Math.min(sorted.length - 1, Math.max(0, rank - 1));
+        return sorted[index] / 1e6;
+    }
+}
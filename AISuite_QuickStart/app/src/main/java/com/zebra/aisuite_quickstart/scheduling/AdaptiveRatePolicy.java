@@ -0,0 +1,49 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.scheduling;
+
+/**
+ * Runs a detector at a target rate, slowing down when it gets expensive or the device gets hot.
+ *
+ * The interval starts at 1 / targetFps. It is stretched so that the detector is busy for at most
+ * the given share of wall time (a 120 ms model with a 0.5 budget runs at most every 240 ms). Once
+ * thermal headroom passes {@link #THROTTLE_START} the rate is lowered linearly, reaching minFps at
+ * a headroom of 1, where the platform starts throttling. The rate never drops below minFps.
+ */
+public final class AdaptiveRatePolicy implements FrameSkipPolicy {
+
+    /** Thermal headroom from which the rate starts to drop. */
+    public static final float THROTTLE_START = 0.7f;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long  targetIntervalNanos;
+    private final long  maxIntervalNanos;
+    private final float busyBudget;
+
+    /**
+     * @param targetFps  rate when the detector is cheap and the device is cool
+     * @param minFps     lowest rate the policy will fall to
+     * @param busyBudget largest share of wall time the detector may spend running, in (0, 1]
+     */
+    public AdaptiveRatePolicy(float targetFps, float minFps, float busyBudget) {
+        if (!(targetFps > 0) || !(minFps > 0) || minFps > targetFps) {
+            throw new IllegalArgumentException("Need 0 < minFps <= targetFps: " + minFps + ", " + targetFps);
+        }
+        if (!(busyBudget > 0) || busyBudget > 1) {
+            throw new IllegalArgumentException("Busy budget must be in (0, 1]: " + busyBudget);
+        }
+        this.targetIntervalNanos = (long) (NANOS_PER_SECOND / targetFps);
+        this.maxIntervalNanos    = (long) (NANOS_PER_SECOND / minFps);
+        this.busyBudget          = busyBudget;
+    }
+
+    @Override
+    public long intervalNanos(long latencyNanos, float thermalHeadroom) {
+        long interval = Math.max(targetIntervalNanos, (long) (latencyNanos / busyBudget));
+        if (thermalHeadroom > THROTTLE_START) {
+            float heat = Math.min(1f, (thermalHeadroom - THROTTLE_START) / (1f - THROTTLE_START));
+            interval += (long) (heat * (maxIntervalNanos - targetIntervalNanos));
+        }
+        return Math.min(interval, maxIntervalNanos);
+    }
+}
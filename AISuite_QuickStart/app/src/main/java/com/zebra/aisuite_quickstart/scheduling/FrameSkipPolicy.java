@@ -0,0 +1,27 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.scheduling;
+
+/**
+ * Decides how often a detector runs. {@link FrameSkipScheduler} asks the policy after every run
+ * of the detector and skips frames until the returned interval has passed, reusing the detector's
+ * last results in the meantime.
+ */
+public interface FrameSkipPolicy {
+
+    /** Thermal headroom value meaning the platform did not report one. */
+    float HEADROOM_UNKNOWN = Float.NaN;
+
+    /**
+     * Returns the minimum time from the start of one run to the start of the next.
+     *
+     * @param latencyNanos    smoothed duration of the detector's recent runs
+     * @param thermalHeadroom PowerManager.getThermalHeadroom() style: 0 is cool, 1 is where the
+     *                        device starts throttling, or {@link #HEADROOM_UNKNOWN}
+     */
+    long intervalNanos(long latencyNanos, float thermalHeadroom);
+
+    /** Runs the detector on every frame it is offered. */
+    static FrameSkipPolicy everyFrame() {
+        return (latencyNanos, thermalHeadroom) -> 0L;
+    }
+}
@@ -0,0 +1,224 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Runs each detector of a multi-detector pipeline at its own rate.
+ *
+ * Every frame is offered to every detector's {@link Lane}. A lane runs its detector when the
+ * interval chosen by its {@link FrameSkipPolicy} has passed since the previous run started (or
+ * will have within half a frame), and otherwise hands back the detector's last results, so
+ * downstream code still sees a result for every detector on every frame. A lane whose detector is
+ * still busy with an earlier frame also reuses the last results instead of queueing.
+ *
+ * After each run the lane smooths the measured latency and asks the policy for the next
+ * interval, passing the thermal headroom, which is sampled at most once per
+ * {@link #THERMAL_POLL_NANOS} because the platform rate-limits the query.
+ *
+ * Usage:
+ * - FrameSkipScheduler scheduler = new FrameSkipScheduler(FrameSkipScheduler.SYSTEM_CLOCK, thermal);
+ * - Lane<List<E>> lane = scheduler.lane("ocr", new AdaptiveRatePolicy(10, 2, 0.5f), emptyList());
+ * - In the detector callback: return lane.runOrReuse(() -> detector.process(image).join());
+ *
+ * Lanes are thread-safe; the detector itself is called outside any lock.
+ */
+public final class FrameSkipScheduler {
+
+    /** Minimum time between two thermal headroom queries. */
+    public static final long THERMAL_POLL_NANOS = 1_000_000_000L;
+
+    /** Time source, replaceable so tests can drive the scheduler with a synthetic clock. */
+    public interface Clock {
+        long nanoTime();
+    }
+
+    public static final Clock SYSTEM_CLOCK = System::nanoTime;
+
+    /**
+     * Thermal headroom as PowerManager.getThermalHeadroom() reports it: 0 is cool, 1 is where
+     * throttling starts, NaN when unknown.
+     */
+    public interface ThermalSource {
+        float getThermalHeadroom();
+    }
+
+    public static final ThermalSource NO_THERMAL = () -> FrameSkipPolicy.HEADROOM_UNKNOWN;
+
+    private final Clock         clock;
+    private final ThermalSource thermal;
+    private final List<Lane<?>> lanes = new ArrayList<>();
+
+    private final Object thermalLock = new Object();
+    private boolean thermalSampled;
+    private long    thermalSampledAt;
+    private float   headroom = FrameSkipPolicy.HEADROOM_UNKNOWN;
+
+    public FrameSkipScheduler(Clock clock, ThermalSource thermal) {
+        this.clock   = clock;
+        this.thermal = thermal;
+    }
+
+    /**
+     * Adds a lane for one detector.
+     *
+     * @param initial result handed out for frames skipped before the detector's first run ends
+     */
+    public synchronized <T> Lane<T> lane(String name, FrameSkipPolicy policy, T initial) {
+        Lane<T> lane = new Lane<>(name, policy, initial);
+        lanes.add(lane);
+        return lane;
+    }
+
+    /**
+     * Forgets every lane's cached results and timing, e.g. after the camera was rebound. A run
+     * that is in flight still returns its results to its caller but no longer updates its lane.
+     */
+    public synchronized void reset() {
+        for (Lane<?> lane : lanes) lane.reset();
+    }
+
+    /** Last sampled thermal headroom, refreshed if the previous sample is old enough. */
+    public float getThermalHeadroom() {
+        synchronized (thermalLock) {
+            long now = clock.nanoTime();
+            if (!thermalSampled || now - thermalSampledAt >= THERMAL_POLL_NANOS) {
+                float sample = thermal.getThermalHeadroom();
+                // Keep the previous reading when a query is rate-limited to NaN.
+                if (!Float.isNaN(sample) || !thermalSampled) headroom = sample;
+                thermalSampled   = true;
+                thermalSampledAt = now;
+            }
+            return headroom;
+        }
+    }
+
+    /** One line per lane with its rate and counters, for logging. */
+    public synchronized String toSummary() {
+        StringBuilder text = new StringBuilder();
+        for (Lane<?> lane : lanes) {
+            if (text.length() > 0) text.append('\n');
+            text.append(lane);
+        }
+        return text.toString();
+    }
+
+    /** Scheduling state and cached results of one detector. */
+    public final class Lane<T> {
+        private final String          name;
+        private final FrameSkipPolicy policy;
+        private final T               initial;
+
+        private T       lastResult;
+        private boolean running;
+        private boolean started;
+        private boolean measured;
+        private long    lastStartNanos;
+        private long    lastOfferNanos;
+        private long    frameNanos;
+        private long    intervalNanos;
+        private long    latencyNanos;
+        private long    runs;
+        private long    skips;
+        // Bumped by reset(); a run started in an older epoch must not write back its results.
+        private long    epoch;
+
+        private Lane(String name, FrameSkipPolicy policy, T initial) {
+            this.name       = name;
+            this.policy     = policy;
+            this.initial    = initial;
+            this.lastResult = initial;
+        }
+
+        /**
+         * Runs detector if this lane is due, otherwise returns the last results. Exceptions from
+         * the detector propagate and leave the cached results unchanged.
+         */
+        public T runOrReuse(Supplier<T> detector) {
+            long start;
+            long runEpoch;
+            synchronized (this) {
+                start = clock.nanoTime();
+                if (started) {
+                    long sinceOffer = start - lastOfferNanos;
+                    frameNanos = frameNanos == 0 ? sinceOffer : frameNanos + (sinceOffer - frameNanos) / 4;
+                }
+                lastOfferNanos = start;
+                // Due within half a frame counts as due, so camera jitter does not push a run
+                // back by a whole frame.
+                if (running || (started && start - lastStartNanos < intervalNanos - frameNanos / 2)) {
+                    skips++;
+                    return lastResult;
+                }
+                running        = true;
+                started        = true;
+                lastStartNanos = start;
+                runEpoch       = epoch;
+            }
+            T result;
+            try {
+                result = detector.get();
+            } catch (RuntimeException | Error e) {
+                synchronized (this) {
+                    running = false;
+                }
+                throw e;
+            }
+            long latency = clock.nanoTime() - start;
+            float headroom = getThermalHeadroom();
+            synchronized (this) {
+                running = false;
+                runs++;
+                if (runEpoch != epoch) return result;
+                lastResult = result;
+                // Exponential moving average over roughly the last four runs.
+                latencyNanos  = measured ? latencyNanos + (latency - latencyNanos) / 4 : latency;
+                measured      = true;
+                intervalNanos = policy.intervalNanos(latencyNanos, headroom);
+            }
+            return result;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** Current minimum time between runs. */
+        public synchronized long getIntervalNanos() {
+            return intervalNanos;
+        }
+
+        /** Smoothed run duration. */
+        public synchronized long getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        public synchronized long getRuns() {
+            return runs;
+        }
+
+        /** Frames answered with cached results. */
+        public synchronized long getSkips() {
+            return skips;
+        }
+
+        private synchronized void reset() {
+            epoch++;
+            lastResult    = initial;
+            started       = false;
+            measured      = false;
+            frameNanos    = 0;
+            intervalNanos = 0;
+            latencyNanos  = 0;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format(Locale.US, "%s every %.1f ms (latency %.1f ms) runs=%d skips=%d",
+                    name, intervalNanos / 1e6, latencyNanos / 1e6, runs, skips);
+        }
+    }
+}
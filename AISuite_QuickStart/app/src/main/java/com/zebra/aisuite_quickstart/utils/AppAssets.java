@@ -0,0 +1,70 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.utils;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The app's {@link AssetCache} for files that detectors load from a path, such as the product
+ * recognition index and labels. One cache per process, writing to the app's files directory, so
+ * the Tracker, the product recognition handler and the low-level sample share what was already
+ * copied or verified.
+ *
+ * Usage:
+ * - File index = AppAssets.materialize(context, "product.index");
+ * - AppAssets.getCache(context).getStats() for the totals.
+ */
+public final class AppAssets {
+
+    private static final String TAG = "AppAssets";
+
+    private static AssetCache cache;
+
+    private AppAssets() {}
+
+    public static synchronized AssetCache getCache(Context context) {
+        if (cache == null) {
+            Context app = context.getApplicationContext();
+            cache = new AssetCache(new AssetCache.Source() {
+                @Override
+                public InputStream open(String name) throws IOException {
+                    return app.getAssets().open(name);
+                }
+
+                @Override
+                public String getVersion() {
+                    return packageVersion(app);
+                }
+            }, app.getFilesDir());
+        }
+        return cache;
+    }
+
+    /**
+     * Copies the asset to the files directory unless an identical copy is already there, and logs
+     * what it took.
+     *
+     * @return The file holding the asset.
+     */
+    public static File materialize(Context context, String name) throws IOException {
+        AssetCache.Result result = getCache(context).materialize(name);
+        Log.d(TAG, "Asset " + result);
+        return result.file;
+    }
+
+    // Assets only change when the APK does, which updates lastUpdateTime.
+    private static String packageVersion(Context context) {
+        try {
+            PackageInfo info = context.getPackageManager().getPackageInfo(context.getPackageName(), 0);
+            return info.getLongVersionCode() + "@" + info.lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Copies packaged assets (e.g. product.index and product.txt) to a directory once and keeps them
+ * there, for detectors that take file paths.
+ *
+ * Next to each copied file the cache writes a stamp with the asset's name, size and SHA-256, the
+ * package version it came from, and the size and modification time of the file as written. A
+ * later materialize() skips the copy when:
+ * - the file was already materialized by this cache and is unchanged on disk, or
+ * - the stamp is for the same package version and the file on disk still has the stamped size
+ *   and modification time, so nothing has to be read at all, or
+ * - the package changed but the asset's size and hash are the same as stamped, so only the asset
+ *   is read and the stamp is renewed.
+ * Otherwise the asset is copied with a 64 KB buffer into a temporary file, hashed on the way, and
+ * renamed over the target, so a reader never sees a partial file.
+ *
+ * Usage:
+ * - AssetCache cache = new AssetCache(source, directory); share one per directory.
+ * - File index = cache.materialize("product.index").file;
+ * - Each {@link Result} tells whether it copied and how long materialization took.
+ *
+ * Thread-safe; concurrent calls are serialized.
+ */
+public final class AssetCache {
+
+    /** Where assets are read from; on Android, the app's AssetManager. */
+    public interface Source {
+        InputStream open(String name) throws IOException;
+
+        /**
+         * Identifies the package the assets come from, e.g. its version and install time; assets
+         * cannot change while it stays the same. Null if unknown, which makes every check hash
+         * the asset.
+         */
+        String getVersion();
+    }
+
+    /** Time source, replaceable so tests can check the reported durations. */
+    public interface Clock {
+        long nanoTime();
+    }
+
+    public static final Clock SYSTEM_CLOCK = System::nanoTime;
+
+    static final String STAMP_SUFFIX = ".asset-stamp";
+    static final int    BUFFER_SIZE  = 64 * 1024;
+
+    /** How a materialize() call was satisfied. */
+    public enum Outcome {
+        /** Already materialized by this cache and unchanged on disk. */
+        CACHED,
+        /** Stamp and file on disk match the current package; nothing was read. */
+        STAMP_MATCH,
+        /** Package changed, but the asset hashed to the stamped content. */
+        HASH_MATCH,
+        /** The asset was copied. */
+        COPIED
+    }
+
+    /** What one materialize() call did. */
+    public static final class Result {
+        public final String  name;
+        public final File    file;
+        public final Outcome outcome;
+        /** Size of the asset in bytes. */
+        public final long    size;
+        /** Lowercase hex SHA-256 of the asset. */
+        public final String  sha256;
+        /** Bytes read from the asset; 0 when the stamp was enough. */
+        public final long    bytesRead;
+        /** Bytes written to disk; 0 unless copied. */
+        public final long    bytesWritten;
+        public final long    nanos;
+
+        Result(String name, File file, Outcome outcome, long size, String sha256,
+               long bytesRead, long bytesWritten, long nanos) {
+            this.name         = name;
+            this.file         = file;
+            this.outcome      = outcome;
+            this.size         = size;
+            this.sha256       = sha256;
+            this.bytesRead    = bytesRead;
+            this.bytesWritten = bytesWritten;
+            this.nanos        = nanos;
+        }
+
+        public boolean isCopied() {
+            return outcome == Outcome.COPIED;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s %s %d bytes in %.2f ms (read %d, wrote %d)",
+                    name, outcome, size, nanos / 1e6, bytesRead, bytesWritten);
+        }
+    }
+
+    /** Snapshot of cache counters. */
+    public static final class Stats {
+        public final int  materialized;
+        public final int  copied;
+        public final long bytesWritten;
+        /** Time spent in materialize(), copies and skips together. */
+        public final long nanos;
+
+        Stats(int materialized, int copied, long bytesWritten, long nanos) {
+            this.materialized = materialized;
+            this.copied       = copied;
+            this.bytesWritten = bytesWritten;
+            this.nanos        = nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "materialized=%d copied=%d written=%d bytes time=%.2f ms",
+                    materialized, copied, bytesWritten, nanos / 1e6);
+        }
+    }
+
+    private final Source source;
+    private final File   directory;
+    private final Clock  clock;
+    private final Map<String, Stamp> verified = new HashMap<>();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int  materialized;
+    private int  copied;
+    private long bytesWritten;
+    private long nanos;
+
+    public AssetCache(Source source, File directory) {
+        this(source, directory, SYSTEM_CLOCK);
+    }
+
+    public AssetCache(Source source, File directory, Clock clock) {
+        this.source    = source;
+        this.directory = directory;
+        this.clock     = clock;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Makes sure directory/name holds the asset's current content, copying it only if needed.
+     *
+     * @throws IOException if the asset cannot be read or the file cannot be written; a previous
+     *                     copy of the file is left in place
+     */
+    public synchronized Result materialize(String name) throws IOException {
+        long start = clock.nanoTime();
+        File target = new File(directory, name);
+        Result result = check(name, target, start);
+        if (result == null) result = copy(name, target, start);
+        materialized++;
+        nanos += result.nanos;
+        if (result.isCopied()) {
+            copied++;
+            bytesWritten += result.bytesWritten;
+        }
+        return result;
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(materialized, copied, bytesWritten, nanos);
+    }
+
+    /** The result of a skipped copy, or null if the asset has to be copied. */
+    private Result check(String name, File target, long start) throws IOException {
+        Stamp known = verified.get(name);
+        if (known != null && known.matchesFile(target)) {
+            return new Result(name, target, Outcome.CACHED, known.size, known.sha256, 0, 0,
+                    clock.nanoTime() - start);
+        }
+        Stamp stamp = Stamp.read(stampFile(target));
+        if (stamp == null || !stamp.name.equals(name) || !stamp.matchesFile(target)) return null;
+
+        String version = source.getVersion();
+        if (version != null && version.equals(stamp.version)) {
+            verified.put(name, stamp);
+            return new Result(name, target, Outcome.STAMP_MATCH, stamp.size, stamp.sha256, 0, 0,
+                    clock.nanoTime() - start);
+        }
+        long size = 0;
+        MessageDigest digest = sha256();
+        try (InputStream in = source.open(name)) {
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, count);
+                size += count;
+            }
+        }
+        String sha256 = hex(digest.digest());
+        if (size != stamp.size || !sha256.equals(stamp.sha256)) return null;
+
+        Stamp renewed = new Stamp(name, version, size, sha256, stamp.fileSize, stamp.fileModified);
+        renewed.write(stampFile(target));
+        verified.put(name, renewed);
+        return new Result(name, target, Outcome.HASH_MATCH, size, sha256, size, 0,
+                clock.nanoTime() - start);
+    }
+
+    private Result copy(String name, File target, long start) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        File temp = new File(directory, name + ".tmp");
+        long size = 0;
+        MessageDigest digest = sha256();
+        try (InputStream in = source.open(name); FileOutputStream out = new FileOutputStream(temp)) {
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, count);
+                out.write(buffer, 0, count);
+                size += count;
+            }
+            out.getFD().sync();
+        } catch (IOException e) {
+            temp.delete();
+            throw e;
+        }
+        // Drop the stamp first: a crash between the rename and the new stamp then costs a
+        // copy on the next start instead of trusting a stale stamp.
+        File stampFile = stampFile(target);
+        stampFile.delete();
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("Cannot replace " + target);
+        }
+        Stamp stamp = new Stamp(name, source.getVersion(), size, hex(digest.digest()),
+                target.length(), target.lastModified());
+        stamp.write(stampFile);
+        verified.put(name, stamp);
+        return new Result(name, target, Outcome.COPIED, size, stamp.sha256, size, size,
+                clock.nanoTime() - start);
+    }
+
+    private static File stampFile(File target) {
+        return new File(target.getParentFile(), "." + target.getName() + STAMP_SUFFIX);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    static String hex(byte[] bytes) {
+        StringBuilder text = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            text.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return text.toString();
+    }
+
+    /** The stamp file's content. */
+    private static final class Stamp {
+        final String name;
+        final String version;
+        final long   size;
+        final String sha256;
+        final long   fileSize;
+        final long   fileModified;
+
+        Stamp(String name, String version, long size, String sha256, long fileSize, long fileModified) {
+            this.name         = name;
+            this.version      = version;
+            this.size         = size;
+            this.sha256       = sha256;
+            this.fileSize     = fileSize;
+            this.fileModified = fileModified;
+        }
+
+        /** True if target still looks like the file this stamp was written for. */
+        boolean matchesFile(File target) {
+            return target.isFile() && target.length() == fileSize && target.lastModified() == fileModified
+                    && fileSize == size;
+        }
+
+        /** The stamp in file, or null if there is none or it cannot be parsed. */
+        static Stamp read(File file) {
+            if (!file.isFile()) return null;
+            Properties props = new Properties();
+            try (InputStream in = new FileInputStream(file)) {
+                props.load(in);
+                String name   = props.getProperty("name");
+                String sha256 = props.getProperty("sha256");
+                if (name == null || sha256 == null) return null;
+                return new Stamp(name, props.getProperty("version"),
+                        Long.parseLong(props.getProperty("size")), sha256,
+                        Long.parseLong(props.getProperty("fileSize")),
+                        Long.parseLong(props.getProperty("fileModified")));
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        void write(File file) throws IOException {
+            Properties props = new Properties();
+            props.setProperty("name", name);
+            if (version != null) props.setProperty("version", version);
+            props.setProperty("size", Long.toString(size));
+            props.setProperty("sha256", sha256);
+            props.setProperty("fileSize", Long.toString(fileSize));
+            props.setProperty("fileModified", Long.toString(fileModified));
+            try (OutputStream out = new FileOutputStream(file)) {
+                props.store(out, null);
+            }
+        }
+    }
+}
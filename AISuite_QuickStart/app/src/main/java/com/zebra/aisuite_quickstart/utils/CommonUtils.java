@@ -3,7 +3,6 @@ package com.zebra.aisuite_quickstart.utils;
 
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
-import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Rect;
 import android.util.Log;
@@ -19,29 +18,28 @@ public class CommonUtils {
     public static final String PALLET_AND_BOX_LOCALIZER = "Pallet and Box Localizer(Beta)";
     /**
      * Rotates the bitmap of the given ImageProxy if needed based on its rotation metadata.
+     * This allocates a full copy of the frame whenever it is rotated; analyzers whose detectors
+     * do not depend on orientation should use {@link #toImageHandle(ImageProxy)} and map their
+     * results instead.
      *
      * @param imageProxy The ImageProxy to be converted and possibly rotated.
      * @return The rotated Bitmap.
      */
     public static Bitmap rotateBitmapIfNeeded(ImageProxy imageProxy) {
-        int rotationDegrees = imageProxy.getImageInfo().getRotationDegrees();
-        return rotateBitmap(imageProxy.toBitmap(), rotationDegrees);
+        return toImageHandle(imageProxy).toUprightBitmap();
     }
 
     /**
-     * Rotates the given bitmap by the specified number of degrees.
+     * Wraps the bitmap of the given ImageProxy with its rotation and crop as metadata, without
+     * copying the pixels.
      *
-     * @param bitmap The bitmap to be rotated.
-     * @param degrees The degrees to rotate the bitmap.
-     * @return The rotated Bitmap.
+     * @param imageProxy The ImageProxy to be converted.
+     * @return The unrotated frame and how to map it upright.
      */
-    private static Bitmap rotateBitmap(Bitmap bitmap, int degrees) {
-        if (degrees == 0) return bitmap;
-
-        Matrix matrix = new Matrix();
-        matrix.postRotate(degrees);
-        return Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+    public static ImageHandle toImageHandle(ImageProxy imageProxy) {
+        return ImageHandle.fromImageProxy(imageProxy);
     }
+
     /**
      * Adjusts the text size to ensure that it fits within the specified bounds.
      *
@@ -0,0 +1,91 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.utils;
+
+import android.graphics.Bitmap;
+import android.graphics.Matrix;
+import android.graphics.Rect;
+
+import androidx.camera.core.ImageProxy;
+
+import com.zebra.ai.vision.detector.BBox;
+
+/**
+ * A camera frame as it came off the sensor, together with the {@link ImageOrientation} that says
+ * how to show it upright. The pixels are never rotated implicitly: detectors that do not care
+ * about orientation (barcode localizer and decoder) run on getBitmap(), and their boxes are moved
+ * into upright coordinates with mapToUpright(). This saves a full ARGB copy per frame, about
+ * 8 MB at 1080p and 48 MB at 12 MP.
+ *
+ * Usage:
+ * - ImageHandle.fromImageProxy(image) wraps the frame; the crop rect of the proxy is kept.
+ * - getBitmap() is the unrotated buffer to hand to orientation-invariant detectors.
+ * - mapToUpright(bbox) rewrites a box found in the buffer in place.
+ * - toUprightBitmap() makes the rotated copy, for models that need upright input or for display.
+ */
+public final class ImageHandle {
+
+    private final Bitmap bitmap;
+    private final ImageOrientation orientation;
+
+    public ImageHandle(Bitmap bitmap, ImageOrientation orientation) {
+        if (bitmap.getWidth() != orientation.getBufferWidth()
+                || bitmap.getHeight() != orientation.getBufferHeight()) {
+            throw new IllegalArgumentException("Bitmap " + bitmap.getWidth() + "x" + bitmap.getHeight()
+                    + " does not match " + orientation);
+        }
+        this.bitmap = bitmap;
+        this.orientation = orientation;
+    }
+
+    /** Wraps the frame's bitmap with its rotation and crop rect, without rotating it. */
+    public static ImageHandle fromImageProxy(ImageProxy imageProxy) {
+        return fromImageProxy(imageProxy, imageProxy.toBitmap());
+    }
+
+    /**
+     * Wraps bitmap, already converted from imageProxy at its full size (e.g. a pooled one), with
+     * the frame's rotation and crop rect.
+     */
+    public static ImageHandle fromImageProxy(ImageProxy imageProxy, Bitmap bitmap) {
+        ImageOrientation orientation = new ImageOrientation(bitmap.getWidth(), bitmap.getHeight(),
+                imageProxy.getImageInfo().getRotationDegrees());
+        Rect crop = imageProxy.getCropRect();
+        if (crop.left != 0 || crop.top != 0
+                || crop.right != bitmap.getWidth() || crop.bottom != bitmap.getHeight()) {
+            orientation = orientation.withCrop(crop.left, crop.top, crop.right, crop.bottom);
+        }
+        return new ImageHandle(bitmap, orientation);
+    }
+
+    /** The unrotated, uncropped buffer. */
+    public Bitmap getBitmap() {
+        return bitmap;
+    }
+
+    public ImageOrientation getOrientation() {
+        return orientation;
+    }
+
+    /** Moves a box found in getBitmap() into upright coordinates, in place. */
+    public void mapToUpright(BBox bbox) {
+        if (bbox == null || orientation.isIdentity()) return;
+        float[] ltrb = {bbox.xmin, bbox.ymin, bbox.xmax, bbox.ymax};
+        orientation.mapRectToUpright(ltrb);
+        bbox.xmin = ltrb[0];
+        bbox.ymin = ltrb[1];
+        bbox.xmax = ltrb[2];
+        bbox.ymax = ltrb[3];
+    }
+
+    /**
+     * The cropped frame rotated upright. Allocates a new bitmap unless the orientation is the
+     * identity, in which case getBitmap() itself is returned.
+     */
+    public Bitmap toUprightBitmap() {
+        if (orientation.isIdentity()) return bitmap;
+        Matrix matrix = new Matrix();
+        matrix.postRotate(orientation.getRotationDegrees());
+        return Bitmap.createBitmap(bitmap, orientation.getCropLeft(), orientation.getCropTop(),
+                orientation.getCropWidth(), orientation.getCropHeight(), matrix, true);
+    }
+}
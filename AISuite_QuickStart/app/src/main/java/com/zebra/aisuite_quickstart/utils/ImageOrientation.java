@@ -0,0 +1,179 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.utils;
+
+import java.util.Locale;
+
+/**
+ * How a camera buffer relates to the upright image the user sees: the buffer's size, a crop
+ * rectangle in buffer pixels, and the clockwise rotation (0, 90, 180 or 270) that turns the
+ * cropped buffer upright.
+ *
+ * Instead of rotating pixels, results found in the buffer are mapped to upright coordinates with
+ * mapRectToUpright()/mapPointsToUpright(), and upright coordinates (e.g. a touch or a region of
+ * interest) back with the FromUpright variants. Upright coordinates are relative to the crop's
+ * top-left corner, so a mapped box can be used directly with a rotated copy of the crop.
+ *
+ * Immutable; plain Java so the mapping can be unit-tested on the JVM.
+ */
+public final class ImageOrientation {
+
+    private final int bufferWidth;
+    private final int bufferHeight;
+    private final int rotationDegrees;
+    private final int cropLeft;
+    private final int cropTop;
+    private final int cropRight;
+    private final int cropBottom;
+
+    /** Whole buffer, rotated by rotationDegrees (any multiple of 90, normalised to [0, 360)). */
+    public ImageOrientation(int bufferWidth, int bufferHeight, int rotationDegrees) {
+        this(bufferWidth, bufferHeight, rotationDegrees, 0, 0, bufferWidth, bufferHeight);
+    }
+
+    private ImageOrientation(int bufferWidth, int bufferHeight, int rotationDegrees,
+                             int cropLeft, int cropTop, int cropRight, int cropBottom) {
+        if (bufferWidth <= 0 || bufferHeight <= 0) {
+            throw new IllegalArgumentException("Empty buffer " + bufferWidth + "x" + bufferHeight);
+        }
+        if (rotationDegrees % 90 != 0) {
+            throw new IllegalArgumentException("Rotation must be a multiple of 90: " + rotationDegrees);
+        }
+        this.bufferWidth     = bufferWidth;
+        this.bufferHeight    = bufferHeight;
+        this.rotationDegrees = ((rotationDegrees % 360) + 360) % 360;
+        this.cropLeft        = cropLeft;
+        this.cropTop         = cropTop;
+        this.cropRight       = cropRight;
+        this.cropBottom      = cropBottom;
+    }
+
+    /**
+     * Same rotation with a crop in buffer pixels, clamped to the buffer.
+     *
+     * @throws IllegalArgumentException if the clamped crop is empty
+     */
+    public ImageOrientation withCrop(int left, int top, int right, int bottom) {
+        int l = Math.max(0, left);
+        int t = Math.max(0, top);
+        int r = Math.min(bufferWidth, right);
+        int b = Math.min(bufferHeight, bottom);
+        if (r <= l || b <= t) {
+            throw new IllegalArgumentException("Empty crop " + left + "," + top + "," + right + "," + bottom);
+        }
+        return new ImageOrientation(bufferWidth, bufferHeight, rotationDegrees, l, t, r, b);
+    }
+
+    public int getBufferWidth() {
+        return bufferWidth;
+    }
+
+    public int getBufferHeight() {
+        return bufferHeight;
+    }
+
+    public int getRotationDegrees() {
+        return rotationDegrees;
+    }
+
+    public int getCropLeft() {
+        return cropLeft;
+    }
+
+    public int getCropTop() {
+        return cropTop;
+    }
+
+    public int getCropWidth() {
+        return cropRight - cropLeft;
+    }
+
+    public int getCropHeight() {
+        return cropBottom - cropTop;
+    }
+
+    /** True if the buffer already is the upright image, so there is nothing to map. */
+    public boolean isIdentity() {
+        return rotationDegrees == 0 && cropLeft == 0 && cropTop == 0
+                && cropRight == bufferWidth && cropBottom == bufferHeight;
+    }
+
+    public int getUprightWidth() {
+        return isQuarterTurn() ? getCropHeight() : getCropWidth();
+    }
+
+    public int getUprightHeight() {
+        return isQuarterTurn() ? getCropWidth() : getCropHeight();
+    }
+
+    /** Bytes an upright ARGB_8888 copy of the crop would allocate; what mapping saves per frame. */
+    public long getUprightCopyBytes() {
+        return 4L * getCropWidth() * getCropHeight();
+    }
+
+    /** Maps x,y pairs from buffer pixels to upright pixels, in place. */
+    public void mapPointsToUpright(float[] points) {
+        float w = getCropWidth();
+        float h = getCropHeight();
+        for (int i = 0; i + 1 < points.length; i += 2) {
+            float x = points[i] - cropLeft;
+            float y = points[i + 1] - cropTop;
+            switch (rotationDegrees) {
+                case 90:  points[i] = h - y; points[i + 1] = x;     break;
+                case 180: points[i] = w - x; points[i + 1] = h - y; break;
+                case 270: points[i] = y;     points[i + 1] = w - x; break;
+                default:  points[i] = x;     points[i + 1] = y;     break;
+            }
+        }
+    }
+
+    /** Maps x,y pairs from upright pixels back to buffer pixels, in place. */
+    public void mapPointsFromUpright(float[] points) {
+        float w = getCropWidth();
+        float h = getCropHeight();
+        for (int i = 0; i + 1 < points.length; i += 2) {
+            float u = points[i];
+            float v = points[i + 1];
+            float x;
+            float y;
+            switch (rotationDegrees) {
+                case 90:  x = v;     y = h - u; break;
+                case 180: x = w - u; y = h - v; break;
+                case 270: x = w - v; y = u;     break;
+                default:  x = u;     y = v;     break;
+            }
+            points[i]     = x + cropLeft;
+            points[i + 1] = y + cropTop;
+        }
+    }
+
+    /** Maps a {left, top, right, bottom} box from buffer to upright pixels, in place. */
+    public void mapRectToUpright(float[] ltrb) {
+        mapPointsToUpright(ltrb);
+        sortRect(ltrb);
+    }
+
+    /** Maps a {left, top, right, bottom} box from upright to buffer pixels, in place. */
+    public void mapRectFromUpright(float[] ltrb) {
+        mapPointsFromUpright(ltrb);
+        sortRect(ltrb);
+    }
+
+    private boolean isQuarterTurn() {
+        return rotationDegrees == 90 || rotationDegrees == 270;
+    }
+
+    private static void sortRect(float[] ltrb) {
+        if (ltrb[0] > ltrb[2]) {
+            float swap = ltrb[0]; ltrb[0] = ltrb[2]; ltrb[2] = swap;
+        }
+        if (ltrb[1] > ltrb[3]) {
+            float swap = ltrb[1]; ltrb[1] = ltrb[3]; ltrb[3] = swap;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%dx%d rot=%d crop=[%d,%d %dx%d]", bufferWidth, bufferHeight,
+                rotationDegrees, cropLeft, cropTop, getCropWidth(), getCropHeight());
+    }
+}
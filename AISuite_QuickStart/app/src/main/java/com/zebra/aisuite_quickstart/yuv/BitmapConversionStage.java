@@ -0,0 +1,82 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.yuv;
+
+import android.graphics.Bitmap;
+import android.graphics.ImageFormat;
+
+import androidx.camera.core.ImageProxy;
+
+import com.zebra.aisuite_quickstart.utils.ImageHandle;
+
+/**
+ * Converts YUV_420_888 ImageAnalysis frames into pooled ARGB_8888 Bitmaps, in place of
+ * ImageProxy.toBitmap(), which allocates a new 8 MB Bitmap for every 1080p frame.
+ *
+ * Each {@link RgbFrameRing} slot keeps one Bitmap as its attachment; a frame is converted into the
+ * slot's pixel buffer and copied into that Bitmap, so after the ring is warm no frame allocates.
+ * At most maxInFlight Bitmaps are handed out; tryConvert() returns null when they all are, and
+ * the analyzer should close the ImageProxy and skip the frame.
+ *
+ * Usage:
+ * - RgbFrameRing.Frame frame = stage.tryConvert(image); skip the frame if null.
+ * - ImageHandle handle = stage.toImageHandle(frame, image), or getBitmap(frame).
+ * - frame.release() once the detector has finished with the Bitmap.
+ */
+public final class BitmapConversionStage {
+
+    private final RgbFrameRing ring;
+
+    /**
+     * @param maxInFlight Bitmaps that may be leased at once
+     * @param width       analysis width the buffers are sized for
+     * @param height      analysis height the buffers are sized for
+     */
+    public BitmapConversionStage(int maxInFlight, int width, int height) {
+        this.ring = new RgbFrameRing(maxInFlight, width, height);
+    }
+
+    /**
+     * Converts image into a pooled Bitmap, or returns null if every Bitmap is still leased.
+     *
+     * @throws IllegalArgumentException if the image is not YUV_420_888
+     */
+    public RgbFrameRing.Frame tryConvert(ImageProxy image) {
+        RgbFrameRing.Frame frame = ring.tryConvert(planesOf(image));
+        if (frame == null) return null;
+        int width = frame.getWidth();
+        int height = frame.getHeight();
+        Bitmap bitmap = (Bitmap) frame.getAttachment();
+        if (bitmap == null || bitmap.getWidth() != width || bitmap.getHeight() != height) {
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            frame.setAttachment(bitmap);
+        }
+        bitmap.setPixels(frame.getPixels(), 0, width, 0, 0, width, height);
+        return frame;
+    }
+
+    /** The Bitmap holding frame's pixels; valid until the frame is released. */
+    public static Bitmap getBitmap(RgbFrameRing.Frame frame) {
+        return (Bitmap) frame.getAttachment();
+    }
+
+    /** Wraps frame's Bitmap with image's rotation and crop, without rotating it. */
+    public static ImageHandle toImageHandle(RgbFrameRing.Frame frame, ImageProxy image) {
+        return ImageHandle.fromImageProxy(image, getBitmap(frame));
+    }
+
+    public RgbFrameRing.Stats getStats() {
+        return ring.getStats();
+    }
+
+    /** Describes image's planes, with their strides, without copying them. */
+    public static YuvPlanes planesOf(ImageProxy image) {
+        if (image.getFormat() != ImageFormat.YUV_420_888) {
+            throw new IllegalArgumentException("Unsupported image format " + image.getFormat());
+        }
+        ImageProxy.PlaneProxy[] planes = image.getPlanes();
+        return new YuvPlanes(image.getWidth(), image.getHeight(),
+                planes[0].getBuffer(), planes[0].getRowStride(),
+                planes[1].getBuffer(), planes[2].getBuffer(),
+                planes[1].getRowStride(), planes[1].getPixelStride());
+    }
+}
@@ -0,0 +1,201 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.yuv;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed ring of reusable ARGB output buffers for the YUV conversion stage.
+ *
+ * The ring owns at most capacity frames. A frame is leased by convert() or tryConvert(), filled
+ * from a {@link YuvPlanes}, and handed back with {@link Frame#release()} once the detector is
+ * done with it; released frames are reused in the order they came back. This is the stage's
+ * backpressure: no more than capacity frames are ever in flight, and when they all are,
+ * tryConvert() returns null so the caller drops the camera frame (what ImageAnalysis'
+ * STRATEGY_KEEP_ONLY_LATEST does) and convert() waits for a release.
+ *
+ * Buffers are sized to the analysis resolution given to the constructor, allocated lazily, and
+ * only reallocated if a larger frame arrives. Steady-state conversion allocates nothing.
+ *
+ * Usage:
+ * - RgbFrameRing ring = new RgbFrameRing(2, 1920, 1080);
+ * - Frame frame = ring.tryConvert(planes); if null, close the ImageProxy and skip the frame.
+ * - Read frame.getPixels(), or a platform object cached with setAttachment(), then release().
+ *
+ * All methods may be called from any thread.
+ */
+public final class RgbFrameRing {
+
+    /** Snapshot of ring counters. */
+    public static final class Stats {
+        /** Frames converted into a ring buffer. */
+        public final long converted;
+        /** tryConvert() calls that found every buffer in flight. */
+        public final long dropped;
+        /** Pixel buffer (re)allocations; equals capacity once the ring is warm. */
+        public final long allocations;
+        /** Frames currently leased. */
+        public final int  inFlight;
+
+        Stats(long converted, long dropped, long allocations, int inFlight) {
+            this.converted   = converted;
+            this.dropped     = dropped;
+            this.allocations = allocations;
+            this.inFlight    = inFlight;
+        }
+
+        @Override
+        public String toString() {
+            return "converted=" + converted + " dropped=" + dropped
+                    + " allocations=" + allocations + " inFlight=" + inFlight;
+        }
+    }
+
+    private final int capacity;
+    private final int width;
+    private final int height;
+    private final ArrayBlockingQueue<Frame> free;
+
+    private final AtomicLong converted   = new AtomicLong();
+    private final AtomicLong dropped     = new AtomicLong();
+    private final AtomicLong allocations = new AtomicLong();
+
+    /**
+     * @param capacity maximum number of frames in flight, at least 1
+     * @param width    expected frame width; larger frames grow the buffers
+     * @param height   expected frame height
+     */
+    public RgbFrameRing(int capacity, int width, int height) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        this.capacity = capacity;
+        this.width    = width;
+        this.height   = height;
+        this.free     = new ArrayBlockingQueue<>(capacity, true);
+        for (int i = 0; i < capacity; i++) free.add(new Frame(i));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** Converts planes into a free buffer, or returns null at once if all of them are in flight. */
+    public Frame tryConvert(YuvPlanes planes) {
+        Frame frame = free.poll();
+        if (frame == null) {
+            dropped.incrementAndGet();
+            return null;
+        }
+        return fill(frame, planes);
+    }
+
+    /**
+     * Converts planes into a free buffer, waiting up to timeout for one to be released.
+     *
+     * @return the frame, or null if none was released in time (counted as dropped)
+     */
+    public Frame convert(YuvPlanes planes, long timeout, TimeUnit unit) throws InterruptedException {
+        Frame frame = free.poll(timeout, unit);
+        if (frame == null) {
+            dropped.incrementAndGet();
+            return null;
+        }
+        return fill(frame, planes);
+    }
+
+    public Stats getStats() {
+        return new Stats(converted.get(), dropped.get(), allocations.get(), capacity - free.size());
+    }
+
+    private Frame fill(Frame frame, YuvPlanes planes) {
+        try {
+            frame.ensureSize(planes.width, planes.height);
+            YuvToRgb.convert(planes, frame.pixels, frame.scratch(planes));
+        } catch (RuntimeException e) {
+            frame.recycle();
+            throw e;
+        }
+        converted.incrementAndGet();
+        frame.leased.set(true);
+        return frame;
+    }
+
+    /**
+     * One ring buffer. Valid from the convert call that returned it until release(); do not keep
+     * references to its pixels afterwards.
+     */
+    public final class Frame implements AutoCloseable {
+        private final int           slot;
+        private final AtomicBoolean leased = new AtomicBoolean();
+        private int[]  pixels;
+        private byte[] scratch;
+        private int    frameWidth;
+        private int    frameHeight;
+        private Object attachment;
+
+        private Frame(int slot) {
+            this.slot = slot;
+        }
+
+        /** Position of this buffer in the ring, 0 to capacity - 1. */
+        public int getSlot() {
+            return slot;
+        }
+
+        public int getWidth() {
+            return frameWidth;
+        }
+
+        public int getHeight() {
+            return frameHeight;
+        }
+
+        /** Packed ARGB, row-major with a stride of getWidth(); may be longer than width×height. */
+        public int[] getPixels() {
+            return pixels;
+        }
+
+        /**
+         * A platform object tied to this buffer, e.g. a Bitmap of the same size, kept across
+         * leases so it is only created once per slot.
+         */
+        public Object getAttachment() {
+            return attachment;
+        }
+
+        public void setAttachment(Object attachment) {
+            this.attachment = attachment;
+        }
+
+        /** Hands the buffer back to the ring. Only the first call counts. */
+        public void release() {
+            if (leased.compareAndSet(true, false)) recycle();
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+
+        private void ensureSize(int frameWidth, int frameHeight) {
+            int pixelCount = frameWidth * frameHeight;
+            if (pixels == null || pixels.length < pixelCount) {
+                pixels = new int[Math.max(pixelCount, width * height)];
+                allocations.incrementAndGet();
+            }
+            this.frameWidth  = frameWidth;
+            this.frameHeight = frameHeight;
+        }
+
+        private byte[] scratch(YuvPlanes planes) {
+            int size = YuvToRgb.scratchSize(planes);
+            if (scratch == null || scratch.length < size) scratch = new byte[size];
+            return scratch;
+        }
+
+        private void recycle() {
+            free.add(this);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.yuv;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A YUV 4:2:0 frame described the way ImageProxy.getPlanes() describes YUV_420_888: a luma plane
+ * with its row stride, and two chroma planes at half resolution sharing a row stride and a pixel
+ * stride. A pixel stride of 2 means the chroma is interleaved (NV21/NV12 semi-planar), 1 means
+ * fully planar (I420). Luma always has a pixel stride of 1, as YUV_420_888 guarantees.
+ *
+ * Nothing is copied: the planes are the caller's buffers, read with absolute gets, and must stay
+ * valid until the conversion returns.
+ */
+public final class YuvPlanes {
+
+    public final int        width;
+    public final int        height;
+    public final ByteBuffer y;
+    public final int        yRowStride;
+    public final ByteBuffer u;
+    public final ByteBuffer v;
+    public final int        uvRowStride;
+    public final int        uvPixelStride;
+
+    public YuvPlanes(int width, int height, ByteBuffer y, int yRowStride,
+                     ByteBuffer u, ByteBuffer v, int uvRowStride, int uvPixelStride) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Empty frame " + width + "x" + height);
+        }
+        int chromaRowBytes = ((width + 1) / 2 - 1) * uvPixelStride + 1;
+        if (yRowStride < width || uvPixelStride < 1 || uvRowStride < chromaRowBytes) {
+            throw new IllegalArgumentException("Strides too small for " + width + "x" + height
+                    + ": y=" + yRowStride + " uv=" + uvRowStride + "/" + uvPixelStride);
+        }
+        this.width         = width;
+        this.height        = height;
+        this.y             = y;
+        this.yRowStride    = yRowStride;
+        this.u             = u;
+        this.v             = v;
+        this.uvRowStride   = uvRowStride;
+        this.uvPixelStride = uvPixelStride;
+    }
+
+    /** Wraps an NV21 array: width×height luma followed by interleaved V/U rows. */
+    public static YuvPlanes fromNv21(byte[] data, int width, int height) {
+        int lumaSize = width * height;
+        int chromaWidth = (width + 1) / 2;
+        int chromaHeight = (height + 1) / 2;
+        int expected = lumaSize + 2 * chromaWidth * chromaHeight;
+        if (data.length < expected) {
+            throw new IllegalArgumentException("NV21 frame has " + data.length + " bytes, expected "
+                    + expected + " for " + width + "x" + height);
+        }
+        ByteBuffer y = ByteBuffer.wrap(data, 0, lumaSize).slice();
+        ByteBuffer v = ByteBuffer.wrap(data, lumaSize, data.length - lumaSize).slice();
+        ByteBuffer u = ByteBuffer.wrap(data, lumaSize + 1, data.length - lumaSize - 1).slice();
+        return new YuvPlanes(width, height, y, width, u, v, 2 * chromaWidth, 2);
+    }
+}
@@ -0,0 +1,100 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.yuv;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reference YUV 4:2:0 to ARGB_8888 conversion in plain Java, honouring row and pixel strides.
+ *
+ * Uses the full-range BT.601 (JFIF) matrix that camera YUV_420_888 frames are encoded with and
+ * that ImageProxy.toBitmap() applies, in 16.16 fixed point. Each luma row and each chroma row is
+ * bulk-copied into a scratch array first, so a direct ByteBuffer from the camera is not read one
+ * byte at a time, and each chroma sample is converted once for its two pixels in the row.
+ *
+ * Stateless apart from the caller's scratch; safe to use from several threads with separate
+ * scratch arrays.
+ */
+public final class YuvToRgb {
+
+    // Full-range BT.601 coefficients, scaled by 2^16.
+    private static final int CR_R = 91_881;  // 1.402
+    private static final int CB_G = 22_554;  // 0.344136
+    private static final int CR_G = 46_802;  // 0.714136
+    private static final int CB_B = 116_130; // 1.772
+    private static final int HALF = 1 << 15;
+
+    private YuvToRgb() {}
+
+    /** Bytes of scratch convert() uses for frame: one luma row and one row of each chroma plane. */
+    public static int scratchSize(YuvPlanes frame) {
+        return frame.width + 2 * chromaRowBytes(frame);
+    }
+
+    /**
+     * Converts frame into out as packed opaque ARGB, row-major with a stride of frame.width.
+     *
+     * @param out     at least width×height ints
+     * @param scratch at least {@link #scratchSize(YuvPlanes)} bytes, reused between calls; null
+     *                or too small allocates one
+     */
+    public static void convert(YuvPlanes frame, int[] out, byte[] scratch) {
+        int width = frame.width;
+        int height = frame.height;
+        if (out.length < width * height) {
+            throw new IllegalArgumentException("Output holds " + out.length + " pixels, need " + width * height);
+        }
+        int chromaRowBytes = chromaRowBytes(frame);
+        if (scratch == null || scratch.length < scratchSize(frame)) {
+            scratch = new byte[scratchSize(frame)];
+        }
+        int uStart = width;
+        int vStart = width + chromaRowBytes;
+        int uvPixelStride = frame.uvPixelStride;
+        ByteBuffer yPlane = frame.y.duplicate();
+        ByteBuffer uPlane = frame.u.duplicate();
+        ByteBuffer vPlane = frame.v.duplicate();
+
+        for (int row = 0; row < height; row++) {
+            if ((row & 1) == 0) {
+                int uvRowStart = (row >> 1) * frame.uvRowStride;
+                uPlane.position(uvRowStart);
+                uPlane.get(scratch, uStart, chromaRowBytes);
+                vPlane.position(uvRowStart);
+                vPlane.get(scratch, vStart, chromaRowBytes);
+            }
+            yPlane.position(row * frame.yRowStride);
+            yPlane.get(scratch, 0, width);
+
+            int o = row * width;
+            for (int col = 0, c = 0; col < width; col += 2, c += uvPixelStride) {
+                int cb = (scratch[uStart + c] & 0xFF) - 128;
+                int cr = (scratch[vStart + c] & 0xFF) - 128;
+                int rOffset = (CR_R * cr + HALF) >> 16;
+                int gOffset = (CB_G * cb + CR_G * cr + HALF) >> 16;
+                int bOffset = (CB_B * cb + HALF) >> 16;
+
+                int luma = scratch[col] & 0xFF;
+                out[o + col] = 0xFF000000
+                        | clamp(luma + rOffset) << 16
+                        | clamp(luma - gOffset) << 8
+                        | clamp(luma + bOffset);
+                if (col + 1 < width) {
+                    luma = scratch[col + 1] & 0xFF;
+                    out[o + col + 1] = 0xFF000000
+                            | clamp(luma + rOffset) << 16
+                            | clamp(luma - gOffset) << 8
+                            | clamp(luma + bOffset);
+                }
+            }
+        }
+    }
+
+    // Bytes spanned by one chroma row: the last sample's offset plus one.
+    private static int chromaRowBytes(YuvPlanes frame) {
+        return ((frame.width + 1) / 2 - 1) * frame.uvPixelStride + 1;
+    }
+
+    private static int clamp(int value) {
+        return value < 0 ? 0 : (value > 255 ? 255 : value);
+    }
+}
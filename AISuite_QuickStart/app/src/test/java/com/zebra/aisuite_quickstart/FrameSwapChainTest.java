@@ -0,0 +1,216 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link FrameSwapChain}.
+ */
+public class FrameSwapChainTest {
+
+    private static final class Item {
+        final int id;
+        boolean recycled;
+
+        Item(int id) {
+            this.id = id;
+        }
+    }
+
+    private final List<Item> recycled = new ArrayList<>();
+    private final FrameSwapChain<Item> chain = new FrameSwapChain<>(item -> {
+        item.recycled = true;
+        recycled.add(item);
+    });
+    private FrameSwapChain<Item> interleaved;
+
+    @Test
+    public void addAndClear_areVisibleImmediately() {
+        Item a = new Item(1), b = new Item(2);
+
+        chain.add(a);
+        chain.add(b);
+        assertEquals(Arrays.asList(a, b), new ArrayList<>(chain.acquireFront()));
+
+        chain.clear();
+        assertTrue(chain.acquireFront().isEmpty());
+    }
+
+    @Test
+    public void frame_isPublishedOnlyOnEndFrame() {
+        Item old = new Item(1), fresh = new Item(2);
+        chain.add(old);
+        chain.acquireFront();
+
+        chain.beginFrame();
+        chain.add(fresh);
+        assertFalse(chain.hasPendingFrame());
+        assertEquals(Arrays.asList(old), new ArrayList<>(chain.acquireFront()));
+
+        chain.endFrame();
+        assertEquals(Arrays.asList(fresh), new ArrayList<>(chain.acquireFront()));
+    }
+
+    @Test
+    public void frontList_isStableUntilNextAcquire() {
+        Item a = new Item(1);
+        chain.add(a);
+        List<Item> front = chain.acquireFront();
+
+        for (int i = 0; i < 10; i++) {
+            chain.beginFrame();
+            chain.add(new Item(100 + i));
+            chain.endFrame();
+        }
+
+        assertEquals(1, front.size());
+        assertSame(a, front.get(0));
+        assertFalse(a.recycled);
+    }
+
+    @Test
+    public void items_areRecycledOnlyOnceNoBufferHoldsThem() {
+        Item first = new Item(1);
+        chain.beginFrame();
+        chain.add(first);
+        chain.endFrame();
+        chain.acquireFront();   // render thread now draws first
+
+        // Two more frames: first leaves staged and latest but is still on screen.
+        for (int i = 0; i < 2; i++) {
+            chain.beginFrame();
+            chain.add(new Item(10 + i));
+            chain.endFrame();
+        }
+        assertFalse(first.recycled);
+
+        chain.acquireFront();   // render thread moves on
+        chain.beginFrame();
+        chain.add(new Item(20));
+        chain.endFrame();
+        assertTrue(first.recycled);
+    }
+
+    @Test
+    public void pooledItems_stopAllocatingInSteadyState() {
+        ArrayDeque<Item> pool = new ArrayDeque<>();
+        AtomicInteger created = new AtomicInteger();
+        FrameSwapChain<Item> pooled = new FrameSwapChain<>(pool::push);
+
+        for (int frame = 0; frame < 500; frame++) {
+            pooled.beginFrame();
+            for (int k = 0; k < 300; k++) {
+                Item item = pool.poll();
+                if (item == null) item = new Item(created.incrementAndGet());
+                pooled.add(item);
+            }
+            pooled.endFrame();
+            if (frame % 3 != 0) pooled.acquireFront();   // renderer slower than producer
+        }
+
+        // At most three frames' worth can be live: staged, latest and front.
+        assertTrue("created " + created.get(), created.get() <= 3 * 300);
+    }
+
+    @Test
+    public void renderThread_neverSeesTornFrames() throws Exception {
+        final int frames = 20_000;
+        AtomicBoolean failed = new AtomicBoolean();
+        FrameSwapChain<Item> shared = new FrameSwapChain<>(item -> { });
+
+        Thread renderer = new Thread(() -> {
+            for (int i = 0; i < frames && !failed.get(); i++) {
+                List<Item> front = shared.acquireFront();
+                // Every published frame holds three items with the same id.
+                int n = front.size();
+                if (n != 0 && (n != 3 || front.get(0).id != front.get(2).id)) failed.set(true);
+            }
+        });
+        renderer.start();
+        for (int f = 0; f < frames; f++) {
+            shared.beginFrame();
+            shared.add(new Item(f));
+            shared.add(new Item(f));
+            shared.add(new Item(f));
+            shared.endFrame();
+        }
+        renderer.join();
+        assertFalse(failed.get());
+    }
+
+    @Test
+    public void acquireDuringPublish_doesNotTakeBackTheOldFront() {
+        // Runs the render thread's acquireFront() right after a producer has swapped its frame
+        // into the latest slot, before publish() returns.
+        AtomicBoolean interleave = new AtomicBoolean();
+        List<List<Item>> acquiredDuringSwap = new ArrayList<>();
+        interleaved = new FrameSwapChain<>(item -> item.recycled = true, () -> {
+            if (interleave.getAndSet(false)) {
+                acquiredDuringSwap.add(new ArrayList<>(interleaved.acquireFront()));
+            }
+        });
+        Item a = new Item(1), b = new Item(2);
+
+        interleaved.add(a);             // published, not yet drawn
+        interleave.set(true);
+        interleaved.add(b);
+        assertEquals(Arrays.asList(Arrays.asList(a, b)), acquiredDuringSwap);
+
+        // The next draw keeps the newest frame instead of swapping the empty old front back in.
+        assertFalse(interleaved.hasPendingFrame());
+        assertEquals(Arrays.asList(a, b), new ArrayList<>(interleaved.acquireFront()));
+
+        interleaved.clear();
+        assertTrue(interleaved.acquireFront().isEmpty());
+        assertFalse(interleaved.hasPendingFrame());
+    }
+
+    @Test
+    public void interleavedPublishAndAcquire_neverGoBackToAnOlderFrame() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            final int frames = 500;
+            AtomicBoolean failed = new AtomicBoolean();
+            AtomicBoolean done = new AtomicBoolean();
+            FrameSwapChain<Item> shared = new FrameSwapChain<>(item -> item.recycled = true);
+
+            Thread renderer = new Thread(() -> {
+                int lastId = -1;
+                while (!failed.get()) {
+                    // Read the flag first: once it is set, the final clear() has been published.
+                    boolean finished = done.get();
+                    List<Item> front = shared.acquireFront();
+                    for (int i = 0, n = front.size(); i < n; i++) {
+                        Item item = front.get(i);
+                        if (item.id < lastId || item.recycled) failed.set(true);
+                        lastId = item.id;
+                    }
+                    if (finished) {
+                        if (!front.isEmpty() || shared.hasPendingFrame()) failed.set(true);
+                        return;
+                    }
+                }
+            });
+            renderer.start();
+            for (int f = 0; f < frames; f++) {
+                if (f % 2 == 0) {
+                    shared.add(new Item(f));
+                } else {
+                    shared.clear();
+                }
+            }
+            shared.clear();
+            done.set(true);
+            renderer.join();
+            assertFalse("round " + round, failed.get());
+        }
+    }
+}
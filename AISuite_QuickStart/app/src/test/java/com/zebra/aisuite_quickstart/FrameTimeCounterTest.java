@@ -0,0 +1,61 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link FrameTimeCounter}, driven with a synthetic clock.
+ */
+public class FrameTimeCounterTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    public void steady60Hz_reports60FpsAndNoOverruns() {
+        FrameTimeCounter counter = new FrameTimeCounter(120);
+        for (int i = 0; i < 240; i++) {
+            counter.record(i * FrameTimeCounter.FRAME_BUDGET_NANOS, 4 * MS);
+        }
+
+        assertEquals(60f, counter.getFps(), 0.01f);
+        assertEquals(4f, counter.getAverageDrawMillis(), 1e-4f);
+        assertEquals(0, counter.getFramesOverBudget());
+        assertEquals(240, counter.getTotalFrames());
+    }
+
+    @Test
+    public void slowDraws_areCountedAgainstTheBudget() {
+        FrameTimeCounter counter = new FrameTimeCounter(10);
+        for (int i = 0; i < 10; i++) {
+            counter.record(i * 33 * MS, i % 2 == 0 ? 20 * MS : 5 * MS);
+        }
+
+        assertEquals(5, counter.getFramesOverBudget());
+        assertEquals(20f, counter.getMaxDrawMillis(), 1e-4f);
+        assertEquals(12.5f, counter.getAverageDrawMillis(), 1e-4f);
+        assertEquals(1000f / 33f, counter.getFps(), 0.01f);
+    }
+
+    @Test
+    public void window_onlyKeepsRecentFrames() {
+        FrameTimeCounter counter = new FrameTimeCounter(4);
+        counter.record(0, 50 * MS);
+        for (int i = 1; i <= 4; i++) counter.record(i * 10 * MS, MS);
+
+        assertEquals(1f, counter.getMaxDrawMillis(), 1e-4f);
+        assertEquals(100f, counter.getFps(), 0.01f);
+    }
+
+    @Test
+    public void emptyCounter_reportsZeros() {
+        FrameTimeCounter counter = new FrameTimeCounter(8);
+        assertEquals(0f, counter.getFps(), 0f);
+        assertEquals(0f, counter.getAverageDrawMillis(), 0f);
+        counter.record(0, MS);
+        assertEquals(0f, counter.getFps(), 0f);
+        counter.reset();
+        assertEquals(0, counter.getTotalFrames());
+    }
+}
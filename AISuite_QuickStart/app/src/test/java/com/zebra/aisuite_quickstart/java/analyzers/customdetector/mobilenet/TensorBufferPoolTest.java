@@ -0,0 +1,109 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.java.analyzers.customdetector.mobilenet;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link TensorBufferPool}.
+ */
+public class TensorBufferPoolTest {
+
+    private static final int[] INPUT  = {1, 300, 300, 3};
+    private static final int[] BOXES  = {1, 10, 4};
+    private static final int[] VECTOR = {1, 10};
+
+    @Test
+    public void frameLoop_missesOnlyOnFirstFrame() {
+        TensorBufferPool pool = new TensorBufferPool();
+
+        for (int frame = 0; frame < 100; frame++) {
+            ByteBuffer input = pool.acquireByteBuffer(INPUT, 1);
+            Object boxes   = pool.acquireFloatArray(BOXES);
+            Object classes = pool.acquireFloatArray(VECTOR);
+            Object scores  = pool.acquireFloatArray(VECTOR);
+            pool.release(input);
+            pool.release(boxes);
+            pool.release(classes);
+            pool.release(scores);
+        }
+
+        TensorBufferPool.Stats stats = pool.getStats();
+        assertEquals(4, stats.misses);
+        assertEquals(396, stats.hits);
+        assertEquals(300 * 300 * 3 + 4 * (40 + 10 + 10), stats.bytesRetained);
+        assertEquals(4, stats.idleBuffers);
+    }
+
+    @Test
+    public void sameShape_returnsSameInstanceAfterRelease() {
+        TensorBufferPool pool = new TensorBufferPool();
+        ByteBuffer first = pool.acquireByteBuffer(INPUT, 1);
+        first.put((byte) 7);
+        pool.release(first);
+
+        ByteBuffer second = pool.acquireByteBuffer(INPUT, 1);
+
+        assertSame(first, second);
+        assertTrue(second.isDirect());
+        assertEquals(ByteOrder.nativeOrder(), second.order());
+        assertEquals(0, second.position());
+    }
+
+    @Test
+    public void concurrentLeasesOfOneShape_getDistinctBuffers() {
+        TensorBufferPool pool = new TensorBufferPool();
+        Object a = pool.acquireFloatArray(VECTOR);
+        Object b = pool.acquireFloatArray(VECTOR);
+
+        assertNotSame(a, b);
+        assertTrue(a instanceof float[][]);
+        assertEquals(10, ((float[][]) a)[0].length);
+        assertEquals(2, pool.getStats().misses);
+    }
+
+    @Test
+    public void shapesAndElementSizes_areKeyedSeparately() {
+        TensorBufferPool pool = new TensorBufferPool();
+        pool.release(pool.acquireByteBuffer(INPUT, 1));
+
+        pool.acquireByteBuffer(INPUT, 4);
+        pool.acquireByteBuffer(new int[]{1, 320, 320, 3}, 1);
+
+        assertEquals(3, pool.getStats().misses);
+        assertEquals(0, pool.getStats().hits);
+    }
+
+    @Test
+    public void releaseOfForeignOrDuplicateBuffer_isIgnored() {
+        TensorBufferPool pool = new TensorBufferPool();
+        Object a = pool.acquireFloatArray(new int[]{1});
+
+        pool.release(a);
+        pool.release(a);
+        pool.release(new float[1]);
+
+        assertEquals(1, pool.getStats().idleBuffers);
+    }
+
+    @Test
+    public void clear_dropsIdleBytesAndStaleLeases() {
+        TensorBufferPool pool = new TensorBufferPool();
+        pool.release(pool.acquireByteBuffer(INPUT, 1));
+        Object leased = pool.acquireFloatArray(BOXES);
+
+        pool.clear();
+
+        TensorBufferPool.Stats stats = pool.getStats();
+        assertEquals(0, stats.idleBuffers);
+        assertEquals(0, stats.bytesRetained);
+        pool.release(leased);
+        assertEquals(0, pool.getStats().idleBuffers);
+        assertEquals(0, pool.getStats().bytesRetained);
+        assertNotSame(leased, pool.acquireFloatArray(BOXES));
+    }
+}
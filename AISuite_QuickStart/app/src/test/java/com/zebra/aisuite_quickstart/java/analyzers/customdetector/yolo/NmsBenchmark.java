@@ -0,0 +1,86 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Host-side micro-benchmark comparing every {@link NmsEngine} variant on synthetic candidate sets
+ * from 100 to 20 000 boxes. Not a unit test — run main() from the IDE or with
+ * {@code java -cp <test classes> ...NmsBenchmark}. Each size is warmed up before it is measured,
+ * and the result is the median of the timed iterations.
+ */
+public final class NmsBenchmark {
+
+    private static final int[]  SIZES      = {100, 1_000, 5_000, 10_000, 20_000};
+    private static final int    CLASSES    = 80;
+    private static final float  IOU        = 0.45f;
+    private static final int    WARMUP     = 5;
+    private static final int    ITERATIONS = 15;
+
+    private NmsBenchmark() {}
+
+    public static void main(String[] args) {
+        System.out.println(String.format(Locale.US, "%-9s %-10s %-14s %12s %8s",
+                "n", "mode", "algorithm", "median µs", "kept"));
+        for (int n : SIZES) {
+            Candidates c = Candidates.random(new Random(42), n, CLASSES);
+            int[] keep = new int[n];
+            for (NmsEngine.Mode mode : NmsEngine.Mode.values()) {
+                for (NmsEngine.Algorithm algorithm : NmsEngine.Algorithm.values()) {
+                    NmsEngine engine = new NmsEngine(mode, algorithm, IOU);
+                    int kept = 0;
+                    for (int i = 0; i < WARMUP; i++) kept = engine.run(c.boxes, c.scores, c.classIds, n, keep);
+                    long[] samples = new long[ITERATIONS];
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        long t0 = System.nanoTime();
+                        kept = engine.run(c.boxes, c.scores, c.classIds, n, keep);
+                        samples[i] = System.nanoTime() - t0;
+                    }
+                    java.util.Arrays.sort(samples);
+                    System.out.println(String.format(Locale.US, "%-9d %-10s %-14s %12.1f %8d",
+                            n, mode, algorithm, samples[ITERATIONS / 2] / 1000.0, kept));
+                }
+            }
+        }
+    }
+
+    /** Synthetic YOLO-like candidates: clusters of jittered boxes over a 1920×1080 frame. */
+    static final class Candidates {
+        final float[] boxes;
+        final float[] scores;
+        final int[]   classIds;
+
+        private Candidates(int n) {
+            boxes    = new float[n * 4];
+            scores   = new float[n];
+            classIds = new int[n];
+        }
+
+        static Candidates random(Random rnd, int n, int classes) {
+            Candidates c = new Candidates(n);
+            int clusters = Math.max(1, n / 8);
+            float[] centres = new float[clusters * 4];
+            for (int k = 0; k < clusters; k++) {
+                centres[k * 4]     = rnd.nextFloat() * 1920f;
+                centres[k * 4 + 1] = rnd.nextFloat() * 1080f;
+                centres[k * 4 + 2] = 20f + rnd.nextFloat() * 160f;
+                centres[k * 4 + 3] = 20f + rnd.nextFloat() * 160f;
+            }
+            for (int i = 0; i < n; i++) {
+                int k = rnd.nextInt(clusters);
+                float cx = centres[k * 4]     + (rnd.nextFloat() - 0.5f) * 20f;
+                float cy = centres[k * 4 + 1] + (rnd.nextFloat() - 0.5f) * 20f;
+                float w  = centres[k * 4 + 2] * (0.85f + rnd.nextFloat() * 0.3f);
+                float h  = centres[k * 4 + 3] * (0.85f + rnd.nextFloat() * 0.3f);
+                c.boxes[i * 4]     = cx - w / 2f;
+                c.boxes[i * 4 + 1] = cy - h / 2f;
+                c.boxes[i * 4 + 2] = cx + w / 2f;
+                c.boxes[i * 4 + 3] = cy + h / 2f;
+                c.scores[i]   = 0.25f + rnd.nextFloat() * 0.75f;
+                c.classIds[i] = rnd.nextInt(classes);
+            }
+            return c;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link NmsEngine}.
+ */
+public class NmsEngineTest {
+
+    private static final float IOU = 0.45f;
+
+    @Test
+    public void grid_matchesGreedy_agnosticAndPerClass() {
+        for (NmsEngine.Mode mode : NmsEngine.Mode.values()) {
+            for (int n : new int[]{1, 50, 1000, 5000}) {
+                NmsBenchmark.Candidates c = NmsBenchmark.Candidates.random(new Random(n), n, 8);
+                int[] greedyKeep = new int[n];
+                int[] gridKeep   = new int[n];
+
+                int greedy = new NmsEngine(mode, NmsEngine.Algorithm.GREEDY, IOU)
+                        .run(c.boxes, c.scores, c.classIds, n, greedyKeep);
+                int grid = new NmsEngine(mode, NmsEngine.Algorithm.GRID, IOU)
+                        .run(c.boxes, c.scores, c.classIds, n, gridKeep);
+
+                assertEquals(mode + " n=" + n, greedy, grid);
+                assertArrayEquals(Arrays.copyOf(greedyKeep, greedy), Arrays.copyOf(gridKeep, grid));
+            }
+        }
+    }
+
+    @Test
+    public void agnosticGreedy_matchesNmsUtils() {
+        NmsBenchmark.Candidates c = NmsBenchmark.Candidates.random(new Random(5), 800, 4);
+        List<float[]> boxes = new ArrayList<>();
+        for (int i = 0; i < 800; i++) boxes.add(Arrays.copyOfRange(c.boxes, i * 4, i * 4 + 4));
+        int[] actual = new int[800];
+
+        List<Integer> expected = NmsUtils.nms(boxes, c.scores, IOU);
+        int a = new NmsEngine(NmsEngine.Mode.AGNOSTIC, NmsEngine.Algorithm.GREEDY, IOU)
+                .run(c.boxes, c.scores, c.classIds, 800, actual);
+
+        assertEquals(expected.size(), a);
+        for (int i = 0; i < a; i++) assertEquals((int) expected.get(i), actual[i]);
+    }
+
+    @Test
+    public void perClass_keepsOverlappingBoxesOfDifferentClasses() {
+        float[] boxes  = {0, 0, 100, 100,   5, 5, 105, 105,   2, 2, 102, 102};
+        float[] scores = {0.9f, 0.8f, 0.7f};
+        int[] classes  = {0, 1, 0};
+        int[] keep = new int[3];
+
+        int agnostic = new NmsEngine(NmsEngine.Mode.AGNOSTIC, NmsEngine.Algorithm.GREEDY, IOU)
+                .run(boxes, scores, classes, 3, keep);
+        assertEquals(1, agnostic);
+
+        int perClass = new NmsEngine(NmsEngine.Mode.PER_CLASS, NmsEngine.Algorithm.GREEDY, IOU)
+                .run(boxes, scores, classes, 3, keep);
+        assertEquals(2, perClass);
+        assertEquals(0, keep[0]);
+        assertEquals(1, keep[1]);
+    }
+
+    @Test
+    public void softLinear_decaysOverlappingScoreInsteadOfDropping() {
+        // IoU(box0, box1) = 0.6 — above the threshold, so box1 is decayed by (1 − 0.6).
+        float[] boxes  = {0, 0, 100, 100,   0, 0, 100, 60};
+        float[] scores = {0.9f, 0.8f};
+        int[] keep = new int[2];
+        NmsEngine soft = new NmsEngine(NmsEngine.Mode.AGNOSTIC, NmsEngine.Algorithm.SOFT_LINEAR,
+                IOU, 0.5f, 0.1f);
+
+        int kept = soft.run(boxes, scores, null, 2, keep);
+
+        assertEquals(2, kept);
+        assertEquals(0, keep[0]);
+        assertEquals(1, keep[1]);
+        assertEquals(0.8f * 0.4f, soft.getKeptScores()[1], 1e-5f);
+    }
+
+    @Test
+    public void softGaussian_dropsBoxesBelowScoreThreshold() {
+        float[] boxes  = {0, 0, 100, 100,   0, 0, 100, 100,   300, 300, 400, 400};
+        float[] scores = {0.9f, 0.8f, 0.5f};
+        int[] keep = new int[3];
+        NmsEngine soft = new NmsEngine(NmsEngine.Mode.AGNOSTIC, NmsEngine.Algorithm.SOFT_GAUSSIAN,
+                IOU, 0.1f, 0.05f);
+
+        int kept = soft.run(boxes, scores, null, 3, keep);
+
+        // Identical box: 0.8 × exp(−1 / 0.1) ≈ 3.6e-5 < 0.05 → dropped. Disjoint box untouched.
+        assertEquals(2, kept);
+        assertEquals(0, keep[0]);
+        assertEquals(2, keep[1]);
+        assertEquals(0.5f, soft.getKeptScores()[1], 0f);
+    }
+}
@@ -0,0 +1,74 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo;
+
+import org.junit.Test;
+
+import java.nio.FloatBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the pinned YOLO frame buffers.
+ */
+public class YoloFrameBuffersTest {
+
+    private static final int N      = 640 * 640;
+    private static final int OUTPUT = 84 * 8400;
+
+    @Test
+    public void steadyStateFrames_allocateNothing() {
+        YoloFrameBuffers buffers = new YoloFrameBuffers();
+
+        buffers.beginFrame();
+        runFrame(buffers);
+        assertEquals(3, buffers.getFrameAllocations());
+        assertEquals(4L * (N + 3 * N + OUTPUT), buffers.getFrameAllocatedBytes());
+
+        for (int frame = 0; frame < 30; frame++) {
+            buffers.beginFrame();
+            runFrame(buffers);
+            assertEquals(0, buffers.getFrameAllocations());
+            assertEquals(0L, buffers.getFrameAllocatedBytes());
+        }
+        assertEquals(3L, buffers.getTotalAllocations());
+    }
+
+    @Test
+    public void sameBufferInstances_areReturnedAcrossFrames() {
+        YoloFrameBuffers buffers = new YoloFrameBuffers();
+        int[]       pixels = buffers.pixels(N);
+        FloatBuffer input  = buffers.input(3 * N);
+        FloatBuffer output = buffers.output(OUTPUT);
+
+        assertSame(pixels, buffers.pixels(N));
+        assertSame(input,  buffers.input(3 * N));
+        assertSame(output, buffers.output(OUTPUT));
+        assertTrue(input.isDirect());
+        assertTrue(output.isDirect());
+    }
+
+    @Test
+    public void packChw_writesPlanarNormalisedChannels() {
+        int[] pixels = {0xFFFF0000, 0xFF00FF00, 0xFF0000FF, 0xFF808080};
+        YoloFrameBuffers buffers = new YoloFrameBuffers();
+        FloatBuffer dst = buffers.input(3 * pixels.length);
+
+        YoloFrameBuffers.packChw(pixels, pixels.length, dst);
+
+        float[] expected = {
+                1f, 0f, 0f, 128 / 255f,   // R plane
+                0f, 1f, 0f, 128 / 255f,   // G plane
+                0f, 0f, 1f, 128 / 255f    // B plane
+        };
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("index " + i, expected[i], dst.get(i), 1e-6f);
+        }
+        assertEquals(0, dst.position());
+    }
+
+    private static void runFrame(YoloFrameBuffers buffers) {
+        int[] pixels = buffers.pixels(N);
+        YoloFrameBuffers.packChw(pixels, N, buffers.input(3 * N));
+        buffers.output(OUTPUT);
+    }
+}
@@ -0,0 +1,114 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo;
+
+import com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo.YoloInputTransform.ResizeMode;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Host-side micro-benchmark comparing the STRETCH and LETTERBOX {@link YoloInputTransform} on
+ * common analysis frame sizes. Not a unit test — run main() from the IDE or with
+ * {@code java -cp <test classes> ...YoloInputTransformBenchmark}.
+ *
+ * For each mode it reports the share of the 640×640 input that is padding, the aspect distortion
+ * (scaleX / scaleY), the median time to fill the planar RGB input from an ARGB frame through the
+ * transform, and the median time to map a frame's detections back with mapToSource(). The fill is
+ * a nearest-neighbour stand-in for the Canvas scaling done on device, so the absolute numbers only
+ * show the relative cost of the two modes.
+ */
+public final class YoloInputTransformBenchmark {
+
+    private static final int[][] FRAMES     = {{640, 480}, {1280, 720}, {1920, 1080}};
+    private static final int     INPUT      = 640;
+    private static final int     BOXES      = 300;
+    private static final int     WARMUP     = 5;
+    private static final int     ITERATIONS = 15;
+
+    private YoloInputTransformBenchmark() {}
+
+    public static void main(String[] args) {
+        System.out.println(String.format(Locale.US, "%-11s %-10s %7s %7s %12s %12s",
+                "frame", "mode", "pad %", "aspect", "fill µs", "map µs"));
+        Random rnd = new Random(42);
+        float[] input = new float[3 * INPUT * INPUT];
+        for (int[] frame : FRAMES) {
+            int w = frame[0];
+            int h = frame[1];
+            int[] pixels = new int[w * h];
+            for (int i = 0; i < pixels.length; i++) pixels[i] = 0xFF000000 | rnd.nextInt(0x1000000);
+            float[] boxes = randomModelBoxes(rnd, BOXES);
+            float[] box = new float[4];
+
+            for (ResizeMode mode : ResizeMode.values()) {
+                YoloInputTransform t = new YoloInputTransform().set(mode, w, h, INPUT);
+
+                for (int i = 0; i < WARMUP; i++) fill(pixels, w, h, t, input);
+                long[] fillSamples = new long[ITERATIONS];
+                for (int i = 0; i < ITERATIONS; i++) {
+                    long t0 = System.nanoTime();
+                    fill(pixels, w, h, t, input);
+                    fillSamples[i] = System.nanoTime() - t0;
+                }
+
+                long[] mapSamples = new long[ITERATIONS];
+                for (int i = -WARMUP; i < ITERATIONS; i++) {
+                    long t0 = System.nanoTime();
+                    for (int b = 0; b < BOXES; b++) {
+                        System.arraycopy(boxes, b * 4, box, 0, 4);
+                        t.mapToSource(box);
+                    }
+                    if (i >= 0) mapSamples[i] = System.nanoTime() - t0;
+                }
+
+                Arrays.sort(fillSamples);
+                Arrays.sort(mapSamples);
+                float covered = w * t.getScaleX() * h * t.getScaleY() / (INPUT * INPUT);
+                System.out.println(String.format(Locale.US, "%-11s %-10s %7.1f %7.2f %12.1f %12.1f",
+                        w + "x" + h, mode, 100f * (1f - covered), t.getScaleX() / t.getScaleY(),
+                        fillSamples[ITERATIONS / 2] / 1000.0, mapSamples[ITERATIONS / 2] / 1000.0));
+            }
+        }
+    }
+
+    /**
+     * Fills {@code input} (planar RGB in [0, 1]) by sampling the source pixel under the centre of
+     * each input pixel; input pixels outside the fitted image get
+     * {@link YoloOnnxModel#DEFAULT_PAD_COLOR}.
+     */
+    private static void fill(int[] pixels, int w, int h, YoloInputTransform t, float[] input) {
+        int n = INPUT * INPUT;
+        int[] srcX = new int[INPUT];
+        for (int x = 0; x < INPUT; x++) {
+            srcX[x] = (int) Math.floor((x + 0.5f - t.getPadX()) / t.getScaleX());
+        }
+        for (int y = 0; y < INPUT; y++) {
+            int sy = (int) Math.floor((y + 0.5f - t.getPadY()) / t.getScaleY());
+            boolean rowInside = sy >= 0 && sy < h;
+            for (int x = 0; x < INPUT; x++) {
+                int sx = srcX[x];
+                int argb = rowInside && sx >= 0 && sx < w
+                        ? pixels[sy * w + sx] : YoloOnnxModel.DEFAULT_PAD_COLOR;
+                int i = y * INPUT + x;
+                input[i]         = (argb >> 16 & 0xFF) / 255f;
+                input[n + i]     = (argb >>  8 & 0xFF) / 255f;
+                input[2 * n + i] = (argb        & 0xFF) / 255f;
+            }
+        }
+    }
+
+    /** [x1, y1, x2, y2] boxes in model-input space. */
+    private static float[] randomModelBoxes(Random rnd, int count) {
+        float[] boxes = new float[count * 4];
+        for (int b = 0; b < count; b++) {
+            float x = rnd.nextFloat() * (INPUT - 40);
+            float y = rnd.nextFloat() * (INPUT - 40);
+            boxes[b * 4]     = x;
+            boxes[b * 4 + 1] = y;
+            boxes[b * 4 + 2] = x + 10f + rnd.nextFloat() * 30f;
+            boxes[b * 4 + 3] = y + 10f + rnd.nextFloat() * 30f;
+        }
+        return boxes;
+    }
+}
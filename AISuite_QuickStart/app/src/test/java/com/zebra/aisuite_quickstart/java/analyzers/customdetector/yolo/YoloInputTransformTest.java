@@ -0,0 +1,67 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo;
+
+import com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo.YoloInputTransform.ResizeMode;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the stretch/letterbox input transform and its inverse.
+ */
+public class YoloInputTransformTest {
+
+    private static final int INPUT_SIZE = 640;
+
+    @Test
+    public void letterbox_16x9_padsVerticallyOnly() {
+        YoloInputTransform t = new YoloInputTransform().set(ResizeMode.LETTERBOX, 1920, 1080, INPUT_SIZE);
+
+        assertEquals(1f / 3f, t.getScaleX(), 1e-6f);
+        assertEquals(t.getScaleX(), t.getScaleY(), 0f);
+        assertEquals(0f, t.getPadX(), 1e-4f);
+        assertEquals(140f, t.getPadY(), 1e-4f);
+    }
+
+    @Test
+    public void letterbox_roundTrip_isExact() {
+        YoloInputTransform t = new YoloInputTransform().set(ResizeMode.LETTERBOX, 1920, 1080, INPUT_SIZE);
+        float[] source = {300f, 200f, 900f, 700f};
+        float[] box = source.clone();
+
+        t.mapToModel(box);
+        assertEquals(100f, box[0], 1e-3f);
+        assertEquals(140f + 200f / 3f, box[1], 1e-3f);
+
+        t.mapToSource(box);
+        assertArrayEquals(source, box, 1e-3f);
+    }
+
+    @Test
+    public void stretch_matchesLegacyScaling() {
+        YoloInputTransform t = new YoloInputTransform().set(ResizeMode.STRETCH, 1280, 720, INPUT_SIZE);
+        float[] box = {64f, 64f, 320f, 320f};
+
+        t.mapToSource(box);
+
+        // Legacy path: b / INPUT_SIZE * bitmapW|H
+        assertEquals(64f / INPUT_SIZE * 1280, box[0], 1e-3f);
+        assertEquals(64f / INPUT_SIZE * 720, box[1], 1e-3f);
+        assertEquals(320f / INPUT_SIZE * 1280, box[2], 1e-3f);
+        assertEquals(320f / INPUT_SIZE * 720, box[3], 1e-3f);
+    }
+
+    @Test
+    public void mapToSource_clampsBoxesThatSpillIntoPadding() {
+        YoloInputTransform t = new YoloInputTransform().set(ResizeMode.LETTERBOX, 1920, 1080, INPUT_SIZE);
+        float[] box = {-10f, 100f, 650f, 600f};
+
+        t.mapToSource(box);
+
+        assertEquals(0f, box[0], 0f);
+        assertEquals(0f, box[1], 0f);
+        assertEquals(1920f, box[2], 0f);
+        assertEquals(1080f, box[3], 0f);
+    }
+}
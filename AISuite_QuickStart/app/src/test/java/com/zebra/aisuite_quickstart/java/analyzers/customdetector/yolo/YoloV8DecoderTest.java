@@ -0,0 +1,83 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.java.analyzers.customdetector.yolo;
+
+import org.junit.Test;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the primitive YOLOv8 decoder and the packed NMS overload.
+ */
+public class YoloV8DecoderTest {
+
+    private static final int   PREDICTIONS = 8400;
+    private static final int   CLASSES     = 80;
+    private static final float CONF        = 0.4f;
+
+    @Test
+    public void decode_matchesAnchorMajorReference() {
+        float[] raw = syntheticOutput(new Random(7), 0.01f);
+        YoloV8Decoder decoder = new YoloV8Decoder(PREDICTIONS, CLASSES);
+
+        int count = decoder.decode(FloatBuffer.wrap(raw), CONF);
+
+        List<float[]> refBoxes  = new ArrayList<>();
+        List<Float>   refScores = new ArrayList<>();
+        List<Integer> refClass  = new ArrayList<>();
+        for (int p = 0; p < PREDICTIONS; p++) {
+            float max = 0f;
+            int best = -1;
+            for (int c = 0; c < CLASSES; c++) {
+                float s = raw[(4 + c) * PREDICTIONS + p];
+                if (s > max) { max = s; best = c; }
+            }
+            if (max < CONF) continue;
+            float cx = raw[p], cy = raw[PREDICTIONS + p];
+            float w = raw[2 * PREDICTIONS + p], h = raw[3 * PREDICTIONS + p];
+            refBoxes.add(new float[]{cx - w / 2f, cy - h / 2f, cx + w / 2f, cy + h / 2f});
+            refScores.add(max);
+            refClass.add(best);
+        }
+
+        assertTrue(count > 0);
+        assertEquals(refBoxes.size(), count);
+        for (int i = 0; i < count; i++) {
+            for (int k = 0; k < 4; k++) {
+                assertEquals(refBoxes.get(i)[k], decoder.getBoxes()[i * 4 + k], 0f);
+            }
+            assertEquals(refScores.get(i), decoder.getScores()[i], 0f);
+            assertEquals((int) refClass.get(i), decoder.getClassIds()[i]);
+        }
+    }
+
+    @Test
+    public void decode_rejectsEverythingBelowThreshold() {
+        float[] raw = syntheticOutput(new Random(3), 0f);
+        YoloV8Decoder decoder = new YoloV8Decoder(PREDICTIONS, CLASSES);
+
+        assertEquals(0, decoder.decode(FloatBuffer.wrap(raw), CONF));
+    }
+
+    // ~hitRate of anchors get one class above CONF, everything else stays low.
+    private static float[] syntheticOutput(Random rnd, float hitRate) {
+        float[] raw = new float[(4 + CLASSES) * PREDICTIONS];
+        for (int p = 0; p < PREDICTIONS; p++) {
+            raw[p]                   = rnd.nextFloat() * 640f;
+            raw[PREDICTIONS + p]     = rnd.nextFloat() * 640f;
+            raw[2 * PREDICTIONS + p] = 8f + rnd.nextFloat() * 120f;
+            raw[3 * PREDICTIONS + p] = 8f + rnd.nextFloat() * 120f;
+            for (int c = 0; c < CLASSES; c++) {
+                raw[(4 + c) * PREDICTIONS + p] = rnd.nextFloat() * 0.2f;
+            }
+            if (rnd.nextFloat() < hitRate) {
+                raw[(4 + rnd.nextInt(CLASSES)) * PREDICTIONS + p] = CONF + rnd.nextFloat() * (1f - CONF);
+            }
+        }
+        return raw;
+    }
+}
@@ -0,0 +1,110 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.java.handlers;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link OverlayTransform}, checked against the per-box arithmetic that
+ * BoundingBoxMapper used before the transform was cached.
+ */
+public class OverlayTransformTest {
+
+    private static final int[][] IMAGE_SIZES   = {{1080, 1920}, {1920, 1080}, {640, 480}, {1280, 720}};
+    private static final int[][] OVERLAY_SIZES = {{1080, 2220}, {2220, 1080}, {800, 1280}, {601, 977}};
+
+    @Test
+    public void mapRect_matchesLegacyMath_forEveryState() {
+        Random rnd = new Random(7);
+        OverlayTransform transform = new OverlayTransform();
+        int[] actual = new int[4];
+
+        for (int rotation = 0; rotation < 4; rotation++) {
+            for (int[] image : IMAGE_SIZES) {
+                for (int[] overlay : OVERLAY_SIZES) {
+                    for (boolean mirror : new boolean[]{false, true}) {
+                        for (boolean swap : new boolean[]{false, true}) {
+                            transform.set(rotation, image[0], image[1], overlay[0], overlay[1], mirror, swap);
+                            for (int k = 0; k < 200; k++) {
+                                int[] box = randomBox(rnd, image[0], image[1]);
+                                int[] expected = legacyMap(box, rotation, image[0], image[1],
+                                        overlay[0], overlay[1], mirror, swap);
+                                transform.mapRect(box[0], box[1], box[2], box[3], actual);
+                                assertArrayEquals("rotation=" + rotation + " mirror=" + mirror
+                                        + " swap=" + swap, expected, actual);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void mapRect_preservesEdgeOrderForInvertedBoxes() {
+        OverlayTransform transform = new OverlayTransform()
+                .set(OverlayTransform.ROTATION_90, 640, 480, 480, 640, true, false);
+        int[] box = {300, 200, 100, 50};   // right < left, bottom < top
+        int[] actual = new int[4];
+
+        transform.mapRect(box[0], box[1], box[2], box[3], actual);
+
+        assertArrayEquals(legacyMap(box, 1, 640, 480, 480, 640, true, false), actual);
+    }
+
+    @Test
+    public void fillCenterScale_coversOverlayAndCentresOffsets() {
+        OverlayTransform transform = new OverlayTransform()
+                .set(OverlayTransform.ROTATION_0, 1080, 1920, 1080, 2220, false, false);
+
+        assertEquals(2220f / 1920f, transform.getScale(), 1e-6f);
+        assertEquals((1080 - 1080 * transform.getScale()) / 2f, transform.getOffsetX(), 1e-4f);
+        assertEquals(0f, transform.getOffsetY(), 1e-4f);
+    }
+
+    private static int[] randomBox(Random rnd, int w, int h) {
+        int l = rnd.nextInt(w), t = rnd.nextInt(h);
+        return new int[]{l, t, l + rnd.nextInt(w - l + 1), t + rnd.nextInt(h - t + 1)};
+    }
+
+    /** The pre-cache BoundingBoxMapper.mapBoundingBoxToOverlay arithmetic, without Android types. */
+    private static int[] legacyMap(int[] bbox, int relativeRotation, int imageWidth, int imageHeight,
+                                   int overlayWidth, int overlayHeight, boolean isFrontCamera,
+                                   boolean swapEffectiveSize) {
+        int left = bbox[0], top = bbox[1], right = bbox[2], bottom = bbox[3];
+        int[] t;
+        switch (relativeRotation) {
+            case 1:  t = new int[]{top, imageWidth - right, bottom, imageWidth - left}; break;
+            case 2:  t = new int[]{imageWidth - right, imageHeight - bottom, imageWidth - left, imageHeight - top}; break;
+            case 3:  t = new int[]{imageHeight - bottom, left, imageHeight - top, right}; break;
+            default: t = new int[]{left, top, right, bottom}; break;
+        }
+
+        int effectiveImageWidth = swapEffectiveSize ? imageHeight : imageWidth;
+        int effectiveImageHeight = swapEffectiveSize ? imageWidth : imageHeight;
+
+        float scaleX = (float) overlayWidth / effectiveImageWidth;
+        float scaleY = (float) overlayHeight / effectiveImageHeight;
+        float scale = Math.max(scaleX, scaleY);
+
+        float offsetX = (overlayWidth - effectiveImageWidth * scale) / 2f;
+        float offsetY = (overlayHeight - effectiveImageHeight * scale) / 2f;
+
+        if (isFrontCamera) {
+            int l = t[0];
+            int r = t[2];
+            t[0] = effectiveImageWidth - r;
+            t[2] = effectiveImageWidth - l;
+        }
+
+        return new int[]{
+                (int) (t[0] * scale + offsetX),
+                (int) (t[1] * scale + offsetY),
+                (int) (t[2] * scale + offsetX),
+                (int) (t[3] * scale + offsetY)
+        };
+    }
+}
@@ -0,0 +1,125 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.metrics;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    public void buckets_coverTheLongRangeWithoutGaps() {
+        assertEquals(0, LatencyHistogram.bucketLowerBound(0));
+        for (int i = 1; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            assertEquals("bucket " + i, LatencyHistogram.bucketUpperBound(i - 1) + 1,
+                    LatencyHistogram.bucketLowerBound(i));
+        }
+        assertEquals(Long.MAX_VALUE,
+                LatencyHistogram.bucketUpperBound(LatencyHistogram.BUCKET_COUNT - 1));
+    }
+
+    @Test
+    public void bucketIndex_isConsistentWithBounds() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.bucketLowerBound(index) <= value);
+            assertTrue(value <= LatencyHistogram.bucketUpperBound(index));
+        }
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            assertEquals(i, LatencyHistogram.bucketIndex(LatencyHistogram.bucketLowerBound(i)));
+            assertEquals(i, LatencyHistogram.bucketIndex(LatencyHistogram.bucketUpperBound(i)));
+        }
+    }
+
+    @Test
+    public void percentiles_areWithinBucketPrecision() {
+        Random random = new Random(42);
+        long[] values = new long[10_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) (Math.exp(random.nextGaussian() + 2.5) * MS);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        for (double p : new double[] {1, 50, 90, 95, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            long reported = snapshot.getValueAtPercentile(p);
+            assertTrue("p" + p + " " + reported + " < " + exact, reported >= exact);
+            assertTrue("p" + p + " " + reported + " vs " + exact,
+                    reported <= exact + exact / LatencyHistogram.SUB_BUCKETS);
+        }
+        assertEquals(values[values.length - 1], snapshot.getValueAtPercentile(100));
+        assertEquals(values[values.length - 1], snapshot.getMaxNanos());
+        assertEquals(values.length, snapshot.getCount());
+        assertTrue(snapshot.getMinNanos() <= values[0]);
+    }
+
+    @Test
+    public void meanAndSmallValues_areExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 0; v < 10; v++) histogram.record(v);
+        histogram.record(-5);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(11, snapshot.getCount());
+        assertEquals(45.0 / 11, snapshot.getMeanNanos(), 1e-9);
+        assertEquals(0, snapshot.getMinNanos());
+        assertEquals(4, snapshot.getValueAtPercentile(50));
+        assertEquals(9, snapshot.getMaxNanos());
+    }
+
+    @Test
+    public void emptyAndReset_reportZeros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().getValueAtPercentile(99));
+        histogram.record(30 * MS);
+        histogram.reset();
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMaxNanos());
+        assertEquals(0.0, snapshot.getMeanNanos(), 0);
+    }
+
+    @Test
+    public void concurrentRecording_losesNoSamples() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 8;
+        int perThread = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final long base = (t + 1) * MS;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) histogram.record(base + i);
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals((long) threads * perThread, snapshot.getCount());
+        assertEquals(threads * MS + perThread - 1, snapshot.getMaxNanos());
+        double expectedMean = (threads + 1) / 2.0 * MS + (perThread - 1) / 2.0;
+        assertEquals(expectedMean, snapshot.getMeanNanos(), 1e-6);
+    }
+}
@@ -0,0 +1,113 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.metrics;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link PipelineMetrics}, driven with a synthetic clock.
+ */
+public class PipelineMetricsTest {
+
+    private static final long MS = 1_000_000L;
+
+    private long now;
+    private final PipelineMetrics metrics = new PipelineMetrics(() -> now);
+
+    @Test
+    public void span_recordsElapsedTimeOnce() {
+        PipelineMetrics.Span span = metrics.start("barcode", PipelineStage.INFERENCE);
+        now += 12 * MS;
+        assertEquals(12 * MS, span.end());
+        now += 5 * MS;
+        assertEquals(-1, span.end());
+        span.close();
+
+        LatencyHistogram.Snapshot snapshot =
+                metrics.getHistogram("barcode", PipelineStage.INFERENCE).snapshot();
+        assertEquals(1, snapshot.getCount());
+        assertEquals(12 * MS, snapshot.getMaxNanos());
+        assertEquals(0, metrics.getHistogram("barcode", PipelineStage.CONVERT).snapshot().getCount());
+        assertNull(metrics.getHistogram("ocr", PipelineStage.INFERENCE));
+    }
+
+    @Test
+    public void tryWithResources_endsTheSpan() {
+        PipelineMetrics.Span closed;
+        try (PipelineMetrics.Span span = metrics.start("ocr", PipelineStage.CONVERT)) {
+            now += 3 * MS;
+            closed = span;
+        }
+        assertEquals(3 * MS, metrics.getHistogram("ocr", PipelineStage.CONVERT).snapshot().getMaxNanos());
+        assertEquals(-1, closed.end());
+    }
+
+    @Test
+    public void disabled_recordsNothing() {
+        metrics.setEnabled(false);
+        metrics.record("barcode", PipelineStage.TOTAL, MS);
+        metrics.start("barcode", PipelineStage.TOTAL).end();
+        assertNull(metrics.getHistogram("barcode", PipelineStage.TOTAL));
+    }
+
+    @Test
+    public void exports_listDetectorsByNameAndSkipEmptyStages() {
+        metrics.record("ocr", PipelineStage.INFERENCE, 20 * MS);
+        metrics.record("barcode", PipelineStage.CONVERT, 2 * MS);
+        metrics.record("barcode", PipelineStage.INFERENCE, 10 * MS);
+        metrics.record("barcode", PipelineStage.INFERENCE, 10 * MS);
+
+        assertEquals("detector,stage,count,mean_ms,p50_ms,p90_ms,p95_ms,p99_ms,max_ms\n"
+                        + "barcode,convert,1,2.000,2.000,2.000,2.000,2.000,2.000\n"
+                        + "barcode,inference,2,10.000,10.000,10.000,10.000,10.000,10.000\n"
+                        + "ocr,inference,1,20.000,20.000,20.000,20.000,20.000,20.000\n",
+                metrics.toCsv().replace(System.lineSeparator(), "\n"));
+        assertEquals("{\"detectors\":{"
+                        + "\"barcode\":{\"convert\":{\"count\":1,\"mean_ms\":2.000,\"p50_ms\":2.000,"
+                        + "\"p90_ms\":2.000,\"p95_ms\":2.000,\"p99_ms\":2.000,\"max_ms\":2.000},"
+                        + "\"inference\":{\"count\":2,\"mean_ms\":10.000,\"p50_ms\":10.000,"
+                        + "\"p90_ms\":10.000,\"p95_ms\":10.000,\"p99_ms\":10.000,\"max_ms\":10.000}},"
+                        + "\"ocr\":{\"inference\":{\"count\":1,\"mean_ms\":20.000,\"p50_ms\":20.000,"
+                        + "\"p90_ms\":20.000,\"p95_ms\":20.000,\"p99_ms\":20.000,\"max_ms\":20.000}}}}",
+                metrics.toJson());
+        assertEquals("barcode  convert 2.0/2.0  inference 10.0/10.0\nocr  inference 20.0/20.0",
+                metrics.toOverlayText());
+    }
+
+    @Test
+    public void exports_escapeDetectorNames() {
+        metrics.record("YOLO \"v8\", n", PipelineStage.TOTAL, MS);
+        assertTrue(metrics.toCsv().contains("\n\"YOLO \"\"v8\"\", n\",total,1,"));
+        assertTrue(metrics.toJson().startsWith("{\"detectors\":{\"YOLO \\\"v8\\\", n\":{\"total\":"));
+    }
+
+    @Test
+    public void reset_keepsDetectorsButClearsCounts() {
+        metrics.record("barcode", PipelineStage.RENDER, MS);
+        metrics.reset();
+        assertEquals(0, metrics.getHistogram("barcode", PipelineStage.RENDER).snapshot().getCount());
+        assertEquals("", metrics.toOverlayText());
+    }
+
+    @Test
+    public void dump_writesJsonAndCsvFiles() throws Exception {
+        metrics.record("barcode", PipelineStage.TOTAL, 4 * MS);
+        File dir = Files.createTempDirectory("metrics").toFile();
+        try {
+            metrics.dump(dir);
+            assertEquals(metrics.toJson(), new String(Files.readAllBytes(
+                    new File(dir, PipelineMetrics.JSON_FILE).toPath()), StandardCharsets.UTF_8));
+            assertEquals(metrics.toCsv(), new String(Files.readAllBytes(
+                    new File(dir, PipelineMetrics.CSV_FILE).toPath()), StandardCharsets.UTF_8));
+        } finally {
+            new File(dir, PipelineMetrics.JSON_FILE).delete();
+            new File(dir, PipelineMetrics.CSV_FILE).delete();
+            dir.delete();
+        }
+    }
+}
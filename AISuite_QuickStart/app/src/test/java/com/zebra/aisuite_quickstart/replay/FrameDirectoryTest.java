@@ -0,0 +1,95 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.replay;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link FrameDirectory}.
+ */
+public class FrameDirectoryTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private File write(File dir, String name, int bytes) throws IOException {
+        File file = new File(dir, name);
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[bytes]);
+        }
+        return file;
+    }
+
+    private void writeText(File dir, String name, String text) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(new File(dir, name))) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void withoutTimestamps_framesAreOrderedByNameAtDefaultRate() throws Exception {
+        File dir = tmp.newFolder();
+        write(dir, "0002.png", 10);
+        write(dir, "0001.jpg", 10);
+        write(dir, "0003.nv21", 4 * 2 * 3 / 2);
+        write(dir, "notes.txt", 10);
+
+        List<ReplayFrame> frames = FrameDirectory.load(dir, 4, 2, 25);
+
+        assertEquals(3, frames.size());
+        assertEquals("0001.jpg", frames.get(0).file.getName());
+        assertEquals(ReplayFrame.Format.PNG, frames.get(1).format);
+        assertEquals(ReplayFrame.Format.NV21, frames.get(2).format);
+        assertEquals(4, frames.get(2).width);
+        assertEquals(0, frames.get(0).timestampNanos);
+        assertEquals(80_000_000L, frames.get(2).timestampNanos);
+        assertEquals(2, frames.get(2).index);
+    }
+
+    @Test
+    public void timestampsFile_setsOrderAndTiming() throws Exception {
+        File dir = tmp.newFolder();
+        write(dir, "a.jpg", 10);
+        write(dir, "b.jpg", 10);
+        writeText(dir, FrameDirectory.TIMESTAMPS_FILE,
+                "# recorded on TC58\n\nb.jpg 1000\na.jpg  2500\n");
+
+        List<ReplayFrame> frames = FrameDirectory.load(dir, 0, 0, 30);
+
+        assertEquals(2, frames.size());
+        assertEquals("b.jpg", frames.get(0).file.getName());
+        assertEquals(1000, frames.get(0).timestampNanos);
+        assertEquals(2500, frames.get(1).timestampNanos);
+        assertEquals(1, frames.get(1).index);
+    }
+
+    @Test(expected = IOException.class)
+    public void timestampsGoingBackwards_areRejected() throws Exception {
+        File dir = tmp.newFolder();
+        write(dir, "a.jpg", 10);
+        write(dir, "b.jpg", 10);
+        writeText(dir, FrameDirectory.TIMESTAMPS_FILE, "a.jpg 2000\nb.jpg 1000\n");
+        FrameDirectory.load(dir, 0, 0, 30);
+    }
+
+    @Test(expected = IOException.class)
+    public void rawFrameOfWrongSize_isRejected() throws Exception {
+        File dir = tmp.newFolder();
+        write(dir, "0001.yuv", 100);
+        FrameDirectory.load(dir, 640, 480, 30);
+    }
+
+    @Test(expected = IOException.class)
+    public void emptyDirectory_isRejected() throws Exception {
+        FrameDirectory.load(tmp.newFolder(), 0, 0, 30);
+    }
+}
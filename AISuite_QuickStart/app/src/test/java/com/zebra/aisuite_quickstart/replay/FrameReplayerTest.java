@@ -0,0 +1,175 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.replay;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link FrameReplayer}, driven with a synthetic clock and a stub detector
+ * whose analysis cost is a fixed amount of synthetic time.
+ */
+public class FrameReplayerTest {
+
+    private static final long MS = 1_000_000L;
+
+    /** Synthetic clock: sleeping and analysing advance it, nothing else does. */
+    private static final class FakeClock implements FrameReplayer.Clock {
+        long now = 5_000 * MS;
+
+        @Override
+        public long nanoTime() {
+            return now;
+        }
+
+        @Override
+        public void sleepNanos(long nanos) {
+            now += nanos;
+        }
+    }
+
+    private static List<ReplayFrame> recording(int count, long intervalNanos) {
+        List<ReplayFrame> frames = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            frames.add(new ReplayFrame(i, new File("frame" + i + ".jpg"), ReplayFrame.Format.JPEG,
+                    1_000 * MS + i * intervalNanos, 0, 0));
+        }
+        return frames;
+    }
+
+    private static FrameReplayer<ReplayFrame> stubDetector(FakeClock clock, long costNanos) {
+        return new FrameReplayer<>(frame -> frame, (frame, done) -> {
+            clock.now += costNanos;
+            done.run();
+        }, clock);
+    }
+
+    @Test
+    public void fastAnalyzer_processesEveryFrameAtRecordedRate() throws Exception {
+        FakeClock clock = new FakeClock();
+        ReplayReport report = stubDetector(clock, 5 * MS).replay(recording(10, 33 * MS));
+
+        assertEquals(10, report.getProcessedCount());
+        assertEquals(0, report.getDroppedCount());
+        assertEquals(9 * 33 * MS + 5 * MS, report.getWallNanos());
+        assertEquals(5.0, report.getLatencyMillis(50), 1e-9);
+        assertEquals(5.0, report.getLatencyMillis(100), 1e-9);
+        assertEquals(5.0, report.getAnalysisMillis(95), 1e-9);
+    }
+
+    @Test
+    public void slowAnalyzer_keepOnlyLatest_dropsStaleFrames() throws Exception {
+        FakeClock clock = new FakeClock();
+        ReplayReport report = stubDetector(clock, 50 * MS)
+                .setFixedRate(30)
+                .replay(recording(10, 1 * MS));
+
+        assertEquals(7, report.getProcessedCount());
+        assertEquals(3, report.getDroppedCount());
+        for (ReplayReport.FrameResult f : report.getFrames()) {
+            boolean expectDropped = f.index == 2 || f.index == 5 || f.index == 8;
+            assertEquals("frame " + f.index, expectDropped, f.status == ReplayReport.Status.DROPPED);
+        }
+        // Never more than one frame interval of queueing on top of the 50 ms analysis.
+        assertTrue(report.getLatencyMillis(100) <= 50 + 1000.0 / 30 + 1e-6);
+        assertEquals(350 * MS, report.getWallNanos());
+        assertEquals(20.0, report.getThroughputFps(), 1e-9);
+    }
+
+    @Test
+    public void slowAnalyzer_blockProducer_queuesEveryFrame() throws Exception {
+        FakeClock clock = new FakeClock();
+        ReplayReport report = stubDetector(clock, 50 * MS)
+                .setFixedRate(30)
+                .setBackpressure(FrameReplayer.Backpressure.BLOCK_PRODUCER)
+                .replay(recording(10, 1 * MS));
+
+        assertEquals(10, report.getProcessedCount());
+        assertEquals(0, report.getDroppedCount());
+        // Frame 9 falls due at 300 ms and is released at 500 ms.
+        assertEquals(200.0, report.getLatencyMillis(100), 1e-6);
+        assertEquals(500 * MS, report.getWallNanos());
+    }
+
+    @Test
+    public void speed_scalesRecordedTimestamps() throws Exception {
+        FakeClock clock = new FakeClock();
+        ReplayReport report = stubDetector(clock, 1 * MS)
+                .setSpeed(2)
+                .replay(recording(3, 100 * MS));
+
+        assertEquals(3, report.getProcessedCount());
+        assertEquals(100 * MS + 1 * MS, report.getWallNanos());
+    }
+
+    @Test
+    public void unpaced_runsBackToBackWithoutDrops() throws Exception {
+        FakeClock clock = new FakeClock();
+        ReplayReport report = stubDetector(clock, 10 * MS)
+                .setSpeed(Double.POSITIVE_INFINITY)
+                .replay(recording(5, 33 * MS));
+
+        assertEquals(5, report.getProcessedCount());
+        assertEquals(0, report.getDroppedCount());
+        assertEquals(50 * MS, report.getWallNanos());
+        assertEquals(100.0, report.getThroughputFps(), 1e-9);
+        assertEquals(10.0, report.getAnalysisMillis(50), 1e-9);
+        assertEquals(10.0, report.getLatencyMillis(100), 1e-9);
+    }
+
+    @Test
+    public void asyncAnalyzer_releasingOnAnotherThread_isAwaited() throws Exception {
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            FrameReplayer<ReplayFrame> replayer = new FrameReplayer<>(frame -> frame,
+                    (frame, done) -> worker.execute(() -> {
+                        done.run();
+                        done.run(); // a second release is ignored
+                    }));
+            ReplayReport report = replayer
+                    .setSpeed(Double.POSITIVE_INFINITY)
+                    .replay(recording(20, 33 * MS));
+
+            assertEquals(20, report.getProcessedCount());
+            assertEquals(20, report.getFrames().size());
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+
+    @Test
+    public void loaderFailure_propagates() throws Exception {
+        FrameReplayer<ReplayFrame> replayer = new FrameReplayer<>(frame -> {
+            throw new IOException("corrupt " + frame.file);
+        }, (frame, done) -> done.run(), new FakeClock());
+        try {
+            replayer.replay(recording(2, 33 * MS));
+            fail("expected IOException");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("frame0.jpg"));
+        }
+    }
+
+    @Test
+    public void csv_hasHeaderAndOneRowPerFrame() throws Exception {
+        FakeClock clock = new FakeClock();
+        ReplayReport report = stubDetector(clock, 50 * MS)
+                .setFixedRate(30)
+                .replay(recording(4, 1 * MS));
+
+        StringBuilder csv = new StringBuilder();
+        report.writeCsv(csv);
+        String[] lines = csv.toString().trim().split("\\R");
+        assertEquals(5, lines.length);
+        assertEquals("index,timestamp_ns,status,load_ms,analysis_ms,latency_ms", lines[0]);
+        assertTrue(lines[1].startsWith("0,1000000000,PROCESSED,0.000,50.000,50.000"));
+        assertTrue(lines[3].startsWith("2,1002000000,DROPPED"));
+    }
+}
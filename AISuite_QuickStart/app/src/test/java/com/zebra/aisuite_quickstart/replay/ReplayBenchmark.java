@@ -0,0 +1,86 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.replay;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Host-side replay of a recorded frame directory through a stub detector. Not a unit test — run
+ * main() from the IDE or with {@code java -cp <test classes> ...ReplayBenchmark}:
+ *
+ *   ReplayBenchmark &lt;dir&gt; [fps|recorded|unpaced] [stub cost ms] [raw WxH] [report.csv]
+ *
+ * The stub reads the frame bytes on the calling thread, like a decoder would, and then spends the
+ * given cost on a single analysis thread, like a detector on the analysis executor.
+ */
+public final class ReplayBenchmark {
+
+    private ReplayBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("usage: ReplayBenchmark <dir> [fps|recorded|unpaced] [stub cost ms] [raw WxH] [report.csv]");
+            return;
+        }
+        File   dir     = new File(args[0]);
+        String rate    = args.length > 1 ? args[1] : "recorded";
+        long   costMs  = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        int    width   = 0;
+        int    height  = 0;
+        if (args.length > 3) {
+            String[] size = args[3].split("x");
+            width  = Integer.parseInt(size[0]);
+            height = Integer.parseInt(size[1]);
+        }
+
+        List<ReplayFrame> frames = FrameDirectory.load(dir, width, height, 30);
+        ExecutorService analysis = Executors.newSingleThreadExecutor();
+        try {
+            FrameReplayer<byte[]> replayer = new FrameReplayer<>(
+                    frame -> Files.readAllBytes(frame.file.toPath()),
+                    (bytes, done) -> analysis.execute(() -> {
+                        try {
+                            stubDetect(bytes, costMs);
+                        } finally {
+                            done.run();
+                        }
+                    }));
+            if (rate.equals("unpaced")) {
+                replayer.setSpeed(Double.POSITIVE_INFINITY);
+            } else if (!rate.equals("recorded")) {
+                replayer.setFixedRate(Double.parseDouble(rate));
+            }
+
+            ReplayReport report = replayer.replay(frames);
+            System.out.println(String.format(Locale.US, "%s (%s, %d ms stub)", dir, rate, costMs));
+            System.out.println(report.summary());
+            if (args.length > 4) {
+                try (Writer out = new FileWriter(args[4])) {
+                    report.writeCsv(out);
+                }
+            }
+        } finally {
+            analysis.shutdown();
+            analysis.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    // Touches every byte, then busy-waits for the rest of the cost so the timing is not at the
+    // mercy of the scheduler's sleep granularity.
+    private static int stubDetect(byte[] bytes, long costMs) {
+        long end = System.nanoTime() + costMs * 1_000_000L;
+        int checksum = 0;
+        for (byte b : bytes) checksum = 31 * checksum + b;
+        while (System.nanoTime() < end) {
+            checksum ^= (int) end;
+        }
+        return checksum;
+    }
+}
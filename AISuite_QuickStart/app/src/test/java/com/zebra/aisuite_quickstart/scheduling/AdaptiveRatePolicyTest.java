@@ -0,0 +1,53 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.scheduling;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link AdaptiveRatePolicy} and {@link FrameSkipPolicy#everyFrame()}.
+ */
+public class AdaptiveRatePolicyTest {
+
+    private static final long MS = 1_000_000L;
+    private static final float UNKNOWN = FrameSkipPolicy.HEADROOM_UNKNOWN;
+
+    private final AdaptiveRatePolicy policy = new AdaptiveRatePolicy(10, 2, 0.5f);
+
+    @Test
+    public void cheapDetectorOnACoolDevice_runsAtTheTargetRate() {
+        assertEquals(100 * MS, policy.intervalNanos(5 * MS, UNKNOWN));
+        assertEquals(100 * MS, policy.intervalNanos(50 * MS, 0.2f));
+        assertEquals(100 * MS, policy.intervalNanos(50 * MS, AdaptiveRatePolicy.THROTTLE_START));
+    }
+
+    @Test
+    public void slowDetector_isHeldToItsBusyBudget() {
+        assertEquals(240 * MS, policy.intervalNanos(120 * MS, UNKNOWN));
+        assertEquals(500 * MS, policy.intervalNanos(2_000 * MS, UNKNOWN));
+    }
+
+    @Test
+    public void thermalHeadroom_lowersTheRateTowardsMinFps() {
+        long halfway = policy.intervalNanos(5 * MS, 0.85f);
+        assertEquals(300 * MS, halfway, MS);
+        assertEquals(500 * MS, policy.intervalNanos(5 * MS, 1f));
+        assertEquals(500 * MS, policy.intervalNanos(5 * MS, 1.4f));
+    }
+
+    @Test
+    public void everyFrame_neverWaits() {
+        assertEquals(0, FrameSkipPolicy.everyFrame().intervalNanos(500 * MS, 1.5f));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void minFps_mustNotExceedTarget() {
+        new AdaptiveRatePolicy(5, 10, 0.5f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void busyBudget_mustBeAFraction() {
+        new AdaptiveRatePolicy(10, 2, 1.5f);
+    }
+}
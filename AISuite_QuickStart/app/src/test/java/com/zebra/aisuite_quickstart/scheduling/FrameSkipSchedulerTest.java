@@ -0,0 +1,188 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.scheduling;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link FrameSkipScheduler}, driven with a synthetic clock and thermal
+ * source. Frames arrive every 33 ms unless a test says otherwise.
+ */
+public class FrameSkipSchedulerTest {
+
+    private static final long MS    = 1_000_000L;
+    private static final long FRAME = 33 * MS;
+
+    private long  now;
+    private float headroom = FrameSkipPolicy.HEADROOM_UNKNOWN;
+    private int   thermalQueries;
+    private final FrameSkipScheduler scheduler = new FrameSkipScheduler(() -> now, () -> {
+        thermalQueries++;
+        return headroom;
+    });
+
+    @Test
+    public void lanesRunAtTheirOwnRates() {
+        FrameSkipScheduler.Lane<String> barcode = scheduler.lane("barcode", FrameSkipPolicy.everyFrame(), "");
+        FrameSkipScheduler.Lane<String> ocr = scheduler.lane("ocr", new AdaptiveRatePolicy(10, 2, 0.5f), "");
+        FrameSkipScheduler.Lane<String> modules = scheduler.lane("modules", new AdaptiveRatePolicy(5, 1, 0.5f), "");
+
+        List<Integer> ocrFrames = new ArrayList<>();
+        for (int frame = 0; frame < 30; frame++) {
+            final int f = frame;
+            barcode.runOrReuse(() -> "b" + f);
+            if (ocr.runOrReuse(() -> "o" + f).equals("o" + f)) ocrFrames.add(f);
+            modules.runOrReuse(() -> "m" + f);
+            now += FRAME;
+        }
+
+        assertEquals(30, barcode.getRuns());
+        assertEquals(0, barcode.getSkips());
+        // 100 ms at 33 ms frames: every third frame, even though 3 frames are only 99 ms.
+        assertEquals(List.of(0, 3, 6, 9, 12, 15, 18, 21, 24, 27), ocrFrames);
+        assertEquals(5, modules.getRuns()); // 200 ms: every sixth frame
+        assertEquals(25, modules.getSkips());
+    }
+
+    @Test
+    public void skippedFrames_reuseTheLastResults() {
+        FrameSkipScheduler.Lane<String> lane = scheduler.lane("ocr", new AdaptiveRatePolicy(10, 2, 0.5f), "none");
+        assertEquals("first", lane.runOrReuse(() -> "first"));
+        now += FRAME;
+        assertEquals("first", lane.runOrReuse(() -> "second"));
+        now += 2 * FRAME;
+        assertEquals("third", lane.runOrReuse(() -> "third"));
+    }
+
+    @Test
+    public void slowRuns_stretchTheInterval() {
+        FrameSkipScheduler.Lane<Integer> lane = scheduler.lane("modules", new AdaptiveRatePolicy(10, 1, 0.5f), 0);
+        AtomicInteger runs = new AtomicInteger();
+        for (int frame = 0; frame < 60; frame++) {
+            lane.runOrReuse(() -> {
+                now += 150 * MS; // the detector takes 150 ms
+                return runs.incrementAndGet();
+            });
+            now += FRAME;
+        }
+        assertEquals(150 * MS, lane.getLatencyNanos());
+        assertEquals(300 * MS, lane.getIntervalNanos());
+    }
+
+    @Test
+    public void latency_isSmoothed() {
+        FrameSkipScheduler.Lane<Integer> lane = scheduler.lane("ocr", FrameSkipPolicy.everyFrame(), 0);
+        lane.runOrReuse(() -> {
+            now += 40 * MS;
+            return 1;
+        });
+        lane.runOrReuse(() -> {
+            now += 80 * MS;
+            return 2;
+        });
+        assertEquals(50 * MS, lane.getLatencyNanos());
+    }
+
+    @Test
+    public void thermalHeadroom_slowsLanesDownAndIsPolledAtMostOncePerSecond() {
+        FrameSkipScheduler.Lane<Integer> lane = scheduler.lane("ocr", new AdaptiveRatePolicy(10, 2, 0.5f), 0);
+        lane.runOrReuse(() -> 1);
+        assertEquals(100 * MS, lane.getIntervalNanos());
+
+        headroom = 1f;
+        now += 100 * MS;
+        lane.runOrReuse(() -> 2);
+        assertEquals("cached reading is still fresh", 100 * MS, lane.getIntervalNanos());
+        assertEquals(1, thermalQueries);
+
+        now += FrameSkipScheduler.THERMAL_POLL_NANOS;
+        lane.runOrReuse(() -> 3);
+        assertEquals(500 * MS, lane.getIntervalNanos());
+        assertEquals(2, thermalQueries);
+
+        headroom = FrameSkipPolicy.HEADROOM_UNKNOWN; // rate-limited query
+        now += FrameSkipScheduler.THERMAL_POLL_NANOS;
+        lane.runOrReuse(() -> 4);
+        assertEquals(1f, scheduler.getThermalHeadroom(), 0f);
+        assertEquals(500 * MS, lane.getIntervalNanos());
+    }
+
+    @Test
+    public void busyLane_reusesResultsInsteadOfQueueing() throws Exception {
+        FrameSkipScheduler.Lane<String> lane = scheduler.lane("ocr", FrameSkipPolicy.everyFrame(), "initial");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Thread worker = new Thread(() -> lane.runOrReuse(() -> {
+            running.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException ignored) {
+            }
+            return "slow";
+        }));
+        worker.start();
+        running.await();
+
+        assertEquals("initial", lane.runOrReuse(() -> "not run"));
+        assertEquals(1, lane.getSkips());
+        finish.countDown();
+        worker.join();
+        assertEquals("fast", lane.runOrReuse(() -> "fast"));
+    }
+
+    @Test
+    public void failedRun_keepsTheCachedResultAndRetriesOnTheNextFrame() {
+        FrameSkipScheduler.Lane<String> lane = scheduler.lane("ocr", FrameSkipPolicy.everyFrame(), "ok");
+        try {
+            lane.runOrReuse(() -> {
+                throw new IllegalStateException("detector failed");
+            });
+            fail("Expected the detector failure");
+        } catch (IllegalStateException expected) {
+            // propagated
+        }
+        now += FRAME;
+        assertEquals("ok", lane.runOrReuse(() -> "ok"));
+        assertEquals(1, lane.getRuns());
+    }
+
+    @Test
+    public void reset_forgetsResultsAndTiming() {
+        FrameSkipScheduler.Lane<String> lane = scheduler.lane("modules", new AdaptiveRatePolicy(1, 1, 1f), "empty");
+        lane.runOrReuse(() -> "shelf");
+        now += FRAME;
+        assertEquals("shelf", lane.runOrReuse(() -> "not run"));
+
+        scheduler.reset();
+        assertEquals(0, lane.getIntervalNanos());
+        assertEquals("rebound", lane.runOrReuse(() -> "rebound"));
+        assertTrue(scheduler.toSummary().startsWith("modules every 1000.0 ms"));
+    }
+
+    @Test
+    public void reset_duringRun_dropsTheStaleResultAndTiming() {
+        FrameSkipScheduler.Lane<String> lane = scheduler.lane("modules", new AdaptiveRatePolicy(1, 1, 1f), "empty");
+        assertEquals("stale", lane.runOrReuse(() -> {
+            now += 50 * MS;
+            scheduler.reset();
+            return "stale";
+        }));
+        assertEquals(0, lane.getIntervalNanos());
+        assertEquals(0, lane.getLatencyNanos());
+
+        // A frame offered while the next run is busy sees the reset state, not the stale result.
+        now += FRAME;
+        String[] reused = new String[1];
+        assertEquals("fresh", lane.runOrReuse(() -> {
+            reused[0] = lane.runOrReuse(() -> "not run");
+            return "fresh";
+        }));
+        assertEquals("empty", reused[0]);
+    }
+}
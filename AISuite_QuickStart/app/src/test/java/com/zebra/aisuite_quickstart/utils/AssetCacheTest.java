@@ -0,0 +1,182 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link AssetCache}, with in-memory assets and a temporary directory.
+ */
+public class AssetCacheTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    /** In-memory assets that count how often they are opened. */
+    private static final class FakeAssets implements AssetCache.Source {
+        final Map<String, byte[]> assets = new HashMap<>();
+        String version = "1@1000";
+        int opens;
+
+        @Override
+        public InputStream open(String name) throws IOException {
+            byte[] data = assets.get(name);
+            if (data == null) throw new FileNotFoundException(name);
+            opens++;
+            return new ByteArrayInputStream(data);
+        }
+
+        @Override
+        public String getVersion() {
+            return version;
+        }
+    }
+
+    private final FakeAssets assets = new FakeAssets();
+
+    private static byte[] bytes(int size, int seed) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) data[i] = (byte) (i * 31 + seed);
+        return data;
+    }
+
+    @Test
+    public void firstCall_copiesTheAssetAndLaterCallsSkipIt() throws Exception {
+        byte[] index = bytes(200_000, 1);
+        assets.assets.put("product.index", index);
+        AssetCache cache = new AssetCache(assets, tmp.getRoot());
+
+        AssetCache.Result first = cache.materialize("product.index");
+        assertEquals(AssetCache.Outcome.COPIED, first.outcome);
+        assertEquals(index.length, first.bytesWritten);
+        assertArrayEquals(index, Files.readAllBytes(first.file.toPath()));
+        assertEquals(64, first.sha256.length());
+
+        AssetCache.Result second = cache.materialize("product.index");
+        assertEquals(AssetCache.Outcome.CACHED, second.outcome);
+        assertEquals(first.sha256, second.sha256);
+        assertEquals(1, assets.opens);
+    }
+
+    @Test
+    public void newProcessWithTheSamePackage_trustsTheStampWithoutReading() throws Exception {
+        assets.assets.put("product.txt", bytes(700, 2));
+        new AssetCache(assets, tmp.getRoot()).materialize("product.txt");
+
+        AssetCache.Result result = new AssetCache(assets, tmp.getRoot()).materialize("product.txt");
+        assertEquals(AssetCache.Outcome.STAMP_MATCH, result.outcome);
+        assertEquals(0, result.bytesRead);
+        assertEquals(1, assets.opens);
+    }
+
+    @Test
+    public void updatedPackageWithTheSameAsset_onlyHashesIt() throws Exception {
+        assets.assets.put("product.index", bytes(5_000, 3));
+        File file = new AssetCache(assets, tmp.getRoot()).materialize("product.index").file;
+        long modified = file.lastModified();
+
+        assets.version = "2@2000";
+        AssetCache.Result result = new AssetCache(assets, tmp.getRoot()).materialize("product.index");
+        assertEquals(AssetCache.Outcome.HASH_MATCH, result.outcome);
+        assertEquals(5_000, result.bytesRead);
+        assertEquals(0, result.bytesWritten);
+        assertEquals(modified, file.lastModified());
+
+        // The renewed stamp is for the new package, so the next start reads nothing.
+        assertEquals(AssetCache.Outcome.STAMP_MATCH,
+                new AssetCache(assets, tmp.getRoot()).materialize("product.index").outcome);
+    }
+
+    @Test
+    public void updatedPackageWithANewAsset_copiesIt() throws Exception {
+        assets.assets.put("product.index", bytes(5_000, 4));
+        new AssetCache(assets, tmp.getRoot()).materialize("product.index");
+
+        byte[] updated = bytes(5_000, 5);
+        assets.assets.put("product.index", updated);
+        assets.version = "2@2000";
+        AssetCache.Result result = new AssetCache(assets, tmp.getRoot()).materialize("product.index");
+        assertEquals(AssetCache.Outcome.COPIED, result.outcome);
+        assertArrayEquals(updated, Files.readAllBytes(result.file.toPath()));
+    }
+
+    @Test
+    public void unknownPackageVersion_alwaysVerifiesTheHash() throws Exception {
+        assets.version = null;
+        assets.assets.put("product.txt", bytes(100, 6));
+        new AssetCache(assets, tmp.getRoot()).materialize("product.txt");
+        assertEquals(AssetCache.Outcome.HASH_MATCH,
+                new AssetCache(assets, tmp.getRoot()).materialize("product.txt").outcome);
+    }
+
+    @Test
+    public void fileChangedOnDisk_isCopiedAgain() throws Exception {
+        byte[] labels = bytes(700, 7);
+        assets.assets.put("product.txt", labels);
+        AssetCache cache = new AssetCache(assets, tmp.getRoot());
+        File file = cache.materialize("product.txt").file;
+
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(1);
+        }
+        assertEquals(AssetCache.Outcome.COPIED, cache.materialize("product.txt").outcome);
+        assertArrayEquals(labels, Files.readAllBytes(file.toPath()));
+    }
+
+    @Test
+    public void unreadableStamp_causesACopy() throws Exception {
+        assets.assets.put("product.txt", bytes(700, 8));
+        new AssetCache(assets, tmp.getRoot()).materialize("product.txt");
+        File stamp = new File(tmp.getRoot(), ".product.txt" + AssetCache.STAMP_SUFFIX);
+        assertTrue(stamp.isFile());
+        Files.write(stamp.toPath(), "size=oops".getBytes());
+
+        assertEquals(AssetCache.Outcome.COPIED,
+                new AssetCache(assets, tmp.getRoot()).materialize("product.txt").outcome);
+    }
+
+    @Test
+    public void missingAsset_throwsAndLeavesNoPartialFile() throws Exception {
+        AssetCache cache = new AssetCache(assets, tmp.getRoot());
+        try {
+            cache.materialize("missing.index");
+            fail("Expected the missing asset to fail");
+        } catch (FileNotFoundException expected) {
+            // propagated
+        }
+        assertEquals(Arrays.asList(), Arrays.asList(tmp.getRoot().list()));
+    }
+
+    @Test
+    public void resultsAndStats_reportMaterializationTime() throws Exception {
+        long[] now = {0};
+        assets.assets.put("product.index", bytes(1_000, 9));
+        AssetCache cache = new AssetCache(assets, tmp.getRoot(), () -> now[0] += 2_000_000L);
+
+        AssetCache.Result copied = cache.materialize("product.index");
+        AssetCache.Result cached = cache.materialize("product.index");
+        assertEquals(2_000_000L, copied.nanos);
+        assertEquals(2_000_000L, cached.nanos);
+
+        AssetCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.materialized);
+        assertEquals(1, stats.copied);
+        assertEquals(1_000, stats.bytesWritten);
+        assertEquals(4_000_000L, stats.nanos);
+        assertEquals("product.index CACHED 1000 bytes in 2.00 ms (read 0, wrote 0)", cached.toString());
+    }
+}
@@ -0,0 +1,112 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link ImageOrientation}, checked against an explicit pixel rotation.
+ */
+public class ImageOrientationTest {
+
+    private static final int W = 7;
+    private static final int H = 4;
+
+    @Test
+    public void pixelCentres_landWhereARotatedCopyPutsThem() {
+        int[] buffer = new int[W * H];
+        for (int i = 0; i < buffer.length; i++) buffer[i] = i;
+
+        for (int degrees : new int[] {0, 90, 180, 270}) {
+            ImageOrientation orientation = new ImageOrientation(W, H, degrees);
+            int[] upright = rotateClockwise(buffer, W, H, degrees);
+            int uprightWidth = orientation.getUprightWidth();
+            assertEquals(upright.length, uprightWidth * orientation.getUprightHeight());
+
+            for (int y = 0; y < H; y++) {
+                for (int x = 0; x < W; x++) {
+                    float[] point = {x + 0.5f, y + 0.5f};
+                    orientation.mapPointsToUpright(point);
+                    int u = (int) point[0];
+                    int v = (int) point[1];
+                    assertEquals(degrees + "° " + x + "," + y,
+                            buffer[y * W + x], upright[v * uprightWidth + u]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void fromUpright_invertsToUpright() {
+        ImageOrientation base = new ImageOrientation(640, 480, 0).withCrop(40, 30, 600, 400);
+        for (int degrees : new int[] {0, 90, 180, 270}) {
+            ImageOrientation orientation = new ImageOrientation(640, 480, degrees).withCrop(40, 30, 600, 400);
+            float[] points = {40, 30, 123.5f, 77.25f, 599, 399};
+            float[] mapped = points.clone();
+            orientation.mapPointsToUpright(mapped);
+            orientation.mapPointsFromUpright(mapped);
+            assertArrayEquals(points, mapped, 1e-4f);
+        }
+        float[] corner = {40, 30};
+        base.mapPointsToUpright(corner);
+        assertArrayEquals(new float[] {0, 0}, corner, 0f);
+    }
+
+    @Test
+    public void mapRect_keepsLeftTopRightBottomOrder() {
+        ImageOrientation orientation = new ImageOrientation(1920, 1080, 90);
+        float[] box = {100, 200, 300, 260};
+        orientation.mapRectToUpright(box);
+        assertArrayEquals(new float[] {820, 100, 880, 300}, box, 0f);
+
+        orientation.mapRectFromUpright(box);
+        assertArrayEquals(new float[] {100, 200, 300, 260}, box, 0f);
+
+        ImageOrientation flipped = new ImageOrientation(1920, 1080, 180);
+        box = new float[] {100, 200, 300, 260};
+        flipped.mapRectToUpright(box);
+        assertArrayEquals(new float[] {1620, 820, 1820, 880}, box, 0f);
+    }
+
+    @Test
+    public void sizes_followRotationAndCrop() {
+        ImageOrientation orientation = new ImageOrientation(4000, 3000, -90).withCrop(-10, 100, 3000, 5000);
+        assertEquals(270, orientation.getRotationDegrees());
+        assertEquals(0, orientation.getCropLeft());
+        assertEquals(3000, orientation.getCropWidth());
+        assertEquals(2900, orientation.getCropHeight());
+        assertEquals(2900, orientation.getUprightWidth());
+        assertEquals(3000, orientation.getUprightHeight());
+        assertEquals(4L * 3000 * 2900, orientation.getUprightCopyBytes());
+        assertFalse(orientation.isIdentity());
+        assertTrue(new ImageOrientation(4000, 3000, 360).isIdentity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rotation_mustBeAQuarterTurn() {
+        new ImageOrientation(640, 480, 45);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void crop_mustNotBeEmpty() {
+        new ImageOrientation(640, 480, 0).withCrop(700, 0, 800, 480);
+    }
+
+    /** Reference clockwise rotation of a packed width×height image. */
+    static int[] rotateClockwise(int[] src, int width, int height, int degrees) {
+        int[] dst = new int[src.length];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int p = src[y * width + x];
+                switch (degrees) {
+                    case 90:  dst[x * height + (height - 1 - y)] = p; break;
+                    case 180: dst[(height - 1 - y) * width + (width - 1 - x)] = p; break;
+                    case 270: dst[(width - 1 - x) * height + y] = p; break;
+                    default:  dst[y * width + x] = p; break;
+                }
+            }
+        }
+        return dst;
+    }
+}
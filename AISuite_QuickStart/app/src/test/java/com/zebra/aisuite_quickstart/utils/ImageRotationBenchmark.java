@@ -0,0 +1,75 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.utils;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Host-side micro-benchmark of what {@link ImageHandle} saves per frame: rotating a full ARGB
+ * frame into a new buffer (what rotateBitmapIfNeeded() does) versus mapping the detector's boxes
+ * with {@link ImageOrientation}, at 1080p and 12 MP. Not a unit test — run main() from the IDE
+ * or with {@code java -cp <test classes> ...ImageRotationBenchmark}. Times are medians after a
+ * warm-up; the pixel copy on a device is slower than on a desktop JVM, the allocation the same.
+ */
+public final class ImageRotationBenchmark {
+
+    private static final int[][] FRAMES     = {{1920, 1080}, {4000, 3000}};
+    private static final int     BOXES      = 50;
+    private static final int     WARMUP     = 3;
+    private static final int     ITERATIONS = 11;
+
+    private ImageRotationBenchmark() {}
+
+    public static void main(String[] args) {
+        System.out.println(String.format(Locale.US, "%-11s %-12s %12s %14s",
+                "frame", "method", "median µs", "bytes/frame"));
+        for (int[] frame : FRAMES) {
+            int width = frame[0];
+            int height = frame[1];
+            ImageOrientation orientation = new ImageOrientation(width, height, 90);
+            int[] pixels = new int[width * height];
+            Random random = new Random(42);
+            for (int i = 0; i < pixels.length; i++) pixels[i] = random.nextInt();
+            float[] boxes = new float[BOXES * 4];
+            for (int i = 0; i < boxes.length; i += 4) {
+                boxes[i]     = random.nextInt(width - 100);
+                boxes[i + 1] = random.nextInt(height - 100);
+                boxes[i + 2] = boxes[i] + 100;
+                boxes[i + 3] = boxes[i + 1] + 100;
+            }
+            String name = width + "x" + height;
+
+            long sink = 0;
+            long[] samples = new long[ITERATIONS];
+            for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+                long t0 = System.nanoTime();
+                int[] upright = ImageOrientationTest.rotateClockwise(pixels, width, height, 90);
+                long elapsed = System.nanoTime() - t0;
+                sink += upright[i];
+                if (i >= WARMUP) samples[i - WARMUP] = elapsed;
+            }
+            print(name, "rotate-copy", samples, orientation.getUprightCopyBytes());
+
+            float[] box = new float[4];
+            for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+                long t0 = System.nanoTime();
+                for (int b = 0; b < boxes.length; b += 4) {
+                    System.arraycopy(boxes, b, box, 0, 4);
+                    orientation.mapRectToUpright(box);
+                }
+                long elapsed = System.nanoTime() - t0;
+                sink += (long) box[0];
+                if (i >= WARMUP) samples[i - WARMUP] = elapsed;
+            }
+            print(name, "map-" + BOXES + "-boxes", samples, 0);
+            if (sink == 42) System.out.println();
+        }
+    }
+
+    private static void print(String frame, String method, long[] samples, long bytes) {
+        Arrays.sort(samples);
+        System.out.println(String.format(Locale.US, "%-11s %-12s %12.1f %14d",
+                frame, method, samples[samples.length / 2] / 1000.0, bytes));
+    }
+}
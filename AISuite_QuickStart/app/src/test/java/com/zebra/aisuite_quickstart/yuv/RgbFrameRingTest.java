@@ -0,0 +1,172 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.yuv;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link RgbFrameRing}.
+ */
+public class RgbFrameRingTest {
+
+    private static final int W = 8;
+    private static final int H = 4;
+
+    private final YuvPlanes grey = YuvPlanes.fromNv21(nv21(W, H, 128), W, H);
+
+    @Test
+    public void tryConvert_dropsOnceCapacityIsInFlight() {
+        RgbFrameRing ring = new RgbFrameRing(2, W, H);
+        RgbFrameRing.Frame first = ring.tryConvert(grey);
+        RgbFrameRing.Frame second = ring.tryConvert(grey);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNotSame(first, second);
+        assertNull(ring.tryConvert(grey));
+
+        RgbFrameRing.Stats stats = ring.getStats();
+        assertEquals(2, stats.converted);
+        assertEquals(1, stats.dropped);
+        assertEquals(2, stats.inFlight);
+
+        first.release();
+        assertSame(first, ring.tryConvert(grey));
+    }
+
+    @Test
+    public void buffers_areReusedInReleaseOrderWithoutAllocating() {
+        RgbFrameRing ring = new RgbFrameRing(3, W, H);
+        int[] slots = new int[9];
+        for (int i = 0; i < slots.length; i++) {
+            RgbFrameRing.Frame frame = ring.tryConvert(grey);
+            slots[i] = frame.getSlot();
+            assertEquals(W, frame.getWidth());
+            assertEquals(0xFF808080, frame.getPixels()[W * H - 1]);
+            frame.release();
+        }
+        assertArrayEquals(new int[] {0, 1, 2, 0, 1, 2, 0, 1, 2}, slots);
+        assertEquals(3, ring.getStats().allocations);
+        assertEquals(0, ring.getStats().inFlight);
+    }
+
+    @Test
+    public void release_isIdempotentAndCloseReleases() {
+        RgbFrameRing ring = new RgbFrameRing(1, W, H);
+        RgbFrameRing.Frame frame = ring.tryConvert(grey);
+        frame.release();
+        frame.release();
+        try (RgbFrameRing.Frame again = ring.tryConvert(grey)) {
+            assertSame(frame, again);
+            assertNull(ring.tryConvert(grey));
+        }
+        assertEquals(0, ring.getStats().inFlight);
+        frame.close();
+        assertEquals(0, ring.getStats().inFlight);
+    }
+
+    @Test
+    public void largerFrames_growTheBufferAndKeepAttachments() {
+        RgbFrameRing ring = new RgbFrameRing(1, W, H);
+        RgbFrameRing.Frame frame = ring.tryConvert(grey);
+        frame.setAttachment("bitmap");
+        int[] small = frame.getPixels();
+        frame.release();
+
+        frame = ring.tryConvert(YuvPlanes.fromNv21(nv21(16, 8, 0), 16, 8));
+        assertEquals(16, frame.getWidth());
+        assertEquals(8, frame.getHeight());
+        assertNotSame(small, frame.getPixels());
+        assertEquals("bitmap", frame.getAttachment());
+        frame.release();
+
+        frame = ring.tryConvert(grey);
+        assertEquals(W, frame.getWidth());
+        assertEquals(2, ring.getStats().allocations);
+    }
+
+    @Test
+    public void failedConversion_returnsTheBuffer() {
+        RgbFrameRing ring = new RgbFrameRing(1, W, H);
+        YuvPlanes tooTall = new YuvPlanes(W, 2 * H, grey.y, W, grey.u, grey.v, W, 2);
+        try {
+            ring.tryConvert(tooTall);
+            fail("Expected the short luma plane to fail");
+        } catch (RuntimeException expected) {
+            // The buffer must go back to the ring rather than leak.
+        }
+        assertEquals(0, ring.getStats().inFlight);
+        assertNotNull(ring.tryConvert(grey));
+    }
+
+    @Test
+    public void convert_waitsForARelease() throws Exception {
+        RgbFrameRing ring = new RgbFrameRing(1, W, H);
+        RgbFrameRing.Frame held = ring.tryConvert(grey);
+        assertNull(ring.convert(grey, 10, TimeUnit.MILLISECONDS));
+        assertEquals(1, ring.getStats().dropped);
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ignored) {
+            }
+            held.release();
+        });
+        releaser.start();
+        assertSame(held, ring.convert(grey, 5, TimeUnit.SECONDS));
+        releaser.join();
+    }
+
+    @Test
+    public void concurrentUse_neverExceedsCapacity() throws Exception {
+        int capacity = 3;
+        RgbFrameRing ring = new RgbFrameRing(capacity, W, H);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 2_000; i++) {
+                        RgbFrameRing.Frame frame = ring.tryConvert(grey);
+                        if (frame == null) continue;
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        inFlight.decrementAndGet();
+                        frame.release();
+                    }
+                } catch (InterruptedException ignored) {
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+
+        RgbFrameRing.Stats stats = ring.getStats();
+        assertTrue(maxInFlight.get() <= capacity);
+        assertEquals(threads * 2_000L, stats.converted + stats.dropped);
+        assertEquals(0, stats.inFlight);
+        assertTrue(stats.allocations <= capacity);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacity_mustBePositive() {
+        new RgbFrameRing(0, W, H);
+    }
+
+    private static byte[] nv21(int width, int height, int value) {
+        byte[] data = new byte[width * height * 3 / 2];
+        Arrays.fill(data, (byte) value);
+        Arrays.fill(data, width * height, data.length, (byte) 128);
+        return data;
+    }
+}
@@ -0,0 +1,87 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.yuv;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Host-side throughput benchmark of the YUV conversion stage at 1920×1080: a fresh ARGB buffer
+ * per frame (what toBitmap() does) against converting into an {@link RgbFrameRing}, for NV21 and
+ * for padded I420 planes as some camera HALs deliver them. Not a unit test — run main() from the
+ * IDE or with {@code java -cp <test classes> ...YuvConversionBenchmark}. Reports the median frame
+ * time, frames per second and the bytes allocated per frame.
+ */
+public final class YuvConversionBenchmark {
+
+    private static final int WIDTH      = 1920;
+    private static final int HEIGHT     = 1080;
+    private static final int RING_SIZE  = 2;
+    private static final int WARMUP     = 20;
+    private static final int ITERATIONS = 40;
+
+    private YuvConversionBenchmark() {}
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        byte[] nv21 = new byte[WIDTH * HEIGHT * 3 / 2];
+        random.nextBytes(nv21);
+
+        int rowStride = WIDTH + 64;
+        ByteBuffer y = randomDirect(rowStride * HEIGHT, random);
+        ByteBuffer u = randomDirect(rowStride / 2 * HEIGHT / 2, random);
+        ByteBuffer v = randomDirect(rowStride / 2 * HEIGHT / 2, random);
+
+        YuvPlanes[] layouts = {
+                YuvPlanes.fromNv21(nv21, WIDTH, HEIGHT),
+                new YuvPlanes(WIDTH, HEIGHT, y, rowStride, u, v, rowStride / 2, 1),
+        };
+        String[] names = {"nv21", "i420-padded"};
+
+        System.out.println(String.format(Locale.US, "%-12s %-9s %12s %8s %14s",
+                "layout", "output", "median ms", "fps", "bytes/frame"));
+        long sink = 0;
+        for (int l = 0; l < layouts.length; l++) {
+            YuvPlanes planes = layouts[l];
+
+            long[] samples = new long[ITERATIONS];
+            for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+                long t0 = System.nanoTime();
+                int[] out = new int[WIDTH * HEIGHT];
+                YuvToRgb.convert(planes, out, null);
+                long elapsed = System.nanoTime() - t0;
+                sink += out[i];
+                if (i >= WARMUP) samples[i - WARMUP] = elapsed;
+            }
+            print(names[l], "allocate", samples, 4L * WIDTH * HEIGHT + WIDTH);
+
+            RgbFrameRing ring = new RgbFrameRing(RING_SIZE, WIDTH, HEIGHT);
+            for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+                long t0 = System.nanoTime();
+                RgbFrameRing.Frame frame = ring.tryConvert(planes);
+                long elapsed = System.nanoTime() - t0;
+                sink += frame.getPixels()[i];
+                frame.release();
+                if (i >= WARMUP) samples[i - WARMUP] = elapsed;
+            }
+            print(names[l], "ring", samples, 0);
+        }
+        if (sink == 42) System.out.println();
+    }
+
+    private static void print(String layout, String output, long[] samples, long bytes) {
+        Arrays.sort(samples);
+        double medianMs = samples[samples.length / 2] / 1e6;
+        System.out.println(String.format(Locale.US, "%-12s %-9s %12.2f %8.1f %14d",
+                layout, output, medianMs, 1000 / medianMs, bytes));
+    }
+
+    private static ByteBuffer randomDirect(int size, Random random) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+        buffer.put(bytes).clear();
+        return buffer;
+    }
+}
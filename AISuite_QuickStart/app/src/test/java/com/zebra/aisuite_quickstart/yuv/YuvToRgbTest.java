@@ -0,0 +1,114 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.aisuite_quickstart.yuv;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link YuvToRgb}, against a floating-point BT.601 reference over NV21,
+ * I420 and padded camera-style layouts.
+ */
+public class YuvToRgbTest {
+
+    @Test
+    public void knownColours_convertToTheirRgbValues() {
+        assertEquals(0xFFFFFFFF, convertUniform(255, 128, 128));
+        assertEquals(0xFF000000, convertUniform(0, 128, 128));
+        assertEquals(0xFF808080, convertUniform(128, 128, 128));
+        // Full-range BT.601 primaries.
+        assertEquals(0xFFFE0000, convertUniform(76, 85, 255));
+        assertEquals(0xFF00FF01, convertUniform(150, 44, 21));
+        assertEquals(0xFF0000FE, convertUniform(29, 255, 107));
+    }
+
+    @Test
+    public void nv21_matchesReferenceWithinOneLevel() {
+        Random random = new Random(1);
+        for (int[] size : new int[][] {{64, 48}, {33, 17}, {1, 1}}) {
+            int width = size[0];
+            int height = size[1];
+            byte[] nv21 = new byte[width * height + 2 * ((width + 1) / 2) * ((height + 1) / 2)];
+            random.nextBytes(nv21);
+            YuvPlanes planes = YuvPlanes.fromNv21(nv21, width, height);
+            assertMatchesReference(planes);
+        }
+    }
+
+    @Test
+    public void paddedPlanarAndSemiPlanar_matchReferenceWithinOneLevel() {
+        Random random = new Random(2);
+        for (int pixelStride : new int[] {1, 2}) {
+            int width = 50;
+            int height = 30;
+            int yRowStride = 64;
+            int uvRowStride = 64;
+            ByteBuffer y = ByteBuffer.allocateDirect(yRowStride * height);
+            ByteBuffer u = ByteBuffer.allocateDirect(uvRowStride * (height / 2));
+            ByteBuffer v = ByteBuffer.allocateDirect(uvRowStride * (height / 2));
+            fill(y, random);
+            fill(u, random);
+            fill(v, random);
+            assertMatchesReference(new YuvPlanes(width, height, y, yRowStride, u, v, uvRowStride, pixelStride));
+        }
+    }
+
+    @Test
+    public void convert_leavesCallerBuffersUntouched() {
+        byte[] nv21 = new byte[4 * 2 + 4];
+        YuvPlanes planes = YuvPlanes.fromNv21(nv21, 4, 2);
+        planes.y.position(3);
+        YuvToRgb.convert(planes, new int[8], null);
+        assertEquals(3, planes.y.position());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void convert_rejectsSmallOutput() {
+        YuvToRgb.convert(YuvPlanes.fromNv21(new byte[12], 4, 2), new int[7], null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromNv21_rejectsShortArrays() {
+        YuvPlanes.fromNv21(new byte[11], 4, 2);
+    }
+
+    private static int convertUniform(int luma, int cb, int cr) {
+        byte[] nv21 = {(byte) luma, (byte) luma, (byte) luma, (byte) luma, (byte) cr, (byte) cb};
+        int[] out = new int[4];
+        YuvToRgb.convert(YuvPlanes.fromNv21(nv21, 2, 2), out, new byte[4]);
+        for (int pixel : out) assertEquals(out[0], pixel);
+        return out[0];
+    }
+
+    private static void assertMatchesReference(YuvPlanes planes) {
+        int[] out = new int[planes.width * planes.height];
+        YuvToRgb.convert(planes, out, null);
+        for (int row = 0; row < planes.height; row++) {
+            for (int col = 0; col < planes.width; col++) {
+                int uvIndex = (row / 2) * planes.uvRowStride + (col / 2) * planes.uvPixelStride;
+                double luma = planes.y.get(row * planes.yRowStride + col) & 0xFF;
+                double cb = (planes.u.get(uvIndex) & 0xFF) - 128;
+                double cr = (planes.v.get(uvIndex) & 0xFF) - 128;
+                int pixel = out[row * planes.width + col];
+                String at = col + "," + row;
+                assertEquals(at, 0xFF, pixel >>> 24);
+                assertEquals(at, reference(luma + 1.402 * cr), (pixel >> 16) & 0xFF, 1);
+                assertEquals(at, reference(luma - 0.344136 * cb - 0.714136 * cr), (pixel >> 8) & 0xFF, 1);
+                assertEquals(at, reference(luma + 1.772 * cb), pixel & 0xFF, 1);
+            }
+        }
+    }
+
+    private static int reference(double value) {
+        return (int) Math.max(0, Math.min(255, Math.round(value)));
+    }
+
+    private static void fill(ByteBuffer buffer, Random random) {
+        byte[] bytes = new byte[buffer.capacity()];
+        random.nextBytes(bytes);
+        buffer.put(bytes).clear();
+    }
+}